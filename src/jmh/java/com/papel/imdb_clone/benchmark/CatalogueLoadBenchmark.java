@@ -0,0 +1,51 @@
+package com.papel.imdb_clone.benchmark;
+
+import com.papel.imdb_clone.data.DataManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time of a full FileDataLoaderService.loadAllData of a generated catalogue into an empty
+ * application. The repositories are singletons, so each fork measures exactly one cold load;
+ * use -f to take more samples. Catalogues are generated once and reused between runs.
+ * Loading is linear in the catalogue size. The million-title catalogue takes a few minutes to
+ * generate on first use and spends much of its load in the collector unless the heap is raised.
+ * Run with: mvn -Pjmh test-compile exec:exec -Djmh.args="CatalogueLoadBenchmark -p titles=10000"
+ * or, for the largest size: -Djmh.args="CatalogueLoadBenchmark -p titles=1000000 -jvmArgsAppend -Xmx3g"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(1)
+public class CatalogueLoadBenchmark {
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int titles;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Generated before the measurement so only the load is timed
+        SyntheticCatalogue.use(titles);
+    }
+
+    @Benchmark
+    public int loadAllData() throws IOException {
+        DataManager dataManager = DataManager.getInstance();
+        dataManager.getDataLoaderService().loadAllData();
+        return dataManager.getAllMovies().size() + dataManager.getAllSeries().size();
+    }
+}
@@ -0,0 +1,51 @@
+package com.papel.imdb_clone.benchmark;
+
+import com.papel.imdb_clone.service.data.base.BaseDataLoader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of splitting one data file row with BaseDataLoader.parseCSVLine, for a plain movie row
+ * and for an awards row with quoted fields.
+ * Run with: mvn -Pjmh test-compile exec:exec -Djmh.args="CsvParseBenchmark"
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CsvParseBenchmark {
+    private static final String MOVIE_ROW =
+            "The Shawshank Redemption,1994,DRAMA,142,Frank Darabont,9.3,Tim Robbins;Morgan Freeman;Bob Gunton";
+    private static final String QUOTED_ROW =
+            "movie,The Godfather,1972,\"$246,120,974\",\"3 Oscars, 5 Golden Globes, 1 BAFTA\",9.2,Crime";
+
+    //exposes the parser of the loaders
+    private static final class Parser extends BaseDataLoader {
+        String[] parse(String line) {
+            return parseCSVLine(line);
+        }
+    }
+
+    private final Parser parser = new Parser();
+
+    @Benchmark
+    public String[] plainRow() {
+        return parser.parse(MOVIE_ROW);
+    }
+
+    @Benchmark
+    public String[] quotedRow() {
+        return parser.parse(QUOTED_ROW);
+    }
+}
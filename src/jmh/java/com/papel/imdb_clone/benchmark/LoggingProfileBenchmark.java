@@ -0,0 +1,135 @@
+package com.papel.imdb_clone.benchmark;
+
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.joran.JoranConfigurator;
+import ch.qos.logback.core.joran.spi.JoranException;
+import com.papel.imdb_clone.config.LogPropertyDefiner;
+import com.papel.imdb_clone.controllers.search.SearchCriteria;
+import com.papel.imdb_clone.data.DataManager;
+import com.papel.imdb_clone.model.content.Content;
+import com.papel.imdb_clone.service.search.SearchService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Search and load throughput with the development logging profile (synchronous console, DEBUG)
+ * and the production profile (bounded async queue, INFO, sampled row warnings).
+ * Console output goes to a temporary file so the cost of writing it is measured without
+ * flooding the benchmark output. The catalogue lives in singletons, so load runs one cold load per
+ * fork into the still empty application; use -f to take more samples.
+ * Run with: mvn -Pjmh test-compile exec:exec -Djmh.args="LoggingProfileBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class LoggingProfileBenchmark {
+    private static final String[] DEVELOPMENT_LEVELS = {"log.level", "log.level.data", "log.level.search", "log.level.content"};
+
+    @Param({"development", "production"})
+    public String profile;
+
+    private Path workDirectory;
+    private PrintStream originalOut;
+    private PrintStream consoleFile;
+
+    /**
+     * The catalogue loaded once, after logging has been set up, for the search benchmark.
+     */
+    @State(Scope.Benchmark)
+    public static class LoadedCatalogue {
+        private SearchService searchService;
+        private SearchCriteria criteria;
+
+        @Setup(Level.Trial)
+        public void setUp(LoggingProfileBenchmark logging) throws IOException {
+            // Taking the benchmark state as a parameter makes JMH configure logging first
+            DataManager dataManager = DataManager.getInstance();
+            dataManager.loadAllData();
+            searchService = new SearchService(dataManager);
+            criteria = new SearchCriteria("");
+            criteria.setMinYear(1990);
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, JoranException {
+        workDirectory = Files.createTempDirectory("logging-benchmark");
+        System.setProperty("data.rejects.dir", workDirectory.resolve("rejects").toString());
+        System.setProperty("metrics.jmx", "false");
+        System.setProperty("log.profile", profile);
+        for (String level : DEVELOPMENT_LEVELS) {
+            if ("development".equals(profile)) {
+                System.setProperty(level, "DEBUG");
+            } else {
+                System.clearProperty(level);
+            }
+        }
+
+        originalOut = System.out;
+        consoleFile = new PrintStream(new FileOutputStream(workDirectory.resolve("console.log").toFile()), true);
+        System.setOut(consoleFile);
+        reconfigureLogging();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        // Stopping the context drains the async queue before the console file is closed
+        ((LoggerContext) LoggerFactory.getILoggerFactory()).stop();
+        System.setOut(originalOut);
+        consoleFile.close();
+        try (var files = Files.walk(workDirectory)) {
+            files.sorted((a, b) -> b.compareTo(a)).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public List<Content> search(LoadedCatalogue catalogue) {
+        // A fresh cache each time, so every search scans
+        catalogue.searchService.clearCache();
+        return catalogue.searchService.search(catalogue.criteria);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    public boolean load() throws IOException {
+        DataManager dataManager = DataManager.getInstance();
+        dataManager.loadAllData();
+        return dataManager.isDataLoaded();
+    }
+
+    //applies logback.xml again with the system properties of this trial
+    private static void reconfigureLogging() throws JoranException {
+        LogPropertyDefiner.reload();
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        context.reset();
+        JoranConfigurator configurator = new JoranConfigurator();
+        configurator.setContext(context);
+        configurator.doConfigure(LoggingProfileBenchmark.class.getResource("/logback.xml"));
+    }
+}
@@ -0,0 +1,72 @@
+package com.papel.imdb_clone.benchmark;
+
+import com.papel.imdb_clone.model.content.Movie;
+import com.papel.imdb_clone.repository.impl.InMemoryMovieRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookups on InMemoryMovieRepository filled from a generated catalogue: by ID, by title and
+ * year as the awards loader joins, by title fragment as the search box does, and a full listing.
+ * Run with: mvn -Pjmh test-compile exec:exec -Djmh.args="MovieRepositoryBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MovieRepositoryBenchmark {
+    @Param({"10000"})
+    public int titles;
+
+    private InMemoryMovieRepository repository;
+    private List<Movie> movies;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        repository = SyntheticCatalogue.load(titles).getMovieRepository();
+        movies = repository.getAll();
+    }
+
+    @Benchmark
+    public Optional<Movie> findById() {
+        return repository.findById(randomMovie().getId());
+    }
+
+    @Benchmark
+    public Movie findByTitleAndReleaseYear() {
+        Movie movie = randomMovie();
+        return repository.findByTitleAndReleaseYear(movie.getTitle(), movie.getStartYear());
+    }
+
+    @Benchmark
+    public List<Movie> findByTitleFragment() {
+        return repository.findByTitle("crimson");
+    }
+
+    @Benchmark
+    public List<Movie> getAll() {
+        return repository.getAll();
+    }
+
+    private Movie randomMovie() {
+        return movies.get(ThreadLocalRandom.current().nextInt(movies.size()));
+    }
+}
@@ -0,0 +1,82 @@
+package com.papel.imdb_clone.benchmark;
+
+import com.papel.imdb_clone.service.validation.PasswordHashingService;
+import com.papel.imdb_clone.util.PasswordHasher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Login throughput of the PBKDF2 password check, reported in logins per second.
+ * singleThread is the rate of one core; allThreads and hashingPool are the rates of the whole
+ * machine, so dividing them by the number of cores gives the per-core rate under contention.
+ * Run with: mvn -Pjmh test-compile exec:exec -Djmh.args="PasswordHasherBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PasswordHasherBenchmark {
+    //Number of logins submitted to the hashing pool per invocation, within the queue of a single-core pool
+    private static final int BATCH = 64;
+    private static final String PASSWORD = "Password123";
+
+    @Param({"10000", "100000"})
+    public int iterations;
+
+    private String storedHash;
+    private PasswordHashingService hashingService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        storedHash = PasswordHasher.hashPassword(PASSWORD, iterations);
+        hashingService = PasswordHashingService.getInstance();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean singleThread() {
+        return PasswordHasher.verifyPassword(PASSWORD, storedHash);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public boolean allThreads() {
+        return PasswordHasher.verifyPassword(PASSWORD, storedHash);
+    }
+
+    @Benchmark
+    @Threads(1)
+    @OperationsPerInvocation(BATCH)
+    public int hashingPool() {
+        List<CompletableFuture<Boolean>> logins = new ArrayList<>(BATCH);
+        for (int i = 0; i < BATCH; i++) {
+            logins.add(hashingService.verifyAsync(PASSWORD, storedHash));
+        }
+        int verified = 0;
+        for (CompletableFuture<Boolean> login : logins) {
+            if (login.join()) {
+                verified++;
+            }
+        }
+        return verified;
+    }
+}
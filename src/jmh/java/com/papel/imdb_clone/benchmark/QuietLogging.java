@@ -0,0 +1,22 @@
+package com.papel.imdb_clone.benchmark;
+
+/**
+ * Raises the application log levels to WARN for benchmarks, where per-item INFO output would
+ * dominate the measurement. Levels set explicitly with -D are kept. Has to run before the first
+ * logger is created, i.e. at the start of a benchmark's setup.
+ */
+final class QuietLogging {
+    private static final String[] LEVELS = {
+            "log.level", "log.level.data", "log.level.search", "log.level.content", "log.level.auth",
+            "log.level.people", "log.level.ui"
+    };
+
+    private QuietLogging() {
+    }
+
+    static void apply() {
+        for (String level : LEVELS) {
+            System.getProperties().putIfAbsent(level, "WARN");
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.papel.imdb_clone.benchmark;
+
+import com.papel.imdb_clone.exceptions.RateLimitExceededException;
+import com.papel.imdb_clone.model.rating.UserRating;
+import com.papel.imdb_clone.service.rating.RatingService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * RatingService under contention: ratings created from all cores, and a mix of two writers
+ * creating ratings while six readers average the ratings of the same titles.
+ * Every rating comes from a new user, so the one-rating-per-title rule does not interfere, and
+ * rate limiting is disabled so the limiter's key table does not fill up with those users.
+ * Run with: mvn -Pjmh test-compile exec:exec -Djmh.args="RatingServiceBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RatingServiceBenchmark {
+    //Ratings are spread over this many titles, so readers and writers meet on the same ones
+    private static final int TITLES = 1000;
+
+    private final AtomicInteger users = new AtomicInteger(1_000_000);
+    private RatingService ratingService;
+
+    @Setup(Level.Trial)
+    public void setUp() throws RateLimitExceededException {
+        QuietLogging.apply();
+        System.setProperty("security.rateLimit.enabled", "false");
+        ratingService = RatingService.getInstance();
+        // Every title starts with a few ratings so averages have work to do
+        for (int contentId = 1; contentId <= TITLES; contentId++) {
+            for (int i = 0; i < 5; i++) {
+                createRating(contentId);
+            }
+        }
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public UserRating createAllThreads() throws RateLimitExceededException {
+        return createRating(randomTitle());
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(2)
+    public UserRating mixedCreate() throws RateLimitExceededException {
+        return createRating(randomTitle());
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(6)
+    public double mixedAverage() {
+        return ratingService.getAverageRating(randomTitle());
+    }
+
+    private UserRating createRating(int contentId) throws RateLimitExceededException {
+        return ratingService.createRating(users.incrementAndGet(), contentId, 1 + ThreadLocalRandom.current().nextInt(10));
+    }
+
+    private static int randomTitle() {
+        return 1 + ThreadLocalRandom.current().nextInt(TITLES);
+    }
+}
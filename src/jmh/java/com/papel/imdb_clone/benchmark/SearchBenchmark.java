@@ -0,0 +1,89 @@
+package com.papel.imdb_clone.benchmark;
+
+import com.papel.imdb_clone.controllers.search.SearchCriteria;
+import com.papel.imdb_clone.enums.ContentType;
+import com.papel.imdb_clone.enums.Genre;
+import com.papel.imdb_clone.model.content.Content;
+import com.papel.imdb_clone.service.search.SearchService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SearchService.search over a generated catalogue with the criteria the search screens send:
+ * a title query, a genre with a minimum rating, and a year range limited to movies.
+ * The scan variants clear the result cache first; cached repeats the genre search.
+ * Searches go through the unlimited entry point used by the application itself.
+ * Run with: mvn -Pjmh test-compile exec:exec -Djmh.args="SearchBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchBenchmark {
+    @Param({"10000"})
+    public int titles;
+
+    private SearchService searchService;
+    private SearchCriteria titleQuery;
+    private SearchCriteria genreAndRating;
+    private SearchCriteria movieYears;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        searchService = new SearchService(SyntheticCatalogue.load(titles));
+
+        titleQuery = new SearchCriteria("harbor");
+
+        genreAndRating = new SearchCriteria("");
+        genreAndRating.setGenre(Genre.DRAMA);
+        genreAndRating.setMinRating(7.0);
+
+        movieYears = new SearchCriteria("");
+        movieYears.setContentType(ContentType.MOVIE);
+        movieYears.setMinYear(1990);
+        movieYears.setMaxYear(2005);
+    }
+
+    @Benchmark
+    public List<Content> titleQueryScan() {
+        searchService.clearCache();
+        return search(titleQuery);
+    }
+
+    @Benchmark
+    public List<Content> genreAndRatingScan() {
+        searchService.clearCache();
+        return search(genreAndRating);
+    }
+
+    @Benchmark
+    public List<Content> movieYearsScan() {
+        searchService.clearCache();
+        return search(movieYears);
+    }
+
+    @Benchmark
+    public List<Content> cached() {
+        return search(genreAndRating);
+    }
+
+    private List<Content> search(SearchCriteria criteria) {
+        return searchService.search(criteria);
+    }
+}
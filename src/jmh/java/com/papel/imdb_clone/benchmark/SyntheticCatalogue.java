@@ -0,0 +1,71 @@
+package com.papel.imdb_clone.benchmark;
+
+import com.papel.imdb_clone.data.DataManager;
+import com.papel.imdb_clone.tools.CatalogueGenerator;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Generated catalogues shared by the benchmarks of one JVM. Catalogues are generated with a fixed
+ * seed, so every run measures the same data, and are cached under target/jmh-catalogues by size;
+ * the ratings file is written last, so a catalogue whose generation was interrupted is redone.
+ */
+final class SyntheticCatalogue {
+    private static final Path ROOT = Path.of("target", "jmh-catalogues");
+
+    static {
+        QuietLogging.apply();
+        System.getProperties().putIfAbsent("metrics.jmx", "false");
+        System.getProperties().putIfAbsent("data.rejects.dir", ROOT.resolve("rejects").toString());
+    }
+
+    private SyntheticCatalogue() {
+    }
+
+    /**
+     * Gets the directory of a catalogue, generating it on first use.
+     *
+     * @param titles the number of movies and series
+     * @return the catalogue directory
+     */
+    static synchronized Path directory(int titles) {
+        Path directory = ROOT.resolve(titles + "-" + CatalogueGenerator.DEFAULT_SEED);
+        if (!Files.isRegularFile(directory.resolve("ratings/ratings_updated.txt"))) {
+            try {
+                new CatalogueGenerator(CatalogueGenerator.DEFAULT_SEED).generate(directory, titles);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not generate a catalogue of " + titles + " titles", e);
+            }
+        }
+        return directory;
+    }
+
+    /**
+     * Points the application at a catalogue without loading it.
+     *
+     * @param titles the number of movies and series
+     */
+    static void use(int titles) {
+        System.setProperty("data.dir", directory(titles).toAbsolutePath().toString());
+    }
+
+    /**
+     * Loads a catalogue into the application. Only the first call in a JVM loads; the data
+     * manager and its repositories are singletons.
+     *
+     * @param titles the number of movies and series
+     * @return the loaded data manager
+     * @throws IOException if the catalogue cannot be read
+     */
+    static synchronized DataManager load(int titles) throws IOException {
+        use(titles);
+        DataManager dataManager = DataManager.getInstance();
+        if (!dataManager.isDataLoaded()) {
+            dataManager.loadAllData();
+        }
+        return dataManager;
+    }
+}
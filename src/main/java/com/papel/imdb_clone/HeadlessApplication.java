@@ -0,0 +1,267 @@
+package com.papel.imdb_clone;
+
+import com.papel.imdb_clone.config.ApplicationConfig;
+import com.papel.imdb_clone.controllers.search.SearchCriteria;
+import com.papel.imdb_clone.data.DataManager;
+import com.papel.imdb_clone.model.content.Content;
+import com.papel.imdb_clone.service.api.CatalogueApiServer;
+import com.papel.imdb_clone.service.batch.CatalogueExporter;
+import com.papel.imdb_clone.service.batch.CatalogueJsonLines;
+import com.papel.imdb_clone.service.batch.RatingAggregator;
+import com.papel.imdb_clone.service.batch.RecordWriter;
+import com.papel.imdb_clone.service.data.base.DataFileReloader;
+import com.papel.imdb_clone.service.data.base.DataLoaderService;
+import com.papel.imdb_clone.service.rating.RatingService;
+import com.papel.imdb_clone.service.search.SearchService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Headless entry point for batch jobs: boots the DataManager without starting the JavaFX toolkit
+ * and runs one command against the catalogue.
+ * <p>
+ * Results are streamed to standard output or to --out as CSV or JSON; the log goes to standard
+ * error. Commands:
+ * <ul>
+ *     <li>{@code import}: loads the catalogue and the --import files and prints the counts,
+ *     with rejected rows written to data.rejects.dir</li>
+ *     <li>{@code export <movies|series|all>}: writes the catalogue</li>
+ *     <li>{@code dump}: writes everything, people, users, titles with their seasons and episodes
+ *     and ratings, as JSON Lines that --import=jsonl:FILE reads back</li>
+ *     <li>{@code query}: runs a search with --query, --genre, --type, --min-year, --max-year,
+ *     --min-rating, --max-rating, --sort and --desc</li>
+ *     <li>{@code ratings <ratings file>}: recomputes the rating count and average of every title
+ *     from a ratings file, without loading the catalogue</li>
+ *     <li>{@code serve}: loads the catalogue and serves it over the local JSON API (api.port,
+ *     api.maxConnections, api.requestTimeout) until the process is stopped; with data.watch=true,
+ *     edits of the data files are applied to the served catalogue as they are saved</li>
+ * </ul>
+ * Global options, before the command: --data-dir=DIR loads the catalogue from a directory instead of
+ * the bundled data files, --import=SECTION:FILE (repeatable) loads an extra users, actors, directors,
+ * movies, series, awards or jsonl file after the catalogue, and --no-catalogue skips the catalogue itself.
+ * Imported rows only live in the catalogue of the running command; the data files are not changed, so
+ * combine --import with {@code export}, {@code dump} or {@code serve} to use them. On its own,
+ * {@code import} checks the files and reports the rows they would add.
+ * <p>
+ * Run with: {@code mvn exec:java -Dexec.mainClass=com.papel.imdb_clone.HeadlessApplication -Dexec.args="export movies --format=json"}
+ */
+public class HeadlessApplication {
+    static {
+        // Keep the log out of results written to standard output; must run before the first logger
+        System.getProperties().putIfAbsent("log.target", "System.err");
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(HeadlessApplication.class);
+
+    private static final String USAGE = """
+            Usage: HeadlessApplication [--data-dir=DIR] [--import=SECTION:FILE]... [--no-catalogue] <command> [options]
+              import
+              export <movies|series|all> [--format=csv|json] [--out=FILE]
+              dump [--out=FILE]
+              query [--query=TEXT] [--genre=GENRE] [--type=movie|series] [--min-year=Y] [--max-year=Y]
+                    [--min-rating=R] [--max-rating=R] [--sort=title|year|rating] [--desc] [--format=csv|json] [--out=FILE]
+              ratings <ratings file> [--format=csv|json] [--out=FILE]
+              serve
+            Imports are applied to this run's catalogue only; the data files are not changed.""";
+
+    private final Map<String, String> options = new LinkedHashMap<>();
+    private final List<String> imports = new ArrayList<>();
+    private final List<String> arguments = new ArrayList<>();
+
+    private HeadlessApplication(String[] args) {
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                arguments.add(arg);
+                continue;
+            }
+            int eq = arg.indexOf('=');
+            String name = eq < 0 ? arg.substring(2) : arg.substring(2, eq);
+            String value = eq < 0 ? "true" : arg.substring(eq + 1);
+            if (name.equals("import")) {
+                imports.add(value);
+            } else {
+                options.put(name, value);
+            }
+        }
+    }
+
+    /**
+     * Runs a batch command.
+     *
+     * @param args the global options, the command and its options
+     */
+    public static void main(String[] args) {
+        int status;
+        try {
+            status = new HeadlessApplication(args).run();
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            status = 2;
+        } catch (IOException | RuntimeException e) {
+            logger.error("Batch command failed: {}", e.getMessage(), e);
+            status = 1;
+        }
+        // Background services such as the task scheduler must not keep a finished job alive
+        System.exit(status);
+    }
+
+    private int run() throws IOException {
+        if (arguments.isEmpty()) {
+            throw new IllegalArgumentException("Missing command");
+        }
+        String dataDir = options.get("data-dir");
+        if (dataDir != null) {
+            System.setProperty("data.dir", dataDir);
+        }
+        long start = System.nanoTime();
+        long records = switch (arguments.get(0)) {
+            case "import" -> importCatalogue();
+            case "export" -> export(argument(1, "export needs movies, series or all"));
+            case "dump" -> dump();
+            case "query" -> query();
+            case "ratings" -> ratings(Path.of(argument(1, "ratings needs a ratings file")));
+            case "serve" -> serve();
+            default -> throw new IllegalArgumentException("Unknown command: " + arguments.get(0));
+        };
+        logger.info("{} finished: {} records in {} ms", arguments.get(0), records, (System.nanoTime() - start) / 1_000_000);
+        return 0;
+    }
+
+    private long importCatalogue() throws IOException {
+        DataManager dataManager = loadCatalogue();
+        int movies = dataManager.getAllMovies().size();
+        int series = dataManager.getAllSeries().size();
+        System.out.printf("users=%d actors=%d directors=%d movies=%d series=%d%n",
+                dataManager.getUserRepository().count(), dataManager.getActorService().count(),
+                dataManager.getDirectorService().count(), movies, series);
+        return movies + series;
+    }
+
+    private long export(String what) throws IOException {
+        DataManager dataManager = loadCatalogue();
+        List<Content> content = new ArrayList<>();
+        switch (what) {
+            case "movies" -> content.addAll(dataManager.getAllMovies());
+            case "series" -> content.addAll(dataManager.getAllSeries());
+            case "all" -> {
+                content.addAll(dataManager.getAllMovies());
+                content.addAll(dataManager.getAllSeries());
+            }
+            default -> throw new IllegalArgumentException("Unknown export: " + what);
+        }
+        try (RecordWriter writer = openWriter(CatalogueExporter.COLUMNS)) {
+            return new CatalogueExporter().export(content, writer);
+        }
+    }
+
+    private long dump() throws IOException {
+        CatalogueJsonLines jsonLines = new CatalogueJsonLines(loadCatalogue(), RatingService.getInstance());
+        String out = options.get("out");
+        try (OutputStream stream = out != null ? Files.newOutputStream(Path.of(out)) : System.out) {
+            return jsonLines.export(stream).total();
+        }
+    }
+
+    private long query() throws IOException {
+        SearchCriteria criteria = SearchCriteria.fromParameters(options);
+        SearchService searchService = new SearchService(loadCatalogue());
+        try (RecordWriter writer = openWriter(CatalogueExporter.COLUMNS)) {
+            return new CatalogueExporter().export(searchService.openCursor(criteria), writer);
+        }
+    }
+
+    private long ratings(Path file) throws IOException {
+        try (RecordWriter writer = openWriter(RatingAggregator.COLUMNS)) {
+            return new RatingAggregator().aggregate(file, writer).titles();
+        }
+    }
+
+    private long serve() throws IOException {
+        DataManager dataManager = loadCatalogue();
+        CatalogueApiServer server = CatalogueApiServer.fromConfig(dataManager);
+        DataFileReloader reloader = ApplicationConfig.getInstance().isDataWatchEnabled()
+                ? DataFileReloader.fromConfig(dataManager) : null;
+        CountDownLatch stopped = new CountDownLatch(1);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.stop();
+            if (reloader != null) {
+                reloader.stop();
+            }
+            stopped.countDown();
+        }, "api-shutdown"));
+        if (reloader != null) {
+            reloader.start();
+        }
+        server.start();
+        try {
+            stopped.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return 0;
+    }
+
+    //loads the catalogue, unless skipped, and then the extra import files
+    private DataManager loadCatalogue() throws IOException {
+        DataManager dataManager = DataManager.getInstance();
+        if (!options.containsKey("no-catalogue")) {
+            dataManager.loadAllData();
+        }
+        DataLoaderService loader = dataManager.getDataLoaderService();
+        for (String spec : imports) {
+            int colon = spec.indexOf(':');
+            if (colon < 0) {
+                throw new IllegalArgumentException("Expected --import=SECTION:FILE: " + spec);
+            }
+            String file = Path.of(spec.substring(colon + 1)).toAbsolutePath().toString();
+            switch (spec.substring(0, colon).toLowerCase(Locale.ROOT)) {
+                case "users" -> loader.loadUsers(file);
+                case "actors" -> loader.loadActors(file);
+                case "directors" -> loader.loadDirectors(file);
+                case "movies" -> loader.loadMovies(file);
+                case "series" -> loader.loadSeries(file);
+                case "awards" -> loader.loadAwardsAndBoxOffice(file);
+                case "jsonl" -> {
+                    try (InputStream in = Files.newInputStream(Path.of(file))) {
+                        new CatalogueJsonLines(dataManager, RatingService.getInstance()).importFrom(in);
+                    }
+                }
+                default -> throw new IllegalArgumentException("Unknown import section: " + spec);
+            }
+        }
+        return dataManager;
+    }
+
+    private RecordWriter openWriter(String[] columns) throws IOException {
+        RecordWriter.Format format = RecordWriter.Format.of(options.getOrDefault("format", "csv"));
+        String out = options.get("out");
+        Writer writer = out != null
+                ? Files.newBufferedWriter(Path.of(out), StandardCharsets.UTF_8)
+                : new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+        return new RecordWriter(format, writer, columns);
+    }
+
+    private String argument(int index, String missing) {
+        if (arguments.size() <= index) {
+            throw new IllegalArgumentException(missing);
+        }
+        return arguments.get(index);
+    }
+}
@@ -1,6 +1,8 @@
 package com.papel.imdb_clone.config;
 
 
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.Properties;
 
 /**
@@ -14,6 +16,20 @@ public class ApplicationConfig {
     // Default configuration values
     private static final String DEFAULT_APP_TITLE = "IMDb Clone JavaFX";
     private static final String DEFAULT_APP_VERSION = "1.0";
+    private static final String DEFAULT_VIEW_CACHE_SIZE = "4";
+    private static final String DEFAULT_PASSWORD_ITERATIONS = "10000";
+    private static final int MIN_PASSWORD_ITERATIONS = 1000;
+    private static final String DEFAULT_STARTUP_MODE = "login-first";
+    private static final String DEFAULT_SEARCH_CACHE_SIZE = "256";
+    private static final String DEFAULT_SEARCH_CACHE_WEIGHT = "2000000";
+    private static final String DEFAULT_METRICS_INTERVAL = "60";
+    private static final String DEFAULT_REJECTS_DIR = "data/rejects";
+    private static final String DEFAULT_DATA_WATCH_DELAY = "300";
+    private static final String DEFAULT_LOG_SAMPLE_LIMIT = "20";
+    private static final String DEFAULT_LOG_SAMPLE_INTERVAL = "10";
+    private static final String DEFAULT_API_PORT = "8085";
+    private static final String DEFAULT_API_MAX_CONNECTIONS = "64";
+    private static final String DEFAULT_API_REQUEST_TIMEOUT = "5";
     /**
      * Private constructor to prevent direct instantiation.
      * Loads the configuration during object creation
@@ -22,6 +38,21 @@ public class ApplicationConfig {
         this.properties = new Properties();
         this.properties.put("app.title", DEFAULT_APP_TITLE);
         this.properties.put("app.version", DEFAULT_APP_VERSION);
+        this.properties.put("navigation.viewCache.size", DEFAULT_VIEW_CACHE_SIZE);
+        this.properties.put("security.password.iterations", DEFAULT_PASSWORD_ITERATIONS);
+        this.properties.put("startup.mode", DEFAULT_STARTUP_MODE);
+        this.properties.put("search.cache.size", DEFAULT_SEARCH_CACHE_SIZE);
+        this.properties.put("search.cache.weight", DEFAULT_SEARCH_CACHE_WEIGHT);
+        this.properties.put("metrics.interval", DEFAULT_METRICS_INTERVAL);
+        this.properties.put("metrics.jmx", "true");
+        this.properties.put("security.rateLimit.enabled", "true");
+        this.properties.put("data.rejects.dir", DEFAULT_REJECTS_DIR);
+        this.properties.put("log.sample.limit", DEFAULT_LOG_SAMPLE_LIMIT);
+        this.properties.put("log.sample.interval", DEFAULT_LOG_SAMPLE_INTERVAL);
+        this.properties.put("api.enabled", "false");
+        this.properties.put("api.port", DEFAULT_API_PORT);
+        this.properties.put("api.maxConnections", DEFAULT_API_MAX_CONNECTIONS);
+        this.properties.put("api.requestTimeout", DEFAULT_API_REQUEST_TIMEOUT);
     }
 
     /**
@@ -53,4 +84,255 @@ public class ApplicationConfig {
         return properties.getProperty("app.title", DEFAULT_APP_TITLE);
     }
 
-}
\ No newline at end of file
+    /**
+     * Gets how many loaded views the navigation service keeps for reuse.
+     * Can be overridden with the system property navigation.viewCache.size; 0 disables the cache.
+     * @return The maximum number of cached views
+     */
+    public int getViewCacheSize() {
+        String value = System.getProperty("navigation.viewCache.size",
+                properties.getProperty("navigation.viewCache.size", DEFAULT_VIEW_CACHE_SIZE));
+        try {
+            return Math.max(0, Integer.parseInt(value.trim()));
+        } catch (NumberFormatException e) {
+            return Integer.parseInt(DEFAULT_VIEW_CACHE_SIZE);
+        }
+    }
+
+    /**
+     * Gets the PBKDF2 iteration count used for new password hashes.
+     * Can be overridden with the system property security.password.iterations; stored hashes with a
+     * different count are migrated on the next login or by a bulk rehash.
+     * @return The configured iteration count, never below 1000
+     */
+    public int getPasswordHashIterations() {
+        String value = System.getProperty("security.password.iterations",
+                properties.getProperty("security.password.iterations", DEFAULT_PASSWORD_ITERATIONS));
+        try {
+            return Math.max(MIN_PASSWORD_ITERATIONS, Integer.parseInt(value.trim()));
+        } catch (NumberFormatException e) {
+            return Integer.parseInt(DEFAULT_PASSWORD_ITERATIONS);
+        }
+    }
+
+    /**
+     * Checks if the login screen is shown before the catalogue has finished loading.
+     * Set the system property startup.mode to "blocking" to load everything before showing the login screen.
+     * @return true if the catalogue loads in the background while the login screen is shown
+     */
+    public boolean isLoginFirstStartup() {
+        String value = System.getProperty("startup.mode",
+                properties.getProperty("startup.mode", DEFAULT_STARTUP_MODE));
+        return !"blocking".equalsIgnoreCase(value.trim());
+    }
+
+    /**
+     * Gets how many search results are cached for reuse.
+     * Can be overridden with the system property search.cache.size; 0 disables the cache.
+     * @return The maximum number of cached search results
+     */
+    public int getSearchCacheSize() {
+        String value = System.getProperty("search.cache.size",
+                properties.getProperty("search.cache.size", DEFAULT_SEARCH_CACHE_SIZE));
+        try {
+            return Math.max(0, Integer.parseInt(value.trim()));
+        } catch (NumberFormatException e) {
+            return Integer.parseInt(DEFAULT_SEARCH_CACHE_SIZE);
+        }
+    }
+
+    /**
+     * Gets the total weight of cached search results, counted as the rows they reference.
+     * Can be overridden with the system property search.cache.weight.
+     * @return The maximum weight of the search result cache
+     */
+    public long getSearchCacheWeight() {
+        String value = System.getProperty("search.cache.weight",
+                properties.getProperty("search.cache.weight", DEFAULT_SEARCH_CACHE_WEIGHT));
+        try {
+            return Math.max(0, Long.parseLong(value.trim()));
+        } catch (NumberFormatException e) {
+            return Long.parseLong(DEFAULT_SEARCH_CACHE_WEIGHT);
+        }
+    }
+
+    /**
+     * Gets how often metrics are written to the log and to the metrics file.
+     * Can be overridden with the system property metrics.interval in seconds; 0 disables the periodic export.
+     * @return The export interval, or Duration.ZERO if metrics are not exported periodically
+     */
+    public Duration getMetricsInterval() {
+        String value = System.getProperty("metrics.interval",
+                properties.getProperty("metrics.interval", DEFAULT_METRICS_INTERVAL));
+        try {
+            return Duration.ofSeconds(Math.max(0, Long.parseLong(value.trim())));
+        } catch (NumberFormatException e) {
+            return Duration.ofSeconds(Long.parseLong(DEFAULT_METRICS_INTERVAL));
+        }
+    }
+
+    /**
+     * Gets the JSON file metrics are written to on every export.
+     * Set with the system property metrics.file; by default metrics are only logged.
+     * @return The metrics file, or null if none is configured
+     */
+    public Path getMetricsFile() {
+        String value = System.getProperty("metrics.file", properties.getProperty("metrics.file", ""));
+        return value.isBlank() ? null : Path.of(value.trim());
+    }
+
+    /**
+     * Checks if metrics are published as a platform MBean for JConsole or VisualVM.
+     * Set the system property metrics.jmx to false to disable it.
+     * @return true if the metrics MBean is registered
+     */
+    public boolean isMetricsJmxEnabled() {
+        return Boolean.parseBoolean(System.getProperty("metrics.jmx",
+                properties.getProperty("metrics.jmx", "true")).trim());
+    }
+
+    /**
+     * Checks if logins, ratings and client searches are rate limited.
+     * Set the system property security.rateLimit.enabled to false to disable it, for example in benchmarks.
+     * @return true if the rate limits apply
+     */
+    public boolean isRateLimitEnabled() {
+        return Boolean.parseBoolean(System.getProperty("security.rateLimit.enabled",
+                properties.getProperty("security.rateLimit.enabled", "true")).trim());
+    }
+
+    /**
+     * Gets the directory data loaders write the rows they could not load to.
+     * Can be overridden with the system property data.rejects.dir.
+     * @return The rejects directory
+     */
+    public Path getRejectsDirectory() {
+        String value = System.getProperty("data.rejects.dir",
+                properties.getProperty("data.rejects.dir", DEFAULT_REJECTS_DIR));
+        return Path.of(value.isBlank() ? DEFAULT_REJECTS_DIR : value.trim());
+    }
+
+    /**
+     * Gets the directory data files are read from instead of the bundled ones, such as a generated
+     * catalogue. Files are looked up as {@code <dir>/<content|people|nominations>/<file>}, then {@code <dir>/<file>};
+     * files missing there fall back to the bundled data. Set with the system property data.dir.
+     * @return The data directory, or null to use the bundled data only
+     */
+    public Path getDataDirectory() {
+        String value = System.getProperty("data.dir", properties.getProperty("data.dir", ""));
+        return value.isBlank() ? null : Path.of(value.trim());
+    }
+
+    /**
+     * Checks if edits to the data files are applied to the loaded catalogue while the application runs.
+     * Set the system property data.watch to true to enable it.
+     * @return true if the data files are watched
+     */
+    public boolean isDataWatchEnabled() {
+        return Boolean.parseBoolean(System.getProperty("data.watch",
+                properties.getProperty("data.watch", "false")).trim());
+    }
+
+    /**
+     * Gets how long a changed data file has to stay unchanged before it is reloaded, so that a save
+     * written in several steps is applied once. Can be overridden with the system property
+     * data.watch.delay in milliseconds.
+     * @return The delay
+     */
+    public Duration getDataWatchDelay() {
+        String value = System.getProperty("data.watch.delay",
+                properties.getProperty("data.watch.delay", DEFAULT_DATA_WATCH_DELAY));
+        try {
+            return Duration.ofMillis(Math.max(0, Long.parseLong(value.trim())));
+        } catch (NumberFormatException e) {
+            return Duration.ofMillis(Long.parseLong(DEFAULT_DATA_WATCH_DELAY));
+        }
+    }
+
+    /**
+     * Gets how many times a repeated per-item message, such as a warning about one row of a data
+     * file, is logged per sampling interval; the rest are counted and reported as suppressed.
+     * Can be overridden with the system property log.sample.limit; 0 turns sampling off.
+     * @return The number of messages logged per interval, or 0 to log every message
+     */
+    public int getLogSampleLimit() {
+        String value = System.getProperty("log.sample.limit",
+                properties.getProperty("log.sample.limit", DEFAULT_LOG_SAMPLE_LIMIT));
+        try {
+            return Math.max(0, Integer.parseInt(value.trim()));
+        } catch (NumberFormatException e) {
+            return Integer.parseInt(DEFAULT_LOG_SAMPLE_LIMIT);
+        }
+    }
+
+    /**
+     * Gets the interval the log sample limit applies to.
+     * Can be overridden with the system property log.sample.interval in seconds.
+     * @return The sampling interval, at least one second
+     */
+    public Duration getLogSampleInterval() {
+        String value = System.getProperty("log.sample.interval",
+                properties.getProperty("log.sample.interval", DEFAULT_LOG_SAMPLE_INTERVAL));
+        try {
+            return Duration.ofSeconds(Math.max(1, Long.parseLong(value.trim())));
+        } catch (NumberFormatException e) {
+            return Duration.ofSeconds(Long.parseLong(DEFAULT_LOG_SAMPLE_INTERVAL));
+        }
+    }
+
+
+    /**
+     * Checks if the embedded HTTP/JSON API is started with the application.
+     * Set the system property api.enabled to true to enable it; it only listens on localhost.
+     * @return true if the API server is started
+     */
+    public boolean isApiEnabled() {
+        return Boolean.parseBoolean(System.getProperty("api.enabled",
+                properties.getProperty("api.enabled", "false")).trim());
+    }
+
+    /**
+     * Gets the localhost port of the embedded API server.
+     * Can be overridden with the system property api.port; 0 picks a free port.
+     * @return The API port
+     */
+    public int getApiPort() {
+        String value = System.getProperty("api.port", properties.getProperty("api.port", DEFAULT_API_PORT));
+        try {
+            return Math.max(0, Integer.parseInt(value.trim()));
+        } catch (NumberFormatException e) {
+            return Integer.parseInt(DEFAULT_API_PORT);
+        }
+    }
+
+    /**
+     * Gets how many in-flight requests the API server accepts at once;
+     * requests beyond that are answered with 503 instead of queueing.
+     * Can be overridden with the system property api.maxConnections.
+     * @return The request limit, at least 1
+     */
+    public int getApiMaxConnections() {
+        String value = System.getProperty("api.maxConnections",
+                properties.getProperty("api.maxConnections", DEFAULT_API_MAX_CONNECTIONS));
+        try {
+            return Math.max(1, Integer.parseInt(value.trim()));
+        } catch (NumberFormatException e) {
+            return Integer.parseInt(DEFAULT_API_MAX_CONNECTIONS);
+        }
+    }
+
+    /**
+     * Gets how long the API server works on a request before answering 503.
+     * Can be overridden with the system property api.requestTimeout in seconds.
+     * @return The request timeout, at least one second
+     */
+    public Duration getApiRequestTimeout() {
+        String value = System.getProperty("api.requestTimeout",
+                properties.getProperty("api.requestTimeout", DEFAULT_API_REQUEST_TIMEOUT));
+        try {
+            return Duration.ofSeconds(Math.max(1, Long.parseLong(value.trim())));
+        } catch (NumberFormatException e) {
+            return Duration.ofSeconds(Long.parseLong(DEFAULT_API_REQUEST_TIMEOUT));
+        }
+    }
+}
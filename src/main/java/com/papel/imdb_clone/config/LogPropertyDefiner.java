@@ -0,0 +1,81 @@
+package com.papel.imdb_clone.config;
+
+import ch.qos.logback.core.PropertyDefinerBase;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+
+/**
+ * Supplies logging settings to logback.xml from a system property or, failing that, from
+ * application.properties, so log levels and the logging profile can be changed without editing
+ * the logback configuration. Used from logback.xml as:
+ * <pre>{@code
+ * <define name="LEVEL" class="com.papel.imdb_clone.config.LogPropertyDefiner">
+ *     <key>log.level</key>
+ *     <defaultValue>INFO</defaultValue>
+ * </define>
+ * }</pre>
+ * It runs while logging is being configured, so it must not log itself.
+ */
+public class LogPropertyDefiner extends PropertyDefinerBase {
+    private static final String PROPERTIES_RESOURCE = "/application.properties";
+    private static volatile Properties fileProperties;
+
+    private String key;
+    private String defaultValue;
+
+    /**
+     * Creates a definer with no key; logback instantiates it and then sets the key and default value.
+     */
+    public LogPropertyDefiner() {
+        super();
+    }
+
+    //set the property to look up
+    public void setKey(String key) {
+        this.key = key;
+    }
+
+    //set the value used when the property is set nowhere
+    public void setDefaultValue(String defaultValue) {
+        this.defaultValue = defaultValue;
+    }
+
+    @Override
+    public String getPropertyValue() {
+        if (key == null) {
+            addError("No key set for " + getClass().getSimpleName());
+            return defaultValue;
+        }
+        String value = System.getProperty(key);
+        if (value == null || value.isBlank()) {
+            value = fileProperties().getProperty(key);
+        }
+        return value != null && !value.isBlank() ? value.trim() : defaultValue;
+    }
+
+    //application.properties, read once; empty if it is missing or unreadable
+    private Properties fileProperties() {
+        Properties properties = fileProperties;
+        if (properties == null) {
+            properties = new Properties();
+            try (InputStream in = LogPropertyDefiner.class.getResourceAsStream(PROPERTIES_RESOURCE)) {
+                if (in != null) {
+                    properties.load(in);
+                }
+            } catch (IOException e) {
+                addWarn("Could not read " + PROPERTIES_RESOURCE + ", using default log settings", e);
+            }
+            fileProperties = properties;
+        }
+        return properties;
+    }
+
+    /**
+     * Forgets the cached application.properties so that the next configuration reads it again.
+     */
+    public static void reload() {
+        fileProperties = null;
+    }
+}
@@ -593,6 +593,7 @@ public class MainController extends BorderPane {
 
             // Clear any user-specific data
             setCurrentUser(null);
+            NavigationService.getInstance().clearViewCache();
 
             // Show login screen
             if (getScene() != null && getScene().getWindow() != null) {
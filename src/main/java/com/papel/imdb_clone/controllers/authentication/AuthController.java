@@ -2,6 +2,7 @@ package com.papel.imdb_clone.controllers.authentication;
 
 import com.papel.imdb_clone.controllers.BaseController;
 import com.papel.imdb_clone.controllers.MainController;
+import com.papel.imdb_clone.exceptions.RateLimitExceededException;
 import com.papel.imdb_clone.model.people.User;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
@@ -55,6 +56,7 @@ public class AuthController extends BaseController implements Initializable {
     private transient String sessionToken; //session token for authentication
     private final transient Map<String, Serializable> data; //data to be passed to the next controller
     private Stage stage;
+    private boolean authInProgress; //true while a login or registration is running in the background
     @FXML
     private Button loginButton;
 
@@ -737,12 +739,22 @@ public class AuthController extends BaseController implements Initializable {
             newUser.setEmail(email);
             // Set other required fields as needed
 
-            // Register user
-            User registeredUser = authService.register(newUser, password, confirmPassword);
-
-            if (registeredUser != null) {
-                navigateToMainView(registeredUser);
+            // Register user off the FX thread, hashing the password is slow by design
+            if (authInProgress) {
+                return;
             }
+            authInProgress = true;
+            authService.registerAsync(newUser, password, confirmPassword).whenComplete((registeredUser, error) ->
+                    Platform.runLater(() -> {
+                        authInProgress = false;
+                        if (error != null) {
+                            Throwable cause = error.getCause() != null ? error.getCause() : error;
+                            logger.error("Registration error: {}", cause.getMessage(), cause);
+                            showError("Registration Error", "An error occurred during registration. Please try again.");
+                        } else if (registeredUser != null) {
+                            navigateToMainView(registeredUser);
+                        }
+                    }));
         } catch (Exception e) {
             logger.error("Registration error: {}", e.getMessage(), e);
             showError("Registration Error", "An error occurred during registration. Please try again.");
@@ -810,32 +822,26 @@ public class AuthController extends BaseController implements Initializable {
                 loginErrorLabel.setVisible(false);
             }
 
-            // Login the user
-            String sessionToken = authService.login(usernameOrEmail, password);
-            if (sessionToken != null) {
-                // Get the user from the session token
-                User user = authService.getUserFromSession(sessionToken);
-                if (user != null) {
-                    navigateToMainView(user);
-                } else {
-                    String errorMsg = "Failed to retrieve user information";
-                    logger.error(errorMsg);
-                    if (loginErrorLabel != null) {
-                        loginErrorLabel.setText(errorMsg);
-                        loginErrorLabel.setVisible(true);
-                    } else {
-                        showError("Login Failed", errorMsg);
-                    }
-                }
-            } else {
-                String errorMsg = "Invalid username/email or password";
-                if (loginErrorLabel != null) {
-                    loginErrorLabel.setText(errorMsg);
-                    loginErrorLabel.setVisible(true);
-                } else {
-                    showError("Login Failed", errorMsg);
-                }
+            // Login the user off the FX thread, verifying the password is slow by design
+            if (authInProgress) {
+                return;
             }
+            authInProgress = true;
+            authService.loginAsync(usernameOrEmail, password).whenComplete((sessionToken, error) ->
+                    Platform.runLater(() -> {
+                        authInProgress = false;
+                        if (error != null) {
+                            Throwable cause = error.getCause() != null ? error.getCause() : error;
+                            if (cause instanceof RateLimitExceededException) {
+                                showLoginError("Login Error", cause.getMessage());
+                                return;
+                            }
+                            logger.error("Login error: {}", cause.getMessage(), cause);
+                            showLoginError("Login Error", "An error occurred during login. Please try again.");
+                        } else {
+                            completeLogin(sessionToken);
+                        }
+                    }));
         } catch (Exception e) {
             String errorMsg = "An error occurred during login. Please try again.";
             logger.error("Login error: {}", e.getMessage(), e);
@@ -848,6 +854,34 @@ public class AuthController extends BaseController implements Initializable {
         }
     }
 
+    //runs on the FX thread once the asynchronous login has finished
+    private void completeLogin(String sessionToken) {
+        if (sessionToken != null) {
+            // Get the user from the session token
+            User user = authService.getUserFromSession(sessionToken);
+            if (user != null) {
+                // Views subscribe to the sections they show, so the catalogue may still be loading
+                navigateToMainView(user);
+            } else {
+                String errorMsg = "Failed to retrieve user information";
+                logger.error(errorMsg);
+                showLoginError("Login Failed", errorMsg);
+            }
+        } else {
+            showLoginError("Login Failed", "Invalid username/email or password");
+        }
+    }
+
+    //shows a login error in the form label, or in a dialog if the label is missing
+    private void showLoginError(String title, String errorMsg) {
+        if (loginErrorLabel != null) {
+            loginErrorLabel.setText(errorMsg);
+            loginErrorLabel.setVisible(true);
+        } else {
+            showError(title, errorMsg);
+        }
+    }
+
     private void navigateToMainView(User user) {
         try {
             // Get the current session token
@@ -902,6 +936,9 @@ public class AuthController extends BaseController implements Initializable {
                 stage.setTitle("IMDb Clone - Home");
                 stage.show();
                 logger.info("Successfully navigated to main view");
+
+                // Load the main views in the background so the first tab switch is instant
+                NavigationService.getInstance().prewarmMainViews();
                 
                 // Force a refresh of the UI
                 Platform.runLater(() -> {
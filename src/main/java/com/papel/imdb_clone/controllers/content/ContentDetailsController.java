@@ -1,6 +1,7 @@
 package com.papel.imdb_clone.controllers.content;
 
 import com.papel.imdb_clone.controllers.BaseController;
+import com.papel.imdb_clone.exceptions.RateLimitExceededException;
 import com.papel.imdb_clone.model.content.Content;
 import com.papel.imdb_clone.model.rating.UserRating;
 import com.papel.imdb_clone.service.rating.RatingService;
@@ -217,6 +218,10 @@ public class ContentDetailsController extends BaseController {
             showError("Error", errorMsg);
             ratingStatusLabel.setText("Operation failed");
             ratingStatusLabel.setStyle("-fx-text-fill: #F44336;");
+        } catch (RateLimitExceededException e) {
+            showError("Slow Down", e.getMessage());
+            ratingStatusLabel.setText("Too many ratings, try again later");
+            ratingStatusLabel.setStyle("-fx-text-fill: #F44336;");
         } catch (Exception e) {
             String errorMsg = "Failed to save your rating: " + e.getMessage();
             logger.error(errorMsg, e);
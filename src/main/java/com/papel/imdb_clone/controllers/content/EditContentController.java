@@ -8,6 +8,7 @@ import com.papel.imdb_clone.service.content.MoviesService;
 import com.papel.imdb_clone.service.content.SeriesService;
 import com.papel.imdb_clone.service.navigation.NavigationService;
 import com.papel.imdb_clone.service.search.ServiceLocator;
+import com.papel.imdb_clone.service.task.TaskScheduler;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.scene.Node;
@@ -17,6 +18,7 @@ import javafx.stage.Window;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 
 
 /**
@@ -342,25 +344,20 @@ public class EditContentController<T extends Content> {
             showStatus();
 
             // Close the window after a short delay
-            new java.util.Timer().schedule(
-                    new java.util.TimerTask() {
-                        @Override
-                        public void run() {
-                            // Close the window
-                            javafx.application.Platform.runLater(() -> {
-                                if (statusLabel != null && statusLabel.getScene() != null) {
-                                    Stage stage = (Stage) statusLabel.getScene().getWindow();
-                                    if (stage != null) {
-                                        stage.close();
-                                    }
-
-                                }
-                                logger.info("Navigating back to home");
-                                navigationService.goBack();
-                            });
+            TaskScheduler.getInstance().schedule(
+                    // Close the window
+                    () -> javafx.application.Platform.runLater(() -> {
+                        if (statusLabel != null && statusLabel.getScene() != null) {
+                            Stage stage = (Stage) statusLabel.getScene().getWindow();
+                            if (stage != null) {
+                                stage.close();
+                            }
+
                         }
-                    },
-                    1000
+                        logger.info("Navigating back to home");
+                        navigationService.goBack();
+                    }),
+                    1, TimeUnit.SECONDS
             );
 
             //Close the window
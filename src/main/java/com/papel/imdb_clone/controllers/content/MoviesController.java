@@ -1,10 +1,18 @@
 package com.papel.imdb_clone.controllers.content;
 
 import com.papel.imdb_clone.controllers.BaseController;
+import com.papel.imdb_clone.data.DataManager;
 import com.papel.imdb_clone.enums.Genre;
 import com.papel.imdb_clone.model.people.Actor;
 import com.papel.imdb_clone.service.content.MoviesService;
+import com.papel.imdb_clone.service.data.base.DataSection;
+import com.papel.imdb_clone.service.event.ChangeBatch;
+import com.papel.imdb_clone.service.event.ChangeEventBus;
+import com.papel.imdb_clone.service.metrics.MetricsRegistry;
 import com.papel.imdb_clone.service.navigation.NavigationService;
+import com.papel.imdb_clone.service.navigation.ViewLifecycle;
+import com.papel.imdb_clone.service.task.TaskScheduler;
+import com.papel.imdb_clone.util.IncrementalFilter;
 import com.papel.imdb_clone.util.UIUtils;
 import com.papel.imdb_clone.model.content.Movie;
 import javafx.application.Platform;
@@ -22,6 +30,8 @@ import javafx.scene.layout.VBox;
 import javafx.stage.Stage;
 import java.net.URL;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import javafx.geometry.Insets;
@@ -30,7 +40,7 @@ import javafx.geometry.Insets;
  * Controller for managing movies in the application.
  * Handles all movie-related operations including listing, adding, editing, and deleting movies.
  */
-public class MoviesController extends BaseController {
+public class MoviesController extends BaseController implements ViewLifecycle {
 
     @FXML
     public Label resultsCountLabel;
@@ -62,8 +72,8 @@ public class MoviesController extends BaseController {
                 if (showMovieEditDialog(selectedMovie)) {
                     try {
                         // Save changes if user clicked OK
+                        // The table is updated by the change event
                         moviesService.update(selectedMovie);
-                        loadMovies(); // Refresh the table
                         showSuccess("Success", "Movie updated successfully!");
                     } catch (Exception e) {
                         logger.error("Error updating movie", e);
@@ -313,6 +323,8 @@ public class MoviesController extends BaseController {
     // Data and state
     private final ObservableList<Movie> allMovies = FXCollections.observableArrayList();
     private final ObservableList<Movie> filteredMovies = FXCollections.observableArrayList();
+    private final IncrementalFilter<Movie> movieFilter =
+            new IncrementalFilter<>("movie-search", filteredMovies, MoviesController::matchesSearch);
     private final ObjectProperty<Movie> selectedMovie = new SimpleObjectProperty<>();
     private int currentUserId;
 
@@ -343,8 +355,12 @@ public class MoviesController extends BaseController {
             setupSearchHandlers();
             setupSortHandlers();
 
+            // Keep the table in step with edits made here or in other views
+            ChangeEventBus.getInstance().subscribe(Movie.class, this, Platform::runLater,
+                    MoviesController::applyMovieChanges);
+
             // Load data last, after UI is fully set up
-            loadMovies();
+            loadMoviesWhenReady();
 
         } catch (Exception e) {
             logger.error("Error initializing MoviesController", e);
@@ -590,6 +606,7 @@ private void setupTableColumns() {
     }
 
     private void setupSearchHandlers() {
+        movieFilter.bind(allMovies);
         movieSearchField.textProperty().addListener((obs, oldVal, newVal) -> filterMovies());
     }
 
@@ -614,6 +631,23 @@ private void setupTableColumns() {
             }
         });
     }
+    //loads the table now, or once the movies have finished loading in the background
+    private void loadMoviesWhenReady() {
+        DataManager dataManager = DataManager.getInstance();
+        CompletableFuture<Void> moviesReady = dataManager.whenReady(DataSection.MOVIES);
+        if (moviesReady.isDone()) {
+            loadMovies();
+        } else {
+            statusLabel.setText("Loading movies...");
+            moviesReady.thenRun(this::loadMovies);
+        }
+        CompletableFuture<Void> awardsReady = dataManager.whenReady(DataSection.AWARDS);
+        if (!awardsReady.isDone()) {
+            // Awards and box office are added to the movies already shown, so only the rows need redrawing
+            awardsReady.thenRun(() -> Platform.runLater(movieTable::refresh));
+        }
+    }
+
     private void loadMovies() {
         if (moviesService == null) {
             logger.error("ContentService is not initialized");
@@ -706,20 +740,40 @@ private void setupTableColumns() {
         }
     }
 
+    /**
+     * Updates the cached movie view when it is shown again.
+     * Changes made while it was hidden have already been applied from the change event bus,
+     * so nothing needs to be reloaded.
+     *
+     * @param currentUserId The ID of the currently logged-in user
+     */
+    @Override
+    public void onViewReused(int currentUserId) {
+        this.currentUserId = currentUserId;
+    }
+
+    //applies movie changes published by the services instead of reloading the whole catalogue
+    private void applyMovieChanges(ChangeBatch<Movie> batch) {
+        long start = System.nanoTime();
+        batch.applyTo(allMovies, Movie::getId);
+        movieTable.refresh();
+        updateItemCount();
+        MetricsRegistry.getInstance().histogram("table.refresh.movies").recordSince(start);
+    }
+
+    //schedule filtering of the movie table for the current search text
     private void filterMovies() {
-        String searchText = movieSearchField.getText().toLowerCase();
-        if (searchText.isEmpty()) {
-            filteredMovies.setAll(allMovies);
-        } else {
-            filteredMovies.setAll(allMovies.filtered(movie -> {
-                boolean titleMatch = movie.getTitle().toLowerCase().contains(searchText);
-                boolean directorMatch = movie.getDirector() != null && movie.getDirector().toLowerCase().contains(searchText);
-                boolean genreMatch = movie.getGenres().stream()
-                    .map(Enum::name)
-                    .anyMatch(genre -> genre.toLowerCase().contains(searchText));
-                return titleMatch || directorMatch || genreMatch;
-            }));
-        }
+        movieFilter.filter(movieSearchField.getText());
+    }
+
+    //match a movie against the lower-case search text by title, director or genre
+    private static boolean matchesSearch(Movie movie, String searchText) {
+        boolean titleMatch = movie.getTitle() != null && movie.getTitle().toLowerCase().contains(searchText);
+        boolean directorMatch = movie.getDirector() != null && movie.getDirector().toLowerCase().contains(searchText);
+        boolean genreMatch = movie.getGenres() != null && movie.getGenres().stream()
+            .map(Enum::name)
+            .anyMatch(genre -> genre.toLowerCase().contains(searchText));
+        return titleMatch || directorMatch || genreMatch;
     }
 
     private void sortMovieTable(String sortOption) {
@@ -752,8 +806,8 @@ private void setupTableColumns() {
             if (showMovieEditDialog(selected)) {
                 try {
                     // Save changes if user clicked OK
+                    // The table is updated by the change event
                     moviesService.update(selected);
-                    loadMovies(); // Refresh the table
                     showSuccess("Success", "Movie updated successfully!");
                 } catch (Exception e) {
                     logger.error("Error updating movie", e);
@@ -809,21 +863,13 @@ private void setupTableColumns() {
                 // Update the table view
                 movieTable.setItems(allMovies);
 
-                // Refresh the movie list
-                loadMovies();
-                
                 // Show success message
                 statusLabel.setText("Movie added successfully!");
 
                 // Clear the status message after 3 seconds
-                new java.util.Timer().schedule(
-                    new java.util.TimerTask() {
-                        @Override
-                        public void run() {
-                            Platform.runLater(() -> statusLabel.setText(""));
-                        }
-                    },
-                    3000
+                TaskScheduler.getInstance().schedule(
+                    () -> Platform.runLater(() -> statusLabel.setText("")),
+                    3, TimeUnit.SECONDS
                 );
 
             }
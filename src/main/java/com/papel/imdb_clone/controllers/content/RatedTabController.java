@@ -7,6 +7,8 @@ import com.papel.imdb_clone.model.rating.Rating;
 import com.papel.imdb_clone.model.rating.UserRating;
 import com.papel.imdb_clone.service.validation.AuthService;
 import com.papel.imdb_clone.service.content.MoviesService;
+import com.papel.imdb_clone.service.event.ChangeBatch;
+import com.papel.imdb_clone.service.event.ChangeEventBus;
 import com.papel.imdb_clone.service.rating.RatingService;
 import com.papel.imdb_clone.service.search.ServiceLocator;
 import javafx.application.Platform;
@@ -110,6 +112,10 @@ public class RatedTabController extends BaseController {
             // Setup UI components
             setupTable();
             setupTableSelection();
+
+            // Ratings added, changed or removed anywhere show up without reloading the tab
+            ChangeEventBus.getInstance().subscribe(UserRating.class, this, Platform::runLater,
+                    RatedTabController::applyRatingChanges);
             
             // We'll load ratings when setNavigationData is called with the session token
         } catch (Exception e) {
@@ -173,6 +179,12 @@ public class RatedTabController extends BaseController {
         }
     }
 
+    //applies the current user's rating changes to the table
+    private void applyRatingChanges(ChangeBatch<UserRating> batch) {
+        int currentUserId = getCurrentUserId();
+        batch.filter(rating -> rating.getUserId() == currentUserId).applyTo(ratingsList, UserRating::getId);
+    }
+
     private void setupTableSelection() {
         ratingsTable.getSelectionModel().selectedItemProperty().addListener((obs, oldSelection, newSelection) -> {
             if (newSelection != null) {
@@ -6,11 +6,19 @@ import com.papel.imdb_clone.model.content.Episode;
 import com.papel.imdb_clone.model.content.Season;
 import com.papel.imdb_clone.model.people.Actor;
 import com.papel.imdb_clone.service.navigation.NavigationService;
+import com.papel.imdb_clone.service.navigation.ViewLifecycle;
 import com.papel.imdb_clone.service.content.SeriesService;
+import com.papel.imdb_clone.service.data.base.DataSection;
+import com.papel.imdb_clone.service.event.ChangeBatch;
+import com.papel.imdb_clone.service.event.ChangeEventBus;
+import com.papel.imdb_clone.service.metrics.MetricsRegistry;
 import com.papel.imdb_clone.enums.Genre;
+import com.papel.imdb_clone.enums.SortKey;
 import com.papel.imdb_clone.model.content.Series;
 
 import com.papel.imdb_clone.service.search.ServiceLocator;
+import com.papel.imdb_clone.service.task.TaskScheduler;
+import com.papel.imdb_clone.util.IncrementalFilter;
 import com.papel.imdb_clone.util.UIUtils;
 import javafx.application.Platform;
 import javafx.beans.property.ObjectProperty;
@@ -19,6 +27,7 @@ import javafx.beans.property.SimpleObjectProperty;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
+import javafx.concurrent.Task;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.geometry.Insets;
@@ -40,6 +49,7 @@ import java.net.URL;
 import java.util.*;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import javafx.scene.control.Alert;
 import javafx.scene.control.ButtonType;
 import java.util.stream.Collectors;
@@ -47,11 +57,13 @@ import java.util.stream.Collectors;
 /**
  * Controller for managing TV series in the IMDB Clone application.
  */
-public class SeriesController extends BaseController {
+public class SeriesController extends BaseController implements ViewLifecycle {
     /**
      * Logger instance for this class
      */
     private static final Logger logger = LoggerFactory.getLogger(SeriesController.class);
+    //Key under which sort requests supersede each other in the task scheduler
+    private static final String SORT_TASK_KEY = "series-sort";
 
     /**
      * Data map for storing application state
@@ -227,6 +239,12 @@ public class SeriesController extends BaseController {
      */
     private final ObservableList<Series> filteredSeries = FXCollections.observableArrayList();
 
+    /**
+     * Debounced as-you-type filter that fills filteredSeries from allSeries
+     */
+    private final IncrementalFilter<Series> seriesFilter =
+            new IncrementalFilter<>("series-search", filteredSeries, SeriesController::matchesSearch);
+
     /**
      * Property binding for the currently selected series in the table
      */
@@ -278,8 +296,12 @@ public class SeriesController extends BaseController {
         // Bind the table to the filtered series list
         seriesTable.setItems(filteredSeries);
 
-        // Load data and set up handlers
-        loadSeries();
+        // Keep the table in step with edits made here or in other views
+        ChangeEventBus.getInstance().subscribe(Series.class, this, Platform::runLater,
+                SeriesController::applySeriesChanges);
+
+        // Load data and set up handlers; during a background load the series may still be loading
+        loadSeriesWhenReady();
         setupSearchHandlers();
         setupSortHandlers();
 
@@ -325,8 +347,7 @@ public class SeriesController extends BaseController {
         // Episode count column
         TableColumn<Season, Integer> episodesCol = new TableColumn<>("Episodes");
         episodesCol.setCellValueFactory(cellData -> 
-            new SimpleObjectProperty<>(cellData.getValue().getEpisodes() != null ? 
-                cellData.getValue().getEpisodes().size() : 0));
+            new SimpleObjectProperty<>(cellData.getValue().getEpisodesCount()));
         
         // Add columns to table
         table.getColumns().add(seasonCol);
@@ -338,7 +359,7 @@ public class SeriesController extends BaseController {
         
         // Calculate total episodes
         int totalEpisodes = seasons.stream()
-            .mapToInt(s -> s.getEpisodes() != null ? s.getEpisodes().size() : 0)
+            .mapToInt(Season::getEpisodesCount)
             .sum();
         
         // Add total row
@@ -539,6 +560,8 @@ public class SeriesController extends BaseController {
 
     // Set up search handlers that filter the series table based on the search field which could be title, creator, or actor
     private void setupSearchHandlers() {
+        seriesFilter.bind(allSeries);
+        seriesFilter.setOnApplied(this::showFilterResults);
         seriesSearchField.textProperty().addListener((obs, oldVal, newVal) -> filterSeries());
         seriesSearchField.setPromptText("Search series by title");
     }
@@ -576,6 +599,21 @@ public class SeriesController extends BaseController {
         });
     }
 
+    //loads the table now, or once the series have finished loading in the background
+    private void loadSeriesWhenReady() {
+        CompletableFuture<Void> seriesReady = dataManager.whenReady(DataSection.SERIES);
+        if (seriesReady.isDone()) {
+            loadSeries();
+        } else {
+            statusLabel.setText("Loading series...");
+            seriesReady.thenRun(this::loadSeries);
+        }
+        CompletableFuture<Void> awardsReady = dataManager.whenReady(DataSection.AWARDS);
+        if (!awardsReady.isDone()) {
+            awardsReady.thenRun(() -> Platform.runLater(seriesTable::refresh));
+        }
+    }
+
     // Load series from the service and display them in the table
     private void loadSeries() {
         if (seriesService == null) {
@@ -648,8 +686,8 @@ public class SeriesController extends BaseController {
             Series selectedSeries = seriesTable.getSelectionModel().getSelectedItem();
             if (selectedSeries != null) {
                 if (showConfirmationDialog("Confirm Deletion ", "Are you sure you want to delete this series?")) {
+                    // The table is updated by the change event
                     seriesService.delete(selectedSeries.getId());
-                    loadSeries();
                     showSuccess("Success", "Series deleted successfully.");
                 }
             } else {
@@ -661,22 +699,52 @@ public class SeriesController extends BaseController {
         }
     }
 
-    private void filterSeries() {
-        String searchText = seriesSearchField.getText().toLowerCase();
-        if (searchText.isEmpty()) {
-            filteredSeries.setAll(allSeries);
-        } else {
-            //update the filtered series list
-            filteredSeries.setAll(allSeries.filtered(series -> {
-                boolean titleMatch = series.getTitle().toLowerCase().contains(searchText);
-                boolean creatorMatch = series.getCreator() != null && series.getCreator().toLowerCase().contains(searchText);
-                boolean genreMatch = series.getGenres().stream()
-                        .map(Enum::name)
-                        .anyMatch(genre -> genre.toLowerCase().contains(searchText));
-                return titleMatch || creatorMatch || genreMatch;
-            }));
+    /**
+     * Updates the cached series view when it is shown again.
+     * Changes made while it was hidden have already been applied from the change event bus,
+     * so nothing needs to be reloaded.
+     *
+     * @param currentUserId The ID of the currently logged-in user
+     */
+    @Override
+    public void onViewReused(int currentUserId) {
+        this.currentUserId = currentUserId;
+    }
+
+    //applies series changes published by the services instead of reloading the whole catalogue
+    private void applySeriesChanges(ChangeBatch<Series> batch) {
+        long start = System.nanoTime();
+        batch.applyTo(allSeries, Series::getId);
+        seriesTable.refresh();
+        if (resultsCountLabel != null) {
+            resultsCountLabel.setText(String.format("Results: %d", allSeries.size()));
         }
+        MetricsRegistry.getInstance().histogram("table.refresh.series").recordSince(start);
+    }
+
+    //schedule filtering of the series table for the current search text
+    private void filterSeries() {
+        seriesFilter.filter(seriesSearchField.getText());
+    }
 
+    /**
+     * Checks whether a series matches the search text by title, creator or genre.
+     *
+     * @param series     the series to check
+     * @param searchText the trimmed, lower-case search text
+     * @return true if the series matches
+     */
+    private static boolean matchesSearch(Series series, String searchText) {
+        boolean titleMatch = series.getTitle() != null && series.getTitle().toLowerCase().contains(searchText);
+        boolean creatorMatch = series.getCreator() != null && series.getCreator().toLowerCase().contains(searchText);
+        boolean genreMatch = series.getGenres() != null && series.getGenres().stream()
+                .map(Enum::name)
+                .anyMatch(genre -> genre.toLowerCase().contains(searchText));
+        return titleMatch || creatorMatch || genreMatch;
+    }
+
+    //update the labels once a filter result has been applied
+    private void showFilterResults(String searchText) {
         // Update the results count label
         if (resultsCountLabel != null) {
             int resultCount = filteredSeries.size();
@@ -693,72 +761,96 @@ public class SeriesController extends BaseController {
 
     private void sortSeriesTable(String sortOption) {
         if (sortOption == null) return;
-        
-        switch (sortOption) {
-            case "Title (A-Z)":
-                allSeries.sort(Comparator.comparing(Series::getTitle, String.CASE_INSENSITIVE_ORDER));
-                break;
-            case "Title (Z-A)":
-                allSeries.sort(Comparator.comparing(Series::getTitle, String.CASE_INSENSITIVE_ORDER).reversed());
-                break;
-            case "Year (Newest First)":
-                allSeries.sort(Comparator.comparingInt(Series::getStartYear).reversed());
-                break;
-            case "Year (Oldest First)":
-                allSeries.sort(Comparator.comparingInt(Series::getStartYear));
-                break;
-            case "Rating (Highest First)":
-                allSeries.sort(Comparator.comparingDouble(Series::getRating).reversed());
-                break;
-            case "Rating (Lowest First)":
-                allSeries.sort(Comparator.comparingDouble(Series::getRating));
-                break;
-            case "Seasons (Most First)":
-                allSeries.sort(Comparator.comparingInt(Series::getTotalSeasons).reversed());
-                break;
-            case "Seasons (Fewest First)":
-                allSeries.sort(Comparator.comparingInt(Series::getTotalSeasons));
-                break;
-            case "Episodes (Most First)":
-                allSeries.sort((s1, s2) -> 
-                    Integer.compare(
-                        s2.getSeasons().stream().mapToInt(Season::getEpisodesCount).sum(),
-                        s1.getSeasons().stream().mapToInt(Season::getEpisodesCount).sum()
-                    )
-                );
-                break;
-            case "Episodes (Fewest First)":
-                allSeries.sort(Comparator.comparingInt(s -> 
-                    s.getSeasons().stream().mapToInt(Season::getEpisodesCount).sum()
-                ));
-                break;
-            case "Creator (A-Z)":
-                allSeries.sort(Comparator.comparing(Series::getCreator, String.CASE_INSENSITIVE_ORDER));
-                break;
-            case "Creator (Z-A)":
-                allSeries.sort(Comparator.comparing(Series::getCreator, String.CASE_INSENSITIVE_ORDER).reversed());
-                break;
-            case "Genres (A-Z)":
-                allSeries.sort((s1, s2) -> {
-                    String g1 = s1.getGenres().isEmpty() ? "" : s1.getGenres().get(0).name();
-                    String g2 = s2.getGenres().isEmpty() ? "" : s2.getGenres().get(0).name();
-                    return g1.compareToIgnoreCase(g2);
-                });
-                break;
-            case "Genres (Z-A)":
-                allSeries.sort((s1, s2) -> {
-                    String g1 = s1.getGenres().isEmpty() ? "" : s1.getGenres().get(0).name();
-                    String g2 = s2.getGenres().isEmpty() ? "" : s2.getGenres().get(0).name();
-                    return g2.compareToIgnoreCase(g1);
-                });
-                break;
-            default:
-                logger.warn("Unknown sort option: {}", sortOption);
-                return;
+
+        // Title, year, rating, seasons and creator come pre-sorted from the service;
+        // the remaining options are sorted here, but never on the FX thread
+        SortKey sortKey = sortKeyFor(sortOption);
+        Comparator<Series> comparator = sortKey == null ? getFallbackComparator(sortOption) : null;
+        if (sortKey == null && comparator == null) {
+            logger.warn("Unknown sort option: {}", sortOption);
+            return;
         }
-        
-        // Refresh the filtered list to apply sorting
-        filterSeries();
+        boolean descending = isDescending(sortOption);
+        List<Series> current = new ArrayList<>(allSeries);
+
+        Task<List<Series>> sortTask = new Task<>() {
+            @Override
+            protected List<Series> call() {
+                if (sortKey != null) {
+                    return inServiceOrder(sortKey, descending, current);
+                }
+                current.sort(comparator);
+                return current;
+            }
+        };
+        // Replacing allSeries refreshes the filtered list through the search filter
+        sortTask.setOnSucceeded(event -> allSeries.setAll(sortTask.getValue()));
+        sortTask.setOnFailed(event -> logger.error("Error sorting series", sortTask.getException()));
+        TaskScheduler.getInstance().submitLatest(SORT_TASK_KEY, sortTask);
+    }
+
+    /**
+     * Maps a sort option to the pre-sorted key of the series service.
+     *
+     * @param sortOption the option selected by the user
+     * @return the matching sort key, or null if the option has no pre-sorted view
+     */
+    private static SortKey sortKeyFor(String sortOption) {
+        if (sortOption.startsWith("Title")) return SortKey.TITLE;
+        if (sortOption.startsWith("Year")) return SortKey.YEAR;
+        if (sortOption.startsWith("Rating")) return SortKey.RATING;
+        if (sortOption.startsWith("Seasons")) return SortKey.SEASONS;
+        if (sortOption.startsWith("Creator")) return SortKey.CREATOR;
+        return null;
+    }
+
+    //descending options are the Z-A, newest, highest and most variants
+    private static boolean isDescending(String sortOption) {
+        return sortOption.contains("Z-A") || sortOption.contains("Newest")
+                || sortOption.contains("Highest") || sortOption.contains("Most");
+    }
+
+    /**
+     * Returns a comparator for the sort options that have no pre-sorted view.
+     */
+    private static Comparator<Series> getFallbackComparator(String sortOption) {
+        Comparator<Series> byEpisodes = Comparator.comparingInt(s ->
+                s.getSeasons().stream().mapToInt(Season::getEpisodesCount).sum());
+        Comparator<Series> byGenre = Comparator.comparing(
+                s -> s.getGenres().isEmpty() ? "" : s.getGenres().get(0).name(), String.CASE_INSENSITIVE_ORDER);
+        return switch (sortOption) {
+            case "Episodes (Most First)" -> byEpisodes.reversed();
+            case "Episodes (Fewest First)" -> byEpisodes;
+            case "Genres (A-Z)" -> byGenre;
+            case "Genres (Z-A)" -> byGenre.reversed();
+            default -> null;
+        };
+    }
+
+    /**
+     * Orders the given series like the service's pre-sorted view, in O(n) without sorting.
+     *
+     * @param sortKey    the key to order by
+     * @param descending true for descending order
+     * @param members    the series to order
+     * @return a new list with the members in the requested order
+     */
+    private List<Series> inServiceOrder(SortKey sortKey, boolean descending, List<Series> members) {
+        Set<Series> remaining = Collections.newSetFromMap(new IdentityHashMap<>());
+        remaining.addAll(members);
+        List<Series> ordered = new ArrayList<>(members.size());
+        for (Series series : seriesService.getSorted(sortKey, descending)) {
+            if (remaining.remove(series)) {
+                ordered.add(series);
+            }
+        }
+        // Keep anything the service does not know about at the end
+        for (Series series : members) {
+            if (remaining.contains(series)) {
+                ordered.add(series);
+            }
+        }
+        return ordered;
     }
 
     /**
@@ -925,8 +1017,12 @@ public class SeriesController extends BaseController {
             double minRating = (double) searchParams.get("minRating");
             String sortBy = (String) searchParams.get("sortBy");
 
+            // Walk the series in the requested order so that the result needs no sorting
+            SortKey sortKey = sortBy != null ? sortKeyFor(sortBy) : null;
+            List<Series> ordered = sortKey != null ? inServiceOrder(sortKey, isDescending(sortBy), allSeries) : allSeries;
+
             // Apply filters
-            List<Series> filtered = allSeries.stream()
+            List<Series> filtered = ordered.stream()
                     .filter(series -> title.isEmpty() || series.getTitle().toLowerCase().contains(title.toLowerCase()))
                     .filter(series -> series.getStartYear() >= yearFrom && series.getStartYear() <= yearTo)
                     .filter(series -> {
@@ -936,12 +1032,6 @@ public class SeriesController extends BaseController {
                     .filter(series -> series.getRating() >= minRating)
                     .collect(Collectors.toList());
 
-            // Apply sorting
-            Comparator<Series> comparator = getSortComparator(sortBy);
-            if (comparator != null) {
-                filtered.sort(comparator);
-            }
-
             // Update the table
             filteredSeries.setAll(filtered);
 
@@ -954,24 +1044,6 @@ public class SeriesController extends BaseController {
         }
     }
 
-    /**
-     * Returns a comparator based on the sort option.
-     */
-    private Comparator<Series> getSortComparator(String sortOption) {
-        if (sortOption == null) return null;
-
-        return switch (sortOption) {
-            case "Title (A-Z)" -> Comparator.comparing(Series::getTitle, String.CASE_INSENSITIVE_ORDER);
-            case "Title (Z-A)" -> Comparator.comparing(Series::getTitle, String.CASE_INSENSITIVE_ORDER).reversed();
-            case "Year (Newest)" -> Comparator.comparingInt(Series::getStartYear).reversed();
-            case "Year (Oldest)" -> Comparator.comparingInt(Series::getStartYear);
-            case "Rating (Highest)" -> Comparator.comparingDouble(Series::getRating).reversed();
-            case "Rating (Lowest)" -> Comparator.comparingDouble(Series::getRating);
-            default -> // Relevance or unknown
-                    null;
-        };
-    }
-
     /*
      * Handle add series action
      */
@@ -991,7 +1063,6 @@ public class SeriesController extends BaseController {
             if (showSeriesEditDialog(newSeries)) {
                 // Save the new series using the instance method
                 seriesService.save(newSeries);
-                loadSeries();
                 showSuccess("Success", "Series added successfully!");
             }
         } catch (Exception e) {
@@ -1040,9 +1111,6 @@ public class SeriesController extends BaseController {
                         rating,
                         selected.getImdbRating()));
 
-                // Refresh the series list to show updated ratings
-                loadSeries();
-
             } catch (NumberFormatException e) {
                 showAlert("Invalid Input", "Please enter a valid number between 0 and 10");
             } catch (Exception e) {
@@ -1355,9 +1423,6 @@ public class SeriesController extends BaseController {
 
                     // Show success message
                     showSuccess("Rating Submitted", "Your rating has been submitted successfully.");
-
-                    // Refresh the series list to show the updated rating
-                    loadSeries();
                 } catch (Exception e) {
                     logger.error("Error saving rating", e);
                     showError("Error", "Failed to save your rating: " + e.getMessage());
@@ -1414,7 +1479,7 @@ public class SeriesController extends BaseController {
                     } else {
                         setText(String.format("Season %d (%d episodes, %d)",
                                 season.getSeasonNumber(),
-                                season.getEpisodes() != null ? season.getEpisodes().size() : 0,
+                                season.getEpisodesCount(),
                                 season.getYear()));
                     }
                 }
@@ -1510,7 +1575,7 @@ public class SeriesController extends BaseController {
 
                     Spinner<Integer> seasonNumberSpinner = new Spinner<>(1, 100, selected.getSeasonNumber());
                     Spinner<Integer> yearSpinner = new Spinner<>(1900, 2100, selected.getYear());
-                    Spinner<Integer> episodesSpinner = new Spinner<>(1, 100, selected.getEpisodes().size());
+                    Spinner<Integer> episodesSpinner = new Spinner<>(1, 100, selected.getEpisodesCount());
 
                     grid.add(new Label("Season Number:"), 0, 0);
                     grid.add(seasonNumberSpinner, 1, 0);
@@ -3,9 +3,16 @@ package com.papel.imdb_clone.controllers.people;
 import com.papel.imdb_clone.data.DataManager;
 import com.papel.imdb_clone.enums.Ethnicity;
 import com.papel.imdb_clone.model.people.Actor;
+import com.papel.imdb_clone.model.people.Celebrity;
 import com.papel.imdb_clone.model.people.Director;
+import com.papel.imdb_clone.service.event.ChangeBatch;
+import com.papel.imdb_clone.service.event.ChangeEventBus;
+import com.papel.imdb_clone.service.metrics.MetricsRegistry;
 import com.papel.imdb_clone.service.people.CelebrityService;
 import com.papel.imdb_clone.service.navigation.NavigationService;
+import com.papel.imdb_clone.service.navigation.ViewLifecycle;
+import com.papel.imdb_clone.service.task.TaskScheduler;
+import com.papel.imdb_clone.util.IncrementalFilter;
 import javafx.application.Platform;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
@@ -28,9 +35,10 @@ import org.slf4j.LoggerFactory;
 
 import java.net.URL;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
-public class CelebritiesController implements Initializable {
+public class CelebritiesController implements Initializable, ViewLifecycle {
     /**
      * Explicit constructor for CelebritiesController.
      * Required for JavaFX controller initialization.
@@ -85,6 +93,13 @@ public class CelebritiesController implements Initializable {
     private final ObservableList<Director> directors = FXCollections.observableArrayList();
     private final FilteredList<Actor> filteredActors = new FilteredList<>(actors);
     private final FilteredList<Director> filteredDirectors = new FilteredList<>(directors);
+    //Results of the as-you-type searches, filled off the FX thread
+    private final ObservableList<Actor> matchingActors = FXCollections.observableArrayList();
+    private final ObservableList<Director> matchingDirectors = FXCollections.observableArrayList();
+    private final IncrementalFilter<Actor> actorFilter =
+            new IncrementalFilter<>("actor-search", matchingActors, CelebritiesController::matchesSearch);
+    private final IncrementalFilter<Director> directorFilter =
+            new IncrementalFilter<>("director-search", matchingDirectors, CelebritiesController::matchesSearch);
 
     // Services
     private CelebrityService<Actor> actorService;
@@ -127,6 +142,8 @@ public class CelebritiesController implements Initializable {
 
             // Initialize UI components
             try {
+                actorFilter.bind(actors);
+                directorFilter.bind(directors);
                 initializeActorTable();
                 initializeDirectorTable();
                 initializeUnifiedSearch();
@@ -134,8 +151,14 @@ public class CelebritiesController implements Initializable {
                 throw new RuntimeException("Failed to initialize UI components: " + e.getMessage(), e);
             }
 
+            // Keep the tables in step with edits made here or in other views
+            ChangeEventBus changeEvents = ChangeEventBus.getInstance();
+            changeEvents.subscribe(Actor.class, this, Platform::runLater, CelebritiesController::applyActorChanges);
+            changeEvents.subscribe(Director.class, this, Platform::runLater,
+                    CelebritiesController::applyDirectorChanges);
+
             // Load initial data in a separate thread to keep UI responsive
-            new Thread(this::loadCelebrities).start();
+            TaskScheduler.getInstance().runCpu(this::loadCelebrities);
             
             logger.info("CelebritiesController initialized successfully");
             
@@ -387,19 +410,14 @@ public class CelebritiesController implements Initializable {
                 logger.info(successMessage);
 
                 // Clear the status message after 3 seconds
-                new java.util.Timer().schedule(
-                        new java.util.TimerTask() {
-                            @Override
-                            public void run() {
-                                Platform.runLater(() -> {
-                                    if (statusLabel != null) {
-                                        statusLabel.setText("");
-                                        logger.info("Refresh completed");
-                                    }
-                                });
+                TaskScheduler.getInstance().schedule(
+                        () -> Platform.runLater(() -> {
+                            if (statusLabel != null) {
+                                statusLabel.setText("");
+                                logger.info("Refresh completed");
                             }
-                        },
-                        3000
+                        }),
+                        3, TimeUnit.SECONDS
                 );
             }
         } catch (Exception e) {
@@ -789,6 +807,38 @@ public class CelebritiesController implements Initializable {
         logger.debug("Filtered directors: {}", filteredDirectors);
     }
 
+    /**
+     * Called when the cached celebrities view is shown again.
+     * Changes made while it was hidden have already been applied from the change event bus,
+     * so nothing needs to be reloaded.
+     *
+     * @param currentUserId The ID of the currently logged-in user (unused by this view)
+     */
+    @Override
+    public void onViewReused(int currentUserId) {
+        // Nothing to refresh
+    }
+
+    //applies actor changes published by the service instead of reloading every celebrity
+    private void applyActorChanges(ChangeBatch<Actor> batch) {
+        long start = System.nanoTime();
+        batch.applyTo(actors, Actor::getId);
+        if (actorsTable != null) {
+            actorsTable.refresh();
+        }
+        MetricsRegistry.getInstance().histogram("table.refresh.celebrities").recordSince(start);
+    }
+
+    //applies director changes published by the service instead of reloading every celebrity
+    private void applyDirectorChanges(ChangeBatch<Director> batch) {
+        long start = System.nanoTime();
+        batch.applyTo(directors, Director::getId);
+        if (directorsTable != null) {
+            directorsTable.refresh();
+        }
+        MetricsRegistry.getInstance().histogram("table.refresh.celebrities").recordSince(start);
+    }
+
     private void loadCelebrities() {
         logger.info("Starting to load celebrities...");
         
@@ -870,18 +920,13 @@ public class CelebritiesController implements Initializable {
                     logger.info(status);
                     
                     // Clear the status message after 3 seconds
-                    new java.util.Timer().schedule(
-                        new java.util.TimerTask() {
-                            @Override
-                            public void run() {
-                                Platform.runLater(() -> {
-                                    if (statusLabel != null) {
-                                        statusLabel.setText("");
-                                    }
-                                });
+                    TaskScheduler.getInstance().schedule(
+                        () -> Platform.runLater(() -> {
+                            if (statusLabel != null) {
+                                statusLabel.setText("");
                             }
-                        },
-                        3000
+                        }),
+                        3, TimeUnit.SECONDS
                     );
                 }
             } catch (Exception e) {
@@ -1075,7 +1120,6 @@ private void showAddActorDialog() {
         result.ifPresent(actor -> {
             try {
                 actorService.save(actor);
-                actors.add(actor);
                 updateStatus("Actor added successfully!");
             } catch (Exception e) {
                 showError("Error", "Failed to add actor: " + e.getMessage());
@@ -1192,13 +1236,11 @@ private void showAddActorDialog() {
                     Actor actor = new Actor(firstName, lastName, birthDate, gender, ethnicity);
                     actor.setNotableWorks(notableWorks);
                     actorService.save(actor);
-                    actors.add(actor);
                     
                     // Create and save director
                     Director director = Director.getInstance(firstName, lastName, birthDate, gender, ethnicity);
                     director.setNotableWorks(notableWorks);
                     directorService.save(director);
-                    directors.add(director);
                     
                     updateStatus("Celebrity added successfully as both Actor and Director!");
                 } catch (Exception e) {
@@ -1302,7 +1344,6 @@ private void showAddActorDialog() {
             result.ifPresent(director -> {
                 try {
                     directorService.save(director);
-                    directors.add(director);
                     updateStatus("Director added successfully!");
                 } catch (Exception e) {
                     showError("Error", "Failed to add director: " + e.getMessage());
@@ -1333,28 +1374,13 @@ private void showAddActorDialog() {
      */
     private void filterActors(String query) {
         if (query == null || query.trim().isEmpty()) {
+            // Drop any pending search and show the full list straight away
+            actorFilter.filter("");
             actorsTable.setItems(actors);
             return;
         }
-        
-        String lowerCaseQuery = query.toLowerCase();
-        List<Actor> filteredList = actors.stream()
-            .filter(actor -> {
-                String fullName = (actor.getFirstName() + " " + actor.getLastName()).toLowerCase();
-                boolean nameMatches = fullName.contains(lowerCaseQuery);
-                
-                // Check if any notable work contains the query
-                boolean notableWorkMatches = false;
-                if (actor.getNotableWorks() != null) {
-                    notableWorkMatches = actor.getNotableWorks().stream()
-                        .anyMatch(work -> work != null && work.toLowerCase().contains(lowerCaseQuery));
-                }
-                
-                return nameMatches || notableWorkMatches;
-            })
-            .collect(Collectors.toList());
-            
-        actorsTable.setItems(FXCollections.observableArrayList(filteredList));
+        actorsTable.setItems(matchingActors);
+        actorFilter.filter(query);
     }
     
     /**
@@ -1364,28 +1390,30 @@ private void showAddActorDialog() {
      */
     private void filterDirectors(String query) {
         if (query == null || query.trim().isEmpty()) {
+            // Drop any pending search and show the full list straight away
+            directorFilter.filter("");
             directorsTable.setItems(directors);
             return;
         }
-        
-        String lowerCaseQuery = query.toLowerCase();
-        List<Director> filteredList = directors.stream()
-            .filter(director -> {
-                String fullName = (director.getFirstName() + " " + director.getLastName()).toLowerCase();
-                boolean nameMatches = fullName.contains(lowerCaseQuery);
-                
-                // Check if any notable work contains the query
-                boolean notableWorkMatches = false;
-                if (director.getNotableWorks() != null) {
-                    notableWorkMatches = director.getNotableWorks().stream()
-                        .anyMatch(work -> work != null && work.toLowerCase().contains(lowerCaseQuery));
-                }
-                
-                return nameMatches || notableWorkMatches;
-            })
-            .collect(Collectors.toList());
-            
-        directorsTable.setItems(FXCollections.observableArrayList(filteredList));
+        directorsTable.setItems(matchingDirectors);
+        directorFilter.filter(query);
+    }
+
+    /**
+     * Checks whether a celebrity matches the search query by full name or notable work.
+     *
+     * @param celebrity      the actor or director to check
+     * @param lowerCaseQuery the trimmed, lower-case query
+     * @return true if the celebrity matches
+     */
+    private static boolean matchesSearch(Celebrity celebrity, String lowerCaseQuery) {
+        String fullName = (celebrity.getFirstName() + " " + celebrity.getLastName()).toLowerCase();
+        if (fullName.contains(lowerCaseQuery)) {
+            return true;
+        }
+        // Check if any notable work contains the query
+        return celebrity.getNotableWorks() != null && celebrity.getNotableWorks().stream()
+            .anyMatch(work -> work != null && work.toLowerCase().contains(lowerCaseQuery));
     }
     
     /**
@@ -1398,17 +1426,12 @@ private void showAddActorDialog() {
             Platform.runLater(() -> {
                 statusLabel.setText(message);
                 
-                // Clear the status after 5 seconds
-                new Thread(() -> {
-                    try {
-                        Thread.sleep(5000);
-                        if (statusLabel.getText().equals(message)) {
-                            Platform.runLater(() -> statusLabel.setText(""));
-                        }
-                    } catch (InterruptedException e) {
-                        Thread.currentThread().interrupt();
+                // Clear the status after 5 seconds unless it was replaced meanwhile
+                TaskScheduler.getInstance().schedule(() -> Platform.runLater(() -> {
+                    if (message.equals(statusLabel.getText())) {
+                        statusLabel.setText("");
                     }
-                }).start();
+                }), 5, TimeUnit.SECONDS);
             });
         }
     }
@@ -3,9 +3,11 @@ package com.papel.imdb_clone.controllers.search;
 import com.papel.imdb_clone.model.content.Content;
 import com.papel.imdb_clone.model.content.Movie;
 import com.papel.imdb_clone.model.content.Series;
+import com.papel.imdb_clone.service.navigation.ViewLifecycle;
+import com.papel.imdb_clone.service.search.SearchResultCursor;
+import com.papel.imdb_clone.service.task.TaskScheduler;
 import javafx.application.Platform;
 import javafx.beans.property.SimpleStringProperty;
-import javafx.collections.FXCollections;
 import javafx.geometry.Insets;
 import javafx.scene.Node;
 import javafx.scene.control.*;
@@ -14,16 +16,15 @@ import javafx.scene.layout.HBox;
 import javafx.scene.layout.Priority;
 import javafx.scene.layout.VBox;
 import javafx.fxml.FXML;
-import javafx.collections.ObservableList;
 import javafx.concurrent.Task;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.text.SimpleDateFormat;
-import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
 import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 
 
@@ -32,8 +33,10 @@ import java.util.stream.Collectors;
  * Coordinates between the search form and results table that are used to display the search results which are
  * built using the search criteria from the search form.
  */
-public class AdvancedSearchController extends BaseSearchController {
+public class AdvancedSearchController extends BaseSearchController implements ViewLifecycle {
     private static final Logger logger = LoggerFactory.getLogger(AdvancedSearchController.class);
+    //Key under which searches supersede each other in the task scheduler
+    private static final String SEARCH_TASK_KEY = "advanced-search";
 
 
     public VBox searchForm;
@@ -64,7 +67,9 @@ public class AdvancedSearchController extends BaseSearchController {
     @FXML
     private Label resultsCountLabel;
 
-    private Task<ObservableList<Content>> currentSearchTask;
+    private Task<SearchResultCursor> currentSearchTask;
+    //Paged view over the current search cursor, shared by every search
+    private final PagedContentList pagedResults = new PagedContentList();
     private Map<String, Object> data;
 
     /**
@@ -485,6 +490,16 @@ public class AdvancedSearchController extends BaseSearchController {
         // No valid search criteria found
     }
 
+    /**
+     * Keeps the search form and the paged results as they were when the cached view is shown again.
+     *
+     * @param currentUserId The ID of the currently logged-in user (unused by this view)
+     */
+    @Override
+    public void onViewReused(int currentUserId) {
+        logger.debug("Reusing advanced search view with {} results", pagedResults.size());
+    }
+
     /**
      * Navigates back to the home view.
      */
@@ -526,12 +541,6 @@ public class AdvancedSearchController extends BaseSearchController {
         // Log the search criteria for debugging
         logger.info("Performing search with criteria: {}", criteria);
 
-        // Cancel any ongoing search
-        if (currentSearchTask != null && currentSearchTask.isRunning()) {
-            logger.info("Cancelling previous search task");
-            currentSearchTask.cancel();
-        }
-
         // Validate search service
         if (searchService == null) {
             logger.error("Search service is not available");
@@ -573,58 +582,20 @@ public class AdvancedSearchController extends BaseSearchController {
             resultsTable.getItems().size(), 
             resultsTable.getColumns().size());
 
-        // Create a new search task
-        currentSearchTask = new Task<ObservableList<Content>>() {
+        // Create a new search task that only opens a cursor; rows are paged in as the table scrolls
+        Task<SearchResultCursor> searchTask = new Task<SearchResultCursor>() {
             @Override
-            protected ObservableList<Content> call() throws Exception {
+            protected SearchResultCursor call() throws Exception {
                 try {
                     // Perform the search using the search service
-                    List<Content> results = searchService.search(criteria);
-                    logger.info("Found {} results for search criteria: {}", results.size(), criteria);
-                    
-                    // Convert to observable list for JavaFX
-                    ObservableList<Content> observableResults = FXCollections.observableArrayList(results);
-                    
-                    // Update the UI on the JavaFX Application Thread
-                    Platform.runLater(() -> {
-                        try {
-                            // Update the table with search results
-                            if (resultsTable != null) {
-                                resultsTable.getItems().clear();
-                                resultsTable.setItems(observableResults);
-                                
-                                // Update the results count label
-                                if (resultsCountLabel != null) {
-                                    String countText = results.isEmpty() ? "No results found" : 
-                                        String.format("Found %d result%s", results.size(), results.size() != 1 ? "s" : "");
-                                    resultsCountLabel.setText(countText);
-                                }
-                                
-                                // Log the update
-                                logger.info("Updated table with {} items", results.size());
-                                
-                                // Force refresh the table to show the new data
-                                resultsTable.refresh();
-                                
-                                // Update the results table controller if available
-                                if (resultsTableController != null) {
-                                    resultsTableController.updateResults(observableResults);
-                                }
-                            }
-                            
-                            // Update status
-                            updateStatus(String.format("Found %d results", results.size()));
-                            
-                        } catch (Exception e) {
-                            logger.error("Error updating table with search results", e);
-                            showError("Error", "Failed to display search results: " + e.getMessage());
-                            updateStatus("Error displaying results");
-                        }
-                    });
-
-                    return observableResults;
-                    
+                    SearchResultCursor cursor = searchService.openCursor(criteria);
+                    logger.info("Found {} results for search criteria: {}", cursor.size(), criteria);
+                    return cursor;
                 } catch (Exception e) {
+                    if (isCancelled()) {
+                        // Superseded by a newer search, nothing to report
+                        throw e;
+                    }
                     logger.error("Error during search: {}", e.getMessage(), e);
                     Platform.runLater(() -> {
                         showError("Search Error", "Failed to perform search: " + 
@@ -650,12 +621,15 @@ public class AdvancedSearchController extends BaseSearchController {
         };
 
         // Handle successful search completion
-        currentSearchTask.setOnSucceeded(event -> {
+        currentSearchTask = searchTask;
+        searchTask.setOnSucceeded(event -> {
+            if (searchTask != currentSearchTask) {
+                logger.debug("Ignoring results of a superseded search");
+                return;
+            }
             try {
-                // Results are already handled in the call() method through Platform.runLater
-                // This is a fallback in case the Platform.runLater in call() didn't execute
-                ObservableList<Content> results = currentSearchTask.getValue();
-                if (results == null) {
+                SearchResultCursor cursor = searchTask.getValue();
+                if (cursor == null) {
                     logger.warn("Search completed but no results were returned");
                     updateStatus("No results found");
                     if (resultsCountLabel != null) {
@@ -664,56 +638,34 @@ public class AdvancedSearchController extends BaseSearchController {
                     return;
                 }
 
-                // Update the results table controller
+                // Swap the cursor behind the paged list; the table only fetches the visible pages
+                pagedResults.setCursor(cursor);
                 if (resultsTableController != null) {
-                    resultsTableController.setResults(results);
-                    
-                    // Update the results count label if not already updated
-                    if (resultsCountLabel != null) {
-                        resultsCountLabel.setText(String.format("Results: %d", results.size()));
-                    }
-                    
-                    updateStatus(String.format("Found %d results", results.size()));
+                    resultsTableController.setPagedResults(pagedResults);
+                } else if (resultsTable.getItems() != pagedResults) {
+                    resultsTable.setItems(pagedResults);
                 }
-                
-                logger.info("Search completed. Found {} results.", results.size());
+                logger.info("Search completed. Found {} results.", cursor.size());
 
                 // Log the first few results for debugging
-                int maxResultsToLog = Math.min(5, results.size());
-                for (int i = 0; i < maxResultsToLog; i++) {
-                    Content content = results.get(i);
-                    logger.debug("Result {}: {} (ID: {})", i + 1, content.getTitle(), content.getId());
-                }
-
-                if (resultsTableController != null) {
-                    // Make sure the table is visible
-                    if (resultsTableController.getResultsTable() != null) {
-                        resultsTableController.getResultsTable().setVisible(true);
-                        logger.debug("Table visibility set to: {}", resultsTableController.getResultsTable().isVisible());
-                    }
-
-                    // Update the results using the controller's method
-                    resultsTableController.updateResults(results);
-                    logger.debug("Results passed to resultsTableController.updateResults()");
-
-                    // Update the results count label
-                    if (resultsCountLabel != null) {
-                        String countText = String.format("Found %d result%s", results.size(), results.size() != 1 ? "s" : "");
-                        resultsCountLabel.setText(countText);
-                        logger.debug("Results count label updated to: {}", countText);
+                if (logger.isDebugEnabled()) {
+                    for (Content content : cursor.fetch(0, 5)) {
+                        logger.debug("Result: {} (ID: {})", content.getTitle(), content.getId());
                     }
+                }
 
-                    // Make sure the Manage Details button is properly set up
-                    logger.debug("Table has {} items", resultsTable.getItems() != null ? resultsTable.getItems().size() : 0);
-                    logger.debug("Table columns: {}", resultsTable.getColumns());
+                // Update the results count label
+                if (resultsCountLabel != null) {
+                    String countText = cursor.isEmpty() ? "No results found" :
+                        String.format("Found %d result%s", cursor.size(), cursor.size() != 1 ? "s" : "");
+                    resultsCountLabel.setText(countText);
+                }
 
-                    if (manageDetailsButton != null) {
-                        // Update the button state based on current selection
-                        manageDetailsButton.setDisable(resultsTable.getSelectionModel().getSelectedItem() == null);
-                        logger.debug("Manage Details button disabled state: {}", manageDetailsButton.isDisabled());
-                    }
-                    updateStatus(String.format("Found %d results", results.size()));
+                if (manageDetailsButton != null) {
+                    // Update the button state based on current selection
+                    manageDetailsButton.setDisable(resultsTable.getSelectionModel().getSelectedItem() == null);
                 }
+                updateStatus(String.format("Found %d results", cursor.size()));
             } catch (Exception e){
                 logger.error("Error performing search", e);
                 showError("Search Error", "Failed to perform search: " + e.getMessage());
@@ -722,18 +674,21 @@ public class AdvancedSearchController extends BaseSearchController {
         });
 
         // Handle search errors
-        currentSearchTask.setOnFailed(event -> {
-            Throwable e = currentSearchTask.getException();
+        searchTask.setOnFailed(event -> {
+            Throwable e = searchTask.getException();
             String errorMsg = "Search failed: " + (e != null ? e.getMessage() : "Unknown error");
             logger.error(errorMsg, e);
             showError("Search Error", errorMsg);
             updateStatus("Search failed");
         });
 
-        // Run the search in a background thread
-        Thread searchThread = new Thread(currentSearchTask);
-        searchThread.setDaemon(true);
-        searchThread.start();
+        // Run the search on the shared pool; a newer search cancels any search still running
+        try {
+            TaskScheduler.getInstance().submitLatest(SEARCH_TASK_KEY, searchTask);
+        } catch (RejectedExecutionException e) {
+            logger.warn("Search rejected, too much background work queued", e);
+            updateStatus("Busy, please try again");
+        }
     }
 
     /**
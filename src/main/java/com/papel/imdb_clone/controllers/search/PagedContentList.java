@@ -0,0 +1,166 @@
+package com.papel.imdb_clone.controllers.search;
+
+import com.papel.imdb_clone.model.content.Content;
+import com.papel.imdb_clone.service.search.SearchResultCursor;
+import javafx.collections.ObservableListBase;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Lazy, read-only ObservableList over a SearchResultCursor.
+ * Rows are fetched from the cursor one page at a time when the TableView asks for them,
+ * and only the most recently used pages are kept, so very large result sets open instantly.
+ * The list cannot be sorted in place; {@link #sort(Comparator)} orders the rows through an index
+ * into the cursor instead and reports the change as a permutation, which keeps the selection.
+ * Must only be used from the JavaFX Application Thread.
+ */
+public class PagedContentList extends ObservableListBase<Content> {
+    //Number of rows fetched from the cursor at once
+    static final int PAGE_SIZE = 100;
+    //Number of pages kept in memory
+    static final int MAX_CACHED_PAGES = 8;
+
+    private SearchResultCursor cursor = SearchResultCursor.empty();
+    //Order the rows are shown in, or null to show them in cursor order
+    private Comparator<? super Content> comparator;
+    //Cursor index of each row when sorted, or null in cursor order
+    private int[] order;
+
+    //LRU cache of fetched pages keyed by page number
+    private final Map<Integer, List<Content>> pages = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, List<Content>> eldest) {
+            return size() > MAX_CACHED_PAGES;
+        }
+    };
+
+    /**
+     * Creates an empty paged list.
+     */
+    public PagedContentList() {
+        // Starts with the empty cursor
+    }
+
+    /**
+     * Replaces the cursor backing this list and notifies listeners that all rows changed.
+     * The rows of the new cursor are shown in the current sort order.
+     *
+     * @param newCursor the cursor to page through, or null to clear the list
+     */
+    public void setCursor(SearchResultCursor newCursor) {
+        SearchResultCursor next = newCursor != null ? newCursor : SearchResultCursor.empty();
+        int oldSize = cursor.size();
+        // The removed rows are a view of the old cursor, so they are only fetched if a listener reads them
+        List<Content> removed = rows(cursor, order);
+        cursor = next;
+        order = sortOrder(next, comparator);
+        pages.clear();
+        beginChange();
+        if (oldSize > 0) {
+            nextRemove(0, removed);
+        }
+        if (next.size() > 0) {
+            nextAdd(0, next.size());
+        }
+        endChange();
+    }
+
+    /**
+     * Orders the rows, for example by the comparator of a TableView's sort columns.
+     *
+     * @param newComparator the order of the rows, or null for the order of the cursor
+     */
+    @Override
+    public void sort(Comparator<? super Content> newComparator) {
+        int[] oldOrder = order;
+        comparator = newComparator;
+        order = sortOrder(cursor, newComparator);
+        int size = cursor.size();
+        if (size == 0 || Arrays.equals(oldOrder, order)) {
+            return;
+        }
+        // Row k of the old order moves to the row showing the same cursor index in the new order
+        int[] rowOf = new int[size];
+        for (int row = 0; row < size; row++) {
+            rowOf[order != null ? order[row] : row] = row;
+        }
+        int[] permutation = new int[size];
+        for (int row = 0; row < size; row++) {
+            permutation[row] = rowOf[oldOrder != null ? oldOrder[row] : row];
+        }
+        beginChange();
+        nextPermutation(0, size, permutation);
+        endChange();
+    }
+
+    /**
+     * Gets the cursor backing this list.
+     *
+     * @return the current cursor
+     */
+    public SearchResultCursor getCursor() {
+        return cursor;
+    }
+
+    @Override
+    public Content get(int index) {
+        if (index < 0 || index >= cursor.size()) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + cursor.size());
+        }
+        if (order != null) {
+            // Sorted rows are scattered over the cursor's pages, so they are read directly
+            return cursor.get(order[index]);
+        }
+        int pageNumber = index / PAGE_SIZE;
+        List<Content> page = pages.get(pageNumber);
+        if (page == null) {
+            page = cursor.fetch(pageNumber * PAGE_SIZE, PAGE_SIZE);
+            pages.put(pageNumber, page);
+        }
+        return page.get(index % PAGE_SIZE);
+    }
+
+    @Override
+    public int size() {
+        return cursor.size();
+    }
+
+    //cursor index of every row in the comparator's order, or null to keep the cursor order
+    private static int[] sortOrder(SearchResultCursor cursor, Comparator<? super Content> comparator) {
+        if (comparator == null) {
+            return null;
+        }
+        return IntStream.range(0, cursor.size())
+                .boxed()
+                .sorted((a, b) -> comparator.compare(cursor.get(a), cursor.get(b)))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    //the rows of a cursor in the given order, read on demand
+    private static List<Content> rows(SearchResultCursor cursor, int[] order) {
+        return new AbstractList<>() {
+            @Override
+            public Content get(int index) {
+                return cursor.get(order != null ? order[index] : index);
+            }
+
+            @Override
+            public int size() {
+                return cursor.size();
+            }
+        };
+    }
+
+    //clearing resets the list to the empty cursor so existing getItems().clear() calls keep working
+    @Override
+    public void clear() {
+        setCursor(SearchResultCursor.empty());
+    }
+}
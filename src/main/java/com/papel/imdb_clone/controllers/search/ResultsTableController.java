@@ -3,6 +3,7 @@ package com.papel.imdb_clone.controllers.search;
 import com.papel.imdb_clone.controllers.content.ContentDetailsController;
 import com.papel.imdb_clone.model.content.Content;
 import com.papel.imdb_clone.model.content.Movie;
+import com.papel.imdb_clone.model.content.Season;
 import javafx.application.Platform;
 import javafx.beans.property.SimpleIntegerProperty;
 import javafx.beans.property.SimpleStringProperty;
@@ -79,6 +80,15 @@ public class ResultsTableController extends BaseSearchController {
             
             // Set the items in the table first
             resultsTable.setItems(searchResults);
+
+            // Paged results cannot be sorted in place, so clicking a column header sorts them by index
+            resultsTable.setSortPolicy(table -> {
+                if (table.getItems() instanceof PagedContentList paged) {
+                    paged.sort(table.getComparator());
+                    return true;
+                }
+                return TableView.DEFAULT_SORT_POLICY.call(table);
+            });
             
             // Set up the table columns
             setupTableColumns();
@@ -209,7 +219,7 @@ public class ResultsTableController extends BaseSearchController {
                     logger.debug("Found series: {} with {} seasons and {} total episodes", 
                         series.getTitle(), 
                         series.getSeasons().size(),
-                        series.getSeasons().stream().mapToInt(s -> s.getEpisodes().size()).sum());
+                        series.getSeasons().stream().mapToInt(Season::getEpisodesCount).sum());
                 }
             }
             
@@ -261,11 +271,42 @@ public class ResultsTableController extends BaseSearchController {
         }
     }
 
+    /**
+     * Shows a paged result list in the table.
+     * Unlike updateResults, this does not copy or walk the results; rows are fetched as the table scrolls.
+     *
+     * @param results The paged list of content items to display
+     */
+    public void setPagedResults(PagedContentList results) {
+        if (resultsTable == null) {
+            logger.error("resultsTable is null in setPagedResults!");
+            return;
+        }
+        if (resultsTable.getItems() != results) {
+            resultsTable.setItems(results);
+        }
+        boolean hasSeries = results.getCursor().getSeriesCount() > 0;
+        if (resultSeasonsColumn != null) {
+            resultSeasonsColumn.setVisible(hasSeries);
+        }
+        if (resultEpisodesColumn != null) {
+            resultEpisodesColumn.setVisible(hasSeries);
+        }
+        if (results.isEmpty()) {
+            resultsTable.setPlaceholder(new Label("No results found"));
+        }
+        resultsTable.scrollTo(0);
+        updateResultsCount(results.size());
+    }
+
     /**
      * Clears all results from the table.
      */
     public void clearResults() {
         searchResults.clear();
+        if (resultsTable != null) {
+            resultsTable.getItems().clear();
+        }
         updateResultsCount(0);
     }
 
@@ -440,7 +481,7 @@ public class ResultsTableController extends BaseSearchController {
                     Content content = cellData.getValue();
                     if (content instanceof com.papel.imdb_clone.model.content.Series series) {
                         int episodeCount = series.getSeasons().stream()
-                                .mapToInt(s -> s.getEpisodes().size())
+                                .mapToInt(Season::getEpisodesCount)
                                 .sum();
                         logger.trace("Series '{}' has {} total episodes", series.getTitle(), episodeCount);
                         return new SimpleIntegerProperty(episodeCount).asObject();
@@ -2,9 +2,12 @@ package com.papel.imdb_clone.controllers.search;
 
 import com.papel.imdb_clone.enums.ContentType;
 import com.papel.imdb_clone.enums.Genre;
+import com.papel.imdb_clone.enums.SortKey;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 
 /**
  * Search criteria such as title, year, rating, genre, content type, and sort order for filtering content.
@@ -33,6 +36,52 @@ public class SearchCriteria {
         this.query = query;
     }
 
+    /**
+     * Builds search criteria from named text parameters, as passed on the command line or in a URL:
+     * query, genre, type, min-year, max-year, min-rating, max-rating, sort and desc.
+     * Missing parameters leave the criterion unset.
+     *
+     * @param parameters the parameters by name
+     * @return the search criteria
+     * @throws IllegalArgumentException if a parameter has an invalid value
+     */
+    public static SearchCriteria fromParameters(Map<String, String> parameters) {
+        SearchCriteria criteria = new SearchCriteria(parameters.getOrDefault("query", ""));
+        try {
+            if (parameters.containsKey("genre")) {
+                criteria.setGenre(Genre.valueOf(parameters.get("genre").trim().toUpperCase(Locale.ROOT)));
+            }
+            if (parameters.containsKey("type")) {
+                criteria.setContentType(ContentType.valueOf(parameters.get("type").trim().toUpperCase(Locale.ROOT)));
+            }
+            if (parameters.containsKey("min-year")) {
+                criteria.setMinYear(Integer.parseInt(parameters.get("min-year").trim()));
+            }
+            if (parameters.containsKey("max-year")) {
+                criteria.setMaxYear(Integer.parseInt(parameters.get("max-year").trim()));
+            }
+            if (parameters.containsKey("min-rating")) {
+                criteria.setMinRating(Double.parseDouble(parameters.get("min-rating").trim()));
+            }
+            if (parameters.containsKey("max-rating")) {
+                criteria.setMaxRating(Double.parseDouble(parameters.get("max-rating").trim()));
+            }
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid search parameter: " + e.getMessage(), e);
+        }
+        if (parameters.containsKey("sort")) {
+            String sort = parameters.get("sort").trim().toUpperCase(Locale.ROOT);
+            try {
+                SortKey.valueOf(sort);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid search parameter: cannot sort by " + parameters.get("sort"), e);
+            }
+            criteria.setSortBy(sort.toLowerCase(Locale.ROOT));
+            criteria.setSortOrder(Boolean.parseBoolean(parameters.getOrDefault("desc", "false")) ? "desc" : "asc");
+        }
+        return criteria;
+    }
+
     //search criteria constructor with all parameters
     public SearchCriteria(String query, Double minImdbRating, Double maxImdbRating, List<Genre> genres, Integer minYear, Integer maxYear, String sortBy, boolean sortDescending,
                           Integer startYear, Integer endYear, String actor, String director, ContentType contentType, Genre genre, String title) {
@@ -14,13 +14,19 @@ import com.papel.imdb_clone.service.content.MoviesService;
 import com.papel.imdb_clone.service.content.SeriesService;
 import com.papel.imdb_clone.service.search.ServiceLocator;
 import com.papel.imdb_clone.service.data.base.DataLoaderService;
+import com.papel.imdb_clone.service.data.base.DataSection;
+import com.papel.imdb_clone.service.data.base.LoadProgressEvent;
 import com.papel.imdb_clone.service.data.base.FileDataLoaderService;
+import com.papel.imdb_clone.service.task.TaskScheduler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 /**
  * DataManager that delegates to specialized services and repositories.
@@ -34,7 +40,9 @@ public class DataManager {
     private static volatile DataManager instance;
     private static final Object lock = new Object();
     
-    private boolean dataLoaded;
+    private volatile boolean dataLoaded;
+    //Catalogue load started in the background, or null if none was started
+    private volatile CompletableFuture<Void> backgroundLoad;
     private User user;
     private static final Logger logger = LoggerFactory.getLogger(DataManager.class);
 
@@ -149,9 +157,54 @@ public class DataManager {
     public void loadAllData() throws IOException {
         logger.info("Loading all data using DataLoaderService");
         dataLoaderService.loadAllData();
+        dataLoaded = true;
         logger.info("Data loading completed");
     }
 
+    /**
+     * Starts loading all data on an I/O thread. Calling it again returns the load already started.
+     *
+     * @return a future completed when the data is loaded
+     */
+    public CompletableFuture<Void> loadAllDataInBackground() {
+        synchronized (lock) {
+            if (backgroundLoad == null) {
+                backgroundLoad = TaskScheduler.getInstance().runIo(() -> {
+                    try {
+                        loadAllData();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+            return backgroundLoad;
+        }
+    }
+
+    /**
+     * Gets a future completed once a section of the catalogue is queryable.
+     * Without a background load the data is loaded synchronously, so the future is already complete.
+     *
+     * @param section the section to wait for
+     * @return a future completed when the section has finished loading
+     */
+    public CompletableFuture<Void> whenReady(DataSection section) {
+        if (backgroundLoad == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return dataLoaderService.getReadiness().whenReady(section);
+    }
+
+    /**
+     * Subscribes to the progress of the catalogue load.
+     * The listener is called on the loading thread.
+     *
+     * @param listener called for every progress event
+     */
+    public void addLoadListener(Consumer<LoadProgressEvent> listener) {
+        dataLoaderService.getReadiness().addListener(listener);
+    }
+
 
     // Movie operations
     public List<Movie> getAllMovies() {
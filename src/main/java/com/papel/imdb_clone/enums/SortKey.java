@@ -0,0 +1,46 @@
+package com.papel.imdb_clone.enums;
+
+import com.papel.imdb_clone.model.content.Content;
+import com.papel.imdb_clone.model.content.Series;
+
+import java.util.Comparator;
+
+//SORT KEY ENUM
+//Sort keys that the content services keep pre-sorted views for
+public enum SortKey {
+    TITLE(Comparator.comparing(SortKey::titleOf, String.CASE_INSENSITIVE_ORDER)),
+    YEAR(Comparator.comparingInt(Content::getStartYear)),
+    RATING(Comparator.comparingDouble(Content::getRating)),
+    SEASONS(Comparator.comparingInt(SortKey::seasonsOf)),
+    CREATOR(Comparator.comparing(SortKey::creatorOf, String.CASE_INSENSITIVE_ORDER));
+
+    private final Comparator<Content> comparator;
+
+    SortKey(Comparator<Content> comparator) {
+        // Ties are broken by id so that every view has one well-defined order
+        this.comparator = comparator.thenComparingInt(Content::getId);
+    }
+
+    /**
+     * Gets the ascending comparator for this key.
+     *
+     * @return the comparator
+     */
+    public Comparator<Content> comparator() {
+        return comparator;
+    }
+
+    //null-safe accessors used by the comparators
+    private static String titleOf(Content content) {
+        return content.getTitle() != null ? content.getTitle() : "";
+    }
+
+    private static int seasonsOf(Content content) {
+        return content instanceof Series series ? series.getTotalSeasons() : 0;
+    }
+
+    private static String creatorOf(Content content) {
+        String creator = content instanceof Series series ? series.getCreator() : content.getDirector();
+        return creator != null ? creator : "";
+    }
+}
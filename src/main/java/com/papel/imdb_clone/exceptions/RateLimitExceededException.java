@@ -18,9 +18,9 @@ public class RateLimitExceededException extends Exception {
     }
 
     /**
-     * Gets the remaining time in minutes until the rate limit resets.
+     * Gets the remaining time in milliseconds until the next request is allowed.
      *
-     * @return The remaining time in minutes
+     * @return The remaining time in milliseconds
      */
     public long getRemainingTime() {
         return remainingTime;
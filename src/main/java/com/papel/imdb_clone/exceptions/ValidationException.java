@@ -1,7 +1,6 @@
 package com.papel.imdb_clone.exceptions;
 
 import java.io.*;
-import java.lang.reflect.Field;
 import java.util.*;
 
 /**
@@ -60,15 +59,8 @@ public class ValidationException extends RuntimeException implements Serializabl
                              Map<String, List<String>> fieldErrors,
                              Throwable cause, boolean dummy) {
         super(message, cause);
-        // Initialize error code safely
-        String safeErrorCode = errorCode != null ? errorCode : "VALIDATION_ERROR";
-        try {
-            Field field = getClass().getDeclaredField("errorCode");
-            field.setAccessible(true);
-            field.set(this, safeErrorCode);
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to initialize error code", e);
-        }
+        // Subclasses do not declare errorCode, so it is assigned here rather than looked up on getClass()
+        this.errorCode = errorCode != null ? errorCode : "VALIDATION_ERROR";
         // Set field errors
         if (fieldErrors != null) {
             for (Map.Entry<String, List<String>> entry : fieldErrors.entrySet()) {
@@ -77,7 +69,6 @@ public class ValidationException extends RuntimeException implements Serializabl
                 }
             }
         }
-        this.errorCode = "";
     }
 
     /**
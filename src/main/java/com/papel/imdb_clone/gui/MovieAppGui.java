@@ -3,7 +3,14 @@ package com.papel.imdb_clone.gui;
 import com.papel.imdb_clone.config.ApplicationConfig;
 import com.papel.imdb_clone.controllers.authentication.AuthController;
 import com.papel.imdb_clone.data.DataManager;
+import com.papel.imdb_clone.service.api.CatalogueApiServer;
+import com.papel.imdb_clone.service.data.base.DataFileReloader;
+import com.papel.imdb_clone.service.data.base.LoadProgressEvent;
+import com.papel.imdb_clone.service.metrics.MetricsRegistry;
 import com.papel.imdb_clone.service.search.ServiceLocator;
+import com.papel.imdb_clone.service.task.TaskScheduler;
+import com.papel.imdb_clone.service.validation.PasswordHashingService;
+import com.papel.imdb_clone.util.StartupProfiler;
 import javafx.application.Application;
 import javafx.application.Platform;
 import javafx.fxml.FXMLLoader;
@@ -35,6 +42,9 @@ public class MovieAppGui extends Application {
 
     private ApplicationConfig config; // Application configuration
     private ServiceLocator serviceLocator; // Service locator
+    private StartupProfiler profiler; // Startup phase timings
+    private CatalogueApiServer apiServer; // Local JSON API, when enabled
+    private DataFileReloader dataReloader; // Applies data file edits, when enabled
 
     /**
      * Initializes the application
@@ -47,6 +57,8 @@ public class MovieAppGui extends Application {
     @Override
     public void start(Stage primaryStage) throws Exception {
 
+        profiler = new StartupProfiler();
+
         // Set the primary stage in ServiceLocator as early as possible
         ServiceLocator.setPrimaryStage(primaryStage);
 
@@ -69,9 +81,15 @@ public class MovieAppGui extends Application {
 
             // Show login screen first
             System.out.println("[Startup] About to show login screen...");
-            showAuthScreen(LOGIN_VIEW, "Login");
+            profiler.time("login screen", () -> showAuthScreen(LOGIN_VIEW, "Login"));
             System.out.println("[Startup] Login screen shown");
 
+            if (config.isLoginFirstStartup()) {
+                loadCatalogueInBackground();
+            } else {
+                profiler.logSummary();
+            }
+
         } catch (Exception e) {
             logger.error("Failed to start application", e);
             Platform.exit();
@@ -79,7 +97,9 @@ public class MovieAppGui extends Application {
     }
 
     /**
-     * Initializes the application
+     * Initializes the application.
+     * In the default login-first mode the catalogue is not loaded here but in the background once
+     * the login screen is showing; in blocking mode it is loaded before the login screen appears.
      * @throws IOException if the application fails to initialize
      */
     private void initializeApplication() throws IOException {
@@ -87,18 +107,86 @@ public class MovieAppGui extends Application {
 
 
         // Load configuration
-        config = ApplicationConfig.getInstance();
+        profiler.time("configuration", () -> config = ApplicationConfig.getInstance());
+        startMetricsExport();
 
         // Initialize service locator and get data manager
-        serviceLocator = ServiceLocator.getInstance();
+        profiler.time("services", () -> serviceLocator = ServiceLocator.getInstance());
 
-        // Get data manager using the new getDataManager() method
-        DataManager dataManager = serviceLocator.getDataManager();
-        dataManager.loadAllData();
+        if (!config.isLoginFirstStartup()) {
+            StartupProfiler.Phase phase = profiler.begin("catalogue");
+            try {
+                serviceLocator.getDataManager().loadAllData();
+            } finally {
+                phase.close();
+            }
+            startDataWatch();
+        }
+
+        startApiServer();
 
         logger.info("Application initialization complete");
     }
 
+    //starts the local JSON API if api.enabled is set; the GUI still runs if the port is taken
+    private void startApiServer() {
+        if (!config.isApiEnabled()) {
+            return;
+        }
+        try {
+            apiServer = CatalogueApiServer.fromConfig(serviceLocator.getDataManager());
+            apiServer.start();
+        } catch (IOException e) {
+            logger.error("Could not start the catalogue API: {}", e.getMessage());
+        }
+    }
+
+    //applies edits of the data files to the catalogue if data.watch is set; runs once the catalogue is loaded
+    private void startDataWatch() {
+        if (!config.isDataWatchEnabled()) {
+            return;
+        }
+        try {
+            dataReloader = DataFileReloader.fromConfig(serviceLocator.getDataManager());
+            dataReloader.start();
+        } catch (IOException e) {
+            logger.error("Could not watch the data files: {}", e.getMessage());
+        }
+    }
+
+    //publishes metrics over JMX and starts the periodic log line and metrics file, as configured
+    private void startMetricsExport() {
+        MetricsRegistry metrics = MetricsRegistry.getInstance();
+        if (config.isMetricsJmxEnabled()) {
+            metrics.registerMBean();
+        }
+        if (!config.getMetricsInterval().isZero()) {
+            metrics.startExport(config.getMetricsInterval(), config.getMetricsFile());
+        }
+    }
+
+    //loads the catalogue on an I/O thread while the user logs in; the main view waits for it
+    private void loadCatalogueInBackground() {
+        StartupProfiler.Phase phase = profiler.begin("catalogue (background)");
+        DataManager dataManager = serviceLocator.getDataManager();
+        dataManager.addLoadListener(event -> {
+            if (event.status() != LoadProgressEvent.Status.STARTED) {
+                logger.info("Catalogue section {} {} in {} ms ({}/{})", event.section().getDisplayName(),
+                        event.status() == LoadProgressEvent.Status.LOADED ? "ready" : "failed",
+                        event.elapsedMillis(), event.finished(), event.total());
+            }
+        });
+        dataManager.loadAllDataInBackground().whenComplete((ignored, error) -> {
+            phase.close();
+            if (error != null) {
+                logger.error("Failed to load catalogue in the background", error);
+            } else {
+                startDataWatch();
+            }
+            profiler.logSummary();
+        });
+    }
+
     /**
      * Shows the authentication screen (login or register)
      * @param fxmlPath Path to the FXML file to load
@@ -183,6 +271,16 @@ public class MovieAppGui extends Application {
                 System.out.println("[Login] Shutting down service locator");
                 serviceLocator.shutdown();
             }
+            if (apiServer != null) {
+                apiServer.stop();
+            }
+            if (dataReloader != null) {
+                dataReloader.stop();
+            }
+            MetricsRegistry.getInstance().stopExport();
+            MetricsRegistry.getInstance().unregisterMBean();
+            TaskScheduler.getInstance().shutdown();
+            PasswordHashingService.getInstance().shutdown();
             System.out.println("[Login] Application cleanup completed");
             logger.info("Application cleanup completed");
         } catch (Exception e) {
@@ -0,0 +1,70 @@
+package com.papel.imdb_clone.model.content;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Awards of one kind won by, or nominations received by, a title, such as "3 Oscars" or
+ * "2 BAFTA nominations".
+ *
+ * @param body     the awarding body or award name in singular form, e.g. "Oscar" or "Golden Globe"
+ * @param category whether the title won or was nominated
+ * @param count    how many awards or nominations
+ */
+public record Award(String body, Category category, int count) {
+    //"<count> <body>[ nomination(s)]", e.g. "7 Oscar nominations"
+    private static final Pattern ENTRY = Pattern.compile("(?i)^(\\d+)\\s+(.+?)(\\s+nominations?)?$");
+
+    /**
+     * Whether an award was won or only nominated for.
+     */
+    public enum Category {
+        WIN,
+        NOMINATION
+    }
+
+    /**
+     * Parses a comma-separated awards summary such as "3 Oscars, 5 Golden Globes, 1 BAFTA".
+     * Entries without a count are counted once; blank entries are skipped.
+     *
+     * @param text the awards summary, may be null
+     * @return the awards in the order they appear
+     */
+    public static List<Award> parseAll(String text) {
+        List<Award> awards = new ArrayList<>();
+        if (text == null || text.isBlank() || "N/A".equalsIgnoreCase(text.trim())) {
+            return awards;
+        }
+        for (String entry : text.split(",")) {
+            String trimmed = entry.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            Matcher matcher = ENTRY.matcher(trimmed);
+            if (matcher.matches()) {
+                Category category = matcher.group(3) != null ? Category.NOMINATION : Category.WIN;
+                awards.add(new Award(singular(matcher.group(2)), category, Integer.parseInt(matcher.group(1))));
+            } else {
+                awards.add(new Award(trimmed, Category.WIN, 1));
+            }
+        }
+        return awards;
+    }
+
+    //"Oscars" -> "Oscar", "SAG Awards" -> "SAG Award"; names ending in a double s are left alone
+    private static String singular(String body) {
+        String lower = body.toLowerCase(Locale.ROOT);
+        if (body.length() > 1 && lower.endsWith("s") && !lower.endsWith("ss")) {
+            return body.substring(0, body.length() - 1);
+        }
+        return body;
+    }
+
+    @Override
+    public String toString() {
+        return count + " " + body + (category == Category.NOMINATION ? " nomination(s)" : "");
+    }
+}
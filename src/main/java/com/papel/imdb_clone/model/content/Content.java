@@ -6,6 +6,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Content class is an abstract class that represents a content.
@@ -28,9 +29,26 @@ public abstract class Content {
 
 
     private static final Logger logger = LoggerFactory.getLogger(Content.class);
+    //Bumped after every change to a field that searches filter or sort on
+    private static final AtomicLong MODIFICATIONS = new AtomicLong();
 
     private Object contentType; // Content type
     
+    /**
+     * Gets the number of changes made so far to the searched or sorted fields of any content.
+     * Results computed from the content stay valid while this count is unchanged.
+     *
+     * @return the modification count
+     */
+    public static long modificationCount() {
+        return MODIFICATIONS.get();
+    }
+
+    //called by the setters after they change a field that searches filter or sort on
+    protected static void searchableFieldChanged() {
+        MODIFICATIONS.incrementAndGet();
+    }
+
     /**
      * Gets the content type of this content.
      * @return The content type
@@ -50,6 +68,8 @@ public abstract class Content {
     private String series;
     private List<String> awards = new ArrayList<>();
     private int endYear = 0; // 0 indicates ongoing series
+    private long boxOfficeAmount = -1; // Box office in dollars, -1 if unknown
+    private List<Award> awardRecords = new ArrayList<>(); // Awards parsed from the awards summary
 
 
     /**
@@ -101,6 +121,7 @@ public abstract class Content {
 
     public void setTitle(String title) {
         this.title = title;
+        searchableFieldChanged();
     }
 
     public Genre getGenre() {
@@ -282,15 +303,18 @@ public abstract class Content {
         if (genre != null && !genres.contains(genre)) {
             genres.add(genre);
         }
+        searchableFieldChanged();
     }
 
 
     public void setDirector(String director) {
         this.director = director;
+        searchableFieldChanged();
     }
 
     public void setYear(Date year) {
         this.year = year;
+        searchableFieldChanged();
     }
 
     /**
@@ -304,10 +328,12 @@ public abstract class Content {
             throw new IllegalArgumentException("IMDb rating must be between 0.0 and 10.0");
         }
         this.imdbRating = imdbRating;
+        searchableFieldChanged();
     }
 
     public void setUserRatings(Map<Integer, Integer> userRatings) {
         this.userRatings = new HashMap<>(userRatings);
+        searchableFieldChanged();
     }
 
 
@@ -344,6 +370,7 @@ public abstract class Content {
         double sum = userRatings.values().stream().mapToInt(Integer::intValue).sum();
         this.imdbRating = sum / userRatings.size();
 
+        searchableFieldChanged();
     }
 
 
@@ -361,6 +388,7 @@ public abstract class Content {
                 this.genres.add(genre);
             }
         }
+        searchableFieldChanged();
     }
 
     /**
@@ -377,6 +405,7 @@ public abstract class Content {
             this.genre = null;
             this.genres = null;
         }
+        searchableFieldChanged();
     }
 
     /**
@@ -400,6 +429,7 @@ public abstract class Content {
             this.startYear = 0;
             this.year = null;
         }
+        searchableFieldChanged();
     }
 
     /**
@@ -434,6 +464,7 @@ public abstract class Content {
                 logger.error("Error setting start year: {}", e.getMessage());
             }
         }
+        searchableFieldChanged();
     }
 
     public double getRating() {
@@ -456,4 +487,22 @@ public abstract class Content {
         this.awards = awards != null ? awards : new ArrayList<>();
     }
     
-}
\ No newline at end of file
+    //get box office in dollars, -1 if unknown
+    public long getBoxOfficeAmount() {
+        return boxOfficeAmount;
+    }
+
+    public void setBoxOfficeAmount(long boxOfficeAmount) {
+        this.boxOfficeAmount = boxOfficeAmount;
+    }
+
+    //get awards and nominations parsed from the awards summary
+    public List<Award> getAwardRecords() {
+        return awardRecords;
+    }
+
+    public void setAwardRecords(List<Award> awardRecords) {
+        this.awardRecords = awardRecords != null ? List.copyOf(awardRecords) : new ArrayList<>();
+    }
+
+}
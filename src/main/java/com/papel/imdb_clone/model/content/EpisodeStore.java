@@ -0,0 +1,150 @@
+package com.papel.imdb_clone.model.content;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Compact storage of the episodes of one season.
+ * Episode numbers, release dates (as epoch days), ratings and titles are kept in parallel arrays.
+ * Most titles are generic ("Episode 3"); those are not stored but rebuilt from the episode number.
+ * A season holds its episodes this way until something asks for {@link Episode} objects,
+ * which are then created once from the arrays.
+ */
+public final class EpisodeStore {
+    //Prefix of the generic titles that are rebuilt from the episode number instead of stored
+    private static final String GENERIC_TITLE = "Episode ";
+
+    private final int[] numbers;
+    private final int[] releaseEpochDays;
+    private final float[] ratings;
+    //null where the title is the generic one
+    private final String[] titles;
+    private final int size;
+
+    private EpisodeStore(Builder builder) {
+        this.size = builder.size;
+        this.numbers = Arrays.copyOf(builder.numbers, size);
+        this.releaseEpochDays = Arrays.copyOf(builder.releaseEpochDays, size);
+        this.ratings = Arrays.copyOf(builder.ratings, size);
+        this.titles = Arrays.copyOf(builder.titles, size);
+    }
+
+    /**
+     * Starts a store for a season.
+     *
+     * @param expectedEpisodes the number of episodes the season is expected to have
+     * @return a builder for the store
+     */
+    public static Builder builder(int expectedEpisodes) {
+        return new Builder(expectedEpisodes);
+    }
+
+    //get number of episodes
+    public int size() {
+        return size;
+    }
+
+    //get episode number of the episode at the given position
+    public int getEpisodeNumber(int index) {
+        return numbers[checkIndex(index)];
+    }
+
+    //get release date of the episode at the given position
+    public LocalDate getReleaseDate(int index) {
+        return LocalDate.ofEpochDay(releaseEpochDays[checkIndex(index)]);
+    }
+
+    //get rating of the episode at the given position
+    public double getRating(int index) {
+        return ratings[checkIndex(index)];
+    }
+
+    //get title of the episode at the given position
+    public String getTitle(int index) {
+        return title(checkIndex(index));
+    }
+
+    /**
+     * Creates the Episode objects of the season.
+     *
+     * @param seasonNumber the number of the season the episodes belong to
+     * @return a new list with one episode per stored entry, in stored order
+     */
+    public List<Episode> materialize(int seasonNumber) {
+        ZoneId zone = ZoneId.systemDefault();
+        List<Episode> episodes = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Episode episode = new Episode(numbers[i], title(i));
+            episode.setSeasonNumber(seasonNumber);
+            episode.setImdbRating(ratings[i]);
+            episode.setReleaseDate(Date.from(LocalDate.ofEpochDay(releaseEpochDays[i]).atStartOfDay(zone).toInstant()));
+            episodes.add(episode);
+        }
+        return episodes;
+    }
+
+    private int checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+        return index;
+    }
+
+    private String title(int index) {
+        String title = titles[index];
+        return title != null ? title : GENERIC_TITLE + numbers[index];
+    }
+
+    /**
+     * Collects the episodes of a season into a store.
+     */
+    public static final class Builder {
+        private int[] numbers;
+        private int[] releaseEpochDays;
+        private float[] ratings;
+        private String[] titles;
+        private int size;
+
+        private Builder(int expectedEpisodes) {
+            int capacity = Math.max(expectedEpisodes, 1);
+            numbers = new int[capacity];
+            releaseEpochDays = new int[capacity];
+            ratings = new float[capacity];
+            titles = new String[capacity];
+        }
+
+        /**
+         * Adds an episode.
+         *
+         * @param episodeNumber the number of the episode within the season
+         * @param releaseDate   the release date of the episode
+         * @param rating        the rating of the episode, 0 if unrated
+         * @param title         the title of the episode
+         * @return this builder
+         */
+        public Builder add(int episodeNumber, LocalDate releaseDate, double rating, String title) {
+            if (size == numbers.length) {
+                int capacity = size * 2;
+                numbers = Arrays.copyOf(numbers, capacity);
+                releaseEpochDays = Arrays.copyOf(releaseEpochDays, capacity);
+                ratings = Arrays.copyOf(ratings, capacity);
+                titles = Arrays.copyOf(titles, capacity);
+            }
+            numbers[size] = episodeNumber;
+            releaseEpochDays[size] = (int) releaseDate.toEpochDay();
+            ratings[size] = (float) rating;
+            titles[size] = title == null ? "" : title.equals(GENERIC_TITLE + episodeNumber) ? null : title;
+            size++;
+            return this;
+        }
+
+        //creates the store; the builder should not be used afterwards
+        public EpisodeStore build() {
+            return new EpisodeStore(this);
+        }
+    }
+}
@@ -146,6 +146,7 @@ public class Movie extends Content {
     }
     public void setGenres(List<Genre> genres) {
         this.genres = genres != null ? new ArrayList<>(genres) : new ArrayList<>();
+        searchableFieldChanged();
     }
 
 
@@ -170,6 +171,7 @@ public class Movie extends Content {
 
     public void setRating(double rating) {
         this.setImdbRating(rating);
+        searchableFieldChanged();
     }
 
     /**
@@ -198,6 +200,7 @@ public class Movie extends Content {
 
     public void setStartYear(int year) {
         this.startyear = year;
+        searchableFieldChanged();
     }
 
     public void setUserRating(int rating) {
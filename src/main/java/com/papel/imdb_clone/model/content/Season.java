@@ -8,11 +8,15 @@ import java.util.List;
 
 /**
  * Represents a season of a series.
+ * Loaded seasons keep their episodes in a compact {@link EpisodeStore}; Episode objects are only
+ * created when {@link #getEpisodes()} is first called, for example by a detail view.
+ * The episode accessors are synchronized, since the UI, the API and exports may read a season at once.
  */
 public class Season {
     private int id;
     private int year;
-    private List<Episode> episodes;
+    private List<Episode> episodes; //null while the episodes are only in the store
+    private EpisodeStore episodeStore;
     private int seasonNumber;
     private Object title;
     private Date releaseDate;
@@ -49,8 +53,22 @@ public class Season {
         return year;
     }
 
-    public List<Episode> getEpisodes() {
-        return new ArrayList<>(episodes);
+    public synchronized List<Episode> getEpisodes() {
+        return new ArrayList<>(episodes());
+    }
+
+    //episode objects, created from the store on first use; callers hold the season's lock
+    private List<Episode> episodes() {
+        if (episodes == null) {
+            episodes = episodeStore != null ? episodeStore.materialize(seasonNumber) : new ArrayList<>();
+            episodeStore = null;
+        }
+        return episodes;
+    }
+
+    //episodes that already exist as objects; stored episodes have no cast, so they are not created for this
+    synchronized List<Episode> getMaterializedEpisodes() {
+        return episodes != null ? episodes : List.of();
     }
     
 
@@ -72,7 +90,7 @@ public class Season {
         return "Season{" +
                 "id=" + id +
                 ", year=" + year +
-                ", episodes=" + episodes.size() +
+                ", episodes=" + getEpisodesCount() +
                 '}';
     }
     
@@ -90,15 +108,39 @@ public class Season {
     }
 
     //set episodes type E to a list of episodes
-    public <E> void setEpisodes(List<Episode> episodes) {
+    public synchronized <E> void setEpisodes(List<Episode> episodes) {
         this.episodes = episodes;
+        this.episodeStore = null;
+    }
+
+    /**
+     * Sets the episodes in compact form; Episode objects are created from the store when first requested.
+     *
+     * @param episodeStore the episodes of the season
+     */
+    public synchronized void setEpisodeStore(EpisodeStore episodeStore) {
+        this.episodeStore = episodeStore;
+        this.episodes = null;
+    }
+
+    /**
+     * Gets the episodes in compact form, for readers that should not create Episode objects.
+     *
+     * @return the episode store, or null once the episodes exist as objects
+     */
+    public synchronized EpisodeStore getEpisodeStore() {
+        return episodeStore;
     }
 
     public int getTotalEpisodes() {
-        return episodes.size();
+        return getEpisodesCount();
     }
 
-    public int getEpisodesCount() {
-        return episodes.size();
+    //counts episodes without creating Episode objects
+    public synchronized int getEpisodesCount() {
+        if (episodes != null) {
+            return episodes.size();
+        }
+        return episodeStore != null ? episodeStore.size() : 0;
     }
 }
\ No newline at end of file
@@ -38,6 +38,7 @@ public class Series extends Content {
      */
     public void setDirector(String director) {
         this.director = director;
+        searchableFieldChanged();
     }
 
     /**
@@ -90,14 +91,11 @@ public class Series extends Content {
     }
 
     public int getTotalEpisodes() {
-        logger.debug("Calculating total episodes for series: {}", getTitle());
         if (seasons == null || seasons.isEmpty()) {
-            logger.debug("No seasons found for series: {}", getTitle());
             return 0;
         }
         
         int total = 0;
-        logger.debug("Processing {} seasons for series: {}", seasons.size(), getTitle());
         
         for (int i = 0; i < seasons.size(); i++) {
             Season season = seasons.get(i);
@@ -106,36 +104,12 @@ public class Series extends Content {
                 continue;
             }
             
-            try {
-                // Get episodes using the interface method
-                List<?> episodes = season.getEpisodes();
-                
-                if (episodes == null) {
-                    logger.warn("Episodes list is null for season {} of series: {}", 
-                        season.getSeasonNumber(), getTitle());
-                    continue;
-                }
-
-                // Verify all items in the list are Episodes
-                for (Object episode : episodes) {
-                    if (!(episode instanceof Episode)) {
-                        logger.warn("Non-Episode object found in episodes list for season {} of series: {}", 
-                            season.getSeasonNumber(), getTitle());
-                        continue;
-                    }
-                }
-
-                // Derive total episodes from season
-                logger.debug("Season {} has {} episodes", season.getSeasonNumber(), episodes.size());
-                total += episodes.size();
-                
-            } catch (Exception e) {
-                logger.warn("Error getting episodes for season {} of series '{}': {}", 
-                    season.getSeasonNumber(), getTitle(), e.getMessage(), e);
-            }
+            // Counted from the season so that stored episodes are not turned into objects
+            total += season.getEpisodesCount();
         }
         
-        logger.info("Total episodes for series '{}': {}", getTitle(), total);
+        // Called per row by the series tables, so only traced
+        logger.trace("Total episodes for series '{}': {}", getTitle(), total);
         return total;
     }
 
@@ -144,6 +118,7 @@ public class Series extends Content {
             season.setSeries(this);
             this.seasons.add(season);
         }
+        searchableFieldChanged();
     }
 
     //getters and setters
@@ -236,6 +211,7 @@ public class Series extends Content {
         for (int i = 0; i < seasonsCount; i++) {
             this.addSeason(new Season(i + 1, this));  // Pass 'this' (the Series) to the Season constructor
         }
+        searchableFieldChanged();
     }
 
 
@@ -260,10 +236,12 @@ public class Series extends Content {
         if (!this.genres.isEmpty()) {
             setGenre(this.genres.getFirst());
         }
+        searchableFieldChanged();
     }
 
     public void setSeasons(List<Season> seasons) {
         this.seasons = new ArrayList<>(seasons);
+        searchableFieldChanged();
     }
 
     //genre
@@ -273,6 +251,7 @@ public class Series extends Content {
 
     public void setGenre(Genre genre) {
         this.genre = genre;
+        searchableFieldChanged();
     }
 
     /**
@@ -291,8 +270,8 @@ public class Series extends Content {
         // Add actors from all episodes
         if (seasons != null) {
             for (Season season : seasons) {
-                if (season != null && season.getEpisodes() != null) {
-                    for (Object episodeObj : season.getEpisodes()) {
+                if (season != null) {
+                    for (Object episodeObj : season.getMaterializedEpisodes()) {
                         if (episodeObj instanceof Episode episode) {
                             if (episode.getActors() != null) {
                                 uniqueActors.addAll(episode.getActors());
@@ -331,6 +310,7 @@ public class Series extends Content {
 
     public void setRating(double rating) {
         this.rating = rating;
+        searchableFieldChanged();
     }
 
 
@@ -374,11 +354,13 @@ public class Series extends Content {
 
     public void setCreator(String creator) {
         this.director = creator;
+        searchableFieldChanged();
     }
 
 
     public void setSeasonsCount(int seasonsCount) {
         this.seasonsCount = seasonsCount;
+        searchableFieldChanged();
     }
 
     public void setActors(String[] actorNames) {
@@ -1,6 +1,9 @@
 package com.papel.imdb_clone.model.people;
 
 import com.papel.imdb_clone.enums.Ethnicity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import java.time.LocalDate;
 import java.util.Objects;
 import java.util.List;
@@ -13,6 +16,7 @@ import java.util.stream.Collectors;
  * Implements proper equality checks and unique ID generation.
  */
 public abstract class Celebrity {
+    private static final Logger logger = LoggerFactory.getLogger(Celebrity.class);
     private static int nextId = 1;
     protected int id;
     protected String firstName;
@@ -175,7 +179,7 @@ public abstract class Celebrity {
             
             // Log the parsed works for debugging
             if (!this.notableWorks.isEmpty()) {
-                System.out.println("Parsed notable works for " + getFullName() + ": " + String.join(", ", this.notableWorks));
+                logger.debug("Parsed notable works for {}: {}", getFullName(), this.notableWorks);
             }
         } else {
             this.notableWorks = new ArrayList<>();
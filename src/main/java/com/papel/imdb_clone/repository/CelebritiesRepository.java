@@ -44,6 +44,15 @@ public interface CelebritiesRepository {
      * @return A list of matching celebrities of the specified type
      */
     <T extends Celebrity> List<T> findByNameContaining(String name, Class<T> type);
+
+    /**
+     * Finds celebrities by their whole name (case-insensitive exact match).
+     * @param name The full name, first and last name separated by a space
+     * @param type The class type of the celebrities to find
+     * @param <T> The type of celebrity
+     * @return A list of matching celebrities of the specified type
+     */
+    <T extends Celebrity> List<T> findByExactName(String name, Class<T> type);
     
     /**
      * Finds a celebrity by their full name.
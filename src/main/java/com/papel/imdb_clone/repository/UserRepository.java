@@ -2,6 +2,7 @@ package com.papel.imdb_clone.repository;
 
 import com.papel.imdb_clone.model.people.User;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -25,6 +26,30 @@ public interface UserRepository {
      */
     Optional<User> findByUsername(String username);
 
+    /**
+     * Finds a user by email address, ignoring case.
+     *
+     * @param email The email address to search for
+     * @return Optional containing the user if found, empty otherwise
+     */
+    Optional<User> findByEmail(String email);
+
+    /**
+     * Gets all users.
+     *
+     * @return A snapshot list of all users
+     */
+    List<User> findAll();
+
+    /**
+     * Adds a user unless its username, email or ID is already taken, as one atomic step.
+     * A user with ID 0 is given a new ID.
+     *
+     * @param user The user to add
+     * @return Empty if the user was added, otherwise the existing user holding the username, email or ID
+     */
+    Optional<User> registerIfAbsent(User user);
+
     /**
      * Saves a user (create or update).
      *
@@ -41,6 +66,14 @@ public interface UserRepository {
      */
     boolean existsByUsername(String username);
 
+    /**
+     * Checks if a user with the given email address exists.
+     *
+     * @param email The email address to check
+     * @return true if exists, false otherwise
+     */
+    boolean existsByEmail(String email);
+
     /**
      * Gets the total count of users.
      *
@@ -11,11 +11,17 @@ import java.util.stream.Collectors;
 
 /**
  * Creates a new instance of InMemoryCelebritiesRepository.
+ * Celebrities are also indexed by their lower-case full name, so lookups by whole name take
+ * constant time however many celebrities are loaded. A celebrity is indexed under the name it
+ * has when it is saved; save it again after renaming it.
  */
 public class InMemoryCelebritiesRepository implements CelebritiesRepository {
     private final Map<Integer, Celebrity> celebrities = new ConcurrentHashMap<>();
     private final AtomicInteger idGenerator = new AtomicInteger(1);
     private final Object lock = new Object();
+    //celebrities by lower-case full name, and the name each one is indexed under; guarded by lock
+    private final Map<String, List<Celebrity>> celebritiesByName = new HashMap<>();
+    private final Map<Integer, String> indexedNames = new HashMap<>();
 
     /**
      * Constructs a new InMemoryCelebritiesRepository.
@@ -31,7 +37,13 @@ public class InMemoryCelebritiesRepository implements CelebritiesRepository {
             if (celebrity.getId() == 0) {
                 celebrity.setId(idGenerator.getAndIncrement());
             }
-            celebrities.put(celebrity.getId(), celebrity);
+            Celebrity previous = celebrities.put(celebrity.getId(), celebrity);
+            if (previous != null) {
+                unindex(previous);
+            }
+            String name = nameKey(celebrity.getFirstName(), celebrity.getLastName());
+            celebritiesByName.computeIfAbsent(name, key -> new ArrayList<>(1)).add(celebrity);
+            indexedNames.put(celebrity.getId(), name);
             return celebrity;
         }
     }
@@ -66,13 +78,23 @@ public class InMemoryCelebritiesRepository implements CelebritiesRepository {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T extends Celebrity> List<T> findByExactName(String name, Class<T> type) {
+        return withName(name).stream()
+                .filter(type::isInstance)
+                .map(celebrity -> (T) celebrity)
+                .collect(Collectors.toList());
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public <T extends Celebrity> Optional<T> findByFullName(String firstName, String lastName, Class<T> type) {
         String searchFirstName = firstName != null ? firstName.trim().toLowerCase() : "";
         String searchLastName = lastName != null ? lastName.trim().toLowerCase() : "";
         
-        return (Optional<T>) celebrities.values().stream()
+        // The index narrows the search to celebrities whose first and last name join to the same name
+        return (Optional<T>) withName(nameKey(searchFirstName, searchLastName)).stream()
                 .filter(type::isInstance)
                 .filter(celebrity -> {
                     String celebFirstName = celebrity.getFirstName() != null ? 
@@ -88,7 +110,11 @@ public class InMemoryCelebritiesRepository implements CelebritiesRepository {
     @Override
     public boolean deleteById(int id) {
         synchronized (lock) {
-            return celebrities.remove(id) != null;
+            Celebrity removed = celebrities.remove(id);
+            if (removed != null) {
+                unindex(removed);
+            }
+            return removed != null;
         }
     }
 
@@ -111,7 +137,36 @@ public class InMemoryCelebritiesRepository implements CelebritiesRepository {
     public void clear() {
         synchronized (lock) {
             celebrities.clear();
+            celebritiesByName.clear();
+            indexedNames.clear();
             idGenerator.set(1);
         }
     }
+
+    //copy of the celebrities indexed under the given full name
+    private List<Celebrity> withName(String name) {
+        synchronized (lock) {
+            List<Celebrity> matches = celebritiesByName.get(nameKey(name));
+            return matches != null ? new ArrayList<>(matches) : List.of();
+        }
+    }
+
+    //removes a celebrity from the name index; the caller holds lock
+    private void unindex(Celebrity celebrity) {
+        String name = indexedNames.remove(celebrity.getId());
+        List<Celebrity> matches = name != null ? celebritiesByName.get(name) : null;
+        if (matches != null && matches.removeIf(indexed -> indexed == celebrity) && matches.isEmpty()) {
+            celebritiesByName.remove(name);
+        }
+    }
+
+    //the key a full name is indexed under
+    private static String nameKey(String name) {
+        return name == null ? "" : name.trim().toLowerCase();
+    }
+
+    //joins first and last name as Celebrity.getFullName does, treating missing names as empty
+    private static String nameKey(String firstName, String lastName) {
+        return nameKey((firstName != null ? firstName.trim() : "") + " " + (lastName != null ? lastName.trim() : ""));
+    }
 }
@@ -8,17 +8,22 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
-import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.stream.Collectors;
 
 /**
  * In-memory implementation of MovieRepository.
- * Thread-safe implementation using CopyOnWriteArrayList and ReentrantReadWriteLock.
+ * Thread-safe implementation using a map keyed by ID guarded by a ReentrantReadWriteLock.
+ * Adding, updating and finding a movie by ID take constant time, so a bulk load is linear in the
+ * number of movies. getAll returns an immutable snapshot that is taken on the first read after a
+ * write and shared by every reader until the next one.
  */
 public class InMemoryMovieRepository implements MovieRepository {
 
@@ -34,12 +39,14 @@ public class InMemoryMovieRepository implements MovieRepository {
     }
 
     /**
-     * List of movies stored in memory.
-     * Thread-safe implementation using CopyOnWriteArrayList.
+     * Movies stored in memory by ID, in the order they were added.
+     * Guarded by the lock.
      */
-    private static final List<Movie> movies = new CopyOnWriteArrayList<>();
+    private static final Map<Integer, Movie> movies = new LinkedHashMap<>();
     private static final AtomicInteger nextId = new AtomicInteger(1);
     private static final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    //immutable copy of the movies, null after a write until the next getAll takes it again
+    private static volatile List<Movie> snapshot = List.of();
 
     /**
      * Finds a movie by its ID.
@@ -50,10 +57,7 @@ public class InMemoryMovieRepository implements MovieRepository {
     public Optional<Movie> findById(int id) {
         lock.readLock().lock();
         try {
-            //return the first movie that matches the id
-            return movies.stream()
-                    .filter(movie -> movie.getId() == id)
-                    .findFirst();
+            return Optional.ofNullable(movies.get(id));
         } finally {
             lock.readLock().unlock();
         }
@@ -74,7 +78,7 @@ public class InMemoryMovieRepository implements MovieRepository {
         lock.readLock().lock();
         try {
             //return a list of movies that match the search title
-            return movies.stream()
+            return movies.values().stream()
                     .filter(movie -> movie.getTitle().toLowerCase().contains(searchTitle))
                     .collect(Collectors.toList());
         } finally {
@@ -103,7 +107,8 @@ public class InMemoryMovieRepository implements MovieRepository {
                 }
                 //Assign a unique ID to the new movie
                 movie.setId(nextId.getAndIncrement());
-                movies.add(movie);
+                movies.put(movie.getId(), movie);
+                snapshot = null;
                 logger.debug("Created new movie: {} with ID: {}", movie.getTitle(), movie.getId());
             } else {
                 // Update existing movie
@@ -114,9 +119,9 @@ public class InMemoryMovieRepository implements MovieRepository {
                             existsByTitle(movie.getTitle())) {
                         throw new DuplicateEntryException("Movie", movie.getId(), "title", movie.getTitle());
                     }
-                    //Remove the existing movie and add the updated movie
-                    movies.remove(existing.get());
-                    movies.add(movie);
+                    //Replace the existing movie with the updated movie
+                    movies.put(movie.getId(), movie);
+                    snapshot = null;
                     logger.debug("Updated movie: {} with ID: {}", movie.getTitle(), movie.getId());
                 } else {
                     throw new IllegalArgumentException("Movie with ID " + movie.getId() + " not found");
@@ -144,7 +149,7 @@ public class InMemoryMovieRepository implements MovieRepository {
             /*
              * Check if any movie in the list has the same title as the given title
              */
-            return movies.stream()
+            return movies.values().stream()
                     .anyMatch(movie -> title.equals(movie.getTitle()));
         } finally {
             //Unlock the read lock when done,which means that other threads can read the list
@@ -155,7 +160,12 @@ public class InMemoryMovieRepository implements MovieRepository {
     //count the number of movies in the repository
     @Override
     public long count() {
-        return movies.size();
+        lock.readLock().lock();
+        try {
+            return movies.size();
+        } finally {
+            lock.readLock().unlock();
+        }
     }
 
     /**
@@ -171,7 +181,7 @@ public class InMemoryMovieRepository implements MovieRepository {
             /*
              * Find the first movie in the list that has the same title and release year as the given title and start year
              */
-            return movies.stream()
+            return movies.values().stream()
                     .filter(movie -> movie.getTitle().equalsIgnoreCase(title) &&
                             movie.getStartYear() == startYear)
                     .findFirst()
@@ -210,9 +220,8 @@ public class InMemoryMovieRepository implements MovieRepository {
     public void deleteById(int id) {
         lock.writeLock().lock();
         try {
-            Optional<Movie> movieOptional = findById(id);
-            if (movieOptional.isPresent()) {
-                movies.remove(movieOptional.get());
+            if (movies.remove(id) != null) {
+                snapshot = null;
                 logger.debug("Deleted movie with ID: {}", id);
             } else {
                 logger.warn("Attempted to delete non-existent movie with ID: {}", id);
@@ -231,8 +240,9 @@ public class InMemoryMovieRepository implements MovieRepository {
         
         lock.writeLock().lock();
         try {
-            boolean removed = movies.removeIf(movie -> title.equalsIgnoreCase(movie.getTitle()));
+            boolean removed = movies.values().removeIf(movie -> title.equalsIgnoreCase(movie.getTitle()));
             if (removed) {
+                snapshot = null;
                 logger.debug("Deleted movie with title: {}", title);
             } else {
                 logger.warn("No movie found with title: {}", title);
@@ -248,6 +258,7 @@ public class InMemoryMovieRepository implements MovieRepository {
         lock.writeLock().lock();
         try {
             movies.clear();
+            snapshot = null;
             logger.debug("All movies have been deleted from the repository");
         } finally {
             lock.writeLock().unlock();
@@ -262,7 +273,7 @@ public class InMemoryMovieRepository implements MovieRepository {
         
         lock.writeLock().lock();
         try {
-            Optional<Movie> movieOptional = movies.stream()
+            Optional<Movie> movieOptional = movies.values().stream()
                     .filter(m -> title.equalsIgnoreCase(m.getTitle()))
                     .findFirst();
                     
@@ -287,7 +298,7 @@ public class InMemoryMovieRepository implements MovieRepository {
         
         lock.writeLock().lock();
         try {
-            Optional<Movie> movieOptional = movies.stream()
+            Optional<Movie> movieOptional = movies.values().stream()
                     .filter(m -> title.equalsIgnoreCase(m.getTitle()))
                     .findFirst();
                     
@@ -315,7 +326,7 @@ public class InMemoryMovieRepository implements MovieRepository {
         
         lock.writeLock().lock();
         try {
-            Optional<Movie> movieOptional = movies.stream()
+            Optional<Movie> movieOptional = movies.values().stream()
                     .filter(m -> title.equalsIgnoreCase(m.getTitle()))
                     .findFirst();
                     
@@ -351,7 +362,8 @@ public class InMemoryMovieRepository implements MovieRepository {
             } else {
                 movie.setId(nextId.getAndIncrement());
             }
-            movies.add(movie);
+            movies.put(movie.getId(), movie);
+            snapshot = null;
         } finally {
             /*
              * Unlock the write lock when done,which means that other threads can modify the list
@@ -360,9 +372,21 @@ public class InMemoryMovieRepository implements MovieRepository {
         }
     }
 
-    //get all movies from the repository
+    //get all movies from the repository as an immutable snapshot
     public List<Movie> getAll() {
-        return movies;
+        List<Movie> current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        lock.readLock().lock();
+        try {
+            // Writers hold the write lock, so no write can clear the snapshot between the copy and the store
+            current = Collections.unmodifiableList(new ArrayList<>(movies.values()));
+            snapshot = current;
+            return current;
+        } finally {
+            lock.readLock().unlock();
+        }
     }
     /**
      * Deletes a movie by its ID.
@@ -6,15 +6,20 @@ import com.papel.imdb_clone.repository.UserRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * In-memory implementation of UserRepository.
- * Thread-safe implementation using CopyOnWriteArrayList and ReentrantReadWriteLock.
+ * Users are indexed by ID, lower-case username and lower-case email in concurrent hash maps,
+ * so lookups are O(1) and never lock. Writes are serialized by a lock so the three indexes
+ * always change together.
  */
 public class InMemoryUserRepository implements UserRepository {
     private static final Logger logger = LoggerFactory.getLogger(InMemoryUserRepository.class);
@@ -26,9 +31,11 @@ public class InMemoryUserRepository implements UserRepository {
         // Initialization if needed
     }
 
-    private final List<User> users = new CopyOnWriteArrayList<>();
+    private final Map<Integer, User> usersById = new ConcurrentHashMap<>();
+    private final Map<String, User> usersByUsername = new ConcurrentHashMap<>();
+    private final Map<String, User> usersByEmail = new ConcurrentHashMap<>();
     private final AtomicInteger nextId = new AtomicInteger(1);
-    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ReentrantLock writeLock = new ReentrantLock();
 
     /**
      * Finds a user by their ID.
@@ -37,14 +44,7 @@ public class InMemoryUserRepository implements UserRepository {
      */
     @Override
     public Optional<User> findById(int id) {
-        lock.readLock().lock();
-        try {
-            return users.stream()
-                    .filter(user -> user.getId() == id)
-                    .findFirst();
-        } finally {
-            lock.readLock().unlock();
-        }
+        return Optional.ofNullable(usersById.get(id));
     }
 
     /**
@@ -54,124 +54,205 @@ public class InMemoryUserRepository implements UserRepository {
      */
     @Override
     public User save(User user) {
-        if (user == null) {
-            throw new IllegalArgumentException("User cannot be null");
+        if (user == null || user.getUsername() == null) {
+            throw new IllegalArgumentException("User and username cannot be null");
         }
 
-        lock.writeLock().lock();
+        writeLock.lock();
         try {
             if (user.getId() == 0) {
-                // New user - check for duplicate username
+                // New user - check for duplicate username and email
                 if (existsByUsername(user.getUsername())) {
                     throw new DuplicateEntryException("User", user.getId(), "username", user.getUsername());
                 }
+                if (existsByEmail(user.getEmail())) {
+                    throw new DuplicateEntryException("User", user.getId(), "email", user.getEmail());
+                }
                 user.setId(nextId.getAndIncrement());
-                users.add(user);
+                index(user);
                 logger.debug("Created new user: {} with ID: {}", user.getUsername(), user.getId());
             } else {
                 // Update existing user
-                Optional<User> existing = findById(user.getId());
-                if (existing.isPresent()) {
-                    // Check if username is being changed and if it conflicts
-                    if (!existing.get().getUsername().equals(user.getUsername()) &&
-                            existsByUsername(user.getUsername())) {
-                        throw new DuplicateEntryException("User", user.getId(), "username", user.getUsername());
-                    }
-                    users.remove(existing.get());
-                    users.add(user);
-                    logger.debug("Updated user: {} with ID: {}", user.getUsername(), user.getId());
-                } else {
+                User existing = usersById.get(user.getId());
+                if (existing == null) {
                     throw new IllegalArgumentException("User with ID " + user.getId() + " not found");
                 }
+                replace(existing, user);
+                logger.debug("Updated user: {} with ID: {}", user.getUsername(), user.getId());
             }
             return user;
         } finally {
-            lock.writeLock().unlock();
+            writeLock.unlock();
         }
     }
 
     //return true if user with given username exists
     @Override
     public boolean existsByUsername(String username) {
-        if (username == null) return false;
+        return username != null && usersByUsername.containsKey(key(username));
+    }
 
-        lock.readLock().lock();
-        try {
-            //check if user with given username exists
-            return users.stream()
-                    .anyMatch(user -> username.equals(user.getUsername()));
-        } finally {
-            lock.readLock().unlock();
-        }
+    //return true if user with given email exists
+    @Override
+    public boolean existsByEmail(String email) {
+        return email != null && usersByEmail.containsKey(key(email));
     }
 
-    //return user with given username
+    //return user with given username, ignoring case
     @Override
     public Optional<User> findByUsername(String username) {
         if (username == null) return Optional.empty();
+        return Optional.ofNullable(usersByUsername.get(key(username)));
+    }
+
+    //return user with given email, ignoring case
+    @Override
+    public Optional<User> findByEmail(String email) {
+        if (email == null) return Optional.empty();
+        return Optional.ofNullable(usersByEmail.get(key(email)));
+    }
+
+    //return a snapshot of all users
+    @Override
+    public List<User> findAll() {
+        return new ArrayList<>(usersById.values());
+    }
 
-        lock.readLock().lock();
+    @Override
+    public Optional<User> registerIfAbsent(User user) {
+        if (user == null || user.getUsername() == null) {
+            throw new IllegalArgumentException("User and username cannot be null");
+        }
+
+        writeLock.lock();
         try {
-            //return user with given username
-            return users.stream()
-                    .filter(user -> username.equals(user.getUsername()))
-                    .findFirst();
+            Optional<User> existing = findByUsername(user.getUsername())
+                    .or(() -> findByEmail(user.getEmail()))
+                    .or(() -> user.getId() > 0 ? findById(user.getId()) : Optional.empty());
+            if (existing.isPresent()) {
+                return existing;
+            }
+            assignId(user);
+            index(user);
+            logger.debug("Registered user: {} with ID: {}", user.getUsername(), user.getId());
+            return Optional.empty();
         } finally {
-            lock.readLock().unlock();
+            writeLock.unlock();
         }
     }
 
     //return number of users
     @Override
     public long count() {
-        lock.readLock().lock();
-        try {
-            return users.size();
-        } finally {
-            lock.readLock().unlock();
-        }
+        return usersById.size();
     }
 
     @Override
     public void deleteById(int id) {
+        writeLock.lock();
+        try {
+            User user = usersById.get(id);
+            if (user != null) {
+                unindex(user);
+            }
+        } finally {
+            writeLock.unlock();
+        }
     }
 
     @Override
     public void deleteByUsername(String username) {
-
+        writeLock.lock();
+        try {
+            findByUsername(username).ifPresent(this::unindex);
+        } finally {
+            writeLock.unlock();
+        }
     }
 
     @Override
     public void deleteAll() {
-
+        writeLock.lock();
+        try {
+            usersById.clear();
+            usersByUsername.clear();
+            usersByEmail.clear();
+        } finally {
+            writeLock.unlock();
+        }
     }
 
     @Override
     public User update(User user) {
-        return null;
+        if (user == null || user.getId() == 0) {
+            throw new IllegalArgumentException("User must have an ID to be updated");
+        }
+        return save(user);
     }
 
 
     /**
      * Adds a user directly to the repository (used by data loaders).
+     * Users whose username, email or ID is already taken are skipped.
      *
      * @param user The user to add
      */
     public void addUser(User user) {
-        if (user == null) return;
+        if (user == null || user.getUsername() == null) return;
 
-        lock.writeLock().lock();
-        try {
-            //if user has id, update nextId which is used for generating new ids for new users
-            if (user.getId() > 0) {
-                nextId.getAndUpdate(current -> Math.max(current, user.getId() + 1));
-            } else {
-                user.setId(nextId.getAndIncrement());
-            }
-            users.add(user);
-        } finally {
-            //unlock the write lock when done,which means that other threads can modify the list
-            lock.writeLock().unlock();
+        registerIfAbsent(user).ifPresent(existing ->
+                logger.debug("User {} already exists, skipping", user.getUsername()));
+    }
+
+    //if user has id, update nextId which is used for generating new ids for new users
+    private void assignId(User user) {
+        if (user.getId() > 0) {
+            nextId.getAndUpdate(current -> Math.max(current, user.getId() + 1));
+        } else {
+            user.setId(nextId.getAndIncrement());
+        }
+    }
+
+    //moves a user to its new keys, rejecting a username or email that belongs to someone else
+    private void replace(User existing, User user) {
+        User sameName = usersByUsername.get(key(user.getUsername()));
+        if (sameName != null && sameName != existing) {
+            throw new DuplicateEntryException("User", user.getId(), "username", user.getUsername());
+        }
+        User sameEmail = user.getEmail() != null ? usersByEmail.get(key(user.getEmail())) : null;
+        if (sameEmail != null && sameEmail != existing) {
+            throw new DuplicateEntryException("User", user.getId(), "email", user.getEmail());
+        }
+        if (existing == user) {
+            // Edited in place, so the old keys can no longer be derived from the user
+            usersByUsername.values().remove(existing);
+            usersByEmail.values().remove(existing);
+        } else {
+            unindex(existing);
+        }
+        index(user);
+    }
+
+    //the caller holds the write lock
+    private void index(User user) {
+        usersById.put(user.getId(), user);
+        usersByUsername.put(key(user.getUsername()), user);
+        if (user.getEmail() != null) {
+            usersByEmail.put(key(user.getEmail()), user);
         }
     }
-}
\ No newline at end of file
+
+    //the caller holds the write lock
+    private void unindex(User user) {
+        usersById.remove(user.getId(), user);
+        usersByUsername.remove(key(user.getUsername()), user);
+        if (user.getEmail() != null) {
+            usersByEmail.remove(key(user.getEmail()), user);
+        }
+    }
+
+    //usernames and emails are matched ignoring case
+    private static String key(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,457 @@
+package com.papel.imdb_clone.service.api;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.papel.imdb_clone.config.ApplicationConfig;
+import com.papel.imdb_clone.controllers.search.SearchCriteria;
+import com.papel.imdb_clone.data.DataManager;
+import com.papel.imdb_clone.exceptions.RateLimitExceededException;
+import com.papel.imdb_clone.model.content.Content;
+import com.papel.imdb_clone.model.rating.UserRating;
+import com.papel.imdb_clone.service.batch.CatalogueExporter;
+import com.papel.imdb_clone.service.content.CatalogueStatistics;
+import com.papel.imdb_clone.service.metrics.Counter;
+import com.papel.imdb_clone.service.metrics.LatencyHistogram;
+import com.papel.imdb_clone.service.metrics.MetricsRegistry;
+import com.papel.imdb_clone.service.rating.RatingService;
+import com.papel.imdb_clone.service.search.SearchResultCursor;
+import com.papel.imdb_clone.service.search.SearchService;
+import com.papel.imdb_clone.enums.SortKey;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Embedded HTTP server exposing the catalogue to other local tools as JSON. It listens on the
+ * loopback address only and has no authentication, so it is meant for tools on the same machine.
+ * <p>
+ * Every request is handled on its own virtual thread. At most maxConnections requests of a server are
+ * worked on at once; further requests get 503 right away instead of queueing. A request still running
+ * after the timeout is interrupted and answered with 503, and keeps its slot until it has actually stopped.
+ * <p>
+ * Endpoints, with query parameters named like the batch mode's options:
+ * <ul>
+ *     <li>GET /api/health</li>
+ *     <li>GET /api/search?query=&amp;genre=&amp;type=&amp;min-year=&amp;max-year=&amp;min-rating=&amp;max-rating=&amp;sort=&amp;desc=&amp;offset=&amp;limit=</li>
+ *     <li>GET /api/movies/{id}, GET /api/series/{id}</li>
+ *     <li>GET /api/ratings/{id}, GET /api/ratings/content/{id}, GET /api/ratings/user/{id}</li>
+ *     <li>POST /api/ratings with {"userId", "contentId", "rating"}, PUT /api/ratings/{id} with {"rating"},
+ *     DELETE /api/ratings/{id}</li>
+ *     <li>GET /api/leaderboards/top-rated?type=movies|series&amp;limit=,
+ *     GET /api/leaderboards/most-awarded?limit=, GET /api/leaderboards/box-office?group-by=director|genre|decade&amp;limit=</li>
+ * </ul>
+ * Search results are ordered by sort (title, year, rating, seasons or creator), reversed with
+ * desc=true, so offset and limit page through a stable order; without sort they keep catalogue order.
+ * Searches are rate limited per client: the X-Client-Id header, or the remote address without one.
+ * Request bodies larger than 64 KiB are rejected with 413.
+ */
+public class CatalogueApiServer {
+    private static final Logger logger = LoggerFactory.getLogger(CatalogueApiServer.class);
+    private static final int DEFAULT_LIMIT = 20;
+    private static final int MAX_LIMIT = 100;
+    //Largest JSON request body read, larger ones are answered with 413
+    private static final int MAX_BODY_BYTES = 64 * 1024;
+
+    private final DataManager dataManager;
+    private final SearchService searchService;
+    private final RatingService ratingService;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final Semaphore inFlight;
+    private final Duration timeout;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final HttpServer server;
+
+    private final LatencyHistogram requestLatency = MetricsRegistry.getInstance().histogram("api.requests");
+    private final Counter rejected = MetricsRegistry.getInstance().counter("api.rejected");
+    private final Counter timeouts = MetricsRegistry.getInstance().counter("api.timeouts");
+    private final Counter errors = MetricsRegistry.getInstance().counter("api.errors");
+
+    //the outcome of a request: a status and a body serialized as JSON
+    private record Response(int status, Object body) {
+        private static Response ok(Object body) {
+            return new Response(200, body);
+        }
+
+        private static Response error(int status, String message) {
+            return new Response(status, Map.of("error", message));
+        }
+    }
+
+    //a request failure that maps to an HTTP status
+    private static final class HttpError extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        private final int status;
+
+        private HttpError(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+
+    /**
+     * A user rating as returned by the API.
+     *
+     * @param id        the rating ID
+     * @param userId    the user who rated
+     * @param contentId the rated content
+     * @param rating    the score
+     * @param createdAt when the rating was created, ISO-8601
+     */
+    public record RatingView(int id, int userId, int contentId, double rating, String createdAt) {
+        static RatingView of(UserRating rating) {
+            return new RatingView(rating.getId(), rating.getUserId(), rating.getContentId(), rating.getScore(),
+                    rating.getCreatedAt() != null ? rating.getCreatedAt().toString() : null);
+        }
+    }
+
+    /**
+     * Creates a server on a localhost port. It is not started.
+     *
+     * @param dataManager    the catalogue to serve
+     * @param ratingService  the ratings to serve
+     * @param port           the port, or 0 for a free one
+     * @param maxConnections the most concurrent requests
+     * @param timeout        how long a request may take
+     * @throws IOException if the port cannot be bound
+     */
+    public CatalogueApiServer(DataManager dataManager, RatingService ratingService, int port, int maxConnections,
+                              Duration timeout) throws IOException {
+        this.dataManager = dataManager;
+        this.searchService = new SearchService(dataManager);
+        this.ratingService = ratingService;
+        this.inFlight = new Semaphore(maxConnections);
+        this.timeout = timeout;
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), maxConnections);
+        server.setExecutor(executor);
+        server.createContext("/api/", this::handle);
+    }
+
+    /**
+     * Creates a server configured by the api.* settings of {@link ApplicationConfig}.
+     *
+     * @param dataManager the catalogue to serve
+     * @return the server, not yet started
+     * @throws IOException if the port cannot be bound
+     */
+    public static CatalogueApiServer fromConfig(DataManager dataManager) throws IOException {
+        ApplicationConfig config = ApplicationConfig.getInstance();
+        return new CatalogueApiServer(dataManager, RatingService.getInstance(), config.getApiPort(),
+                config.getApiMaxConnections(), config.getApiRequestTimeout());
+    }
+
+    /**
+     * Starts accepting requests.
+     */
+    public void start() {
+        server.start();
+        logger.info("Catalogue API listening on http://{}:{}/api/", server.getAddress().getHostString(), getPort());
+    }
+
+    /**
+     * Stops the server, giving open exchanges a second to finish.
+     */
+    public void stop() {
+        server.stop(1);
+        executor.shutdownNow();
+        logger.info("Catalogue API stopped");
+    }
+
+    /**
+     * Gets the port the server is bound to.
+     *
+     * @return the port
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    //admission control and timeout around a request; runs on the exchange's virtual thread.
+    //The permit is released by the work itself, so a timed-out request keeps its slot until it stops
+    private void handle(HttpExchange exchange) {
+        long start = System.nanoTime();
+        try {
+            if (!inFlight.tryAcquire()) {
+                rejected.increment();
+                send(exchange, Response.error(503, "Too many concurrent requests"));
+                return;
+            }
+            // Whoever claims the request first owns the permit: the work when it starts, or the
+            // timeout if the work was cancelled before it ever ran
+            AtomicBoolean claimed = new AtomicBoolean();
+            Future<Response> work;
+            try {
+                work = executor.submit(() -> {
+                    if (!claimed.compareAndSet(false, true)) {
+                        return null;
+                    }
+                    try {
+                        return route(exchange);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                inFlight.release();
+                send(exchange, Response.error(503, "Server is stopping"));
+                return;
+            }
+            Response response;
+            try {
+                response = work.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                work.cancel(true);
+                if (claimed.compareAndSet(false, true)) {
+                    inFlight.release();
+                }
+                timeouts.increment();
+                response = Response.error(503, "Request timed out");
+            } catch (ExecutionException e) {
+                response = toError(e.getCause());
+            }
+            send(exchange, response);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            logger.debug("Could not answer {} {}: {}", exchange.getRequestMethod(), exchange.getRequestURI(), e.getMessage());
+        } finally {
+            exchange.close();
+            requestLatency.recordSince(start);
+        }
+    }
+
+    private Response route(HttpExchange exchange) throws IOException, RateLimitExceededException {
+        String method = exchange.getRequestMethod();
+        String[] path = exchange.getRequestURI().getPath().substring("/api/".length()).split("/");
+        Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+        String resource = path[0];
+
+        if (resource.equals("health") && method.equals("GET")) {
+            return Response.ok(Map.of("status", "ok", "dataLoaded", dataManager.isDataLoaded()));
+        }
+        if (resource.equals("search") && method.equals("GET")) {
+            return search(query, clientKey(exchange));
+        }
+        if ((resource.equals("movies") || resource.equals("series")) && path.length == 2 && method.equals("GET")) {
+            Optional<? extends Content> content = resource.equals("movies")
+                    ? dataManager.getMoviesService().getById(id(path[1]))
+                    : dataManager.getSeriesService().getById(id(path[1]));
+            return Response.ok(CatalogueExporter.toMap(content.orElseThrow(
+                    () -> new NoSuchElementException("No " + resource + " with ID " + path[1]))));
+        }
+        if (resource.equals("ratings")) {
+            return ratings(method, path, exchange.getRequestBody());
+        }
+        if (resource.equals("leaderboards") && path.length == 2 && method.equals("GET")) {
+            return leaderboard(path[1], query);
+        }
+        throw new HttpError(404, "No endpoint for " + method + " " + exchange.getRequestURI().getPath());
+    }
+
+    private Response search(Map<String, String> query, String clientKey) throws RateLimitExceededException {
+        SearchCriteria criteria = SearchCriteria.fromParameters(query);
+        int offset = intParameter(query, "offset", 0, Integer.MAX_VALUE);
+        int limit = intParameter(query, "limit", DEFAULT_LIMIT, MAX_LIMIT);
+        SearchResultCursor cursor = searchService.openCursor(criteria, clientKey);
+        List<Map<String, Object>> items = cursor.fetch(offset, limit).stream().map(CatalogueExporter::toMap).toList();
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("total", cursor.size());
+        body.put("offset", offset);
+        body.put("items", items);
+        return Response.ok(body);
+    }
+
+    private Response ratings(String method, String[] path, InputStream body) throws IOException, RateLimitExceededException {
+        if (path.length == 1 && method.equals("POST")) {
+            JsonNode json = readJson(body);
+            UserRating rating = ratingService.createRating(requiredInt(json, "userId"), requiredInt(json, "contentId"),
+                    requiredDouble(json, "rating"));
+            return new Response(201, RatingView.of(rating));
+        }
+        if (path.length == 2) {
+            int ratingId = id(path[1]);
+            switch (method) {
+                case "GET" -> {
+                    return Response.ok(RatingView.of(ratingService.getRating(ratingId)));
+                }
+                case "PUT" -> {
+                    ratingService.updateRating(ratingId, requiredDouble(readJson(body), "rating"));
+                    return Response.ok(RatingView.of(ratingService.getRating(ratingId)));
+                }
+                case "DELETE" -> {
+                    if (!ratingService.deleteRating(ratingId)) {
+                        throw new NoSuchElementException("No rating with ID " + ratingId);
+                    }
+                    return new Response(200, Map.of("deleted", ratingId));
+                }
+                default -> throw new HttpError(405, "Method not allowed: " + method);
+            }
+        }
+        if (path.length == 3 && method.equals("GET") && path[1].equals("content")) {
+            int contentId = id(path[2]);
+            List<RatingView> ratings = ratingService.getRatingsForContent(contentId).stream().map(RatingView::of).toList();
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("contentId", contentId);
+            result.put("count", ratings.size());
+            result.put("average", ratingService.getAverageRating(contentId));
+            result.put("ratings", ratings);
+            return Response.ok(result);
+        }
+        if (path.length == 3 && method.equals("GET") && path[1].equals("user")) {
+            return Response.ok(ratingService.getRatingsByUser(id(path[2])).stream().map(RatingView::of).toList());
+        }
+        throw new HttpError(404, "No ratings endpoint for " + method + " " + String.join("/", path));
+    }
+
+    private Response leaderboard(String name, Map<String, String> query) {
+        int limit = intParameter(query, "limit", 10, MAX_LIMIT);
+        CatalogueStatistics statistics = CatalogueStatistics.getInstance();
+        return switch (name) {
+            case "top-rated" -> {
+                String type = query.getOrDefault("type", "movies");
+                List<? extends Content> sorted = switch (type) {
+                    case "movies" -> dataManager.getMoviesService().getSorted(SortKey.RATING, true);
+                    case "series" -> dataManager.getSeriesService().getSorted(SortKey.RATING, true);
+                    default -> throw new IllegalArgumentException("Unknown type: " + type + " (expected movies or series)");
+                };
+                yield Response.ok(sorted.subList(0, Math.min(limit, sorted.size())).stream()
+                        .map(CatalogueExporter::toMap).toList());
+            }
+            case "most-awarded" -> Response.ok(statistics.mostAwarded(limit));
+            case "box-office" -> {
+                CatalogueStatistics.GroupBy groupBy = CatalogueStatistics.GroupBy.valueOf(
+                        query.getOrDefault("group-by", "director").trim().toUpperCase(Locale.ROOT));
+                Map<String, Long> top = new LinkedHashMap<>();
+                statistics.totalBoxOffice(groupBy).entrySet().stream().limit(limit)
+                        .forEach(entry -> top.put(entry.getKey(), entry.getValue()));
+                yield Response.ok(top);
+            }
+            default -> throw new HttpError(404, "No leaderboard named " + name);
+        };
+    }
+
+    //maps service exceptions to statuses; anything unexpected is a 500 and logged
+    private Response toError(Throwable error) {
+        if (error instanceof HttpError http) {
+            return Response.error(http.status, http.getMessage());
+        }
+        if (error instanceof RateLimitExceededException limited) {
+            return new Response(429, Map.of("error", limited.getMessage(), "retryAfterMillis", limited.getRemainingTime()));
+        }
+        if (error instanceof NoSuchElementException) {
+            return Response.error(404, error.getMessage());
+        }
+        if (error instanceof IllegalArgumentException) {
+            return Response.error(400, error.getMessage());
+        }
+        if (error instanceof IllegalStateException) {
+            return Response.error(409, error.getMessage());
+        }
+        errors.increment();
+        logger.error("API request failed: {}", error.getMessage(), error);
+        return Response.error(500, "Internal error");
+    }
+
+    private void send(HttpExchange exchange, Response response) throws IOException {
+        byte[] body = mapper.writeValueAsBytes(response.body());
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(response.status(), body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private JsonNode readJson(InputStream body) throws IOException {
+        byte[] bytes = body.readNBytes(MAX_BODY_BYTES + 1);
+        if (bytes.length > MAX_BODY_BYTES) {
+            throw new HttpError(413, "Request body is larger than " + MAX_BODY_BYTES + " bytes");
+        }
+        try {
+            return mapper.readTree(bytes);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Request body is not valid JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    private static String clientKey(HttpExchange exchange) {
+        String client = exchange.getRequestHeaders().getFirst("X-Client-Id");
+        return client != null && !client.isBlank() ? client : exchange.getRemoteAddress().getAddress().getHostAddress();
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> parameters = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return parameters;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            String name = URLDecoder.decode(eq < 0 ? pair : pair.substring(0, eq), StandardCharsets.UTF_8);
+            String value = eq < 0 ? "true" : URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+            parameters.put(name, value);
+        }
+        return parameters;
+    }
+
+    private static int id(String text) {
+        try {
+            return Integer.parseInt(text);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid ID: " + text);
+        }
+    }
+
+    private static int intParameter(Map<String, String> query, String name, int defaultValue, int max) {
+        String value = query.get(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Math.max(0, Math.min(max, Integer.parseInt(value.trim())));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + name + ": " + value);
+        }
+    }
+
+    private static int requiredInt(JsonNode json, String field) {
+        JsonNode value = json.get(field);
+        if (value == null || !value.canConvertToInt()) {
+            throw new IllegalArgumentException("Missing or invalid field: " + field);
+        }
+        return value.intValue();
+    }
+
+    private static double requiredDouble(JsonNode json, String field) {
+        JsonNode value = json.get(field);
+        if (value == null || !value.isNumber()) {
+            throw new IllegalArgumentException("Missing or invalid field: " + field);
+        }
+        return value.doubleValue();
+    }
+}
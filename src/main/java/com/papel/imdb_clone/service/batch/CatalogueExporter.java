@@ -0,0 +1,106 @@
+package com.papel.imdb_clone.service.batch;
+
+import com.papel.imdb_clone.model.content.Award;
+import com.papel.imdb_clone.model.content.Content;
+import com.papel.imdb_clone.model.content.Series;
+import com.papel.imdb_clone.service.search.SearchResultCursor;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Exports movies and series, or the results of a search, as flat records with the same columns.
+ */
+public class CatalogueExporter {
+    /**
+     * The exported columns.
+     */
+    public static final String[] COLUMNS = {
+            "type", "id", "title", "year", "endYear", "genres", "director", "rating", "boxOffice", "wins", "nominations"
+    };
+
+    //rows fetched from a search cursor at a time
+    private static final int PAGE_SIZE = 1000;
+
+    /**
+     * Creates an exporter; it holds no state, so one can be reused for any number of exports.
+     */
+    public CatalogueExporter() {
+    }
+
+    /**
+     * Writes content to a record writer.
+     *
+     * @param content the content to write
+     * @param writer  the writer to write to
+     * @return the number of records written
+     * @throws IOException if the output cannot be written
+     */
+    public long export(Iterable<? extends Content> content, RecordWriter writer) throws IOException {
+        long written = 0;
+        for (Content item : content) {
+            writer.write(row(item));
+            written++;
+        }
+        return written;
+    }
+
+    /**
+     * Writes the results of a search to a record writer, a page at a time.
+     *
+     * @param cursor the search results
+     * @param writer the writer to write to
+     * @return the number of records written
+     * @throws IOException if the output cannot be written
+     */
+    public long export(SearchResultCursor cursor, RecordWriter writer) throws IOException {
+        long written = 0;
+        for (int offset = 0; offset < cursor.size(); offset += PAGE_SIZE) {
+            written += export(cursor.fetch(offset, PAGE_SIZE), writer);
+        }
+        return written;
+    }
+
+    /**
+     * Gets the exported fields of one content item by column name, e.g. to serialize it as JSON.
+     *
+     * @param content the content
+     * @return the fields in column order; missing values are null
+     */
+    public static Map<String, Object> toMap(Content content) {
+        Object[] values = row(content);
+        Map<String, Object> fields = new LinkedHashMap<>();
+        for (int i = 0; i < COLUMNS.length; i++) {
+            fields.put(COLUMNS[i], values[i]);
+        }
+        return fields;
+    }
+
+    //the values of one content item in COLUMNS order
+    private static Object[] row(Content content) {
+        boolean series = content instanceof Series;
+        int wins = 0;
+        int nominations = 0;
+        for (Award award : content.getAwardRecords()) {
+            if (award.category() == Award.Category.WIN) {
+                wins += award.count();
+            } else {
+                nominations += award.count();
+            }
+        }
+        return new Object[]{
+                series ? "series" : "movie",
+                content.getId(),
+                content.getTitle(),
+                content.getStartYear(),
+                series && content.getEndYear() > 0 ? content.getEndYear() : null,
+                content.getGenres().stream().map(Enum::name).toList(),
+                content.getDirector(),
+                content.getRating(),
+                content.getBoxOfficeAmount() >= 0 ? content.getBoxOfficeAmount() : null,
+                wins,
+                nominations
+        };
+    }
+}
@@ -0,0 +1,942 @@
+package com.papel.imdb_clone.service.batch;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.StreamReadFeature;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.papel.imdb_clone.data.DataManager;
+import com.papel.imdb_clone.enums.Ethnicity;
+import com.papel.imdb_clone.enums.Genre;
+import com.papel.imdb_clone.exceptions.InvalidInputException;
+import com.papel.imdb_clone.model.content.Award;
+import com.papel.imdb_clone.model.content.Content;
+import com.papel.imdb_clone.model.content.Episode;
+import com.papel.imdb_clone.model.content.EpisodeStore;
+import com.papel.imdb_clone.model.content.Movie;
+import com.papel.imdb_clone.model.content.Season;
+import com.papel.imdb_clone.model.content.Series;
+import com.papel.imdb_clone.model.people.Actor;
+import com.papel.imdb_clone.model.people.Celebrity;
+import com.papel.imdb_clone.model.people.Director;
+import com.papel.imdb_clone.model.people.User;
+import com.papel.imdb_clone.model.rating.UserRating;
+import com.papel.imdb_clone.service.content.BaseContentService;
+import com.papel.imdb_clone.service.content.CatalogueStatistics;
+import com.papel.imdb_clone.service.data.base.BaseDataLoader;
+import com.papel.imdb_clone.service.rating.RatingService;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.IntPredicate;
+
+/**
+ * Exports the whole catalogue as JSON Lines and imports it again: directors, actors, users,
+ * movies, series with their seasons and episodes, and user ratings, one JSON object per line with
+ * its {@code "kind"} as the first field. Both directions stream through Jackson's
+ * {@link JsonGenerator} and {@link JsonParser} without building a tree, so the memory they use
+ * does not grow with the file.
+ * <p>
+ * Movies, series, users and ratings keep their IDs, so ratings still refer to the right titles after
+ * an import. A title whose ID is taken by the same title (same name and year) is skipped as a
+ * duplicate; one whose ID belongs to a different title is imported under a new ID. Users are matched
+ * by username the same way. Ratings follow their title and user to the IDs they ended up with, and
+ * ratings of a title or user that is neither in the file nor in the catalogue, or whose ID stands for
+ * two different records of the file, are skipped. Actors and directors are matched by name. User
+ * records carry the password hash so that imported users can still log in.
+ */
+public class CatalogueJsonLines extends BaseDataLoader {
+    //Jackson's Schubfach double writer and FastDoubleParser are much quicker for the many rating scores
+    private static final JsonFactory JSON = JsonFactory.builder()
+            .enable(StreamWriteFeature.USE_FAST_DOUBLE_WRITER)
+            .enable(StreamReadFeature.USE_FAST_DOUBLE_PARSER)
+            .build();
+    //field names of rating records, encoded once because ratings make up most of an export
+    private static final SerializableString KIND = new SerializedString("kind");
+    private static final SerializableString ID = new SerializedString("id");
+    private static final SerializableString USER_ID = new SerializedString("userId");
+    private static final SerializableString CONTENT_ID = new SerializedString("contentId");
+    private static final SerializableString RATING = new SerializedString("rating");
+    private static final SerializableString TITLE = new SerializedString("title");
+    private static final SerializableString CREATED_AT = new SerializedString("createdAt");
+    private static final SerializableString UPDATED_AT = new SerializedString("updatedAt");
+    //the whole and half scores users give, written as is instead of formatting a double each time
+    private static final SerializableString[] HALF_SCORES = new SerializableString[21];
+
+    static {
+        for (int i = 0; i < HALF_SCORES.length; i++) {
+            HALF_SCORES[i] = new SerializedString(String.valueOf(i / 2.0));
+        }
+    }
+    //bytes buffered between the generator or parser and the stream
+    private static final int BUFFER_SIZE = 1 << 16;
+    //ratings handed to the rating service at a time
+    private static final int RATING_BATCH = 8192;
+    //stands for a file ID that cannot be mapped to one catalogue ID
+    private static final int UNMAPPED = 0;
+
+    /**
+     * The outcome of an export or import.
+     *
+     * @param records the records written or imported, by kind
+     * @param skipped the records skipped as invalid or duplicate
+     */
+    public record Summary(Map<String, Long> records, long skipped) {
+        /**
+         * Gets the total number of records written or imported.
+         *
+         * @return the record count
+         */
+        public long total() {
+            return records.values().stream().mapToLong(Long::longValue).sum();
+        }
+    }
+
+    private final DataManager dataManager;
+    private final RatingService ratingService;
+
+    /**
+     * Creates an exporter and importer for a catalogue.
+     *
+     * @param dataManager   the catalogue
+     * @param ratingService the user ratings
+     */
+    public CatalogueJsonLines(DataManager dataManager, RatingService ratingService) {
+        this.dataManager = dataManager;
+        this.ratingService = ratingService;
+    }
+
+    /**
+     * Writes the catalogue as JSON Lines. People come first, then titles, then ratings, which is
+     * the order {@link #importFrom} needs to resolve names and IDs.
+     *
+     * @param out where to write; not closed
+     * @return the number of records written by kind
+     * @throws IOException if the output cannot be written
+     */
+    public Summary export(OutputStream out) throws IOException {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        try (JsonGenerator json = JSON.createGenerator(new BufferedOutputStream(out, BUFFER_SIZE))) {
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Records are separated by line breaks instead of the default space
+            json.setRootValueSeparator(null);
+            for (Director director : dataManager.getDirectorService().getAll()) {
+                writeCelebrity(json, "director", director);
+                endRecord(json, counts, "director");
+            }
+            for (Actor actor : dataManager.getActorService().getAll()) {
+                writeCelebrity(json, "actor", actor);
+                endRecord(json, counts, "actor");
+            }
+            for (User user : dataManager.getUserRepository().findAll()) {
+                writeUser(json, user);
+                endRecord(json, counts, "user");
+            }
+            for (Movie movie : dataManager.getMoviesService().getAll()) {
+                writeContent(json, "movie", movie);
+                json.writeNumberField("duration", movie.getRuntime());
+                endRecord(json, counts, "movie");
+            }
+            for (Series series : dataManager.getSeriesService().getAll()) {
+                writeContent(json, "series", series);
+                writeSeasons(json, series);
+                endRecord(json, counts, "series");
+            }
+            char[] buffer = new char[29];
+            long ratings = 0;
+            for (UserRating rating : ratingService.getAllRatings()) {
+                writeRating(json, rating, buffer);
+                endRecord(json);
+                ratings++;
+            }
+            if (ratings > 0) {
+                counts.put("rating", ratings);
+            }
+        }
+        out.flush();
+        logger.info("Exported {} records as JSON Lines: {}", counts.values().stream().mapToLong(Long::longValue).sum(), counts);
+        return new Summary(counts, 0);
+    }
+
+    /**
+     * Imports a JSON Lines export into the catalogue. Invalid and duplicate records are skipped
+     * and counted; a line that is not JSON at all stops the import.
+     *
+     * @param in the export to read; not closed
+     * @return the number of records imported by kind and the number skipped
+     * @throws IOException if the input cannot be read or is not JSON
+     */
+    public Summary importFrom(InputStream in) throws IOException {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        Map<String, Actor> actorsByName = new HashMap<>();
+        ImportedIds ids = new ImportedIds();
+        List<UserRating> ratings = new ArrayList<>(RATING_BATCH);
+        long skipped = 0;
+        try (JsonParser parser = JSON.createParser(new BufferedInputStream(in, BUFFER_SIZE))) {
+            parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+            JsonToken token;
+            // One record per line, so the record number is the line number; cheaper than asking the parser
+            long line = 0;
+            while ((token = parser.nextToken()) != null) {
+                line++;
+                if (token != JsonToken.START_OBJECT) {
+                    throw new IOException("Expected a JSON object at line " + line + " but found " + token);
+                }
+                if (parser.nextToken() != JsonToken.FIELD_NAME || !"kind".equals(parser.currentName())) {
+                    throw new IOException("Expected \"kind\" as the first field at line " + line);
+                }
+                parser.nextToken();
+                String kind = parser.getText();
+                try {
+                    if (kind.equals("rating")) {
+                        ratings.add(readRating(parser, ids));
+                        if (ratings.size() == RATING_BATCH) {
+                            skipped += restoreRatings(ratings, counts);
+                        }
+                        continue;
+                    }
+                    boolean imported = switch (kind) {
+                        case "director", "actor" -> importCelebrity(parser, kind, actorsByName);
+                        case "user" -> importUser(parser, ids);
+                        case "movie" -> importMovie(parser, actorsByName, ids);
+                        case "series" -> importSeries(parser, actorsByName, ids);
+                        default -> throw new IllegalArgumentException("unknown kind " + kind);
+                    };
+                    if (imported) {
+                        counts.merge(kind, 1L, Long::sum);
+                    } else {
+                        skipped++;
+                        logger.debug("Skipping duplicate {} at line {}", kind, line);
+                    }
+                } catch (IllegalArgumentException | DateTimeParseException | InvalidInputException e) {
+                    // A value may be rejected half way through the record; move on to the next one
+                    while (!parser.getParsingContext().inRoot()) {
+                        parser.nextToken();
+                        parser.skipChildren();
+                    }
+                    skipped++;
+                    rowWarnings.warn(logger, "Skipping invalid {} at line {}: {}", kind, line, e.getMessage());
+                }
+            }
+            skipped += restoreRatings(ratings, counts);
+        } finally {
+            rowWarnings.flush(logger);
+        }
+        logger.info("Imported {} records from JSON Lines: {} ({} skipped)",
+                counts.values().stream().mapToLong(Long::longValue).sum(), counts, skipped);
+        return new Summary(counts, skipped);
+    }
+
+    //closes the current record, starts a new line and counts the record
+    private static void endRecord(JsonGenerator json, Map<String, Long> counts, String kind) throws IOException {
+        endRecord(json);
+        counts.merge(kind, 1L, Long::sum);
+    }
+
+    //closes the current record and starts a new line
+    private static void endRecord(JsonGenerator json) throws IOException {
+        json.writeEndObject();
+        json.writeRaw('\n');
+    }
+
+    private static void writeCelebrity(JsonGenerator json, String kind, Celebrity celebrity) throws IOException {
+        json.writeStartObject();
+        json.writeStringField("kind", kind);
+        json.writeNumberField("id", celebrity.getId());
+        json.writeStringField("firstName", celebrity.getFirstName());
+        json.writeStringField("lastName", celebrity.getLastName());
+        json.writeStringField("birthDate", celebrity.getBirthDate() != null ? celebrity.getBirthDate().toString() : null);
+        json.writeStringField("gender", String.valueOf(celebrity.getGender()));
+        json.writeStringField("ethnicity", celebrity.getEthnicity() != null ? celebrity.getEthnicity().name() : null);
+        writeStrings(json, "notableWorks", celebrity.getNotableWorks());
+    }
+
+    private static void writeUser(JsonGenerator json, User user) throws IOException {
+        json.writeStartObject();
+        json.writeStringField("kind", "user");
+        json.writeNumberField("id", user.getId());
+        json.writeStringField("username", user.getUsername());
+        json.writeStringField("firstName", user.getFirstName());
+        json.writeStringField("lastName", user.getLastName());
+        json.writeStringField("email", user.getEmail());
+        json.writeStringField("password", user.getPassword());
+        json.writeStringField("lastActivity", user.getLastActivity() != null ? user.getLastActivity().toString() : null);
+    }
+
+    //fields shared by movies and series; the record is left open for the type's own fields
+    private static void writeContent(JsonGenerator json, String kind, Content content) throws IOException {
+        json.writeStartObject();
+        json.writeStringField("kind", kind);
+        json.writeNumberField("id", content.getId());
+        json.writeStringField("title", content.getTitle());
+        json.writeNumberField("year", content.getStartYear());
+        json.writeArrayFieldStart("genres");
+        for (Genre genre : content.getGenres()) {
+            if (genre != null) {
+                json.writeString(genre.name());
+            }
+        }
+        json.writeEndArray();
+        json.writeStringField("director", content.getDirector());
+        json.writeNumberField("rating", content.getRating());
+        json.writeArrayFieldStart("actors");
+        for (Actor actor : content.getActors()) {
+            json.writeString(actor.getFullName());
+        }
+        json.writeEndArray();
+        if (content.getBoxOfficeAmount() >= 0) {
+            json.writeNumberField("boxOffice", content.getBoxOfficeAmount());
+        }
+        writeStrings(json, "awardsText", content.getAwards());
+        json.writeArrayFieldStart("awards");
+        for (Award award : content.getAwardRecords()) {
+            json.writeStartObject();
+            json.writeStringField("body", award.body());
+            json.writeStringField("category", award.category().name());
+            json.writeNumberField("count", award.count());
+            json.writeEndObject();
+        }
+        json.writeEndArray();
+    }
+
+    //episodes are read from the compact store where possible, so exporting does not create Episode objects
+    private static void writeSeasons(JsonGenerator json, Series series) throws IOException {
+        if (series.getEndYear() > 0) {
+            json.writeNumberField("endYear", series.getEndYear());
+        }
+        json.writeArrayFieldStart("seasons");
+        for (Season season : series.getSeasons()) {
+            json.writeStartObject();
+            json.writeNumberField("number", season.getSeasonNumber());
+            json.writeNumberField("year", season.getYear());
+            json.writeStringField("title", season.getTitle() != null ? season.getTitle().toString() : null);
+            json.writeArrayFieldStart("episodes");
+            EpisodeStore store = season.getEpisodeStore();
+            if (store != null) {
+                for (int i = 0; i < store.size(); i++) {
+                    writeEpisode(json, store.getEpisodeNumber(i), store.getTitle(i), store.getReleaseDate(i), store.getRating(i));
+                }
+            } else {
+                for (Episode episode : season.getEpisodes()) {
+                    LocalDate released = episode.getReleaseDate() != null
+                            ? episode.getReleaseDate().toInstant().atZone(ZoneId.systemDefault()).toLocalDate() : null;
+                    writeEpisode(json, episode.getEpisodeNumber(), episode.getTitle(), released, episode.getImdbRating());
+                }
+            }
+            json.writeEndArray();
+            json.writeEndObject();
+        }
+        json.writeEndArray();
+    }
+
+    private static void writeEpisode(JsonGenerator json, int number, String title, LocalDate released, double rating)
+            throws IOException {
+        json.writeStartObject();
+        json.writeNumberField("number", number);
+        json.writeStringField("title", title);
+        json.writeStringField("released", released != null ? released.toString() : null);
+        json.writeNumberField("rating", rating);
+        json.writeEndObject();
+    }
+
+    private static void writeRating(JsonGenerator json, UserRating rating, char[] buffer) throws IOException {
+        json.writeStartObject();
+        json.writeFieldName(KIND);
+        json.writeString(RATING);
+        json.writeFieldName(ID);
+        json.writeNumber(rating.getId());
+        json.writeFieldName(USER_ID);
+        json.writeNumber(rating.getUserId());
+        json.writeFieldName(CONTENT_ID);
+        json.writeNumber(rating.getContentId());
+        json.writeFieldName(RATING);
+        double score = rating.getScore();
+        int halves = (int) (score * 2);
+        if (halves >= 0 && halves < HALF_SCORES.length && halves == score * 2) {
+            json.writeRawValue(HALF_SCORES[halves]);
+        } else {
+            json.writeNumber(score);
+        }
+        json.writeFieldName(TITLE);
+        json.writeString(rating.getTitle());
+        json.writeFieldName(CREATED_AT);
+        writeTimestamp(json, rating.getCreatedAt(), buffer);
+        json.writeFieldName(UPDATED_AT);
+        writeTimestamp(json, rating.getUpdatedAt(), buffer);
+    }
+
+    //writes the yyyy-MM-ddTHH:mm:ss[.fraction] form without LocalDateTime.toString, which builds
+    //two strings per call; years outside 0 to 9999 still go through toString
+    private static void writeTimestamp(JsonGenerator json, LocalDateTime time, char[] buffer) throws IOException {
+        if (time == null) {
+            json.writeNull();
+            return;
+        }
+        int year = time.getYear();
+        if (year < 0 || year > 9999) {
+            json.writeString(time.toString());
+            return;
+        }
+        putDigits(buffer, 0, 4, year);
+        buffer[4] = '-';
+        putDigits(buffer, 5, 2, time.getMonthValue());
+        buffer[7] = '-';
+        putDigits(buffer, 8, 2, time.getDayOfMonth());
+        buffer[10] = 'T';
+        putDigits(buffer, 11, 2, time.getHour());
+        buffer[13] = ':';
+        putDigits(buffer, 14, 2, time.getMinute());
+        buffer[16] = ':';
+        putDigits(buffer, 17, 2, time.getSecond());
+        int length = 19;
+        int nanos = time.getNano();
+        if (nanos > 0) {
+            // Milli-, micro- or nanoseconds, as toString writes them
+            int digits = nanos % 1000_000 == 0 ? 3 : nanos % 1000 == 0 ? 6 : 9;
+            buffer[19] = '.';
+            putDigits(buffer, 20, digits, digits == 3 ? nanos / 1000_000 : digits == 6 ? nanos / 1000 : nanos);
+            length = 20 + digits;
+        }
+        json.writeString(buffer, 0, length);
+    }
+
+    //writes a non-negative value as exactly count decimal digits
+    private static void putDigits(char[] buffer, int offset, int count, int value) {
+        for (int i = offset + count - 1; i >= offset; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+
+    private static void writeStrings(JsonGenerator json, String field, List<String> values) throws IOException {
+        json.writeArrayFieldStart(field);
+        if (values != null) {
+            for (String value : values) {
+                json.writeString(value);
+            }
+        }
+        json.writeEndArray();
+    }
+
+    private boolean importCelebrity(JsonParser parser, String kind, Map<String, Actor> actorsByName)
+            throws IOException, InvalidInputException {
+        String firstName = "";
+        String lastName = "";
+        String birthDate = null;
+        String gender = null;
+        String ethnicity = null;
+        List<String> notableWorks = List.of();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "firstName" -> firstName = text(parser);
+                case "lastName" -> lastName = text(parser);
+                case "birthDate" -> birthDate = text(parser);
+                case "gender" -> gender = text(parser);
+                case "ethnicity" -> ethnicity = text(parser);
+                case "notableWorks" -> notableWorks = readStrings(parser);
+                default -> parser.skipChildren();
+            }
+        }
+        if ((firstName == null || firstName.isBlank()) && (lastName == null || lastName.isBlank())) {
+            throw new IllegalArgumentException("missing name");
+        }
+        LocalDate born = birthDate != null ? LocalDate.parse(birthDate) : null;
+        char sex = gender != null && !gender.isEmpty() ? gender.charAt(0) : '?';
+        Ethnicity origin = ethnicity != null ? Ethnicity.valueOf(ethnicity) : Ethnicity.UNKNOWN;
+        // The factories hand out the known instance for a name, so growth tells new people from known ones
+        if (kind.equals("actor")) {
+            long known = dataManager.getActorService().count();
+            Actor actor = Actor.getInstance(firstName, lastName, born, sex, origin);
+            actor.setNotableWorks(notableWorks);
+            actor = dataManager.getActorService().save(actor);
+            actorsByName.put(actor.getFullName(), actor);
+            return dataManager.getActorService().count() > known;
+        }
+        long known = dataManager.getDirectorService().count();
+        Director director = Director.getInstance(firstName, lastName, born, sex, origin);
+        director.setNotableWorks(notableWorks);
+        dataManager.getDirectorService().save(director);
+        return dataManager.getDirectorService().count() > known;
+    }
+
+    private boolean importUser(JsonParser parser, ImportedIds ids) throws IOException {
+        User user = new User();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "id" -> user.setId(parser.getValueAsInt());
+                case "username" -> user.setUsername(text(parser));
+                case "firstName" -> user.setFirstName(text(parser));
+                case "lastName" -> user.setLastName(text(parser));
+                case "email" -> user.setEmail(text(parser));
+                case "password" -> user.setPassword(text(parser));
+                case "lastActivity" -> user.setLastActivity(parser.currentToken() == JsonToken.VALUE_NULL
+                        ? null : Instant.parse(parser.getText()));
+                default -> parser.skipChildren();
+            }
+        }
+        if (user.getUsername() == null || user.getUsername().isBlank()) {
+            throw new IllegalArgumentException("missing username");
+        }
+        int fileId = user.getId();
+        Optional<User> existing = dataManager.getUserRepository().registerIfAbsent(user);
+        if (existing.isPresent() && !existing.get().getUsername().equalsIgnoreCase(user.getUsername())
+                && existing.get().getId() == fileId) {
+            // The ID belongs to someone else, so the user gets a new one if the email is free
+            user.setId(0);
+            existing = dataManager.getUserRepository().registerIfAbsent(user);
+        }
+        if (existing.isEmpty()) {
+            mapId(ids.users, fileId, user.getId());
+            return true;
+        }
+        boolean sameUser = existing.get().getUsername().equalsIgnoreCase(user.getUsername());
+        mapId(ids.users, fileId, sameUser ? existing.get().getId() : UNMAPPED);
+        return false;
+    }
+
+    private boolean importMovie(JsonParser parser, Map<String, Actor> actorsByName, ImportedIds ids)
+            throws IOException {
+        Movie movie = new Movie();
+        ContentFields fields = new ContentFields();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            if (field.equals("duration")) {
+                movie.setDuration(parser.getValueAsInt());
+            } else {
+                fields.read(field, parser);
+            }
+        }
+        fields.validate();
+        movie.setId(fields.id);
+        movie.setTitle(fields.title);
+        movie.setReleaseDate(januaryFirst(fields.year));
+        movie.setStartYear(fields.year);
+        movie.setDirector(fields.director);
+        movie.setRating(fields.rating);
+        for (Genre genre : fields.genres) {
+            movie.addGenre(genre);
+        }
+        for (String name : fields.actors) {
+            movie.addActor(actor(name, actorsByName));
+        }
+        if (fields.boxOffice >= 0) {
+            movie.setBoxOffice(String.format(Locale.ROOT, "$%,d", fields.boxOffice));
+        }
+        fields.applyAwards(movie);
+        return restoreContent(dataManager.getMoviesService(), movie, fields, ids);
+    }
+
+    private boolean importSeries(JsonParser parser, Map<String, Actor> actorsByName, ImportedIds ids)
+            throws IOException {
+        ContentFields fields = new ContentFields();
+        int endYear = 0;
+        List<Season> seasons = new ArrayList<>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "endYear" -> endYear = parser.getValueAsInt();
+                case "seasons" -> readSeasons(parser, seasons);
+                default -> fields.read(field, parser);
+            }
+        }
+        fields.validate();
+        Series series = new Series(fields.title);
+        series.setId(fields.id);
+        series.setStartYear(fields.year);
+        if (endYear > 0) {
+            series.setEndYear(endYear);
+        }
+        series.setDirector(fields.director);
+        series.setRating(fields.rating);
+        series.setGenres(fields.genres);
+        List<Actor> cast = new ArrayList<>(fields.actors.size());
+        for (String name : fields.actors) {
+            cast.add(actor(name, actorsByName));
+        }
+        series.setActors(cast);
+        for (Season season : seasons) {
+            series.addSeason(season);
+        }
+        fields.applyAwards(series);
+        return restoreContent(dataManager.getSeriesService(), series, fields, ids);
+    }
+
+    //adds a title under its own ID, or under a new one if a different title has that ID,
+    //and records the ID it ended up with; returns false if the same title is already there
+    private <T extends Content> boolean restoreContent(BaseContentService<T> service, T content, ContentFields fields,
+                                                       ImportedIds ids) {
+        int fileId = content.getId();
+        if (!service.restore(content)) {
+            // The same title may be known under this or any other ID
+            Map<String, Integer> titles = ids.titles.computeIfAbsent(service, CatalogueJsonLines::titleIndex);
+            Integer known = titles.get(titleKey(content));
+            if (known != null) {
+                mapId(ids.content, fileId, known);
+                return false;
+            }
+            content.setId(0);
+            service.save(content);
+            titles.put(titleKey(content), content.getId());
+            logger.debug("Imported {} under ID {} as its ID {} belongs to another title",
+                    content.getTitle(), content.getId(), fileId);
+        }
+        mapId(ids.content, fileId, content.getId());
+        fields.record(content);
+        return true;
+    }
+
+    //IDs of the titles a service holds by name and year
+    private static Map<String, Integer> titleIndex(BaseContentService<?> service) {
+        Map<String, Integer> titles = new HashMap<>();
+        for (Content content : service.getAll()) {
+            titles.putIfAbsent(titleKey(content), content.getId());
+        }
+        return titles;
+    }
+
+    private static String titleKey(Content content) {
+        String title = content.getTitle() != null ? content.getTitle().toLowerCase(Locale.ROOT) : "";
+        return content.getStartYear() + "/" + title;
+    }
+
+    //a file ID used by two records that ended up under different IDs cannot be told apart
+    private static void mapId(Map<Integer, Integer> ids, int fileId, int catalogueId) {
+        if (fileId > 0) {
+            ids.merge(fileId, catalogueId, (known, id) -> known.equals(id) ? known : UNMAPPED);
+        }
+    }
+
+    //reads the seasons array into seasons with compact episode stores
+    private static void readSeasons(JsonParser parser, List<Season> seasons) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return;
+        }
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            int number = 0;
+            int year = 0;
+            String title = null;
+            EpisodeStore.Builder episodes = EpisodeStore.builder(16);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case "number" -> number = parser.getValueAsInt();
+                    case "year" -> year = parser.getValueAsInt();
+                    case "title" -> title = text(parser);
+                    case "episodes" -> readEpisodes(parser, episodes);
+                    default -> parser.skipChildren();
+                }
+            }
+            Season season = new Season(number, null);
+            season.setSeasonNumber(number);
+            season.setTitle(title);
+            season.setYear(year);
+            season.setEpisodeStore(episodes.build());
+            seasons.add(season);
+        }
+    }
+
+    private static void readEpisodes(JsonParser parser, EpisodeStore.Builder episodes) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return;
+        }
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            int number = 0;
+            String title = null;
+            LocalDate released = LocalDate.EPOCH;
+            double rating = 0.0;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case "number" -> number = parser.getValueAsInt();
+                    case "title" -> title = text(parser);
+                    case "released" -> released = parser.currentToken() == JsonToken.VALUE_NULL
+                            ? LocalDate.EPOCH : LocalDate.parse(parser.getText());
+                    case "rating" -> rating = parser.getValueAsDouble();
+                    default -> parser.skipChildren();
+                }
+            }
+            episodes.add(number, released, rating, title);
+        }
+    }
+
+    //adds and clears a batch of ratings, returning how many were skipped as duplicates
+    private long restoreRatings(List<UserRating> ratings, Map<String, Long> counts) {
+        int added = ratingService.restoreRatings(ratings);
+        if (added > 0) {
+            counts.merge("rating", (long) added, Long::sum);
+        }
+        long duplicates = ratings.size() - added;
+        ratings.clear();
+        return duplicates;
+    }
+
+    private UserRating readRating(JsonParser parser, ImportedIds ids) throws IOException {
+        int id = 0;
+        int userId = 0;
+        int contentId = 0;
+        double score = 0;
+        String title = null;
+        String createdAt = null;
+        String updatedAt = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "id" -> id = parser.getValueAsInt();
+                case "userId" -> userId = parser.getValueAsInt();
+                case "contentId" -> contentId = parser.getValueAsInt();
+                case "rating" -> score = parser.getValueAsDouble();
+                case "title" -> title = text(parser);
+                case "createdAt" -> createdAt = text(parser);
+                case "updatedAt" -> updatedAt = text(parser);
+                default -> parser.skipChildren();
+            }
+        }
+        if (id <= 0 || userId <= 0 || contentId <= 0) {
+            throw new IllegalArgumentException("missing id, userId or contentId");
+        }
+        int content = catalogueId(ids.content, contentId, "title",
+                taken -> dataManager.getMoviesService().getById(taken).isPresent()
+                        || dataManager.getSeriesService().getById(taken).isPresent());
+        int user = catalogueId(ids.users, userId, "user",
+                taken -> dataManager.getUserRepository().findById(taken).isPresent());
+        UserRating rating = new UserRating(user, content, score);
+        rating.setId(id);
+        rating.setTitle(title);
+        if (createdAt != null) {
+            rating.setCreatedAt(timestamp(createdAt));
+        }
+        if (updatedAt != null) {
+            rating.setUpdatedAt(timestamp(updatedAt));
+        }
+        return rating;
+    }
+
+    //the catalogue ID of a title or user a rating refers to: the one it was imported under, or
+    //its own if the file did not have it but the catalogue does
+    private static int catalogueId(Map<Integer, Integer> ids, int fileId, String what, IntPredicate known) {
+        Integer id = ids.get(fileId);
+        if (id == null && known.test(fileId)) {
+            return fileId;
+        }
+        if (id == null || id == UNMAPPED) {
+            throw new IllegalArgumentException("rates " + what + " " + fileId + (id == null
+                    ? ", which is not in the catalogue" : ", which stands for two different records"));
+        }
+        return id;
+    }
+
+    //parses the yyyy-MM-ddTHH:mm[:ss[.fraction]] form LocalDateTime.toString writes without the general
+    //formatter, which costs more than the rest of a rating record; anything else goes through LocalDateTime.parse
+    private static LocalDateTime timestamp(String text) {
+        int length = text.length();
+        if (length < 16 || length == 17 || length == 20 || length > 29 || text.charAt(4) != '-'
+                || text.charAt(7) != '-' || text.charAt(10) != 'T' || text.charAt(13) != ':'
+                || (length > 16 && text.charAt(16) != ':') || (length > 19 && text.charAt(19) != '.')) {
+            return LocalDateTime.parse(text);
+        }
+        int year = digits(text, 0, 4);
+        int month = digits(text, 5, 7);
+        int day = digits(text, 8, 10);
+        int hour = digits(text, 11, 13);
+        int minute = digits(text, 14, 16);
+        int second = length > 16 ? digits(text, 17, 19) : 0;
+        int nanos = 0;
+        if (length > 19) {
+            nanos = digits(text, 20, length);
+            for (int i = length; i < 29; i++) {
+                nanos *= 10;
+            }
+        }
+        if ((year | month | day | hour | minute | second | nanos) < 0) {
+            return LocalDateTime.parse(text);
+        }
+        // LocalDateTime.of rejects out-of-range fields with a DateTimeException, as parse would
+        try {
+            return LocalDateTime.of(year, month, day, hour, minute, second, nanos);
+        } catch (DateTimeException e) {
+            throw new DateTimeParseException(e.getMessage(), text, 0, e);
+        }
+    }
+
+    //the decimal number in text[from, to), or -1 if it has a non-digit
+    private static int digits(String text, int from, int to) {
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    //finds a cast member imported or loaded earlier by name, creating one as the data loaders do
+    private Actor actor(String fullName, Map<String, Actor> actorsByName) {
+        Actor actor = actorsByName.get(fullName);
+        if (actor != null) {
+            return actor;
+        }
+        try {
+            List<Actor> found = dataManager.getActorService().findByExactName(fullName);
+            if (!found.isEmpty()) {
+                actor = found.getFirst();
+            } else {
+                String[] names = fullName.trim().split("\\s+", 2);
+                actor = Actor.getInstance(names[0], names.length > 1 ? names[1] : "", null, '?', Ethnicity.UNKNOWN);
+                if (actor.getId() == 0) {
+                    actor = dataManager.getActorService().save(actor);
+                }
+            }
+        } catch (InvalidInputException e) {
+            throw new IllegalArgumentException("invalid cast member " + fullName + ": " + e.getMessage());
+        }
+        actorsByName.put(fullName, actor);
+        return actor;
+    }
+
+    private static String text(JsonParser parser) throws IOException {
+        return parser.currentToken() == JsonToken.VALUE_NULL ? null : parser.getText();
+    }
+
+    private static List<String> readStrings(JsonParser parser) throws IOException {
+        List<String> values = new ArrayList<>();
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return values;
+        }
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            values.add(parser.getText());
+        }
+        return values;
+    }
+
+    //the data loaders date a title on the first of January of its year
+    private static Date januaryFirst(int year) {
+        Calendar cal = Calendar.getInstance();
+        cal.clear();
+        cal.set(year, Calendar.JANUARY, 1);
+        return cal.getTime();
+    }
+
+    //where the file's titles and users ended up in the catalogue, and the catalogue's titles by name
+    //and year, indexed the first time a title's ID turns out to be taken
+    private static final class ImportedIds {
+        private final Map<Integer, Integer> content = new HashMap<>();
+        private final Map<Integer, Integer> users = new HashMap<>();
+        private final Map<BaseContentService<?>, Map<String, Integer>> titles = new HashMap<>();
+    }
+
+    //fields shared by movie and series records, collected while parsing and applied once the record is complete
+    private static final class ContentFields {
+        private int id;
+        private String title;
+        private int year;
+        private String director;
+        private double rating;
+        private long boxOffice = -1;
+        private final List<Genre> genres = new ArrayList<>();
+        private List<String> actors = List.of();
+        private List<String> awardsText = List.of();
+        private final List<Award> awards = new ArrayList<>();
+
+        private void read(String field, JsonParser parser) throws IOException {
+            switch (field) {
+                case "id" -> id = parser.getValueAsInt();
+                case "title" -> title = text(parser);
+                case "year" -> year = parser.getValueAsInt();
+                case "director" -> director = text(parser);
+                case "rating" -> rating = parser.getValueAsDouble();
+                case "boxOffice" -> boxOffice = parser.getValueAsLong(-1);
+                case "genres" -> {
+                    for (String genre : readStrings(parser)) {
+                        genres.add(Genre.valueOf(genre));
+                    }
+                }
+                case "actors" -> actors = readStrings(parser);
+                case "awardsText" -> awardsText = readStrings(parser);
+                case "awards" -> readAwards(parser);
+                default -> parser.skipChildren();
+            }
+        }
+
+        private void readAwards(JsonParser parser) throws IOException {
+            if (parser.currentToken() != JsonToken.START_ARRAY) {
+                parser.skipChildren();
+                return;
+            }
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                String body = null;
+                String category = Award.Category.WIN.name();
+                int count = 1;
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.currentName();
+                    parser.nextToken();
+                    switch (field) {
+                        case "body" -> body = text(parser);
+                        case "category" -> category = text(parser);
+                        case "count" -> count = parser.getValueAsInt();
+                        default -> parser.skipChildren();
+                    }
+                }
+                awards.add(new Award(body, Award.Category.valueOf(category), count));
+            }
+        }
+
+        private void validate() {
+            if (id <= 0) {
+                throw new IllegalArgumentException("missing id");
+            }
+            if (title == null || title.isBlank()) {
+                throw new IllegalArgumentException("missing title");
+            }
+        }
+
+        private void applyAwards(Content content) {
+            if (!awardsText.isEmpty()) {
+                content.setAwards(awardsText);
+            }
+            content.setBoxOfficeAmount(boxOffice);
+            content.setAwardRecords(awards);
+        }
+
+        //adds the title's figures to the statistics, as the awards loader does
+        private void record(Content content) {
+            if (boxOffice >= 0 || !awards.isEmpty()) {
+                CatalogueStatistics.getInstance().record(content, year, boxOffice, awards);
+            }
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.papel.imdb_clone.service.batch;
+
+import com.papel.imdb_clone.service.data.base.BaseDataLoader;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Recomputes the rating count and average of every title from a ratings file
+ * ({@code UserId,ContentType,Title,Year,Rating,RatedAt}, as written by the catalogue generator).
+ * The file is streamed, so memory grows with the number of rated titles, not with the number of ratings.
+ */
+public class RatingAggregator extends BaseDataLoader {
+    /**
+     * The columns of the aggregated records.
+     */
+    public static final String[] COLUMNS = {"type", "title", "year", "ratings", "average", "min", "max"};
+
+    /**
+     * The outcome of an aggregation.
+     *
+     * @param ratings the number of ratings read
+     * @param titles  the number of rated titles written
+     * @param invalid the number of rows skipped as invalid
+     */
+    public record Summary(long ratings, long titles, long invalid) {
+    }
+
+    //running totals of one title
+    private static final class Tally {
+        private final String type;
+        private final String title;
+        private final int year;
+        private long count;
+        private long sum;
+        private int min = Integer.MAX_VALUE;
+        private int max = Integer.MIN_VALUE;
+
+        private Tally(String type, String title, int year) {
+            this.type = type;
+            this.title = title;
+            this.year = year;
+        }
+
+        private void add(int rating) {
+            count++;
+            sum += rating;
+            min = Math.min(min, rating);
+            max = Math.max(max, rating);
+        }
+    }
+
+    /**
+     * Creates an aggregator that reports invalid rows through the sampled row warnings.
+     */
+    public RatingAggregator() {
+        super();
+    }
+
+    /**
+     * Aggregates a ratings file and writes one record per rated title, in order of first appearance.
+     *
+     * @param file   the ratings file
+     * @param writer the writer to write the aggregates to
+     * @return the counts of the run
+     * @throws IOException if the file cannot be read or the output cannot be written
+     */
+    public Summary aggregate(Path file, RecordWriter writer) throws IOException {
+        Map<String, Tally> tallies = new LinkedHashMap<>();
+        long ratings = 0;
+        long invalid = 0;
+        int lineNumber = 0;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                String[] parts = parseCSVLine(line);
+                if (parts.length == 0) {
+                    continue;
+                }
+                try {
+                    if (parts.length < 5) {
+                        throw new IllegalArgumentException("expected at least 5 columns");
+                    }
+                    int year = Integer.parseInt(parts[3]);
+                    int rating = Integer.parseInt(parts[4]);
+                    if (rating < 1 || rating > 10) {
+                        throw new IllegalArgumentException("rating out of range: " + rating);
+                    }
+                    String type = parts[1].toLowerCase(Locale.ROOT);
+                    tallies.computeIfAbsent(type + '\u0000' + parts[2] + '\u0000' + year,
+                            key -> new Tally(type, parts[2], year)).add(rating);
+                    ratings++;
+                } catch (IllegalArgumentException e) {
+                    invalid++;
+                    rowWarnings.warn(logger, "Skipping invalid rating at line {} of {}: {}", lineNumber, file, e.getMessage());
+                }
+            }
+        } finally {
+            rowWarnings.flush(logger);
+        }
+
+        for (Tally tally : tallies.values()) {
+            writer.write(tally.type, tally.title, tally.year, tally.count,
+                    Math.round(tally.sum * 100.0 / tally.count) / 100.0, tally.min, tally.max);
+        }
+        logger.info("Aggregated {} ratings of {} titles from {} ({} invalid rows skipped)",
+                ratings, tallies.size(), file, invalid);
+        return new Summary(ratings, tallies.size(), invalid);
+    }
+}
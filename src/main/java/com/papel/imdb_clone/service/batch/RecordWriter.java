@@ -0,0 +1,156 @@
+package com.papel.imdb_clone.service.batch;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Writes records with a fixed set of columns as CSV or as a JSON array, one record at a time,
+ * so exports of any size run in constant memory.
+ * Collections are written as semicolon-separated lists in CSV and as arrays in JSON.
+ */
+public class RecordWriter implements Closeable {
+
+    /**
+     * The output formats of a record writer.
+     */
+    public enum Format {
+        CSV, JSON;
+
+        /**
+         * Gets a format by name, ignoring case.
+         *
+         * @param name the format name, e.g. "csv"
+         * @return the format
+         * @throws IllegalArgumentException if there is no format with that name
+         */
+        public static Format of(String name) {
+            try {
+                return valueOf(name.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown format: " + name + " (expected csv or json)");
+            }
+        }
+    }
+
+    private final Format format;
+    private final List<String> columns;
+    private final Writer out;
+    private final JsonGenerator json;
+    private long count;
+
+    /**
+     * Creates a writer and writes the CSV header or opens the JSON array.
+     *
+     * @param format  the output format
+     * @param out     where to write; closed when this writer is closed
+     * @param columns the column names, in the order values are passed to {@link #write}
+     * @throws IOException if the output cannot be written
+     */
+    public RecordWriter(Format format, Writer out, String... columns) throws IOException {
+        this.format = format;
+        this.columns = List.of(columns);
+        this.out = out;
+        if (format == Format.JSON) {
+            json = new JsonFactory().createGenerator(out);
+            json.writeStartArray();
+        } else {
+            json = null;
+            out.write(String.join(",", columns));
+            out.write('\n');
+        }
+    }
+
+    /**
+     * Writes one record.
+     *
+     * @param values the values of the columns, in column order; null for missing values
+     * @throws IOException if the output cannot be written
+     * @throws IllegalArgumentException if the number of values does not match the columns
+     */
+    public void write(Object... values) throws IOException {
+        if (values.length != columns.size()) {
+            throw new IllegalArgumentException("Expected " + columns.size() + " values but got " + values.length);
+        }
+        if (format == Format.JSON) {
+            json.writeStartObject();
+            for (int i = 0; i < values.length; i++) {
+                json.writeFieldName(columns.get(i));
+                writeJsonValue(values[i]);
+            }
+            json.writeEndObject();
+        } else {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    out.write(',');
+                }
+                out.write(csv(values[i]));
+            }
+            out.write('\n');
+        }
+        count++;
+    }
+
+    /**
+     * Gets the number of records written so far.
+     *
+     * @return the record count
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Closes the JSON array, flushes and closes the output.
+     *
+     * @throws IOException if the output cannot be written
+     */
+    @Override
+    public void close() throws IOException {
+        if (json != null) {
+            json.writeEndArray();
+            json.close();
+        }
+        out.close();
+    }
+
+    private void writeJsonValue(Object value) throws IOException {
+        if (value == null) {
+            json.writeNull();
+        } else if (value instanceof Integer || value instanceof Long) {
+            json.writeNumber(((Number) value).longValue());
+        } else if (value instanceof Number number) {
+            json.writeNumber(number.doubleValue());
+        } else if (value instanceof Boolean bool) {
+            json.writeBoolean(bool);
+        } else if (value instanceof Collection<?> values) {
+            json.writeStartArray();
+            for (Object element : values) {
+                writeJsonValue(element);
+            }
+            json.writeEndArray();
+        } else {
+            json.writeString(value.toString());
+        }
+    }
+
+    //quotes a value that contains a separator, a quote or a line break
+    private static String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value instanceof Collection<?> values
+                ? String.join(";", values.stream().map(String::valueOf).toList())
+                : value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
@@ -1,12 +1,19 @@
 package com.papel.imdb_clone.service.content;
 
+import com.papel.imdb_clone.enums.SortKey;
 import com.papel.imdb_clone.model.content.Content;
+import com.papel.imdb_clone.service.event.ChangeEventBus;
+import com.papel.imdb_clone.service.event.ChangeType;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
  * Base abstract class for content services providing common CRUD operations.
+ * Reads never copy the catalogue: getAll returns an immutable snapshot that is shared by every reader
+ * until the next write, and getById is a hash lookup. Writers bump a version under the write lock;
+ * the next read after a write publishes a new snapshot, so a bulk load pays for one copy, not one per item.
  * @param <T> The type of content this service manages, must extend Content
  */
 public abstract class BaseContentService<T extends Content> implements ContentService<T> {
@@ -16,6 +23,16 @@ public abstract class BaseContentService<T extends Content> implements ContentSe
     protected final AtomicInteger nextId = new AtomicInteger(1);
     protected final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
     protected final Class<T> contentType;
+    //pre-sorted views kept in step with contentList
+    final ContentSortIndex<T> sortIndex = new ContentSortIndex<>();
+    //receives every create, update and delete, published after the write lock is released
+    protected final ChangeEventBus changeEvents = ChangeEventBus.getInstance();
+    //content by id, kept in step with contentList and read without locking
+    private final Map<Integer, T> contentById = new ConcurrentHashMap<>();
+    //incremented by every write while the write lock is held
+    private volatile long version;
+    //immutable copy of contentList at some version, shared by all readers while it is current
+    private volatile Snapshot<T> snapshot = new Snapshot<>(0, List.of());
 
 
     protected abstract void loadFromFile();
@@ -42,55 +59,111 @@ public abstract class BaseContentService<T extends Content> implements ContentSe
         initializeSampleData();
     }
 
-    //return all content
+    /**
+     * Gets all content as an immutable snapshot.
+     * The same list is returned to every caller until the content changes, so it must not be modified.
+     *
+     * @return an unmodifiable list of all content
+     */
     @Override
     public List<T> getAll() {
+        Snapshot<T> current = snapshot;
+        if (current.version() == version) {
+            return current.items();
+        }
         //read lock which means that other threads can read the list but cannot modify it
         lock.readLock().lock();
         try {
-            //return copy of content list
-            return new ArrayList<>(contentList);
+            long currentVersion = version;
+            current = snapshot;
+            if (current.version() != currentVersion) {
+                current = new Snapshot<>(currentVersion, Collections.unmodifiableList(new ArrayList<>(contentList)));
+                snapshot = current;
+            }
+            return current.items();
         } finally {
             lock.readLock().unlock();
         }
     }
 
-    //return content by id
+    /**
+     * Gets all content ordered by one of the pre-sorted keys.
+     * The order is maintained incrementally on save, update and delete, so this only copies the view.
+     *
+     * @param key        the sort key
+     * @param descending true for descending order
+     * @return a new list holding all content in the requested order
+     */
     @Override
-    public Optional<T> getById(int id) {
-        //read lock which means that other threads can read the list but cannot modify it
+    public List<T> getSorted(SortKey key, boolean descending) {
         lock.readLock().lock();
         try {
-            //return first content that matches the id
-            return contentList.stream()
-                    .filter(content -> content.getId() == id)
-                    .findFirst();
+            return sortIndex.sorted(key, descending, contentList);
         } finally {
             lock.readLock().unlock();
         }
     }
 
+    //return content by id
+    @Override
+    public Optional<T> getById(int id) {
+        return Optional.ofNullable(contentById.get(id));
+    }
+
     //save content
     @Override
     public T save(T content) {
+        ChangeType change = null;
         lock.writeLock().lock();
         try {
             if (content.getId() == 0) {  // New content
                 content.setId(nextId.getAndIncrement());
                 contentList.add(content);
-            } else {  // Existing content
-                // Find and update existing content
-                for (int i = 0; i < contentList.size(); i++) {
-                    if (contentList.get(i).getId() == content.getId()) {
-                        contentList.set(i, content);
-                        break;
-                    }
-                }
+                sortIndex.add(content);
+                contentById.put(content.getId(), content);
+                change = ChangeType.CREATED;
+            } else if (contentById.containsKey(content.getId())) {  // Existing content
+                replaceContent(content);
+                change = ChangeType.UPDATED;
+            }
+            if (change != null) {
+                version++;
             }
-            return content;
         } finally {
             lock.writeLock().unlock();
         }
+        if (change != null) {
+            changeEvents.publish(contentType, content.getId(), change, content);
+        }
+        return content;
+    }
+
+    /**
+     * Adds content under the ID it already has, e.g. when importing an export, so that ratings
+     * referring to it by ID stay valid. New IDs handed out by {@link #save} continue after it.
+     *
+     * @param content the content, with an ID above 0
+     * @return true if it was added, false if its ID is already taken
+     * @throws IllegalArgumentException if the content has no ID
+     */
+    public boolean restore(T content) {
+        if (content.getId() <= 0) {
+            throw new IllegalArgumentException("Content to restore needs an ID: " + content.getTitle());
+        }
+        lock.writeLock().lock();
+        try {
+            if (contentById.putIfAbsent(content.getId(), content) != null) {
+                return false;
+            }
+            contentList.add(content);
+            sortIndex.add(content);
+            nextId.accumulateAndGet(content.getId() + 1, Math::max);
+            version++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        changeEvents.publish(contentType, content.getId(), ChangeType.CREATED, content);
+        return true;
     }
 
     //update content
@@ -98,35 +171,63 @@ public abstract class BaseContentService<T extends Content> implements ContentSe
     public T update(T content) {
         lock.writeLock().lock();
         try {
-            int index = -1;
-            //find index of content with given id
-            for (int i = 0; i < contentList.size(); i++) {
-                if (contentList.get(i).getId() == content.getId()) {
-                    index = i;
-                    break;
-                }
-            }
-            
-            if (index != -1) {
-                contentList.set(index, content);
-                return content;
+            if (!contentById.containsKey(content.getId())) {
+                throw new NoSuchElementException("Content with id " + content.getId() + " not found");
             }
-            throw new NoSuchElementException("Content with id " + content.getId() + " not found");
+            replaceContent(content);
+            version++;
         } finally {
             lock.writeLock().unlock();
         }
+        changeEvents.publish(contentType, content.getId(), ChangeType.UPDATED, content);
+        return content;
+    }
+
+    //puts content in the place of the content with its id; the caller holds the write lock
+    private void replaceContent(T content) {
+        T existing = contentById.put(content.getId(), content);
+        // Saving the object that is already stored, as the loaders do after filling it in, keeps its place
+        if (existing != content) {
+            for (int i = contentList.size() - 1; i >= 0; i--) {
+                if (contentList.get(i) == existing) {
+                    contentList.set(i, content);
+                    break;
+                }
+            }
+        }
+        sortIndex.replace(content);
     }
 
     //delete content by id
     @Override
     public boolean delete(int id) {
+        boolean removed;
         lock.writeLock().lock();
         try {
             //remove content with given id
-            return contentList.removeIf(content -> content.getId() == id);
+            removed = contentList.removeIf(content -> content.getId() == id);
+            if (removed) {
+                sortIndex.remove(id);
+                contentById.remove(id);
+                version++;
+            }
         } finally {
             lock.writeLock().unlock();
         }
+        if (removed) {
+            changeEvents.publish(contentType, id, ChangeType.DELETED, null);
+        }
+        return removed;
+    }
+
+    /**
+     * Removes all content. Subclasses call this, holding the write lock, before reloading.
+     */
+    protected void clearContent() {
+        contentList.clear();
+        sortIndex.clear();
+        contentById.clear();
+        version++;
     }
 
     //remove content
@@ -162,5 +263,7 @@ public abstract class BaseContentService<T extends Content> implements ContentSe
         return contentType.getSimpleName();
     }
 
-
+    //an immutable copy of the content list and the version it was taken at
+    private record Snapshot<T>(long version, List<T> items) {
+    }
 }
@@ -0,0 +1,424 @@
+package com.papel.imdb_clone.service.content;
+
+import com.papel.imdb_clone.enums.Genre;
+import com.papel.imdb_clone.model.content.Award;
+import com.papel.imdb_clone.model.content.Content;
+import com.papel.imdb_clone.model.content.Movie;
+import com.papel.imdb_clone.model.content.Series;
+import com.papel.imdb_clone.service.event.ChangeBatch;
+import com.papel.imdb_clone.service.event.ChangeEvent;
+import com.papel.imdb_clone.service.event.ChangeEventBus;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Box office and awards figures of the catalogue in columnar form, for aggregate queries.
+ * Every title with figures is a row; each attribute is a primitive array indexed by row, with
+ * genres as a bit set and directors as IDs into a name table. Each query is a single pass over
+ * the columns it needs, so totals by director, genre or decade never touch the content objects.
+ * <p>
+ * Figures are recorded by the loaders; the rows follow the movie and series services through the
+ * change event bus, so a deleted title is dropped and an edited one is listed under its new details.
+ */
+public class CatalogueStatistics {
+    private static final int INITIAL_CAPACITY = 64;
+    private static final Genre[] GENRES = Genre.values();
+
+    private static volatile CatalogueStatistics instance;
+
+    /**
+     * What box office totals are grouped by.
+     */
+    public enum GroupBy {
+        DIRECTOR,
+        GENRE,
+        DECADE
+    }
+
+    /**
+     * A title and its award counts.
+     *
+     * @param title       the title
+     * @param year        the release or start year
+     * @param wins        the number of awards won
+     * @param nominations the number of nominations
+     */
+    public record AwardedTitle(String title, int year, int wins, int nominations) {
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    //row of a title, keyed by content type and ID
+    private final Map<Long, Integer> rowByContent = new HashMap<>();
+    //director names, indexed by director ID
+    private final List<String> directors = new ArrayList<>();
+    private final Map<String, Integer> directorIds = new HashMap<>();
+
+    private String[] titles = new String[INITIAL_CAPACITY];
+    private int[] years = new int[INITIAL_CAPACITY];
+    private long[] genreMasks = new long[INITIAL_CAPACITY];
+    private int[] directorOfRow = new int[INITIAL_CAPACITY];
+    private long[] boxOffice = new long[INITIAL_CAPACITY];
+    private int[] wins = new int[INITIAL_CAPACITY];
+    private int[] nominations = new int[INITIAL_CAPACITY];
+    //the rowByContent key of every row, so the last row can be moved into a removed one
+    private long[] keyOfRow = new long[INITIAL_CAPACITY];
+    private int rows;
+
+    private CatalogueStatistics() {
+        // Batches are small and applied under the write lock, so they run on the bus's own thread
+        ChangeEventBus events = ChangeEventBus.getInstance();
+        events.subscribe(Movie.class, Runnable::run, this::apply);
+        events.subscribe(Series.class, Runnable::run, this::apply);
+    }
+
+    /**
+     * Gets the singleton instance of CatalogueStatistics.
+     *
+     * @return the CatalogueStatistics instance
+     */
+    public static CatalogueStatistics getInstance() {
+        if (instance == null) {
+            synchronized (CatalogueStatistics.class) {
+                if (instance == null) {
+                    instance = new CatalogueStatistics();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Parses a box office figure such as "$246,120,974" or "54,000,000".
+     *
+     * @param text the figure as written in the data file
+     * @return the amount in dollars, or -1 if the text is empty, "N/A" or not a number
+     */
+    public static long parseBoxOffice(String text) {
+        if (text == null) {
+            return -1;
+        }
+        long amount = 0;
+        boolean digits = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (amount > (Long.MAX_VALUE - (c - '0')) / 10) {
+                    return -1;
+                }
+                amount = amount * 10 + (c - '0');
+                digits = true;
+            } else if (c == '.') {
+                // Cents are dropped
+                break;
+            } else if (c != '$' && c != ',' && c != ' ') {
+                return -1;
+            }
+        }
+        return digits ? amount : -1;
+    }
+
+    /**
+     * Records the figures of a title, replacing figures recorded for it earlier.
+     *
+     * @param content   the movie or series
+     * @param year      the release or start year
+     * @param boxOffice the box office in dollars, or -1 if unknown
+     * @param awards    the awards and nominations of the title
+     */
+    public void record(Content content, int year, long boxOffice, List<Award> awards) {
+        int won = 0;
+        int nominated = 0;
+        for (Award award : awards) {
+            if (award.category() == Award.Category.WIN) {
+                won += award.count();
+            } else {
+                nominated += award.count();
+            }
+        }
+        long genreMask = genreMask(content);
+        String director = content.getDirector();
+        long key = key(content);
+
+        lock.writeLock().lock();
+        try {
+            Integer existing = rowByContent.get(key);
+            int row = existing != null ? existing : addRow(key);
+            titles[row] = content.getTitle();
+            years[row] = year;
+            genreMasks[row] = genreMask;
+            directorOfRow[row] = director == null || director.isBlank() ? -1 : directorId(director.trim());
+            this.boxOffice[row] = boxOffice;
+            wins[row] = won;
+            nominations[row] = nominated;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drops the figures of a title, e.g. one removed from the catalogue.
+     *
+     * @param content the movie or series
+     */
+    public void remove(Content content) {
+        remove(key(content));
+    }
+
+    //drops the row of a title by its key
+    private void remove(long key) {
+        lock.writeLock().lock();
+        try {
+            Integer row = rowByContent.remove(key);
+            if (row == null) {
+                return;
+            }
+            int last = --rows;
+            if (row != last) {
+                titles[row] = titles[last];
+                years[row] = years[last];
+                genreMasks[row] = genreMasks[last];
+                directorOfRow[row] = directorOfRow[last];
+                boxOffice[row] = boxOffice[last];
+                wins[row] = wins[last];
+                nominations[row] = nominations[last];
+                keyOfRow[row] = keyOfRow[last];
+                rowByContent.put(keyOfRow[row], row);
+            }
+            titles[last] = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Sums the known box office of all titles by director, genre or decade.
+     * A title with several genres counts towards each of them.
+     *
+     * @param groupBy what to group the totals by
+     * @return the totals in dollars, largest first
+     */
+    public Map<String, Long> totalBoxOffice(GroupBy groupBy) {
+        lock.readLock().lock();
+        try {
+            return switch (groupBy) {
+                case DIRECTOR -> totalsByDirector();
+                case GENRE -> totalsByGenre();
+                case DECADE -> totalsByDecade();
+            };
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the titles that won the most awards, with nominations breaking ties.
+     *
+     * @param limit the maximum number of titles
+     * @return the titles, most awarded first
+     */
+    public List<AwardedTitle> mostAwarded(int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        Comparator<Integer> byAwards = Comparator.<Integer>comparingInt(row -> wins[row])
+                .thenComparingInt(row -> nominations[row]);
+        lock.readLock().lock();
+        try {
+            // Keep the best rows in a min-heap of at most limit rows
+            PriorityQueue<Integer> best = new PriorityQueue<>(limit + 1, byAwards);
+            for (int row = 0; row < rows; row++) {
+                if (wins[row] == 0 && nominations[row] == 0) {
+                    continue;
+                }
+                best.add(row);
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+            List<AwardedTitle> result = new ArrayList<>(best.size());
+            while (!best.isEmpty()) {
+                int row = best.poll();
+                result.add(new AwardedTitle(titles[row], years[row], wins[row], nominations[row]));
+            }
+            Collections.reverse(result);
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    //get number of titles with recorded figures
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return rows;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    //drop all recorded figures, e.g. before a reload
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            rowByContent.clear();
+            directors.clear();
+            directorIds.clear();
+            Arrays.fill(titles, 0, rows, null);
+            rows = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    //the caller holds the read lock
+    private Map<String, Long> totalsByDirector() {
+        long[] totals = new long[directors.size()];
+        for (int row = 0; row < rows; row++) {
+            if (boxOffice[row] >= 0 && directorOfRow[row] >= 0) {
+                totals[directorOfRow[row]] += boxOffice[row];
+            }
+        }
+        Map<String, Long> result = new HashMap<>();
+        for (int id = 0; id < totals.length; id++) {
+            if (totals[id] > 0) {
+                result.put(directors.get(id), totals[id]);
+            }
+        }
+        return largestFirst(result);
+    }
+
+    //the caller holds the read lock
+    private Map<String, Long> totalsByGenre() {
+        long[] totals = new long[GENRES.length];
+        for (int row = 0; row < rows; row++) {
+            if (boxOffice[row] < 0) {
+                continue;
+            }
+            long mask = genreMasks[row];
+            while (mask != 0) {
+                int genre = Long.numberOfTrailingZeros(mask);
+                totals[genre] += boxOffice[row];
+                mask &= mask - 1;
+            }
+        }
+        Map<String, Long> result = new HashMap<>();
+        for (int genre = 0; genre < totals.length; genre++) {
+            if (totals[genre] > 0) {
+                result.put(GENRES[genre].toString(), totals[genre]);
+            }
+        }
+        return largestFirst(result);
+    }
+
+    //the caller holds the read lock
+    private Map<String, Long> totalsByDecade() {
+        Map<Integer, Long> totals = new TreeMap<>();
+        for (int row = 0; row < rows; row++) {
+            if (boxOffice[row] >= 0 && years[row] > 0) {
+                totals.merge(years[row] / 10 * 10, boxOffice[row], Long::sum);
+            }
+        }
+        Map<String, Long> result = new HashMap<>();
+        totals.forEach((decade, total) -> result.put(decade + "s", total));
+        return largestFirst(result);
+    }
+
+    private static Map<String, Long> largestFirst(Map<String, Long> totals) {
+        Map<String, Long> sorted = new LinkedHashMap<>();
+        totals.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .forEachOrdered(entry -> sorted.put(entry.getKey(), entry.getValue()));
+        return sorted;
+    }
+
+    //the caller holds the write lock
+    private int addRow(long key) {
+        if (rows == titles.length) {
+            int capacity = rows * 2;
+            titles = Arrays.copyOf(titles, capacity);
+            years = Arrays.copyOf(years, capacity);
+            genreMasks = Arrays.copyOf(genreMasks, capacity);
+            directorOfRow = Arrays.copyOf(directorOfRow, capacity);
+            boxOffice = Arrays.copyOf(boxOffice, capacity);
+            wins = Arrays.copyOf(wins, capacity);
+            nominations = Arrays.copyOf(nominations, capacity);
+            keyOfRow = Arrays.copyOf(keyOfRow, capacity);
+        }
+        keyOfRow[rows] = key;
+        rowByContent.put(key, rows);
+        return rows++;
+    }
+
+    //drops deleted titles and moves the figures of edited ones to their new details
+    private <T extends Content> void apply(ChangeBatch<T> batch) {
+        boolean series = batch.getType() == Series.class;
+        for (ChangeEvent<T> change : batch.getChanges()) {
+            switch (change.kind()) {
+                case DELETED -> remove(key(series, change.id()));
+                case UPDATED -> refresh(change.value());
+                case CREATED -> {
+                    // New titles have no figures until a loader records them
+                }
+            }
+        }
+    }
+
+    //updates the title, year, genres and director of a title that has a row, keeping its figures
+    private void refresh(Content content) {
+        long genreMask = genreMask(content);
+        String director = content.getDirector();
+        lock.writeLock().lock();
+        try {
+            Integer row = rowByContent.get(key(content));
+            if (row == null) {
+                return;
+            }
+            titles[row] = content.getTitle();
+            if (content.getStartYear() > 0) {
+                years[row] = content.getStartYear();
+            }
+            genreMasks[row] = genreMask;
+            directorOfRow[row] = director == null || director.isBlank() ? -1 : directorId(director.trim());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static long genreMask(Content content) {
+        long genreMask = 0;
+        for (Genre genre : content.getGenres()) {
+            if (genre != null) {
+                genreMask |= 1L << genre.ordinal();
+            }
+        }
+        return genreMask;
+    }
+
+    //content type in the high half and ID in the low half
+    private static long key(Content content) {
+        return key(content instanceof Series, content.getId());
+    }
+
+    private static long key(boolean series, int id) {
+        return ((long) (series ? 1 : 0) << 32) | (id & 0xffffffffL);
+    }
+
+    //the caller holds the write lock
+    private int directorId(String name) {
+        return directorIds.computeIfAbsent(name, ignored -> {
+            directors.add(name);
+            return directors.size() - 1;
+        });
+    }
+}
@@ -1,5 +1,7 @@
 package com.papel.imdb_clone.service.content;
 
+import com.papel.imdb_clone.enums.SortKey;
+
 import java.util.List;
 import java.util.Optional;
 
@@ -11,10 +13,18 @@ public interface ContentService<T> {
 
     /**
      * Get all content items
-     * @return List of all content items
+     * @return List of all content items; implementations may return a shared read-only snapshot
      */
     List<T> getAll();
     
+    /**
+     * Get all content items ordered by a sort key
+     * @param key The key to order by
+     * @param descending true for descending order
+     * @return List of all content items in the requested order
+     */
+    List<T> getSorted(SortKey key, boolean descending);
+
     /**
      * Get content by ID
      * @param id The ID of the content to retrieve
@@ -0,0 +1,99 @@
+package com.papel.imdb_clone.service.content;
+
+import com.papel.imdb_clone.enums.SortKey;
+import com.papel.imdb_clone.model.content.Content;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pre-sorted views of a content service's items, one per SortKey.
+ * A view is sorted once when it is first requested and is then kept in order incrementally:
+ * adding, replacing or removing an item costs a binary search plus an array shift,
+ * so switching sort key or direction never re-sorts the catalogue.
+ *
+ * @param <T> the type of content being indexed
+ */
+class ContentSortIndex<T extends Content> {
+    //Ascending views that have been built so far
+    private final Map<SortKey, List<T>> views = new EnumMap<>(SortKey.class);
+
+    /**
+     * Gets the items in the order of the given key, building the view from the items if needed.
+     *
+     * @param key        the sort key
+     * @param descending true for descending order
+     * @param items      all items of the service, used when the view does not exist yet
+     * @return a new list holding the items in the requested order
+     */
+    synchronized List<T> sorted(SortKey key, boolean descending, Collection<T> items) {
+        List<T> view = views.get(key);
+        if (view == null) {
+            view = new ArrayList<>(items);
+            view.sort(key.comparator());
+            views.put(key, view);
+        }
+        return new ArrayList<>(descending ? view.reversed() : view);
+    }
+
+    /**
+     * Inserts a new item into every built view.
+     *
+     * @param item the item to add
+     */
+    synchronized void add(T item) {
+        for (Map.Entry<SortKey, List<T>> entry : views.entrySet()) {
+            insert(entry.getValue(), entry.getKey(), item);
+        }
+    }
+
+    /**
+     * Moves an item that replaced the item with the same id to its new position in every built view.
+     *
+     * @param item the new version of the item
+     */
+    synchronized void replace(T item) {
+        for (Map.Entry<SortKey, List<T>> entry : views.entrySet()) {
+            removeById(entry.getValue(), item.getId());
+            insert(entry.getValue(), entry.getKey(), item);
+        }
+    }
+
+    /**
+     * Removes the item with the given id from every built view.
+     *
+     * @param id the id of the removed item
+     */
+    synchronized void remove(int id) {
+        for (List<T> view : views.values()) {
+            removeById(view, id);
+        }
+    }
+
+    /**
+     * Drops all views; they are rebuilt on the next request.
+     */
+    synchronized void clear() {
+        views.clear();
+    }
+
+    //binary search for the insertion point and shift the tail
+    private void insert(List<T> view, SortKey key, T item) {
+        int index = Collections.binarySearch(view, item, key.comparator());
+        view.add(index < 0 ? -index - 1 : index, item);
+    }
+
+    //the item may have been edited in place, so its old position is found by id rather than by key
+    private void removeById(List<T> view, int id) {
+        for (int i = 0; i < view.size(); i++) {
+            if (view.get(i).getId() == id) {
+                view.remove(i);
+                return;
+            }
+        }
+    }
+}
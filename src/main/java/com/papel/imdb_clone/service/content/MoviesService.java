@@ -227,7 +227,7 @@ public class MoviesService extends BaseContentService<Movie> {
         lock.writeLock().lock();
         try {
             // Clear existing data
-            contentList.clear();
+            clearContent();
 
             // Load movies from file
             loadFromFile();
@@ -152,7 +152,7 @@ public class SeriesService extends BaseContentService<Series> {
         lock.writeLock().lock();
         try {
             // Clear existing data
-            contentList.clear();
+            clearContent();
             
             // Load series from file
             loadFromFile();
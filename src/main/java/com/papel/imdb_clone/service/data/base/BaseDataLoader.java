@@ -1,10 +1,12 @@
 package com.papel.imdb_clone.service.data.base;
 
 import com.papel.imdb_clone.util.DataFileLoader;
+import com.papel.imdb_clone.util.LogSampler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -16,6 +18,26 @@ public abstract class BaseDataLoader {
     // Logger for logging messages
     protected final Logger logger = LoggerFactory.getLogger(getClass());
 
+    // Rate limit for warnings about single rows, so a bad file does not flood the log
+    protected final LogSampler rowWarnings = LogSampler.fromConfig("row warnings");
+
+    // Rows read instead of the data file by loads on the thread that set them
+    private final ThreadLocal<List<String>> replacementRows = new ThreadLocal<>();
+
+    /**
+     * Makes loads on the calling thread read the given rows instead of the data file, e.g. so that
+     * a reload can pass a loader only the rows that changed. Call with null to read files again.
+     *
+     * @param rows the rows to read, in the format of the data file, or null
+     */
+    public void setReplacementRows(List<String> rows) {
+        if (rows == null) {
+            replacementRows.remove();
+        } else {
+            replacementRows.set(rows);
+        }
+    }
+
     /**
      * Gets an input stream for the specified resource file.
      * Tries multiple class loaders and path variations to find the resource.
@@ -28,6 +50,10 @@ public abstract class BaseDataLoader {
         if (filename == null || filename.trim().isEmpty()) {
             throw new IllegalArgumentException("Filename cannot be null or empty");
         }
+        List<String> rows = replacementRows.get();
+        if (rows != null) {
+            return new ByteArrayInputStream(String.join("\n", rows).getBytes(StandardCharsets.UTF_8));
+        }
         
         // Use our utility class to handle the file loading
         try {
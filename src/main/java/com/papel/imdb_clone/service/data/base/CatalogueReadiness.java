@@ -0,0 +1,121 @@
+package com.papel.imdb_clone.service.data.base;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Tracks which sections of the catalogue have finished loading and publishes progress events.
+ * Every section has a future that completes when its loader finishes, successfully or not, so
+ * callers can start using movies while series and awards are still loading.
+ * Listeners are called on the loading thread and must hand UI work to the FX thread themselves.
+ * <p>
+ * Readiness is one-shot: it describes the first load of each section and is never reset. Once a
+ * section is ready it stays queryable, because later changes, such as {@link DataFileReloader}
+ * applying an edited data file or a second {@code loadAllData}, update the catalogue in place
+ * without emptying it first. A repeated load still publishes progress events, but the futures
+ * and the finished count stay as they were.
+ */
+public class CatalogueReadiness {
+    private static final Logger logger = LoggerFactory.getLogger(CatalogueReadiness.class);
+
+    private final Map<DataSection, CompletableFuture<Void>> sections = new EnumMap<>(DataSection.class);
+    private final List<Consumer<LoadProgressEvent>> listeners = new CopyOnWriteArrayList<>();
+    private final AtomicInteger finished = new AtomicInteger();
+
+    /**
+     * Creates a tracker with no section loaded yet.
+     */
+    public CatalogueReadiness() {
+        for (DataSection section : DataSection.values()) {
+            sections.put(section, new CompletableFuture<>());
+        }
+    }
+
+    /**
+     * Gets a future completed once a section has finished loading.
+     *
+     * @param section the section to wait for
+     * @return a future completed when the section is queryable
+     */
+    public CompletableFuture<Void> whenReady(DataSection section) {
+        return sections.get(section);
+    }
+
+    /**
+     * Checks if a section has finished loading.
+     *
+     * @param section the section to check
+     * @return true if the section is queryable
+     */
+    public boolean isReady(DataSection section) {
+        return sections.get(section).isDone();
+    }
+
+    /**
+     * Gets a future completed once every section has finished loading.
+     *
+     * @return a future completed when the whole catalogue is queryable
+     */
+    public CompletableFuture<Void> whenAllReady() {
+        return CompletableFuture.allOf(sections.values().toArray(new CompletableFuture<?>[0]));
+    }
+
+    /**
+     * Subscribes to load progress.
+     *
+     * @param listener called for every progress event
+     */
+    public void addListener(Consumer<LoadProgressEvent> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Unsubscribes from load progress.
+     *
+     * @param listener the listener to remove
+     */
+    public void removeListener(Consumer<LoadProgressEvent> listener) {
+        listeners.remove(listener);
+    }
+
+    //records that the loader of a section started
+    void started(DataSection section) {
+        publish(new LoadProgressEvent(section, LoadProgressEvent.Status.STARTED,
+                finished.get(), sections.size(), 0, null));
+    }
+
+    //records that a section is loaded and releases everything waiting for it
+    void loaded(DataSection section, long elapsedMillis) {
+        finish(section, LoadProgressEvent.Status.LOADED, elapsedMillis, null);
+    }
+
+    //records that a section failed; it still counts as ready so that waiting views show what there is
+    void failed(DataSection section, long elapsedMillis, Throwable error) {
+        finish(section, LoadProgressEvent.Status.FAILED, elapsedMillis, error);
+    }
+
+    private void finish(DataSection section, LoadProgressEvent.Status status, long elapsedMillis, Throwable error) {
+        CompletableFuture<Void> ready = sections.get(section);
+        int count = ready.isDone() ? finished.get() : finished.incrementAndGet();
+        publish(new LoadProgressEvent(section, status, count, sections.size(), elapsedMillis, error));
+        ready.complete(null);
+    }
+
+    private void publish(LoadProgressEvent event) {
+        for (Consumer<LoadProgressEvent> listener : listeners) {
+            try {
+                listener.accept(event);
+            } catch (RuntimeException e) {
+                logger.warn("Load progress listener failed for {}", event.section(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,603 @@
+package com.papel.imdb_clone.service.data.base;
+
+import com.papel.imdb_clone.config.ApplicationConfig;
+import com.papel.imdb_clone.data.DataManager;
+import com.papel.imdb_clone.exceptions.InvalidInputException;
+import com.papel.imdb_clone.model.content.Content;
+import com.papel.imdb_clone.model.content.Movie;
+import com.papel.imdb_clone.model.content.Series;
+import com.papel.imdb_clone.model.people.Actor;
+import com.papel.imdb_clone.model.people.Celebrity;
+import com.papel.imdb_clone.model.people.Director;
+import com.papel.imdb_clone.model.people.User;
+import com.papel.imdb_clone.repository.impl.InMemoryMovieRepository;
+import com.papel.imdb_clone.repository.impl.InMemoryUserRepository;
+import com.papel.imdb_clone.service.content.BaseContentService;
+import com.papel.imdb_clone.service.content.CatalogueStatistics;
+import com.papel.imdb_clone.service.data.loader.TitleYearIndex;
+import com.papel.imdb_clone.service.metrics.MetricsRegistry;
+import com.papel.imdb_clone.service.people.CelebrityManager;
+import com.papel.imdb_clone.service.people.CelebrityService;
+import com.papel.imdb_clone.util.DataFileLoader;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies edits of the data files to the loaded catalogue while the application runs.
+ * The directories of the data files are watched with a {@link WatchService}. Once a changed file has
+ * been quiet for the configured delay, each of its rows is compared by key and 64-bit hash with the
+ * rows read before, and only the rows that were added, changed or removed are applied. Files that did
+ * not change are not read, and unchanged rows are not parsed again.
+ * <p>
+ * Rows are keyed by title and year for movies, series and awards, by name for actors and directors
+ * and by username for users. Added and changed rows go through the section's own loader, so they are
+ * parsed exactly as at startup. A changed title replaces the loaded one under the same ID, keeping its
+ * ratings, awards and box office; a changed actor or director is updated in place, so the titles
+ * listing them see the change. Removed rows delete the title, person or user, and a removed awards
+ * row clears the awards and box office of its title. A deleted data file leaves the catalogue as it is.
+ */
+public class DataFileReloader extends BaseDataLoader {
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    /**
+     * The rows of a data file applied by one reload.
+     *
+     * @param inserted rows whose key was new
+     * @param updated  rows whose key was known but whose content changed
+     * @param deleted  rows whose key is gone
+     */
+    public record Changes(int inserted, int updated, int deleted) {
+        //get whether nothing was applied
+        public boolean isEmpty() {
+            return inserted == 0 && updated == 0 && deleted == 0;
+        }
+    }
+
+    //the rows of a file by key that are new or changed, and the keys that are gone
+    private record RowDiff(Map<String, String> inserted, Map<String, String> updated, Set<String> deleted) {
+        boolean isEmpty() {
+            return inserted.isEmpty() && updated.isEmpty() && deleted.isEmpty();
+        }
+
+        List<String> loadedRows() {
+            List<String> rows = new ArrayList<>(inserted.values());
+            rows.addAll(updated.values());
+            return rows;
+        }
+    }
+
+    private final DataManager dataManager;
+    private final Duration delay;
+    private final CatalogueStatistics statistics = CatalogueStatistics.getInstance();
+    private final MetricsRegistry metrics = MetricsRegistry.getInstance();
+    private final Map<DataSection, Path> files = new EnumMap<>(DataSection.class);
+    //hash of every row by key, per section, as last applied
+    private final Map<DataSection, Map<String, Long>> rowHashes = new EnumMap<>(DataSection.class);
+    private WatchService watchService;
+    private Thread watcher;
+
+    /**
+     * Creates a reloader for the catalogue of a data manager.
+     *
+     * @param dataManager the catalogue the changes are applied to
+     * @param delay       how long a changed file has to stay unchanged before it is reloaded
+     */
+    public DataFileReloader(DataManager dataManager, Duration delay) {
+        if (dataManager == null) {
+            throw new IllegalArgumentException("dataManager cannot be null");
+        }
+        this.dataManager = dataManager;
+        this.delay = delay;
+    }
+
+    /**
+     * Creates a reloader with the delay from the application configuration (data.watch.delay).
+     *
+     * @param dataManager the catalogue the changes are applied to
+     * @return the reloader, not yet started
+     */
+    public static DataFileReloader fromConfig(DataManager dataManager) {
+        return new DataFileReloader(dataManager, ApplicationConfig.getInstance().getDataWatchDelay());
+    }
+
+    /**
+     * Reads the current rows of the data files and starts watching them.
+     * Call it once the catalogue is loaded; edits made before are not applied.
+     *
+     * @throws IOException if no data file is on disk or the directories cannot be watched
+     */
+    public synchronized void start() throws IOException {
+        if (watcher != null) {
+            throw new IllegalStateException("The data file reloader is already running");
+        }
+        Set<Path> directories = new HashSet<>();
+        WatchService service = FileSystems.getDefault().newWatchService();
+        try {
+            for (DataSection section : DataSection.values()) {
+                Path file = DataFileLoader.findDataFile(section.getFilename());
+                if (file == null) {
+                    logger.warn("{} is not a file on disk and is not watched", section.getFilename());
+                    continue;
+                }
+                files.put(section, file);
+                rowHashes.put(section, hashes(rowsByKey(section, readLines(file))));
+                if (directories.add(file.getParent())) {
+                    file.getParent().register(service, StandardWatchEventKinds.ENTRY_CREATE,
+                            StandardWatchEventKinds.ENTRY_MODIFY);
+                }
+            }
+            if (files.isEmpty()) {
+                throw new FileNotFoundException("None of the data files is on disk");
+            }
+        } catch (IOException e) {
+            service.close();
+            files.clear();
+            rowHashes.clear();
+            throw e;
+        }
+        watchService = service;
+        watcher = Thread.ofPlatform().name("data-file-reloader").daemon().start(this::watch);
+        logger.info("Watching {} data files in {} for changes", files.size(), directories);
+    }
+
+    /**
+     * Stops watching the data files. A reload in progress is finished first.
+     */
+    public synchronized void stop() {
+        if (watcher == null) {
+            return;
+        }
+        watcher.interrupt();
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            logger.debug("Error closing the data file watch service", e);
+        }
+        watcher = null;
+        logger.info("Stopped watching the data files");
+    }
+
+    /**
+     * Applies the changes of one data file since it was last read. The watcher calls this when the
+     * file changes; it can also be called directly, e.g. right after replacing a file.
+     *
+     * @param section the section whose file is reloaded
+     * @return the rows that were applied
+     * @throws IOException if the file cannot be read or the changed rows cannot be loaded
+     */
+    public synchronized Changes reload(DataSection section) throws IOException {
+        Path file = files.get(section);
+        if (file == null) {
+            throw new IllegalStateException(section.getDisplayName() + " data file is not watched");
+        }
+        if (!Files.isRegularFile(file)) {
+            logger.warn("{} was removed; the loaded {} are kept", file, section.getDisplayName().toLowerCase());
+            return new Changes(0, 0, 0);
+        }
+        long start = System.nanoTime();
+        Map<String, String> rows = rowsByKey(section, readLines(file));
+        RowDiff diff = diff(rowHashes.get(section), rows);
+        Changes changes = new Changes(0, 0, 0);
+        if (!diff.isEmpty()) {
+            try {
+                changes = switch (section) {
+                    case USERS -> applyUsers(diff);
+                    case ACTORS -> applyCelebrities(section, Actor.class, dataManager.getActorService(), diff);
+                    case DIRECTORS -> applyCelebrities(section, Director.class, dataManager.getDirectorService(), diff);
+                    case MOVIES -> applyContent(section, dataManager.getMoviesService(), diff);
+                    case SERIES -> applyContent(section, dataManager.getSeriesService(), diff);
+                    case AWARDS -> applyAwards(diff);
+                };
+            } catch (InvalidInputException e) {
+                throw new IOException("Could not apply the changes to " + file + ": " + e.getMessage(), e);
+            }
+        }
+        rowHashes.put(section, hashes(rows));
+
+        long elapsed = System.nanoTime() - start;
+        metrics.histogram("reload." + section.name().toLowerCase()).record(elapsed);
+        metrics.counter("reload.rows").add(changes.inserted() + changes.updated() + changes.deleted());
+        logger.info("Reloaded {}: {} inserted, {} updated, {} deleted in {} ms", file.getFileName(),
+                changes.inserted(), changes.updated(), changes.deleted(), TimeUnit.NANOSECONDS.toMillis(elapsed));
+        return changes;
+    }
+
+    //waits for changes and reloads every changed file once it has been quiet for the delay
+    private void watch() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                Set<DataSection> changed = EnumSet.noneOf(DataSection.class);
+                WatchKey key = watchService.take();
+                do {
+                    collect(key, changed);
+                    key = watchService.poll(delay.toMillis(), TimeUnit.MILLISECONDS);
+                } while (key != null);
+
+                // Sections iterate in load order, so a new movie is in place before its awards row
+                for (DataSection section : changed) {
+                    try {
+                        reload(section);
+                    } catch (IOException | RuntimeException e) {
+                        logger.error("Could not reload {}: {}", files.get(section), e.getMessage());
+                        logger.debug("Stack trace:", e);
+                    }
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Stopped
+        }
+    }
+
+    //adds the sections whose files the events of a watch key are about
+    private void collect(WatchKey key, Set<DataSection> changed) {
+        Path directory = (Path) key.watchable();
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                changed.addAll(files.keySet());
+                continue;
+            }
+            Path file = directory.resolve((Path) event.context());
+            files.forEach((section, path) -> {
+                if (path.equals(file)) {
+                    changed.add(section);
+                }
+            });
+        }
+        key.reset();
+    }
+
+    //applies movie or series rows; a changed row is loaded as a new title that then takes over the old one's ID
+    private <T extends Content> Changes applyContent(DataSection section, BaseContentService<T> service, RowDiff diff)
+            throws IOException {
+        TitleYearIndex<T> loaded = TitleYearIndex.of(service.getAll(), Content::getTitle, Content::getStartYear);
+        int deleted = 0;
+        for (String key : diff.deleted()) {
+            T content = findTitle(loaded, key);
+            if (content != null && service.delete(content.getId())) {
+                removeFromRepository(content);
+                statistics.remove(content);
+                deleted++;
+            }
+        }
+        Map<String, T> replaced = new HashMap<>();
+        for (String key : diff.updated().keySet()) {
+            T content = findTitle(loaded, key);
+            if (content != null) {
+                replaced.put(key, content);
+            }
+        }
+
+        Set<Integer> before = new HashSet<>();
+        for (T content : service.getAll()) {
+            before.add(content.getId());
+        }
+        loadRows(section, diff);
+        List<T> added = new ArrayList<>();
+        for (T content : service.getAll()) {
+            if (!before.contains(content.getId())) {
+                added.add(content);
+            }
+        }
+
+        TitleYearIndex<T> addedIndex = TitleYearIndex.of(added, Content::getTitle, Content::getStartYear);
+        int updated = 0;
+        for (Map.Entry<String, T> entry : replaced.entrySet()) {
+            T replacement = findTitle(addedIndex, entry.getKey());
+            if (replacement != null) {
+                replace(service, entry.getValue(), replacement);
+                updated++;
+            }
+        }
+        return new Changes(added.size() - updated, updated, deleted);
+    }
+
+    //puts a freshly loaded title in the place of the one it replaces, with the old ID, awards and box office
+    private <T extends Content> void replace(BaseContentService<T> service, T old, T replacement) {
+        service.delete(replacement.getId());
+        removeFromRepository(replacement);
+        replacement.setId(old.getId());
+        replacement.setAwards(old.getAwards());
+        replacement.setBoxOfficeAmount(old.getBoxOfficeAmount());
+        replacement.setAwardRecords(old.getAwardRecords());
+        if (old instanceof Movie oldMovie && replacement instanceof Movie movie) {
+            movie.setBoxOffice(oldMovie.getBoxOffice());
+        }
+        service.save(replacement);
+        if (replacement instanceof Movie movie) {
+            removeFromRepository(old);
+            InMemoryMovieRepository.addMovie(movie);
+        }
+        if (old.getBoxOfficeAmount() >= 0 || !old.getAwardRecords().isEmpty()) {
+            statistics.record(replacement, replacement.getStartYear(), old.getBoxOfficeAmount(), old.getAwardRecords());
+        }
+    }
+
+    //movies are also kept in the movie repository the awards loader reads
+    private void removeFromRepository(Content content) {
+        if (content instanceof Movie) {
+            try {
+                dataManager.getMovieRepository().deleteById(content.getId());
+            } catch (NoSuchElementException e) {
+                logger.debug("Movie {} was not in the movie repository", content.getId());
+            }
+        }
+    }
+
+    //applies actor or director rows; a changed row is loaded as a new person whose details are copied to the old one
+    private <T extends Celebrity> Changes applyCelebrities(DataSection section, Class<T> type, CelebrityService<T> service,
+                                                           RowDiff diff) throws IOException, InvalidInputException {
+        // The factories return the cached instance for a known name and birth date, ignoring the row's other values
+        CelebrityManager<T> instances = CelebrityManager.getInstance(type);
+        Map<String, T> loaded = celebritiesByKey(service.getAll());
+        int deleted = 0;
+        for (String key : diff.deleted()) {
+            T celebrity = loaded.get(key);
+            if (celebrity != null && service.deleteById(celebrity.getId())) {
+                instances.removeCelebrity(celebrity);
+                deleted++;
+            }
+        }
+        // The loader skips names that exist, so the old entries make way until their rows are loaded
+        Map<String, T> replaced = new HashMap<>();
+        for (String key : diff.updated().keySet()) {
+            T celebrity = loaded.get(key);
+            if (celebrity != null && service.deleteById(celebrity.getId())) {
+                instances.removeCelebrity(celebrity);
+                replaced.put(key, celebrity);
+            }
+        }
+
+        loadRows(section, diff);
+        Map<String, T> current = celebritiesByKey(service.getAll());
+        int inserted = 0;
+        int updated = 0;
+        for (String key : keys(diff)) {
+            T fresh = current.get(key);
+            T old = replaced.get(key);
+            if (old == null) {
+                if (fresh != null) {
+                    inserted++;
+                }
+                continue;
+            }
+            if (fresh != null && fresh != old) {
+                instances.removeCelebrity(fresh);
+                service.deleteById(fresh.getId());
+                old.setBirthDate(fresh.getBirthDate());
+                old.setGender(fresh.getGender());
+                old.setEthnicity(fresh.getEthnicity());
+                old.setNotableWorks(fresh.getNotableWorks());
+                updated++;
+            }
+            // A row that no longer loads keeps the person as they were
+            instances.addCelebrity(old);
+            service.save(old);
+        }
+        return new Changes(inserted, updated, deleted);
+    }
+
+    //applies user rows; users are keyed by username and keep the ID given in the file
+    private Changes applyUsers(RowDiff diff) throws IOException {
+        InMemoryUserRepository users = dataManager.getUserRepository();
+        int deleted = 0;
+        for (String username : diff.deleted()) {
+            if (users.findByUsername(username).isPresent()) {
+                users.deleteByUsername(username);
+                deleted++;
+            }
+        }
+        Map<String, User> replaced = new HashMap<>();
+        for (String username : diff.updated().keySet()) {
+            Optional<User> user = users.findByUsername(username);
+            if (user.isPresent()) {
+                replaced.put(username, user.get());
+                users.deleteByUsername(username);
+            }
+        }
+
+        loadRows(DataSection.USERS, diff);
+        int inserted = 0;
+        int updated = 0;
+        for (String username : keys(diff)) {
+            User old = replaced.get(username);
+            if (users.findByUsername(username).isPresent()) {
+                if (old != null) {
+                    updated++;
+                } else {
+                    inserted++;
+                }
+            } else if (old != null) {
+                // A row that no longer loads keeps the user as they were
+                users.addUser(old);
+            }
+        }
+        return new Changes(inserted, updated, deleted);
+    }
+
+    //applies awards rows; changed and removed rows clear the title's figures before the new ones are loaded
+    private Changes applyAwards(RowDiff diff) throws IOException {
+        TitleYearIndex<Movie> movies = TitleYearIndex.of(dataManager.getMoviesService().getAll(),
+                Content::getTitle, Content::getStartYear);
+        TitleYearIndex<Series> series = TitleYearIndex.of(dataManager.getSeriesService().getAll(),
+                Content::getTitle, Content::getStartYear);
+        int deleted = 0;
+        for (String key : diff.deleted()) {
+            if (clearAwards(key, movies, series)) {
+                deleted++;
+            }
+        }
+        for (String key : diff.updated().keySet()) {
+            clearAwards(key, movies, series);
+        }
+        loadRows(DataSection.AWARDS, diff);
+        return new Changes(diff.inserted().size(), diff.updated().size(), deleted);
+    }
+
+    //clears the awards and box office of the title of an awards row key; returns false if there is no such title
+    private boolean clearAwards(String key, TitleYearIndex<Movie> movies, TitleYearIndex<Series> series) {
+        String type = key.substring(0, key.indexOf('\t'));
+        String titleKey = key.substring(type.length() + 1);
+        if ("movie".equals(type)) {
+            Movie movie = findTitle(movies, titleKey);
+            if (movie != null) {
+                movie.setBoxOffice(null);
+                clearFigures(movie);
+                dataManager.getMoviesService().save(movie);
+                return true;
+            }
+        } else if ("series".equals(type)) {
+            Series match = findTitle(series, titleKey);
+            if (match != null) {
+                clearFigures(match);
+                dataManager.getSeriesService().save(match);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void clearFigures(Content content) {
+        content.setAwards(List.of());
+        content.setBoxOfficeAmount(-1);
+        content.setAwardRecords(List.of());
+        statistics.remove(content);
+    }
+
+    //runs the section's loader over the new and changed rows only
+    private void loadRows(DataSection section, RowDiff diff) throws IOException {
+        List<String> rows = diff.loadedRows();
+        if (!rows.isEmpty()) {
+            dataManager.getDataLoaderService().loadRows(section, rows);
+        }
+    }
+
+    //finds a title by a key of title and year; a year range such as 2008-2013 counts as its start year
+    private static <T> T findTitle(TitleYearIndex<T> index, String key) {
+        String[] fields = key.split("\t", -1);
+        if (fields.length != 2) {
+            return null;
+        }
+        String year = fields[1];
+        int dash = year.indexOf('-');
+        try {
+            return index.find(fields[0], Integer.parseInt(dash > 0 ? year.substring(0, dash).trim() : year));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static Set<String> keys(RowDiff diff) {
+        Set<String> keys = new HashSet<>(diff.inserted().keySet());
+        keys.addAll(diff.updated().keySet());
+        return keys;
+    }
+
+    private static <T extends Celebrity> Map<String, T> celebritiesByKey(List<T> celebrities) {
+        Map<String, T> byKey = new HashMap<>();
+        for (T celebrity : celebrities) {
+            byKey.putIfAbsent(key(celebrity.getFirstName(), celebrity.getLastName()), celebrity);
+        }
+        return byKey;
+    }
+
+    //compares the rows of a file with the hashes of the rows applied before
+    private static RowDiff diff(Map<String, Long> previous, Map<String, String> rows) {
+        Map<String, String> inserted = new LinkedHashMap<>();
+        Map<String, String> updated = new LinkedHashMap<>();
+        for (Map.Entry<String, String> row : rows.entrySet()) {
+            Long hash = previous.get(row.getKey());
+            if (hash == null) {
+                inserted.put(row.getKey(), row.getValue());
+            } else if (hash != hash(row.getValue())) {
+                updated.put(row.getKey(), row.getValue());
+            }
+        }
+        Set<String> deleted = new HashSet<>(previous.keySet());
+        deleted.removeAll(rows.keySet());
+        return new RowDiff(inserted, updated, deleted);
+    }
+
+    private static Map<String, Long> hashes(Map<String, String> rows) {
+        Map<String, Long> hashes = new HashMap<>(Math.max(16, rows.size() * 4 / 3 + 1));
+        rows.forEach((key, row) -> hashes.put(key, hash(row)));
+        return hashes;
+    }
+
+    //the rows of a file by key; comments, blank rows and rows without a key are left out, and the first row of a key wins
+    private Map<String, String> rowsByKey(DataSection section, List<String> lines) {
+        Map<String, String> rows = new LinkedHashMap<>();
+        for (String line : lines) {
+            String row = line.trim();
+            if (row.isEmpty() || row.startsWith("#")) {
+                continue;
+            }
+            String key = rowKey(section, parseCSVLine(row));
+            if (key != null) {
+                rows.putIfAbsent(key, row);
+            }
+        }
+        return rows;
+    }
+
+    //the fields a row is identified by, in the column layout of each data file
+    private static String rowKey(DataSection section, String[] parts) {
+        return switch (section) {
+            case USERS -> parts.length >= 5 ? key(parts[1]) : null;
+            case ACTORS, DIRECTORS -> parts.length >= 5 ? key(parts[0], parts[1]) : null;
+            case MOVIES -> parts.length >= 7 ? key(parts[0], parts[1]) : null;
+            case SERIES -> parts.length >= 7 ? key(parts[0], parts[3]) : null;
+            case AWARDS -> parts.length >= 4 ? key(parts[0], parts[1], parts[2]) : null;
+        };
+    }
+
+    private static String key(String... fields) {
+        StringBuilder key = new StringBuilder();
+        for (String field : fields) {
+            if (!key.isEmpty()) {
+                key.append('\t');
+            }
+            key.append(field == null ? "" : field.trim().toLowerCase(Locale.ROOT));
+        }
+        return key.toString();
+    }
+
+    //64-bit FNV-1a hash of a row
+    private static long hash(String row) {
+        long hash = FNV_OFFSET;
+        for (int i = 0; i < row.length(); i++) {
+            hash ^= row.charAt(i);
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+
+    //decodes like the loaders' readers do, replacing malformed bytes instead of failing
+    private static List<String> readLines(Path file) throws IOException {
+        return new String(Files.readAllBytes(file), StandardCharsets.UTF_8).lines().toList();
+    }
+}
@@ -1,6 +1,7 @@
 package com.papel.imdb_clone.service.data.base;
 
 import java.io.IOException;
+import java.util.List;
 
 /**
  * Service interface for loading data from various sources.
@@ -62,4 +63,21 @@ public interface DataLoaderService {
      * @throws IOException if there is an error reading the file
      */
     void loadAwardsAndBoxOffice(String filename) throws IOException;
-}
\ No newline at end of file
+
+    /**
+     * Loads rows of a section's data file, as the section's loader reads them from the file,
+     * e.g. only the rows that changed since the file was loaded.
+     *
+     * @param section the section the rows belong to
+     * @param rows    the rows, in the format of the section's data file
+     * @throws IOException if the rows cannot be loaded
+     */
+    void loadRows(DataSection section, List<String> rows) throws IOException;
+
+    /**
+     * Gets the readiness of the catalogue sections, which completes per section while loadAllData runs.
+     *
+     * @return the readiness tracker
+     */
+    CatalogueReadiness getReadiness();
+}
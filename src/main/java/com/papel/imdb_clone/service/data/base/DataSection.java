@@ -0,0 +1,32 @@
+package com.papel.imdb_clone.service.data.base;
+
+/**
+ * The parts of the catalogue, each loaded from its own data file.
+ * Sections become queryable independently as soon as their loader finishes.
+ */
+public enum DataSection {
+    USERS("Users", "users_updated.txt"),
+    ACTORS("Actors", "actors_updated.txt"),
+    DIRECTORS("Directors", "directors_updated.txt"),
+    MOVIES("Movies", "movies_updated.txt"),
+    SERIES("Series", "series_updated.txt"),
+    AWARDS("Awards and Box Office", "awards_boxoffice_updated.txt");
+
+    private final String displayName;
+    private final String filename;
+
+    DataSection(String displayName, String filename) {
+        this.displayName = displayName;
+        this.filename = filename;
+    }
+
+    //get name shown in logs and progress messages
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    //get data file name, relative to the data directory
+    public String getFilename() {
+        return filename;
+    }
+}
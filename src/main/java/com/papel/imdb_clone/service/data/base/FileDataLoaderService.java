@@ -14,6 +14,8 @@ import com.papel.imdb_clone.service.data.loader.people.DirectorDataLoader;
 import com.papel.imdb_clone.service.data.loader.content.MovieDataLoader;
 import com.papel.imdb_clone.service.data.loader.content.SeriesDataLoader;
 import com.papel.imdb_clone.service.data.loader.people.UserDataLoader;
+import com.papel.imdb_clone.service.metrics.MetricsRegistry;
+import com.papel.imdb_clone.service.task.TaskScheduler;
 import com.papel.imdb_clone.util.DataFileLoader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -21,14 +23,27 @@ import org.slf4j.LoggerFactory;
 import java.io.*;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
 /**
  * File-based implementation of DataLoaderService.
  * Coordinates loading data using specialized loader classes.
+ * Users load in parallel with the content sections, and every section publishes its progress
+ * through {@link CatalogueReadiness} as soon as it finishes.
  */
 public class FileDataLoaderService implements DataLoaderService {
     private static final Logger logger = LoggerFactory.getLogger(FileDataLoaderService.class);
+    //Sections other than users, in the order their dependencies require
+    private static final List<DataSection> CONTENT_ORDER = List.of(
+            DataSection.ACTORS, DataSection.DIRECTORS, DataSection.MOVIES, DataSection.SERIES, DataSection.AWARDS);
+
     private final DataLoaderFactory loaderFactory;
+    private final CatalogueReadiness readiness = new CatalogueReadiness();
+    //Records how long every section and the whole catalogue took to load
+    private final MetricsRegistry metrics = MetricsRegistry.getInstance();
 
     /**
      * Constructor for FileDataLoaderService.
@@ -92,13 +107,13 @@ SeriesService seriesService,
      *
      * @return true if all files exist, false otherwise
      */
-    private boolean verifyDataFiles(String[][] loadTasks) {
+    private boolean verifyDataFiles(DataSection[] sections) {
         boolean allFilesExist = true;
         logger.info("\n=== Verifying data files ===");
 
-        for (String[] task : loadTasks) {
-            String dataType = task[0];
-            String filename = task[1];
+        for (DataSection section : sections) {
+            String dataType = section.getDisplayName();
+            String filename = section.getFilename();
 
             try (InputStream is = DataFileLoader.getResourceAsStream(filename)) {
                 logger.info("✓ Found {}: {}", dataType, filename);
@@ -127,72 +142,38 @@ SeriesService seriesService,
         long startTime = System.currentTimeMillis();
         logger.info("=== Starting Data Loading Process ===");
 
-        // Define the data loading tasks in the correct order
-        String[][] loadTasks = {
-                {"Users", "users_updated.txt"},
-                {"Actors", "actors_updated.txt"},
-                {"Directors", "directors_updated.txt"},
-                {"Movies", "movies_updated.txt"},
-                {"Series", "series_updated.txt"},
-                {"Awards and Box Office", "awards_boxoffice_updated.txt"}
-        };
-
         // Verify all data files exist before starting
-        boolean filesVerified = verifyDataFiles(loadTasks);
+        boolean filesVerified = verifyDataFiles(DataSection.values());
         if (!filesVerified) {
             logger.warn("Proceeding with data loading despite missing files. Some features may not work as expected.");
         }
 
-        int successCount = 0;
-        int failureCount = 0;
-
-        for (String[] task : loadTasks) {
-            String dataType = task[0];
-            String filename = task[1];
-
-            logger.info("\n=== Loading {} from {} ===", dataType, filename);
-            long taskStartTime = System.currentTimeMillis();
+        // Users do not depend on the rest of the catalogue, so they load alongside it
+        CompletableFuture<Boolean> users;
+        try {
+            users = TaskScheduler.getInstance().submitIo(() -> loadSection(DataSection.USERS));
+        } catch (RejectedExecutionException e) {
+            users = CompletableFuture.completedFuture(loadSection(DataSection.USERS));
+        }
 
-            try {
-                //load data using the appropriate loader based on the data type
-                switch (dataType) {
-                    case "Users":
-                        loadUsers(filename);
-                        break;
-                    case "Actors":
-                        loadActors(filename);
-                        break;
-                    case "Directors":
-                        loadDirectors(filename);
-                        break;
-                    case "Movies":
-                        loadMovies(filename);
-                        break;
-                    case "Series":
-                        loadSeries(filename);
-                        break;
-                    case "Awards and Box Office":
-                        loadAwardsAndBoxOffice(filename);
-                        break;
-                }
+        // Movies and series link to actors and directors, and awards to movies and series,
+        // so the content sections load in this order and each becomes queryable when it is done
+        int successCount = 0;
+        for (DataSection section : CONTENT_ORDER) {
+            if (loadSection(section)) {
                 successCount++;
-                long taskTime = System.currentTimeMillis() - taskStartTime;
-                logger.info(" Successfully loaded {} in {} ms", dataType, taskTime);
-
-            } catch (Exception e) {
-                failureCount++;
-                logger.error("✗ Failed to load {}: {}", dataType, e.getMessage());
-                logger.debug("Stack trace:", e);
-
-                // Continue with next task instead of failing completely
-                continue;
             }
         }
+        if (users.join()) {
+            successCount++;
+        }
+        int failureCount = DataSection.values().length - successCount;
 
         // Log summary of the loading process
         long totalTime = System.currentTimeMillis() - startTime;
+        metrics.histogram("load.total").record(TimeUnit.MILLISECONDS.toNanos(totalTime));
         logger.info("\n=== Data Loading Summary ===");
-        logger.info("Successfully loaded: {}/{} data sources", successCount, loadTasks.length);
+        logger.info("Successfully loaded: {}/{} data sources", successCount, DataSection.values().length);
         logger.info("Total time: {} ms", totalTime);
 
         if (failureCount > 0) {
@@ -200,6 +181,50 @@ SeriesService seriesService,
         }
     }
 
+    /**
+     * Gets the readiness of the catalogue sections loaded by this service.
+     *
+     * @return the readiness tracker
+     */
+    @Override
+    public CatalogueReadiness getReadiness() {
+        return readiness;
+    }
+
+    //loads one section and publishes its progress; returns false if it failed
+    private boolean loadSection(DataSection section) {
+        String filename = section.getFilename();
+        logger.info("\n=== Loading {} from {} ===", section.getDisplayName(), filename);
+        readiness.started(section);
+        long taskStartTime = System.currentTimeMillis();
+
+        try {
+            //load data using the appropriate loader based on the data type
+            switch (section) {
+                case USERS -> loadUsers(filename);
+                case ACTORS -> loadActors(filename);
+                case DIRECTORS -> loadDirectors(filename);
+                case MOVIES -> loadMovies(filename);
+                case SERIES -> loadSeries(filename);
+                case AWARDS -> loadAwardsAndBoxOffice(filename);
+            }
+            long taskTime = System.currentTimeMillis() - taskStartTime;
+            metrics.histogram("load." + section.name().toLowerCase()).record(TimeUnit.MILLISECONDS.toNanos(taskTime));
+            logger.info(" Successfully loaded {} in {} ms", section.getDisplayName(), taskTime);
+            readiness.loaded(section, taskTime);
+            return true;
+
+        } catch (Exception e) {
+            logger.error("✗ Failed to load {}: {}", section.getDisplayName(), e.getMessage());
+            logger.debug("Stack trace:", e);
+
+            // Continue with the next section instead of failing completely
+            metrics.counter("load.failures").increment();
+            readiness.failed(section, System.currentTimeMillis() - taskStartTime, e);
+            return false;
+        }
+    }
+
     //load users from file
     @Override
     public void loadUsers(String filename) throws IOException {
@@ -242,6 +267,26 @@ SeriesService seriesService,
         loadDataFile(filename, AwardsDataLoader.class, "awards and box office data");
     }
 
+    //load rows of a section's file through the section's loader, on this thread only
+    @Override
+    public void loadRows(DataSection section, List<String> rows) throws IOException {
+        Class<? extends BaseDataLoader> loaderClass = switch (section) {
+            case USERS -> UserDataLoader.class;
+            case ACTORS -> ActorDataLoader.class;
+            case DIRECTORS -> DirectorDataLoader.class;
+            case MOVIES -> MovieDataLoader.class;
+            case SERIES -> SeriesDataLoader.class;
+            case AWARDS -> AwardsDataLoader.class;
+        };
+        BaseDataLoader loader = loaderFactory.getLoader(loaderClass);
+        loader.setReplacementRows(rows);
+        try {
+            loadDataFile(section.getFilename(), loaderClass, section.getDisplayName().toLowerCase());
+        } finally {
+            loader.setReplacementRows(null);
+        }
+    }
+
     /**
      * Helper method to load data from a file using the specified loader class.
      * This method provides detailed error handling and logging to help diagnose issues.
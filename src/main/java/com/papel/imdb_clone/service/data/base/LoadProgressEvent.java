@@ -0,0 +1,33 @@
+package com.papel.imdb_clone.service.data.base;
+
+/**
+ * Progress of the catalogue load, published when a section starts and when it finishes.
+ *
+ * @param section       the section the event is about
+ * @param status        what happened to the section
+ * @param finished      the number of sections finished so far, including failed ones
+ * @param total         the number of sections being loaded
+ * @param elapsedMillis the time the section took, or 0 when it just started
+ * @param error         the failure, or null unless the status is FAILED
+ */
+public record LoadProgressEvent(DataSection section, Status status, int finished, int total,
+                                long elapsedMillis, Throwable error) {
+
+    /**
+     * The state of a section.
+     */
+    public enum Status {
+        STARTED,
+        LOADED,
+        FAILED
+    }
+
+    /**
+     * Gets the fraction of sections finished.
+     *
+     * @return a value between 0 and 1
+     */
+    public double getProgress() {
+        return total == 0 ? 1.0 : (double) finished / total;
+    }
+}
@@ -0,0 +1,128 @@
+package com.papel.imdb_clone.service.data.base;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Rows of a data file that could not be loaded, collected during a load and written as a CSV
+ * rejects file afterwards, so they can be reviewed and fixed in one place instead of in the log.
+ */
+public class LoadRejects {
+    private static final Logger logger = LoggerFactory.getLogger(LoadRejects.class);
+    private static final String HEADER = "line,reason,type,title,year,detail";
+
+    /**
+     * Why a row was rejected.
+     */
+    public enum Reason {
+        //the row has too few columns
+        INVALID_FORMAT,
+        //a column could not be parsed
+        INVALID_VALUE,
+        //the row refers to content that is not in the catalogue
+        NOT_FOUND,
+        //applying the row failed
+        ERROR
+    }
+
+    /**
+     * A rejected row.
+     *
+     * @param line   the line number in the data file
+     * @param reason why the row was rejected
+     * @param type   the content type of the row, if it could be read
+     * @param title  the title of the row, if it could be read
+     * @param year   the year of the row as written, if it could be read
+     * @param detail the offending value or error message
+     */
+    public record Reject(int line, Reason reason, String type, String title, String year, String detail) {
+    }
+
+    private final String source;
+    private final List<Reject> rejects = new ArrayList<>();
+
+    /**
+     * Creates an empty list of rejects.
+     *
+     * @param source the name of the data file being loaded
+     */
+    public LoadRejects(String source) {
+        this.source = source;
+    }
+
+    //record a rejected row
+    public void add(int line, Reason reason, String type, String title, String year, String detail) {
+        rejects.add(new Reject(line, reason, type, title, year, detail));
+    }
+
+    //get rejected rows in file order
+    public List<Reject> getRejects() {
+        return Collections.unmodifiableList(rejects);
+    }
+
+    //get number of rejected rows
+    public int size() {
+        return rejects.size();
+    }
+
+    //count rejected rows with the given reason
+    public int count(Reason reason) {
+        int count = 0;
+        for (Reject reject : rejects) {
+            if (reject.reason() == reason) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Writes the rejects as CSV, replacing an earlier rejects file. Nothing is written, and an
+     * earlier file is removed, if there are no rejects.
+     *
+     * @param file the rejects file
+     * @throws IOException if the file cannot be written
+     */
+    public void write(Path file) throws IOException {
+        if (rejects.isEmpty()) {
+            Files.deleteIfExists(file);
+            return;
+        }
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("# Rejected rows of " + source);
+            writer.newLine();
+            writer.write(HEADER);
+            writer.newLine();
+            for (Reject reject : rejects) {
+                writer.write(reject.line() + "," + reject.reason() + "," + csv(reject.type()) + ","
+                        + csv(reject.title()) + "," + csv(reject.year()) + "," + csv(reject.detail()));
+                writer.newLine();
+            }
+        }
+        logger.info("Wrote {} rejected row(s) of {} to {}", rejects.size(), source, file);
+    }
+
+    //quotes a value if it contains a separator, quote or line break
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -1,11 +1,15 @@
 package com.papel.imdb_clone.service.data.loader;
 
+import com.papel.imdb_clone.config.ApplicationConfig;
 import com.papel.imdb_clone.exceptions.FileParsingException;
+import com.papel.imdb_clone.model.content.Award;
 import com.papel.imdb_clone.model.content.Movie;
 import com.papel.imdb_clone.model.content.Series;
 import com.papel.imdb_clone.repository.impl.InMemoryMovieRepository;
+import com.papel.imdb_clone.service.content.CatalogueStatistics;
 import com.papel.imdb_clone.service.content.SeriesService;
 import com.papel.imdb_clone.service.data.base.BaseDataLoader;
+import com.papel.imdb_clone.service.data.base.LoadRejects;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -13,9 +17,10 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.nio.file.Path;
 import java.util.Calendar;
 import java.util.Date;
-import java.util.Optional;
+import java.util.List;
 
 /**
  * Loads awards and box office data from files.
@@ -37,6 +42,11 @@ public class AwardsDataLoader extends BaseDataLoader {
 
     /**
      * Loads awards and box office data from the specified file.
+     * Rows are matched to movies and series by normalized title and year through hash indexes built
+     * once per load. Rows that cannot be parsed or matched are written to a rejects file in the
+     * configured rejects directory instead of being logged one by one.
+     * Box office figures and awards summaries are parsed into numbers and {@link Award} records
+     * and added to {@link CatalogueStatistics} for aggregate queries.
      *
      * @param filename the name of the file to load
      * @throws IOException if there is an error reading the file
@@ -44,9 +54,16 @@ public class AwardsDataLoader extends BaseDataLoader {
     public void load(String filename) throws IOException {
         logger.info("Loading awards and box office data from {}", filename);
         int count = 0;
-        int errors = 0;
-        int notFound = 0;
         int lineNumber = 0;
+        LoadRejects rejects = new LoadRejects(filename);
+        CatalogueStatistics statistics = CatalogueStatistics.getInstance();
+
+        // Build the join indexes once instead of scanning the catalogue for every row
+        TitleYearIndex<Movie> movies = TitleYearIndex.of(movieRepository.getAll(), Movie::getTitle,
+                AwardsDataLoader::releaseYear);
+        TitleYearIndex<Series> series = TitleYearIndex.of(seriesService.getAll(), Series::getTitle,
+                Series::getStartYear);
+        logger.debug("Indexed {} movies and {} series for the awards join", movies.size(), series.size());
 
         try (InputStream inputStream = getResourceAsStream(filename);
              BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream))) {
@@ -63,102 +80,116 @@ public class AwardsDataLoader extends BaseDataLoader {
                     continue;
                 }
 
+                /*
+                 * Parse CSV line into parts
+                 */
+                String[] parts = parseCSVLine(line);
+                if (parts.length < 4) {
+                    rejects.add(lineNumber, LoadRejects.Reason.INVALID_FORMAT, null, null, null, line);
+                    continue;
+                }
+                String contentType = parts[0].trim();
+                String title = parts[1].trim();
+                String yearStr = parts[2].trim();
+                // Columns: ContentType,Title,Year,BoxOffice,Awards,Rating,Genre
+                String boxOffice = parts[3].trim();
+                String awards = parts.length > 4 ? parts[4].trim() : "";
+
+                // Handle year ranges by taking the start year
+                int year;
                 try {
-                    /*
-                     * Parse CSV line into parts
-                     */
-                    String[] parts = parseCSVLine(line);
-                    if (parts.length >= 4) {
-                        String contentType = parts[0].trim();
-                        String title = parts[1].trim();
-                        String yearStr = parts[2].trim();
-                        String awards = parts[3].trim();
-                        String boxOffice = parts.length > 4 ? parts[4].trim() : null;
-                        String nominations = parts.length > 5 ? parts[5].trim() : null;
-
-                        // Handle year ranges by taking the start year
-                        int year;
-                        if (yearStr.contains("-")) {
-                            year = Integer.parseInt(yearStr.split("-")[0].trim());
-                        } else {
-                            year = Integer.parseInt(yearStr);
-                        }
+                    year = Integer.parseInt(yearStr.contains("-") ? yearStr.split("-")[0].trim() : yearStr);
+                } catch (NumberFormatException e) {
+                    rejects.add(lineNumber, LoadRejects.Reason.INVALID_VALUE, contentType, title, yearStr, "year");
+                    continue;
+                }
+                long boxOfficeAmount = CatalogueStatistics.parseBoxOffice(boxOffice);
+                if (boxOfficeAmount < 0 && !boxOffice.isEmpty() && !"N/A".equalsIgnoreCase(boxOffice)) {
+                    rejects.add(lineNumber, LoadRejects.Reason.INVALID_VALUE, contentType, title, yearStr, "box office");
+                    continue;
+                }
+                // A count too large for an int only rejects its own row
+                List<Award> awardRecords;
+                try {
+                    awardRecords = Award.parseAll(awards);
+                } catch (NumberFormatException e) {
+                    rejects.add(lineNumber, LoadRejects.Reason.INVALID_VALUE, contentType, title, yearStr, "awards");
+                    continue;
+                }
 
-                        boolean found = false;
-
-                        if ("movie".equalsIgnoreCase(contentType)) {
-                            // Find movie by title and year
-                            // Get the calendar instance to extract year from Date
-                            Calendar cal = Calendar.getInstance();
-                            Optional<Movie> movieOpt = movieRepository.findByTitle(title)
-                                    .stream()
-                                    .filter(m -> {
-                                        Date releaseDate = m.getReleaseDate();
-                                        if (releaseDate == null) return false;
-                                        cal.setTime(releaseDate);
-                                        return cal.get(Calendar.YEAR) == year;
-                                    })
-                                    .findFirst();
-
-                            //Update movie awards and box office
-                            if (movieOpt.isPresent()) {
-                                Movie movie = movieOpt.get();
-
-                                if (!awards.isEmpty()) {
-                                    movie.setAwards(awards);
-                                }
-                                if (boxOffice != null && !boxOffice.isEmpty()) {
-                                    movie.setBoxOffice(boxOffice);
-                                }
-                                movie = movieRepository.save(movie);
-                                found = true;
-                                count++;
-                            }
-                        } else if ("series".equalsIgnoreCase(contentType)) {
-                            // Find series by title and year
-                            Optional<Series> seriesOpt = seriesService.getAll().stream()
-                                    .filter(s -> s.getTitle().equalsIgnoreCase(title) &&
-                                            s.getStartYear() == year)
-                                    .findFirst();
-
-                            if (seriesOpt.isPresent()) {
-                                Series series = seriesOpt.get();
-                                // Series class has setAwards and setNominations methods
-                                if (!awards.isEmpty()) {
-                                    series.setAwards(awards);
-                                }
-                                if (nominations != null && !nominations.isEmpty()) {
-                                    series.setNominations(nominations);
-                                }
-                                series = seriesService.save(series);
-                                found = true;
-                                count++;
-                            }
+                try {
+                    if ("movie".equalsIgnoreCase(contentType)) {
+                        //Update movie awards and box office
+                        Movie movie = movies.find(title, year);
+                        if (movie == null) {
+                            rejects.add(lineNumber, LoadRejects.Reason.NOT_FOUND, contentType, title, yearStr, null);
+                            continue;
                         }
-
-                        if (!found) {
-                            logger.debug("{} '{}' ({}) not found",
-                                    contentType, title, year);
-                            notFound++;
+                        if (!awards.isEmpty()) {
+                            movie.setAwards(awards);
                         }
+                        if (boxOfficeAmount >= 0) {
+                            movie.setBoxOffice(boxOffice);
+                        }
+                        movie.setBoxOfficeAmount(boxOfficeAmount);
+                        movie.setAwardRecords(awardRecords);
+                        movieRepository.save(movie);
+                        statistics.record(movie, year, boxOfficeAmount, awardRecords);
+                        count++;
+                    } else if ("series".equalsIgnoreCase(contentType)) {
+                        Series match = series.find(title, year);
+                        if (match == null) {
+                            rejects.add(lineNumber, LoadRejects.Reason.NOT_FOUND, contentType, title, yearStr, null);
+                            continue;
+                        }
+                        if (!awards.isEmpty()) {
+                            match.setAwards(awards);
+                        }
+                        match.setBoxOfficeAmount(boxOfficeAmount);
+                        match.setAwardRecords(awardRecords);
+                        seriesService.save(match);
+                        statistics.record(match, year, boxOfficeAmount, awardRecords);
+                        count++;
                     } else {
-                        logger.warn("Invalid awards data format at line {}: {}", lineNumber, line);
-                        errors++;
+                        rejects.add(lineNumber, LoadRejects.Reason.INVALID_VALUE, contentType, title, yearStr, "content type");
                     }
-                } catch (Exception e) {
-                    logger.error("Error processing line {}: {}", lineNumber, e.getMessage());
-                    errors++;
+                } catch (RuntimeException e) {
+                    rejects.add(lineNumber, LoadRejects.Reason.ERROR, contentType, title, yearStr, e.getMessage());
                 }
             }
 
-            // Log the result
-            logger.info("Successfully updated awards for {} items ({} not found, {} errors, {} total lines)",
-                    count, notFound, errors, lineNumber);
-
         } catch (IOException e) {
             // Log error and rethrow
             logger.error("Error reading awards file: {}", e.getMessage(), e);
             throw new FileParsingException("Error reading awards file: " + e.getMessage());
         }
+
+        // Log the result
+        logger.info("Successfully updated awards for {} items ({} not found, {} invalid, {} total lines)",
+                count, rejects.count(LoadRejects.Reason.NOT_FOUND),
+                rejects.size() - rejects.count(LoadRejects.Reason.NOT_FOUND), lineNumber);
+        writeRejects(filename, rejects);
+    }
+
+    //writes the rejects next to the other rejects files; failing to write them does not fail the load
+    private static void writeRejects(String filename, LoadRejects rejects) {
+        String baseName = Path.of(filename).getFileName().toString().replaceFirst("\\.[^.]*$", "");
+        Path file = ApplicationConfig.getInstance().getRejectsDirectory().resolve(baseName + ".rejects.csv");
+        try {
+            rejects.write(file);
+        } catch (IOException e) {
+            logger.warn("Could not write {} rejected awards rows to {}: {}", rejects.size(), file, e.getMessage());
+        }
+    }
+
+    //year of a movie's release date, or 0 if it has none
+    private static int releaseYear(Movie movie) {
+        Date releaseDate = movie.getReleaseDate();
+        if (releaseDate == null) {
+            return 0;
+        }
+        Calendar cal = Calendar.getInstance();
+        cal.setTime(releaseDate);
+        return cal.get(Calendar.YEAR);
     }
 }
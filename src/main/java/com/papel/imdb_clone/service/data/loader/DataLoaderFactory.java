@@ -14,15 +14,15 @@ import com.papel.imdb_clone.service.data.loader.content.MovieDataLoader;
 import com.papel.imdb_clone.service.data.loader.content.SeriesDataLoader;
 import com.papel.imdb_clone.service.data.loader.people.UserDataLoader;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Factory class for creating and managing data loaders.
  */
 public class DataLoaderFactory {
     
-    private final Map<Class<?>, Object> loaders = new HashMap<>();
+    private final Map<Class<?>, Object> loaders = new ConcurrentHashMap<>();
     private final InMemoryUserRepository userRepository;
     private final InMemoryMovieRepository movieRepository;
     private final MoviesService moviesService;
@@ -69,30 +69,29 @@ public class DataLoaderFactory {
      */
     @SuppressWarnings("unchecked")
     public <T> T getLoader(Class<T> loaderClass) {
-        if (!loaders.containsKey(loaderClass)) {
-            initializeLoader(loaderClass);
-        }
-        return (T) loaders.get(loaderClass);
+        return (T) loaders.computeIfAbsent(loaderClass, this::createLoader);
     }
 
     /**
-     * Initializes a loader of the specified type.
+     * Creates a loader of the specified type.
+     * Loaders are created once and shared, also by sections loading in parallel.
      *
-     * @param loaderClass the class of the loader to initialize
+     * @param loaderClass the class of the loader to create
+     * @return the new loader
      */
-    private void initializeLoader(Class<?> loaderClass) {
+    private Object createLoader(Class<?> loaderClass) {
         if (loaderClass.equals(ActorDataLoader.class)) {
-            loaders.put(loaderClass, new ActorDataLoader(actorService));
+            return new ActorDataLoader(actorService);
         } else if (loaderClass.equals(DirectorDataLoader.class)) {
-            loaders.put(loaderClass, new DirectorDataLoader(directorService));
+            return new DirectorDataLoader(directorService);
         } else if (loaderClass.equals(MovieDataLoader.class)) {
-            loaders.put(loaderClass, new MovieDataLoader(moviesService, actorService, directorService));
+            return new MovieDataLoader(moviesService, actorService, directorService);
         } else if (loaderClass.equals(SeriesDataLoader.class)) {
-            loaders.put(loaderClass, new SeriesDataLoader(seriesService, actorService, directorService));
+            return new SeriesDataLoader(seriesService, actorService, directorService);
         } else if (loaderClass.equals(UserDataLoader.class)) {
-            loaders.put(loaderClass, new UserDataLoader(userRepository));
+            return new UserDataLoader(userRepository);
         } else if (loaderClass.equals(AwardsDataLoader.class)) {
-            loaders.put(loaderClass, new AwardsDataLoader(movieRepository, seriesService));
+            return new AwardsDataLoader(movieRepository, seriesService);
         } else {
             throw new IllegalArgumentException("Unsupported loader type: " + loaderClass.getName());
         }
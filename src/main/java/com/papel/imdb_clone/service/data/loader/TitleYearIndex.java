@@ -0,0 +1,86 @@
+package com.papel.imdb_clone.service.data.loader;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import java.util.regex.Pattern;
+
+/**
+ * Hash index of content by normalized title and year, built once so that a data file can be
+ * joined against the catalogue with one lookup per row instead of a scan. A loader that adds
+ * content as it goes puts each new item into the index too, so later rows see it.
+ * Titles are compared ignoring case and runs of whitespace. If several items share a title and
+ * year, the first one indexed wins.
+ *
+ * @param <T> the type of the indexed items
+ */
+public final class TitleYearIndex<T> {
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    //the normalized title and year an item is found by
+    private record Key(String title, int year) {
+    }
+
+    private final Map<Key, T> items;
+
+    private TitleYearIndex(Map<Key, T> items) {
+        this.items = items;
+    }
+
+    /**
+     * Indexes items by title and year.
+     *
+     * @param items   the items to index
+     * @param titleOf gets the title of an item
+     * @param yearOf  gets the year of an item
+     * @return the index
+     */
+    public static <T> TitleYearIndex<T> of(Collection<? extends T> items, Function<? super T, String> titleOf,
+                                           ToIntFunction<? super T> yearOf) {
+        Map<Key, T> index = new HashMap<>(Math.max(16, items.size() * 4 / 3 + 1));
+        for (T item : items) {
+            String title = item != null ? titleOf.apply(item) : null;
+            if (title != null) {
+                index.putIfAbsent(new Key(normalize(title), yearOf.applyAsInt(item)), item);
+            }
+        }
+        return new TitleYearIndex<>(index);
+    }
+
+    /**
+     * Finds an item.
+     *
+     * @param title the title, in any case and spacing
+     * @param year  the year
+     * @return the item, or null if none has that title and year
+     */
+    public T find(String title, int year) {
+        return title != null ? items.get(new Key(normalize(title), year)) : null;
+    }
+
+    /**
+     * Indexes one more item, unless an item with the same title and year is indexed already.
+     *
+     * @param title the title of the item
+     * @param year  the year of the item
+     * @param item  the item
+     */
+    public void add(String title, int year, T item) {
+        if (title != null && item != null) {
+            items.putIfAbsent(new Key(normalize(title), year), item);
+        }
+    }
+
+    //get number of indexed items
+    public int size() {
+        return items.size();
+    }
+
+    //trims, collapses whitespace and lower-cases a title
+    static String normalize(String title) {
+        return WHITESPACE.matcher(title.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+}
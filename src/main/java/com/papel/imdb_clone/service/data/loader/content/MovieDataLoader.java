@@ -137,7 +137,7 @@ public class MovieDataLoader extends BaseDataLoader {
                                 // Validate year is within reasonable range (1888 is when first movie was made)
                                 int currentYear = Calendar.getInstance().get(Calendar.YEAR);
                                 if (year < 1888 || year > currentYear + 2) {
-                                    logger.warn("Year {} is out of range (1888-{}) for movie '{}' at line {}. Using current year as fallback.",
+                                    rowWarnings.warn(logger, "Year {} is out of range (1888-{}) for movie '{}' at line {}. Using current year as fallback.",
                                             year, currentYear + 2, title, lineNumber);
                                     year = currentYear;
                                 }
@@ -152,7 +152,7 @@ public class MovieDataLoader extends BaseDataLoader {
                             releaseDate = new Date(cal.getTimeInMillis());
                         } catch (NumberFormatException e) {
                             int currentYear = Calendar.getInstance().get(Calendar.YEAR);
-                            logger.warn("Invalid year format '{}' for movie '{}' at line {}. Using current year ({}). Error: {}",
+                            rowWarnings.warn(logger, "Invalid year format '{}' for movie '{}' at line {}. Using current year ({}). Error: {}",
                                 parts[1].trim(), title, lineNumber, currentYear, e.getMessage());
                             // Set to current year as fallback
                             year = currentYear;
@@ -172,7 +172,7 @@ public class MovieDataLoader extends BaseDataLoader {
                                 duration = Integer.parseInt(durationStr);
                                 // Validate duration is reasonable (1 minute to 4 hours)
                                 if (duration <= 0 || duration > 240) {
-                                    logger.warn("Invalid duration '{}' minutes for movie '{}' at line {}. Using default 90 minutes.", 
+                                    rowWarnings.warn(logger, "Invalid duration '{}' minutes for movie '{}' at line {}. Using default 90 minutes.", 
                                             duration, title, lineNumber);
                                     duration = 90; // Default to 90 minutes if invalid
                                 }
@@ -183,14 +183,14 @@ public class MovieDataLoader extends BaseDataLoader {
                             }
                         } catch (NumberFormatException e) {
                             duration = 90; // Default duration if parsing fails
-                            logger.warn("Invalid duration format '{}' for movie '{}' at line {}. Using default 90 minutes.", 
+                            rowWarnings.warn(logger, "Invalid duration format '{}' for movie '{}' at line {}. Using default 90 minutes.", 
                                     parts[3].trim(), title, lineNumber);
                         }
 
                         // Parse genres (handle both comma and semicolon separated values)
                         String genreField = parts[2].trim();
                         if (genreField.isEmpty() || genreField.equalsIgnoreCase("n/a")) {
-                            logger.warn("No genre specified for movie '{}' at line {}. This movie will be skipped.", title, lineNumber);
+                            rowWarnings.warn(logger, "No genre specified for movie '{}' at line {}. This movie will be skipped.", title, lineNumber);
                             errors++;
                             continue; // Skip this movie if no genre is specified
                         }
@@ -215,7 +215,7 @@ public class MovieDataLoader extends BaseDataLoader {
                             rating = Math.round(rating * 10.0) / 10.0;
                             logger.debug("Rating for movie '{}' at line {} is {}", title, lineNumber, rating);
                         } catch (NumberFormatException e) {
-                            logger.warn("Invalid rating format '{}' for movie '{}' at line {}", parts[5].trim(), title, lineNumber);
+                            rowWarnings.warn(logger, "Invalid rating format '{}' for movie '{}' at line {}", parts[5].trim(), title, lineNumber);
                             rating = 0.0; // Default to 0.0 if rating is invalid
                         }
 
@@ -275,7 +275,7 @@ public class MovieDataLoader extends BaseDataLoader {
                                     String actorLastName = nameParts.length > 1 ? nameParts[1] : "";
                                     
                                     if (actorFirstName.isEmpty()) {
-                                        logger.warn("Empty actor first name at line {}: {}", lineNumber, actorName);
+                                        rowWarnings.warn(logger, "Empty actor first name at line {}: {}", lineNumber, actorName);
                                         continue;
                                     }
 
@@ -285,7 +285,7 @@ public class MovieDataLoader extends BaseDataLoader {
                                         
                                         try {
                                             // First try to find existing actor by name
-                                            List<?> foundActors = actorService.findByName(fullName);
+                                            List<?> foundActors = actorService.findByExactName(fullName);
                                             
                                             if (foundActors != null && !foundActors.isEmpty()) {
                                                 // Use existing actor
@@ -329,7 +329,7 @@ public class MovieDataLoader extends BaseDataLoader {
                                     }
                                     
                                 } catch (Exception e) {
-                                    logger.warn("Error processing actor '{}' at line {}: {}", 
+                                    rowWarnings.warn(logger, "Error processing actor '{}' at line {}: {}", 
                                         actorName, lineNumber, e.getMessage());
                                     // Continue with next actor
                                 }
@@ -353,12 +353,12 @@ public class MovieDataLoader extends BaseDataLoader {
                                         }
                                     }
                                 } catch (Exception e) {
-                                    logger.warn("Error processing genre '{}' at line {}: {}",
+                                    rowWarnings.warn(logger, "Error processing genre '{}' at line {}: {}",
                                             genreName, lineNumber, e.getMessage());
                                 }
                                 // if no valid genre is found, skip this movie
                                 if (!hasValidGenre) {
-                                    logger.warn("No valid genre found for movie '{}' at line {}", title, lineNumber);
+                                    rowWarnings.warn(logger, "No valid genre found for movie '{}' at line {}", title, lineNumber);
                                     errors++;
                                 }
                             }
@@ -372,7 +372,7 @@ public class MovieDataLoader extends BaseDataLoader {
                                     String directorLastName = dirNameParts.length > 1 ? dirNameParts[1] : "";
 
                                     // Try to find existing director by name
-                                    List<?> foundDirectors = directorService.findByName(directorName);
+                                    List<?> foundDirectors = directorService.findByExactName(directorName);
 
                                     if (!foundDirectors.isEmpty() && foundDirectors.get(0) instanceof Director) {
                                         @SuppressWarnings("unchecked")
@@ -396,7 +396,7 @@ public class MovieDataLoader extends BaseDataLoader {
                                         logger.debug("Created new director: {} {}", directorFirstName, directorLastName);
                                     }
                                 } catch (Exception e) {
-                                    logger.warn("Error setting director '{}' at line {}: {}",
+                                    rowWarnings.warn(logger, "Error setting director '{}' at line {}: {}",
                                             directorName, lineNumber, e.getMessage());
                                     // Continue without director rather than failing the whole movie
                                 }
@@ -431,7 +431,7 @@ public class MovieDataLoader extends BaseDataLoader {
                             errors++;
                         }
                     } else {
-                        logger.warn("Invalid movie data format at line {}: {}", lineNumber, line);
+                        rowWarnings.warn(logger, "Invalid movie data format at line {}: {}", lineNumber, line);
                         errors++;
                     }
                 } catch (Exception e) {
@@ -457,6 +457,7 @@ public class MovieDataLoader extends BaseDataLoader {
             logger.error("Error reading movies file: {}", e.getMessage(), e);
             throw new FileParsingException("Error reading movies file: " + e.getMessage());
         } finally {
+            rowWarnings.flush(logger);
             logger.debug("Movie data loading process completed");
         }
     }
@@ -3,7 +3,7 @@ package com.papel.imdb_clone.service.data.loader.content;
 import com.papel.imdb_clone.enums.Ethnicity;
 import com.papel.imdb_clone.enums.Genre;
 import com.papel.imdb_clone.exceptions.FileParsingException;
-import com.papel.imdb_clone.model.content.Episode;
+import com.papel.imdb_clone.model.content.EpisodeStore;
 import com.papel.imdb_clone.model.content.Season;
 import com.papel.imdb_clone.model.content.Series;
 import com.papel.imdb_clone.model.people.Actor;
@@ -11,6 +11,7 @@ import com.papel.imdb_clone.model.people.Director;
 import com.papel.imdb_clone.service.people.CelebrityService;
 import com.papel.imdb_clone.service.content.SeriesService;
 import com.papel.imdb_clone.service.data.base.BaseDataLoader;
+import com.papel.imdb_clone.service.data.loader.TitleYearIndex;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -20,7 +21,7 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.time.LocalDate;
 import java.util.*;
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.Calendar;
 
 /**
@@ -64,6 +65,8 @@ public class SeriesDataLoader extends BaseDataLoader {
         int duplicates = 0;
         int lineNumber = 0;
         logger.debug("Initializing series data loading process");
+        // Series already loaded and those added by this file, to skip duplicates without scanning
+        TitleYearIndex<Series> known = TitleYearIndex.of(seriesService.getAll(), Series::getTitle, Series::getStartYear);
 
         try (InputStream inputStream = getResourceAsStream(filename);
              BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream))) {
@@ -89,7 +92,7 @@ public class SeriesDataLoader extends BaseDataLoader {
                         String genreStr = parts[1].trim();
                         if (genreStr.isEmpty() || genreStr.equalsIgnoreCase("n/a")) {
                             genreStr = "DRAMA"; // Default to DRAMA if no genre specified
-                            logger.warn("No genre specified for series '{}' at line {}. Defaulting to 'DRAMA'.", title, lineNumber);
+                            rowWarnings.warn(logger, "No genre specified for series '{}' at line {}. Defaulting to 'DRAMA'.", title, lineNumber);
                         }
 
                         int seasonsCount = 1;
@@ -97,11 +100,11 @@ public class SeriesDataLoader extends BaseDataLoader {
                             // Parse seasons count
                             seasonsCount = Integer.parseInt(parts[2].trim());
                             if (seasonsCount < 1) {
-                                logger.warn("Invalid seasons count {} at line {}. Using default value 1.", seasonsCount, lineNumber);
+                                rowWarnings.warn(logger, "Invalid seasons count {} at line {}. Using default value 1.", seasonsCount, lineNumber);
                                 seasonsCount = 1;
                             }
                         } catch (NumberFormatException e) {
-                            logger.warn("Invalid seasons count '{}' at line {}. Using default value 1.", parts[2].trim(), lineNumber);
+                            rowWarnings.warn(logger, "Invalid seasons count '{}' at line {}. Using default value 1.", parts[2].trim(), lineNumber);
                         }
 
                         // Create the Series with just the title first
@@ -122,7 +125,7 @@ public class SeriesDataLoader extends BaseDataLoader {
                             
                             // Validate start year
                             if (startYear < 1928 || startYear > currentYear + 1) {
-                                logger.warn("Start year {} for series '{}' is out of range. Using current year.", startYear, title);
+                                rowWarnings.warn(logger, "Start year {} for series '{}' is out of range. Using current year.", startYear, title);
                                 startYear = currentYear;
                             }
                             this.series.setStartYear(startYear);
@@ -142,20 +145,19 @@ public class SeriesDataLoader extends BaseDataLoader {
                                     if (endYear >= startYear) {
                                         logger.debug("Setting end year to {} for series: {}", endYear, title);
                                         this.series.setEndYear(endYear);
-                                        logger.info("Set end year to {} for series: {}", endYear, title);
                                     } else {
-                                        logger.warn("End year {} is before start year {} for series '{}'. Marking as ongoing (0).",
+                                        rowWarnings.warn(logger, "End year {} is before start year {} for series '{}'. Marking as ongoing (0).",
                                             endYear, startYear, title);
                                         this.series.setEndYear(0);
                                     }
                                 } catch (NumberFormatException e) {
-                                    logger.warn("Invalid end year format '{}' for series '{}'. Marking as ongoing (0).",
+                                    rowWarnings.warn(logger, "Invalid end year format '{}' for series '{}'. Marking as ongoing (0).",
                                         endYearStr, title);
                                     this.series.setEndYear(0);
                                 }
                             }
                         } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
-                            logger.warn("Invalid year format '{}' at line {}. Using current year.", 
+                            rowWarnings.warn(logger, "Invalid year format '{}' at line {}. Using current year.", 
                                 parts.length > 3 ? parts[3].trim() : "", lineNumber);
                             startYear = currentYear;
                             this.series.setStartYear(startYear);
@@ -175,17 +177,17 @@ public class SeriesDataLoader extends BaseDataLoader {
                                         rating = Math.round(rating * 10.0) / 10.0;
                                         logger.debug("Rating for series '{}' at line {} is {}", title, lineNumber, rating);
                                     } catch (NumberFormatException e) {
-                                        logger.warn("Invalid rating format '{}' at line {}. Using default value 0.0", 
+                                        rowWarnings.warn(logger, "Invalid rating format '{}' at line {}. Using default value 0.0", 
                                             ratingStr, lineNumber);
                                     }
                                 } else {
-                                    logger.warn("Missing rating at line {}. Using default value 0.0", lineNumber);
+                                    rowWarnings.warn(logger, "Missing rating at line {}. Using default value 0.0", lineNumber);
                                 }
                             } else {
-                                logger.warn("Rating field missing at line {}. Using default value 0.0", lineNumber);
+                                rowWarnings.warn(logger, "Rating field missing at line {}. Using default value 0.0", lineNumber);
                             }
                         } catch (Exception e) {
-                            logger.warn("Error parsing rating at line {}: {}", lineNumber, e.getMessage());
+                            rowWarnings.warn(logger, "Error parsing rating at line {}: {}", lineNumber, e.getMessage());
                         }
 
                         // Parse director(s) - now at index 6
@@ -194,7 +196,7 @@ public class SeriesDataLoader extends BaseDataLoader {
                             directorName = parts.length > 6 ? parts[6].trim() : "";
                             creatorName = directorName; // Set creatorName from director
                         } catch (ArrayIndexOutOfBoundsException e) {
-                            logger.warn("Missing director at line {}. Using empty string: {}", lineNumber, line);
+                            rowWarnings.warn(logger, "Missing director at line {}. Using empty string: {}", lineNumber, line);
                         }
 
                         String[] genreArray = parts[1].trim().split(",");
@@ -215,7 +217,7 @@ public class SeriesDataLoader extends BaseDataLoader {
                                     logger.debug("Unknown genre '{}' for series '{}' at line {}", genreItem, title, lineNumber);
                                 }
                             } catch (Exception e) {
-                                logger.warn("Error processing genre '{}' for series '{}' at line {}: {}", genreItem, title, lineNumber, e.getMessage());
+                                rowWarnings.warn(logger, "Error processing genre '{}' for series '{}' at line {}: {}", genreItem, title, lineNumber, e.getMessage());
                             }
                         }
 
@@ -227,11 +229,11 @@ public class SeriesDataLoader extends BaseDataLoader {
                             // log actor names
                             logger.debug("Actor names: {}", (Object) actorNames);
                         } catch (ArrayIndexOutOfBoundsException e) {
-                            logger.warn("Missing actors at line {}. Using empty array: {}", lineNumber, line);
+                            rowWarnings.warn(logger, "Missing actors at line {}. Using empty array: {}", lineNumber, line);
                         }
 
                         // Check if series already exists by title and year
-                        if (seriesService.findByTitleAndYear(title, startYear).isPresent()) {
+                        if (known.find(title, startYear) != null) {
                             logger.debug("Series '{}' from {} already exists", title, startYear);
                             duplicates++;
                             continue;
@@ -299,39 +301,23 @@ public class SeriesDataLoader extends BaseDataLoader {
                                 season.setTitle("Season " + i);
 
                                 // Create a random number of episodes between min and max
-                                Random random = new Random();
+                                ThreadLocalRandom random = ThreadLocalRandom.current();
                                 int episodesCount = random.nextInt(maxEpisodesPerSeason - minEpisodesPerSeason + 1) + minEpisodesPerSeason;
 
-                                List<Episode> episodes = new ArrayList<>();
+                                // Episodes are kept in compact form until a view asks for them
+                                EpisodeStore.Builder episodes = EpisodeStore.builder(episodesCount);
                                 for (int j = 1; j <= episodesCount; j++) {
-                                    Episode episode = new Episode();
-                                    episode.setTitle("Episode " + j);
-                                    episode.setEpisodeNumber(j);
-
                                     // Set a random release date within the series year
-                                    Calendar cal = Calendar.getInstance();
-                                    cal.set(Calendar.YEAR, startYear);
-                                    cal.set(Calendar.MONTH, random.nextInt(12));
-                                    cal.set(Calendar.DAY_OF_MONTH, 1 + random.nextInt(28));
-                                    episode.setReleaseDate(cal.getTime());
-
-                                    // Initialize empty actors list for the episode
-                                    episode.setActors(new ArrayList<>());
-                                    episodes.add(episode);
-                                }
-
-                                // Set episodes to season using reflection
-                                try {
-                                    season.getClass().getMethod("setEpisodes", List.class).invoke(season, episodes);
-                                } catch (Exception e) {
-                                    logger.warn("Could not set episodes for season: {}", e.getMessage());
+                                    LocalDate releaseDate = LocalDate.of(startYear, 1 + random.nextInt(12), 1 + random.nextInt(28));
+                                    episodes.add(j, releaseDate, 0.0, "Episode " + j);
                                 }
+                                season.setEpisodeStore(episodes.build());
 
                                 // Add season to series
                                 series.getSeasons().add(season);
 
                                 logger.debug("Added season {} with {} episodes to series '{}'",
-                                        i, episodes.size(), title);
+                                        i, episodesCount, title);
                             } catch (Exception e) {
                                 logger.warn("Error creating season {} for series '{}' at line {}: {}",
                                         i, title, lineNumber, e.getMessage(), e);
@@ -379,13 +365,8 @@ public class SeriesDataLoader extends BaseDataLoader {
                                         }
 
                                         // Add series to actor's notable works
-                                        String currentWorks = actor.getNotableWorks() != null ?
-                                                actor.getNotableWorks().toString() : "";
-
-                                        if (!currentWorks.contains(series.getTitle())) {
-                                            String updatedWorks = getString(currentWorks, series);
-
-                                            actor.setNotableWorks(updatedWorks);
+                                        if (!actor.getNotableWorks().contains(series.getTitle())) {
+                                            actor.addNotableWork(series.getTitle());
                                             actorService.save(actor);
                                         }
                                     } catch (Exception e) {
@@ -397,12 +378,13 @@ public class SeriesDataLoader extends BaseDataLoader {
 
                             // Set the main cast for the series
                             series.setActors(mainCast);
-                            logger.info("Set main cast of {} actors for series '{}'", mainCast.size(), title);
+                            logger.debug("Set main cast of {} actors for series '{}'", mainCast.size(), title);
                         }
                         // Save the series
                         try {
                             Series savedSeries = seriesService.save(series);
                             if (savedSeries != null) {
+                                known.add(title, startYear, savedSeries);
                                 count++;
                                 logger.debug("Successfully loaded series: {} ({} - {})", 
                                     title, startYear, series.getEndYear() != 0 ? series.getEndYear() : "Present");
@@ -445,6 +427,7 @@ public class SeriesDataLoader extends BaseDataLoader {
             logger.error("Error reading series file: {}", e.getMessage(), e);
             throw new FileParsingException("Error reading file: " + filename + ": " + e.getMessage());
         } finally {
+            rowWarnings.flush(logger);
             logger.debug("Series data loading process completed");
         }}
 
@@ -505,24 +488,4 @@ public class SeriesDataLoader extends BaseDataLoader {
         };
         return normalizedGenre;
     }
-
-    // Helper method to update works string
-    private static String getString(String currentWorks, Series series) {
-        String updatedWorks = currentWorks.isEmpty() ?
-                series.getTitle() :
-                currentWorks + ", " + series.getTitle();
-
-        // Clean up the works string
-        updatedWorks = updatedWorks.replace(", ,", ",")
-                .replaceAll("\\s*,\\s*", ", ")
-                .replaceAll("^\\s*,\\s*|\\s*\\.\\s*$|\\.\\s*(?=,|$)", "")
-                .trim();
-
-        if (updatedWorks.endsWith(",")) {
-            updatedWorks = updatedWorks.substring(0, updatedWorks.length() - 1).trim();
-        }
-        // log updated works
-        logger.debug("Updated works: {}", updatedWorks);
-        return updatedWorks;
-    }
 }
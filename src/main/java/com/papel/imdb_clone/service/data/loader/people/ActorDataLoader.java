@@ -62,7 +62,7 @@ public class ActorDataLoader extends BaseDataLoader {
                 try {
                     String[] parts = parseCSVLine(line);
                     if (parts.length < 5) {
-                        logger.warn("Incomplete data at line {}: {}", lineNumber, line);
+                        rowWarnings.warn(logger, "Incomplete data at line {}: {}", lineNumber, line);
                         errors++;
                         continue;
                     }
@@ -99,7 +99,7 @@ public class ActorDataLoader extends BaseDataLoader {
                             LocalDate maxBirthDate = now.plusYears(1); // Allow for timezone issues
                             
                             if (birthDate.isBefore(minBirthDate) || birthDate.isAfter(maxBirthDate)) {
-                                logger.warn("Birth date {} for {} {} is out of reasonable range. Adjusting.", 
+                                rowWarnings.warn(logger, "Birth date {} for {} {} is out of reasonable range. Adjusting.", 
                                     birthDate, firstName, lastName);
                                 // Set to 30 years ago with some variation
                                 birthDate = now.minusYears(30 + (count % 20));
@@ -218,6 +218,7 @@ public class ActorDataLoader extends BaseDataLoader {
             logger.error("Error reading actors file: {}", e.getMessage(), e);
             throw new FileParsingException("Error reading actors file: " + e.getMessage());
         } finally {
+            rowWarnings.flush(logger);
             logger.debug("Actor data loading process completed");
         }
     }
@@ -240,7 +241,7 @@ public class ActorDataLoader extends BaseDataLoader {
                 int year = Integer.parseInt(dateStr.trim());
                 return LocalDate.of(year, 1, 1);
             } catch (NumberFormatException e2) {
-                logger.warn("Invalid date format: {}", dateStr);
+                rowWarnings.warn(logger, "Invalid date format: {}", dateStr);
                 return null;
             }
         }
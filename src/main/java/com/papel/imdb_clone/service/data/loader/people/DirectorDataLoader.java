@@ -61,7 +61,7 @@ public class DirectorDataLoader extends BaseDataLoader {
                 try {
                     String[] parts = parseCSVLine(line);
                     if (parts.length < 5) {
-                        logger.warn("Incomplete data at line {}: {}", lineNumber, line);
+                        rowWarnings.warn(logger, "Incomplete data at line {}: {}", lineNumber, line);
                         errors++;
                         continue;
                     }
@@ -106,6 +106,7 @@ public class DirectorDataLoader extends BaseDataLoader {
             logger.error("Error reading directors file: {}", e.getMessage(), e);
             throw new FileParsingException("Error reading directors file: " + e.getMessage());
         } finally {
+            rowWarnings.flush(logger);
             logger.debug("Director data loading process completed");
         }
     }
@@ -137,7 +138,7 @@ public class DirectorDataLoader extends BaseDataLoader {
             LocalDate maxBirthDate = now.plusYears(1); // Allow for timezone issues
             
             if (birthDate.isBefore(minBirthDate) || birthDate.isAfter(maxBirthDate)) {
-                logger.warn("Birth date {} for director {} {} is out of reasonable range. Adjusting.", 
+                rowWarnings.warn(logger, "Birth date {} for director {} {} is out of reasonable range. Adjusting.", 
                     birthDate, firstName, lastName);
                 // Set to 35 years ago with some variation
                 return now.minusYears(35 + (count % 20));
@@ -277,7 +278,7 @@ public class DirectorDataLoader extends BaseDataLoader {
                 int year = Integer.parseInt(dateStr.trim());
                 return LocalDate.of(year, 1, 1);
             } catch (NumberFormatException e2) {
-                logger.warn("Invalid date format: {}", dateStr);
+                rowWarnings.warn(logger, "Invalid date format: {}", dateStr);
                 return null;
             }
         }
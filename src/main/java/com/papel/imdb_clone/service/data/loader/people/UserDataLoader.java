@@ -104,7 +104,7 @@ public class UserDataLoader extends BaseDataLoader {
                             errors++;
                         }
                     } else {
-                        logger.warn("Invalid user data format at line {}: {}", lineNumber, line);
+                        rowWarnings.warn(logger, "Invalid user data format at line {}: {}", lineNumber, line);
                         errors++;
                     }
                 } catch (Exception e) {
@@ -113,6 +113,7 @@ public class UserDataLoader extends BaseDataLoader {
                 }
             }
 
+            rowWarnings.flush(logger);
             logger.info("Successfully loaded {} users ({} duplicates, {} errors, {} total lines)",
                     count, duplicates, errors, lineNumber);
 
@@ -0,0 +1,106 @@
+package com.papel.imdb_clone.service.event;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+
+/**
+ * The net changes to one entity type since the previous batch, at most one per entity.
+ * Several changes to the same entity are coalesced: an update after a create is still a create,
+ * anything followed by a delete is a delete, and a create followed by a delete disappears.
+ *
+ * @param <T> the entity type
+ */
+public final class ChangeBatch<T> {
+    private final Class<T> type;
+    private final Map<Integer, ChangeEvent<T>> changes;
+
+    ChangeBatch(Class<T> type, Map<Integer, ChangeEvent<T>> changes) {
+        this.type = type;
+        this.changes = Collections.unmodifiableMap(changes);
+    }
+
+    //get entity type
+    public Class<T> getType() {
+        return type;
+    }
+
+    //get changes in the order the entities were first changed
+    public List<ChangeEvent<T>> getChanges() {
+        return new ArrayList<>(changes.values());
+    }
+
+    //get number of changed entities
+    public int size() {
+        return changes.size();
+    }
+
+    //return true if nothing changed
+    public boolean isEmpty() {
+        return changes.isEmpty();
+    }
+
+    /**
+     * Keeps the creates and updates whose entity matches, and every delete.
+     * Deletes carry no entity, so they are kept for subscribers to ignore if they never had it.
+     *
+     * @param filter selects the entities the subscriber shows
+     * @return a batch with the matching changes
+     */
+    public ChangeBatch<T> filter(Predicate<? super T> filter) {
+        Map<Integer, ChangeEvent<T>> kept = new LinkedHashMap<>();
+        for (ChangeEvent<T> change : changes.values()) {
+            if (change.kind() == ChangeType.DELETED || filter.test(change.value())) {
+                kept.put(change.id(), change);
+            }
+        }
+        return new ChangeBatch<>(type, kept);
+    }
+
+    /**
+     * Applies the batch to a list of entities in place, in a single pass over the list.
+     * Changed entities are set at their index, deleted ones removed and created ones appended
+     * together, so an observable list reports only the rows that changed and bound views keep
+     * their selection and scroll position. A create for an entity already in the list replaces it,
+     * so a list loaded while the batch was pending does not end up with duplicates.
+     *
+     * @param items the current entities, modified by this call
+     * @param idOf  gets the ID of an entity
+     */
+    public void applyTo(List<T> items, ToIntFunction<? super T> idOf) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        Map<Integer, ChangeEvent<T>> remaining = new HashMap<>(changes);
+        List<Integer> deleted = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            ChangeEvent<T> change = remaining.remove(idOf.applyAsInt(items.get(i)));
+            if (change == null) {
+                continue;
+            }
+            if (change.kind() == ChangeType.DELETED) {
+                deleted.add(i);
+            } else {
+                items.set(i, change.value());
+            }
+        }
+        // Removing from the end keeps the indices of the earlier rows valid
+        for (int i = deleted.size() - 1; i >= 0; i--) {
+            items.remove((int) deleted.get(i));
+        }
+        List<T> created = new ArrayList<>();
+        for (ChangeEvent<T> change : changes.values()) {
+            if (change.kind() != ChangeType.DELETED && remaining.containsKey(change.id())) {
+                created.add(change.value());
+            }
+        }
+        if (!created.isEmpty()) {
+            items.addAll(created);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.papel.imdb_clone.service.event;
+
+/**
+ * A change to one entity.
+ *
+ * @param type  the class of the entity, for example Movie or Actor
+ * @param id    the ID of the entity
+ * @param kind  what happened to the entity
+ * @param value the entity after the change, or null if it was deleted
+ * @param <T>   the entity type
+ */
+public record ChangeEvent<T>(Class<T> type, int id, ChangeType kind, T value) {
+}
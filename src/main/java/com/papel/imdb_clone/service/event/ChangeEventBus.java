@@ -0,0 +1,226 @@
+package com.papel.imdb_clone.service.event;
+
+import com.papel.imdb_clone.service.task.TaskScheduler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.ref.WeakReference;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Publishes changes to content, celebrities and ratings to the caches, indexes and views that show them.
+ * Changes are collected per entity type for a short delay and delivered as one coalesced
+ * {@link ChangeBatch}, so a bulk import or a burst of edits reaches every subscriber as a single delta
+ * instead of a full reload per change. Publishing a type nobody subscribed to costs one map lookup.
+ */
+public class ChangeEventBus {
+    private static final Logger logger = LoggerFactory.getLogger(ChangeEventBus.class);
+
+    //How long changes are collected before they are delivered
+    private static final long BATCH_DELAY_MILLIS = 50;
+
+    private static volatile ChangeEventBus instance;
+
+    private final Map<Class<?>, Topic<?>> topics = new ConcurrentHashMap<>();
+
+    private ChangeEventBus() {
+    }
+
+    /**
+     * Gets the singleton instance of ChangeEventBus.
+     *
+     * @return the ChangeEventBus instance
+     */
+    public static ChangeEventBus getInstance() {
+        if (instance == null) {
+            synchronized (ChangeEventBus.class) {
+                if (instance == null) {
+                    instance = new ChangeEventBus();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Records a change to an entity; it is delivered with the next batch of its type.
+     *
+     * @param type  the class of the entity
+     * @param id    the ID of the entity
+     * @param kind  what happened to the entity
+     * @param value the entity after the change, or null if it was deleted
+     */
+    @SuppressWarnings("unchecked")
+    public <T> void publish(Class<T> type, int id, ChangeType kind, T value) {
+        Topic<T> topic = (Topic<T>) topics.get(type);
+        if (topic != null && !topic.subscribers.isEmpty()) {
+            topic.add(new ChangeEvent<>(type, id, kind, kind == ChangeType.DELETED ? null : value));
+        }
+    }
+
+    /**
+     * Subscribes to the changes of an entity type.
+     *
+     * @param type       the class of the entities
+     * @param executor   runs the subscriber, for example Platform::runLater for views
+     * @param subscriber receives every batch of changes
+     * @return the subscription, to be cancelled when the changes are no longer needed
+     */
+    public <T> Subscription subscribe(Class<T> type, Executor executor, Consumer<ChangeBatch<T>> subscriber) {
+        return topic(type).add(new Subscriber<>(executor) {
+            @Override
+            boolean deliver(ChangeBatch<T> batch) {
+                run(() -> subscriber.accept(batch));
+                return true;
+            }
+        });
+    }
+
+    /**
+     * Subscribes an owner, such as a controller, that is only weakly referenced by the bus.
+     * The subscription ends by itself once the owner is garbage collected, so a view that is
+     * dropped from the view cache does not leak. The handler must not capture the owner.
+     *
+     * @param type     the class of the entities
+     * @param owner    the object the changes are applied to
+     * @param executor runs the handler, for example Platform::runLater for views
+     * @param handler  applies every batch of changes to the owner
+     * @return the subscription, which may also be cancelled explicitly
+     */
+    public <T, O> Subscription subscribe(Class<T> type, O owner, Executor executor,
+                                         BiConsumer<? super O, ChangeBatch<T>> handler) {
+        WeakReference<O> ownerRef = new WeakReference<>(owner);
+        return topic(type).add(new Subscriber<>(executor) {
+            @Override
+            boolean deliver(ChangeBatch<T> batch) {
+                O current = ownerRef.get();
+                if (current == null) {
+                    return false;
+                }
+                run(() -> handler.accept(current, batch));
+                return true;
+            }
+        });
+    }
+
+    /**
+     * Delivers all pending changes now instead of after the batching delay.
+     */
+    public void flush() {
+        for (Topic<?> topic : topics.values()) {
+            topic.flush();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Topic<T> topic(Class<T> type) {
+        return (Topic<T>) topics.computeIfAbsent(type, Topic::new);
+    }
+
+    /**
+     * A subscription to the changes of one entity type.
+     */
+    public interface Subscription {
+        /**
+         * Stops delivery of further batches.
+         */
+        void cancel();
+    }
+
+    //pending changes and subscribers of one entity type
+    private static final class Topic<T> {
+        private final Class<T> type;
+        private final List<Subscriber<T>> subscribers = new CopyOnWriteArrayList<>();
+        //guarded by this
+        private Map<Integer, ChangeEvent<T>> pending = new LinkedHashMap<>();
+        private boolean scheduled;
+
+        private Topic(Class<T> type) {
+            this.type = type;
+        }
+
+        private Subscription add(Subscriber<T> subscriber) {
+            subscribers.add(subscriber);
+            return () -> subscribers.remove(subscriber);
+        }
+
+        //coalesces the change with the pending one for the same entity and schedules delivery
+        private void add(ChangeEvent<T> event) {
+            boolean schedule;
+            synchronized (this) {
+                ChangeEvent<T> previous = pending.get(event.id());
+                if (previous == null) {
+                    pending.put(event.id(), event);
+                } else {
+                    ChangeType kind = previous.kind().then(event.kind());
+                    if (kind == null) {
+                        pending.remove(event.id());
+                    } else {
+                        pending.put(event.id(), new ChangeEvent<>(type, event.id(), kind, event.value()));
+                    }
+                }
+                schedule = !scheduled;
+                scheduled = true;
+            }
+            if (schedule) {
+                try {
+                    TaskScheduler.getInstance().schedule(this::flush, BATCH_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+                } catch (RejectedExecutionException e) {
+                    // Shutting down, so deliver right away
+                    flush();
+                }
+            }
+        }
+
+        private void flush() {
+            Map<Integer, ChangeEvent<T>> changes;
+            synchronized (this) {
+                scheduled = false;
+                if (pending.isEmpty()) {
+                    return;
+                }
+                changes = pending;
+                pending = new LinkedHashMap<>();
+            }
+            ChangeBatch<T> batch = new ChangeBatch<>(type, changes);
+            logger.debug("Delivering {} {} change(s) to {} subscriber(s)",
+                    batch.size(), type.getSimpleName(), subscribers.size());
+            for (Subscriber<T> subscriber : subscribers) {
+                if (!subscriber.deliver(batch)) {
+                    subscribers.remove(subscriber);
+                }
+            }
+        }
+    }
+
+    //a subscriber and the executor it runs on
+    private abstract static class Subscriber<T> {
+        private final Executor executor;
+
+        private Subscriber(Executor executor) {
+            this.executor = executor;
+        }
+
+        //hands the batch to the subscriber; returns false once the subscriber is gone
+        abstract boolean deliver(ChangeBatch<T> batch);
+
+        void run(Runnable delivery) {
+            executor.execute(() -> {
+                try {
+                    delivery.run();
+                } catch (RuntimeException e) {
+                    logger.warn("Change subscriber failed", e);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.papel.imdb_clone.service.event;
+
+/**
+ * The kind of change made to an entity.
+ */
+public enum ChangeType {
+    CREATED,
+    UPDATED,
+    DELETED;
+
+    //combines an earlier pending change with a later one for the same entity; null means no net change
+    ChangeType then(ChangeType later) {
+        if (later == DELETED) {
+            // Subscribers never saw an entity created and deleted within the same batch
+            return this == CREATED ? null : DELETED;
+        }
+        return this == CREATED ? CREATED : UPDATED;
+    }
+}
@@ -0,0 +1,39 @@
+package com.papel.imdb_clone.service.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free counter of events, such as cache hits or failed logins.
+ */
+public final class Counter {
+    private final String name;
+    private final LongAdder value = new LongAdder();
+
+    Counter(String name) {
+        this.name = name;
+    }
+
+    //get metric name
+    public String getName() {
+        return name;
+    }
+
+    //count one event
+    public void increment() {
+        value.increment();
+    }
+
+    //count several events
+    public void add(long events) {
+        value.add(events);
+    }
+
+    //get number of events counted so far
+    public long get() {
+        return value.sum();
+    }
+
+    void reset() {
+        value.reset();
+    }
+}
@@ -0,0 +1,165 @@
+package com.papel.imdb_clone.service.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram of latencies in the style of HdrHistogram.
+ * Values are counted in log-linear buckets: every power of two is split into 32 sub-buckets, so a
+ * reported percentile is within about 3% of the recorded value at any magnitude, from nanoseconds to
+ * hours, in a fixed array of counters. Recording is a handful of atomic increments and never blocks.
+ */
+public final class LatencyHistogram {
+    //Each power of two is divided into 2^SUB_BUCKET_BITS sub-buckets
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    //Largest recordable value, about 4.9 hours in nanoseconds; larger values are clamped
+    private static final int MAX_EXPONENT = 44;
+    private static final long MAX_VALUE = (1L << (MAX_EXPONENT + 1)) - 1;
+    private static final int BUCKET_COUNT = SUB_BUCKETS + (MAX_EXPONENT - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private final String name;
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+    LatencyHistogram(String name) {
+        this.name = name;
+    }
+
+    //get metric name
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Records a latency.
+     *
+     * @param nanos the latency in nanoseconds; negative values are ignored
+     */
+    public void record(long nanos) {
+        if (nanos < 0) {
+            return;
+        }
+        long value = Math.min(nanos, MAX_VALUE);
+        buckets.incrementAndGet(bucketOf(value));
+        count.increment();
+        totalNanos.add(value);
+        maxNanos.accumulate(value);
+    }
+
+    /**
+     * Records the time elapsed since a start time taken with {@link System#nanoTime()}.
+     *
+     * @param startNanos the start time
+     */
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Runs an action and records how long it took, also when it throws.
+     *
+     * @param action the action to time
+     */
+    public void time(Runnable action) {
+        long start = System.nanoTime();
+        try {
+            action.run();
+        } finally {
+            recordSince(start);
+        }
+    }
+
+    /**
+     * Takes a snapshot of the counts. Values recorded while the snapshot is taken may or may not be included.
+     *
+     * @return the count, mean, percentiles and maximum recorded so far
+     */
+    public Snapshot snapshot() {
+        long[] counts = new long[BUCKET_COUNT];
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = buckets.get(i);
+            total += counts[i];
+        }
+        long sum = totalNanos.sum();
+        long recorded = count.sum();
+        long max = maxNanos.get();
+        // A bucket's highest value may exceed the largest value actually recorded in it
+        return new Snapshot(total,
+                recorded == 0 ? 0 : toMillis(sum / (double) recorded),
+                toMillis(Math.min(percentile(counts, total, 0.50), max)),
+                toMillis(Math.min(percentile(counts, total, 0.90), max)),
+                toMillis(Math.min(percentile(counts, total, 0.99), max)),
+                toMillis(max));
+    }
+
+    /**
+     * Clears all recorded values.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets.set(i, 0);
+        }
+        count.reset();
+        totalNanos.reset();
+        maxNanos.reset();
+    }
+
+    //values below SUB_BUCKETS have a bucket each, larger ones share a bucket with values of the same top bits
+    static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) - SUB_BUCKETS;
+        return SUB_BUCKETS + shift * SUB_BUCKETS + subBucket;
+    }
+
+    //the largest value that falls into a bucket
+    static long highestValueOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = (bucket - SUB_BUCKETS) / SUB_BUCKETS;
+        long mantissa = SUB_BUCKETS + (bucket - SUB_BUCKETS) % SUB_BUCKETS;
+        return ((mantissa + 1) << shift) - 1;
+    }
+
+    private static long percentile(long[] counts, long total, double quantile) {
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return highestValueOf(i);
+            }
+        }
+        return highestValueOf(counts.length - 1);
+    }
+
+    private static double toMillis(double nanos) {
+        return nanos / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * Summary of a histogram at one point in time. Latencies are in milliseconds.
+     *
+     * @param count the number of recorded latencies
+     * @param mean  the mean latency
+     * @param p50   the median latency
+     * @param p90   the 90th percentile
+     * @param p99   the 99th percentile
+     * @param max   the largest latency
+     */
+    public record Snapshot(long count, double mean, double p50, double p90, double p99, double max) {
+    }
+}
@@ -0,0 +1,31 @@
+package com.papel.imdb_clone.service.metrics;
+
+import java.util.Map;
+
+/**
+ * Management interface of the metrics registry, registered as
+ * {@value MetricsRegistry#OBJECT_NAME} so that the metrics can be watched with JConsole or VisualVM.
+ */
+public interface MetricsMXBean {
+
+    //get every counter by name
+    Map<String, Long> getCounters();
+
+    //get every gauge by name
+    Map<String, Double> getGauges();
+
+    //get the number of recorded latencies by histogram name
+    Map<String, Long> getLatencyCounts();
+
+    //get the median latency in milliseconds by histogram name
+    Map<String, Double> getLatencyP50Millis();
+
+    //get the 99th percentile latency in milliseconds by histogram name
+    Map<String, Double> getLatencyP99Millis();
+
+    //get the one-line summary that is also written to the log
+    String getSummary();
+
+    //clear all counters and histograms
+    void reset();
+}
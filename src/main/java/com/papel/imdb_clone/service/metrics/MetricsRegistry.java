@@ -0,0 +1,281 @@
+package com.papel.imdb_clone.service.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.papel.imdb_clone.service.task.TaskScheduler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Registry of the application's counters, gauges and latency histograms.
+ * Metrics are created on first use by name, for example "search.latency", and recording never
+ * locks, so instrumented code can run on any thread. The registry can export its metrics as a
+ * periodic log line, as a JSON file rewritten on every export, and as a platform MBean.
+ */
+public class MetricsRegistry implements MetricsMXBean {
+    private static final Logger logger = LoggerFactory.getLogger(MetricsRegistry.class);
+
+    //Name under which the registry is registered with the platform MBean server
+    public static final String OBJECT_NAME = "com.papel.imdb_clone:type=Metrics";
+
+    private static volatile MetricsRegistry instance;
+
+    private final ConcurrentMap<String, Counter> counters = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, DoubleSupplier> gauges = new ConcurrentHashMap<>();
+    private final ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    //guarded by this
+    private ScheduledFuture<?> exportTask;
+    private Path jsonFile;
+    private ObjectName registeredName;
+
+    private MetricsRegistry() {
+    }
+
+    /**
+     * Gets the singleton instance of MetricsRegistry.
+     *
+     * @return the MetricsRegistry instance
+     */
+    public static MetricsRegistry getInstance() {
+        if (instance == null) {
+            synchronized (MetricsRegistry.class) {
+                if (instance == null) {
+                    instance = new MetricsRegistry();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Gets a counter, creating it on first use.
+     *
+     * @param name the name of the counter
+     * @return the counter
+     */
+    public Counter counter(String name) {
+        return counters.computeIfAbsent(name, Counter::new);
+    }
+
+    /**
+     * Gets a latency histogram, creating it on first use.
+     *
+     * @param name the name of the histogram
+     * @return the histogram
+     */
+    public LatencyHistogram histogram(String name) {
+        return histograms.computeIfAbsent(name, LatencyHistogram::new);
+    }
+
+    /**
+     * Registers a gauge, a value read whenever metrics are exported. A gauge with the same name is replaced.
+     *
+     * @param name  the name of the gauge
+     * @param value supplies the current value; it must be cheap and thread-safe
+     */
+    public void gauge(String name, DoubleSupplier value) {
+        gauges.put(name, value);
+    }
+
+    @Override
+    public Map<String, Long> getCounters() {
+        Map<String, Long> values = new TreeMap<>();
+        counters.forEach((name, counter) -> values.put(name, counter.get()));
+        return values;
+    }
+
+    @Override
+    public Map<String, Double> getGauges() {
+        Map<String, Double> values = new TreeMap<>();
+        gauges.forEach((name, gauge) -> values.put(name, readGauge(name, gauge)));
+        return values;
+    }
+
+    /**
+     * Takes a snapshot of every histogram.
+     *
+     * @return the histogram snapshots by name
+     */
+    public Map<String, LatencyHistogram.Snapshot> getLatencies() {
+        Map<String, LatencyHistogram.Snapshot> values = new TreeMap<>();
+        histograms.forEach((name, histogram) -> values.put(name, histogram.snapshot()));
+        return values;
+    }
+
+    @Override
+    public Map<String, Long> getLatencyCounts() {
+        Map<String, Long> values = new TreeMap<>();
+        getLatencies().forEach((name, snapshot) -> values.put(name, snapshot.count()));
+        return values;
+    }
+
+    @Override
+    public Map<String, Double> getLatencyP50Millis() {
+        Map<String, Double> values = new TreeMap<>();
+        getLatencies().forEach((name, snapshot) -> values.put(name, snapshot.p50()));
+        return values;
+    }
+
+    @Override
+    public Map<String, Double> getLatencyP99Millis() {
+        Map<String, Double> values = new TreeMap<>();
+        getLatencies().forEach((name, snapshot) -> values.put(name, snapshot.p99()));
+        return values;
+    }
+
+    @Override
+    public String getSummary() {
+        StringBuilder summary = new StringBuilder("Metrics:");
+        getLatencies().forEach((name, s) -> {
+            if (s.count() > 0) {
+                summary.append(String.format(" %s[n=%d p50=%.2fms p99=%.2fms max=%.2fms]",
+                        name, s.count(), s.p50(), s.p99(), s.max()));
+            }
+        });
+        getCounters().forEach((name, value) -> summary.append(' ').append(name).append('=').append(value));
+        getGauges().forEach((name, value) -> summary.append(String.format(" %s=%.3f", name, value)));
+        return summary.toString();
+    }
+
+    @Override
+    public void reset() {
+        counters.values().forEach(Counter::reset);
+        histograms.values().forEach(LatencyHistogram::reset);
+    }
+
+    /**
+     * Writes every metric to a JSON file. The file is replaced atomically, so readers never see a partial file.
+     *
+     * @param file the file to write
+     * @throws IOException if the file cannot be written
+     */
+    public void writeJson(Path file) throws IOException {
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("timestamp", Instant.now().toString());
+        document.put("counters", getCounters());
+        document.put("gauges", getGauges());
+        document.put("latenciesMillis", getLatencies());
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        mapper.writeValue(temporary.toFile(), document);
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Starts exporting metrics periodically on the shared timer thread.
+     * Each export logs the summary line and, if a file is given, rewrites the JSON file.
+     *
+     * @param interval the time between exports
+     * @param jsonFile the JSON file to rewrite, or null to only log
+     */
+    public synchronized void startExport(Duration interval, Path jsonFile) {
+        stopExport();
+        this.jsonFile = jsonFile;
+        try {
+            exportTask = TaskScheduler.getInstance().scheduleAtFixedRate(this::export,
+                    interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+            logger.info("Exporting metrics every {} s{}", interval.toSeconds(),
+                    jsonFile != null ? " to " + jsonFile : "");
+        } catch (RejectedExecutionException e) {
+            logger.warn("Could not schedule metrics export: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Stops the periodic export and performs a final one, so the last values are not lost on shutdown.
+     */
+    public synchronized void stopExport() {
+        if (exportTask != null) {
+            exportTask.cancel(false);
+            exportTask = null;
+            export();
+        }
+    }
+
+    /**
+     * Registers the registry with the platform MBean server under {@value #OBJECT_NAME}.
+     * Registering twice has no effect.
+     */
+    public synchronized void registerMBean() {
+        if (registeredName != null) {
+            return;
+        }
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(this, name);
+            }
+            registeredName = name;
+            logger.info("Metrics available over JMX as {}", OBJECT_NAME);
+        } catch (JMException e) {
+            logger.warn("Could not register metrics MBean: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Removes the registry from the platform MBean server.
+     */
+    public synchronized void unregisterMBean() {
+        if (registeredName == null) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(registeredName);
+        } catch (JMException e) {
+            logger.debug("Could not unregister metrics MBean: {}", e.getMessage());
+        }
+        registeredName = null;
+    }
+
+    //logs the summary and rewrites the JSON file; failures are logged so the schedule keeps running
+    private void export() {
+        logger.info(getSummary());
+        Path file;
+        synchronized (this) {
+            file = jsonFile;
+        }
+        if (file != null) {
+            try {
+                writeJson(file);
+            } catch (IOException e) {
+                logger.warn("Could not write metrics to {}: {}", file, e.getMessage());
+            }
+        }
+    }
+
+    //a failing gauge reads as NaN instead of breaking the export
+    private static double readGauge(String name, DoubleSupplier gauge) {
+        try {
+            return gauge.getAsDouble();
+        } catch (RuntimeException e) {
+            logger.debug("Gauge {} failed: {}", name, e.getMessage());
+            return Double.NaN;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.papel.imdb_clone.service.navigation;
 
+import com.papel.imdb_clone.config.ApplicationConfig;
 import com.papel.imdb_clone.controllers.content.EditContentController;
 import com.papel.imdb_clone.controllers.content.MoviesController;
 import com.papel.imdb_clone.controllers.people.CelebritiesController;
@@ -8,9 +9,13 @@ import com.papel.imdb_clone.controllers.content.SeriesController;
 import com.papel.imdb_clone.controllers.search.AdvancedSearchController;
 import com.papel.imdb_clone.service.content.MoviesService;
 import com.papel.imdb_clone.service.content.SeriesService;
+import com.papel.imdb_clone.service.metrics.LatencyHistogram;
+import com.papel.imdb_clone.service.metrics.MetricsRegistry;
 import com.papel.imdb_clone.service.search.SearchService;
 import com.papel.imdb_clone.service.search.ServiceLocator;
+import com.papel.imdb_clone.service.task.TaskScheduler;
 import com.papel.imdb_clone.service.validation.AuthService;
+import javafx.application.Platform;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Node;
 import javafx.scene.Parent;
@@ -23,8 +28,10 @@ import org.slf4j.LoggerFactory;
 import java.io.IOException;
 import java.time.Instant;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Stack;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Service for handling navigation between views.
@@ -33,8 +40,19 @@ public class NavigationService {
 
     private static final Logger logger = LoggerFactory.getLogger(NavigationService.class);
     private static NavigationService instance;
+    //Main views loaded into the cache after login
+    private static final List<String> MAIN_VIEWS = List.of(
+            "/fxml/content/movie-view.fxml",
+            "/fxml/content/series-view.fxml",
+            "/fxml/celebrities/celebrities-view.fxml");
+    private static final long PREWARM_DELAY_MILLIS = 500;
     private final Stack<Scene> sceneStack = new Stack<>();
     private final Map<String, Object> userData = new HashMap<>();
+    //Views kept for reuse between navigations
+    private final ViewCache viewCache = new ViewCache(ApplicationConfig.getInstance().getViewCacheSize());
+    //Time to switch views, and the part of it spent loading FXML for views that were not cached
+    private final LatencyHistogram navigationLatency = MetricsRegistry.getInstance().histogram("navigation");
+    private final LatencyHistogram viewLoadLatency = MetricsRegistry.getInstance().histogram("navigation.viewLoad");
     private Node newContent;
 
     /**
@@ -62,6 +80,7 @@ public class NavigationService {
      * @param title        Title for the new window
      */
     public void navigateTo(String fxmlPath, Map<String, Object> data, Stage currentStage, String title) {
+        long start = System.nanoTime();
         try {
             if (fxmlPath == null || fxmlPath.trim().isEmpty()) {
                 throw new IllegalArgumentException("FXML path cannot be null or empty");
@@ -88,19 +107,10 @@ public class NavigationService {
                 BorderPane rootPane = (BorderPane) currentScene.getRoot();
                 Node sidebar = rootPane.getLeft();
                 
-                // Load the new content
-                FXMLLoader loader = new FXMLLoader(getClass().getResource(fxmlPath));
-                if (loader.getLocation() == null) {
-                    throw new IOException("FXML file not found: " + fxmlPath);
-                }
-                
-                Node newContent = loader.load();
-                
-                // Initialize the controller
-                Object controller = loader.getController();
-                if (controller != null) {
-                    initializeController(controller);
-                }
+                // Load the new content, reusing the cached view if there is one
+                ViewCache.CachedView view = loadView(fxmlPath);
+                Node newContent = view.root();
+                Object controller = view.controller();
                 
                 // Update only the center content
                 rootPane.setCenter(newContent);
@@ -124,9 +134,86 @@ public class NavigationService {
             String errorMsg = String.format("Failed to navigate to %s: %s", title, e.getMessage());
             logger.error(errorMsg, e);
             throw new RuntimeException(errorMsg, e);
+        } finally {
+            navigationLatency.recordSince(start);
         }
     }
     
+    /**
+     * Gets a view from the cache, or loads and initializes it from FXML.
+     * Views whose controllers implement ViewLifecycle are cached and get onViewReused when shown again.
+     *
+     * @param fxmlPath Path to the FXML file relative to resources
+     * @return the view and its controller
+     */
+    private ViewCache.CachedView loadView(String fxmlPath) throws Exception {
+        ViewCache.CachedView cached = viewCache.get(fxmlPath);
+        if (cached != null) {
+            logger.debug("Reusing cached view: {}", fxmlPath);
+            if (cached.controller() instanceof ViewLifecycle lifecycle) {
+                lifecycle.onViewReused(getCurrentUserId());
+            }
+            return cached;
+        }
+
+        long start = System.nanoTime();
+        FXMLLoader loader = new FXMLLoader(getClass().getResource(fxmlPath));
+        if (loader.getLocation() == null) {
+            throw new IOException("FXML file not found: " + fxmlPath);
+        }
+        Node root = loader.load();
+
+        // Initialize the controller
+        Object controller = loader.getController();
+        if (controller != null) {
+            initializeController(controller);
+        }
+
+        ViewCache.CachedView view = new ViewCache.CachedView(root, controller);
+        if (controller instanceof ViewLifecycle) {
+            viewCache.put(fxmlPath, view);
+        }
+        viewLoadLatency.recordSince(start);
+        logger.debug("Loaded view {} in {} ms", fxmlPath, (System.nanoTime() - start) / 1_000_000);
+        return view;
+    }
+
+    /**
+     * Loads the main views into the view cache in the background after login,
+     * so that the first switch to Movies, Series or Celebrities is instant.
+     * FXML has to be loaded on the FX thread, so the views are loaded one per pulse
+     * after a short delay to let the home view render first.
+     */
+    public void prewarmMainViews() {
+        TaskScheduler.getInstance().schedule(() -> prewarmNext(0), PREWARM_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    //load one main view on the FX thread and queue the next one
+    private void prewarmNext(int index) {
+        if (index >= MAIN_VIEWS.size()) {
+            return;
+        }
+        Platform.runLater(() -> {
+            String fxmlPath = MAIN_VIEWS.get(index);
+            try {
+                if (!viewCache.contains(fxmlPath)) {
+                    loadView(fxmlPath);
+                    logger.debug("Pre-warmed view: {}", fxmlPath);
+                }
+            } catch (Exception e) {
+                logger.warn("Failed to pre-warm view {}: {}", fxmlPath, e.getMessage());
+            }
+            prewarmNext(index + 1);
+        });
+    }
+
+    /**
+     * Drops all cached views, for example on logout.
+     */
+    public void clearViewCache() {
+        viewCache.clear();
+    }
+
     private void loadFullScene(String fxmlPath, Stage stage, String title) throws Exception {
         FXMLLoader loader = new FXMLLoader(getClass().getResource(fxmlPath));
         Parent root = loader.load();
@@ -145,7 +232,8 @@ public class NavigationService {
         this.currentController = controller;
     }
     
-    private void initializeController(Object controller) throws Exception {
+    //resolve the current user ID from the session token in user data, or -1 for guests
+    private int getCurrentUserId() {
         // Get the current session token from user data
         String sessionToken = (String) getUserData("sessionToken");
         int currentUserId = -1;
@@ -158,6 +246,11 @@ public class NavigationService {
         } else {
             logger.debug("No session token found, using default user ID (-1)");
         }
+        return currentUserId;
+    }
+
+    private void initializeController(Object controller) throws Exception {
+        int currentUserId = getCurrentUserId();
 
         if (controller instanceof MainController) {
             ((MainController) controller).setPrimaryStage(ServiceLocator.getPrimaryStage());
@@ -0,0 +1,73 @@
+package com.papel.imdb_clone.service.navigation;
+
+import javafx.scene.Node;
+
+import java.lang.ref.SoftReference;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * LRU cache of loaded views keyed by FXML path.
+ * Entries are held through soft references, so the garbage collector may drop
+ * cached views under memory pressure; such entries simply reload on the next visit.
+ * Only used from the JavaFX Application Thread.
+ */
+class ViewCache {
+
+    /**
+     * A loaded view together with its controller.
+     *
+     * @param root       the root node of the view
+     * @param controller the controller created by the FXMLLoader
+     */
+    record CachedView(Node root, Object controller) {
+    }
+
+    private final int maxEntries;
+    private final Map<String, SoftReference<CachedView>> entries;
+
+    ViewCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, SoftReference<CachedView>> eldest) {
+                return size() > ViewCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Gets a cached view.
+     *
+     * @param fxmlPath the FXML path of the view
+     * @return the cached view, or null if it was never cached, evicted or collected
+     */
+    CachedView get(String fxmlPath) {
+        SoftReference<CachedView> reference = entries.get(fxmlPath);
+        CachedView view = reference != null ? reference.get() : null;
+        if (reference != null && view == null) {
+            entries.remove(fxmlPath);
+        }
+        return view;
+    }
+
+    /**
+     * Caches a view, evicting the least recently used one if the cache is full.
+     *
+     * @param fxmlPath the FXML path of the view
+     * @param view     the loaded view
+     */
+    void put(String fxmlPath, CachedView view) {
+        if (maxEntries > 0) {
+            entries.put(fxmlPath, new SoftReference<>(view));
+        }
+    }
+
+    boolean contains(String fxmlPath) {
+        return get(fxmlPath) != null;
+    }
+
+    void clear() {
+        entries.clear();
+    }
+}
@@ -0,0 +1,16 @@
+package com.papel.imdb_clone.service.navigation;
+
+/**
+ * Lifecycle hook for controllers whose views may be cached and reused by NavigationService.
+ * Only views whose controllers implement this interface are cached.
+ */
+public interface ViewLifecycle {
+
+    /**
+     * Called when a cached view is shown again instead of being reloaded from FXML.
+     * Implementations should refresh only what changed since the view was last shown.
+     *
+     * @param currentUserId the ID of the current user, or -1 for guests
+     */
+    void onViewReused(int currentUserId);
+}
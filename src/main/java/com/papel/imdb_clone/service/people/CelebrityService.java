@@ -6,6 +6,8 @@ import com.papel.imdb_clone.exceptions.EntityNotFoundException;
 import com.papel.imdb_clone.exceptions.InvalidInputException;
 import com.papel.imdb_clone.model.people.Celebrity;
 import com.papel.imdb_clone.repository.CelebritiesRepository;
+import com.papel.imdb_clone.service.event.ChangeEventBus;
+import com.papel.imdb_clone.service.event.ChangeType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -29,6 +31,7 @@ public class CelebrityService<T extends Celebrity> {
     private final CelebrityManager<T> celebrityManager;
     private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
     private final Class<T> celebrityType;
+    private final ChangeEventBus changeEvents = ChangeEventBus.getInstance();
 
 
     public CelebrityService(Class<T> celebrityType, CelebritiesRepository celebritiesRepository) {
@@ -85,6 +88,32 @@ public class CelebrityService<T extends Celebrity> {
         }
     }
 
+    /**
+     * Finds celebrities whose full name is the given name (case-insensitive).
+     * Unlike {@link #findByName(String)} this is an index lookup, so the data loaders use it to
+     * find the cast members and directors they have already created.
+     *
+     * @param name The full name to look up, first and last name separated by a space
+     * @return List of matching celebrities, empty list if none found or if the name is empty
+     * @throws InvalidInputException if the name is null
+     */
+    public List<T> findByExactName(String name) throws InvalidInputException {
+        if (name == null) {
+            throw new InvalidInputException("Name cannot be null");
+        }
+        String fullName = name.trim();
+        if (fullName.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            return celebritiesRepository.findByExactName(fullName, celebrityType);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
     /**
      * The minimum valid ID value for a celebrity.
      */
@@ -226,6 +255,7 @@ public class CelebrityService<T extends Celebrity> {
         validateCelebrity(celebrity);
         
         final String fullName = celebrity.getFullName();
+        final ChangeType change = celebrity.getId() == 0 ? ChangeType.CREATED : ChangeType.UPDATED;
         logger.debug("Saving {}: {}", celebrityType.getSimpleName(), fullName);
 
         lock.writeLock().lock();
@@ -251,11 +281,12 @@ public class CelebrityService<T extends Celebrity> {
                 T savedCelebrity = celebritiesRepository.save(celebrity);
                 
                 if (savedCelebrity.getId() == celebrity.getId()) {
-                    logger.info("Updated {}: {}", celebrityType.getSimpleName(), celebrity.getFullName());
+                    logger.debug("Updated {}: {}", celebrityType.getSimpleName(), celebrity.getFullName());
                 } else {
-                    logger.info("Created new {}: {}", celebrityType.getSimpleName(), celebrity.getFullName());
+                    logger.debug("Created new {}: {}", celebrityType.getSimpleName(), celebrity.getFullName());
                 }
-                
+
+                changeEvents.publish(celebrityType, savedCelebrity.getId(), change, savedCelebrity);
                 return savedCelebrity;
             } catch (Exception e) {
                 String errorMsg = String.format("Error saving %s: %s %s", 
@@ -403,6 +434,7 @@ public class CelebrityService<T extends Celebrity> {
             if (deleted) {
                 logger.info("Successfully deleted {} with ID: {}", 
                            celebrityType.getSimpleName(), id);
+                changeEvents.publish(celebrityType, id, ChangeType.DELETED, null);
                 
                 // Also remove from the manager if it exists there
                 try {
@@ -103,8 +103,13 @@ public class UserService {
                     );
                 }
 
-                // Note: Email uniqueness check is not implemented in the repository
-                // You might want to add this functionality if needed
+                // Check if email already exists
+                if (dataManager.getUserRepository().existsByEmail(email)) {
+                    throw new AuthException(
+                        AuthErrorType.ACCOUNT_ALREADY_EXISTS,
+                        "Email already registered: " + email
+                    );
+                }
 
                 // Create and save new user
                 // Using default constructor and setting fields individually
@@ -1,10 +1,19 @@
 package com.papel.imdb_clone.service.rating;
 
+import com.papel.imdb_clone.exceptions.RateLimitExceededException;
 import com.papel.imdb_clone.model.rating.UserRating;
+import com.papel.imdb_clone.service.event.ChangeEventBus;
+import com.papel.imdb_clone.service.event.ChangeType;
+import com.papel.imdb_clone.service.metrics.LatencyHistogram;
+import com.papel.imdb_clone.service.metrics.MetricsRegistry;
+import com.papel.imdb_clone.service.validation.RateLimiter;
 
 import java.io.*;
+import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -14,11 +23,19 @@ import org.slf4j.LoggerFactory;
  */
 public class RatingService {
     private static final Logger logger = LoggerFactory.getLogger(RatingService.class);
+    //Ratings a user may create in a burst, and the time to earn them all back
+    private static final int RATING_BURST = 10;
+    private static final Duration RATING_WINDOW = Duration.ofMinutes(1);
     private static RatingService instance;
     private final Map<Integer, UserRating> ratings = new ConcurrentHashMap<>();
-    private final Map<Integer, List<Integer>> userRatings = new ConcurrentHashMap<>();
-    private final Map<Integer, List<Integer>> contentRatings = new ConcurrentHashMap<>();
-    private int nextRatingId = 1;
+    //Rating IDs by user and by content, in concurrent sets ordered by ID since averages read them while ratings are added
+    private final Map<Integer, Set<Integer>> userRatings = new ConcurrentHashMap<>();
+    private final Map<Integer, Set<Integer>> contentRatings = new ConcurrentHashMap<>();
+    private final ChangeEventBus changeEvents = ChangeEventBus.getInstance();
+    private final RateLimiter ratingLimiter = new RateLimiter("rating", RATING_BURST, RATING_WINDOW, 10_000);
+    //Time taken by rating creates, updates and deletes
+    private final LatencyHistogram writeLatency = MetricsRegistry.getInstance().histogram("ratings.write");
+    private final AtomicInteger nextRatingId = new AtomicInteger(1);
 
     private RatingService() {
         // Private constructor for singleton which means only one instance of RatingService can exist
@@ -44,23 +61,7 @@ public class RatingService {
                     
                     // Repopulate the maps
                     for (UserRating rating : loadedRatings) {
-                        int ratingId = rating.getId();
-                        int userId = rating.getUserId();
-                        int contentId = rating.getContentId();
-                        
-                        // Add to ratings map
-                        ratings.put(ratingId, rating);
-                        
-                        // Update user ratings index
-                        userRatings.computeIfAbsent(userId, k -> new ArrayList<>()).add(ratingId);
-                        
-                        // Update content ratings index
-                        contentRatings.computeIfAbsent(contentId, k -> new ArrayList<>()).add(ratingId);
-                        
-                        // Update nextRatingId if needed
-                        if (ratingId >= nextRatingId) {
-                            nextRatingId = ratingId + 1;
-                        }
+                        index(rating);
                     }
                     
                     logger.info("Successfully loaded {} ratings from file", loadedRatings.size());
@@ -77,6 +78,59 @@ public class RatingService {
         }
     }
 
+    //adds a rating under its own ID to the map and the user and content indices
+    private void index(UserRating rating) {
+        int ratingId = rating.getId();
+        ratings.put(ratingId, rating);
+        userRatings.computeIfAbsent(rating.getUserId(), k -> new ConcurrentSkipListSet<>()).add(ratingId);
+        contentRatings.computeIfAbsent(rating.getContentId(), k -> new ConcurrentSkipListSet<>()).add(ratingId);
+        nextRatingId.accumulateAndGet(ratingId + 1, Math::max);
+    }
+
+    /**
+     * Adds an existing rating under its own ID, e.g. when importing an export.
+     * Unlike {@link #createRating} this is not rate limited.
+     *
+     * @param rating the rating, with an ID above 0
+     * @return true if it was added, false if its ID is taken or the user already rated the content
+     * @throws IllegalArgumentException if the rating has no ID, user ID or content ID
+     */
+    public boolean restoreRating(UserRating rating) {
+        return restoreRatings(List.of(rating)) == 1;
+    }
+
+    /**
+     * Adds a batch of existing ratings under their own IDs, e.g. when importing an export.
+     *
+     * @param batch the ratings, each with an ID above 0
+     * @return the number of ratings added; the others had a taken ID or rated content the user already rated
+     * @throws IllegalArgumentException if a rating has no ID, user ID or content ID; nothing is added then
+     */
+    public synchronized int restoreRatings(List<UserRating> batch) {
+        for (UserRating rating : batch) {
+            if (rating.getId() <= 0 || rating.getUserId() <= 0 || rating.getContentId() <= 0) {
+                throw new IllegalArgumentException("Rating to restore needs an ID, a user ID and a content ID");
+            }
+        }
+        Set<Long> rated = new HashSet<>();
+        List<UserRating> added = new ArrayList<>(batch.size());
+        for (UserRating rating : batch) {
+            int userId = rating.getUserId();
+            int contentId = rating.getContentId();
+            if (ratings.containsKey(rating.getId())
+                    || !rated.add((long) userId << 32 | (contentId & 0xFFFFFFFFL))
+                    || getUserRating(userId, contentId) != null) {
+                continue;
+            }
+            index(rating);
+            added.add(rating);
+        }
+        for (UserRating rating : added) {
+            changeEvents.publish(UserRating.class, rating.getId(), ChangeType.CREATED, rating);
+        }
+        return added.size();
+    }
+
     // Singleton pattern implementation for RatingService
     public static synchronized RatingService getInstance() {
         if (instance == null) {
@@ -94,8 +148,11 @@ public class RatingService {
      * @throws IllegalArgumentException if the rating value is invalid
      * @throws IllegalStateException if the user has already rated this content
      * @throws RuntimeException if there's an error creating the rating
+     * @throws RateLimitExceededException if the user created too many ratings recently
      */
-    public UserRating createRating(int userId, int contentId, double ratingValue) {
+    public UserRating createRating(int userId, int contentId, double ratingValue) throws RateLimitExceededException {
+        ratingLimiter.acquire("user:" + userId);
+        long start = System.nanoTime();
         try {
             logger.debug("Creating new rating - User: {}, Content: {}, Rating: {}", userId, contentId, ratingValue);
             validateRating(ratingValue);
@@ -108,7 +165,7 @@ public class RatingService {
                 throw new IllegalStateException("User has already rated this content");
             }
             
-            int ratingId = nextRatingId++;
+            int ratingId = nextRatingId.getAndIncrement();
             // Create new rating with the double value
             UserRating rating = new UserRating(userId, contentId, ratingValue);
             rating.setId(ratingId);
@@ -117,11 +174,12 @@ public class RatingService {
             ratings.put(ratingId, rating);
             
             // Update user and content indices
-            userRatings.computeIfAbsent(userId, k -> new ArrayList<>()).add(ratingId);
-            contentRatings.computeIfAbsent(contentId, k -> new ArrayList<>()).add(ratingId);
+            userRatings.computeIfAbsent(userId, k -> new ConcurrentSkipListSet<>()).add(ratingId);
+            contentRatings.computeIfAbsent(contentId, k -> new ConcurrentSkipListSet<>()).add(ratingId);
             
             logger.info("Successfully created rating ID: {} for user: {} and content: {}", 
                 ratingId, userId, contentId);
+            changeEvents.publish(UserRating.class, ratingId, ChangeType.CREATED, rating);
             return rating;
             
         } catch (IllegalArgumentException | IllegalStateException e) {
@@ -132,6 +190,8 @@ public class RatingService {
                 userId, contentId, e.getMessage());
             logger.error(errorMsg, e);
             throw new RuntimeException(errorMsg, e);
+        } finally {
+            writeLatency.recordSince(start);
         }
     }
     
@@ -145,6 +205,7 @@ public class RatingService {
      * @throws RuntimeException if there's an error updating the rating
      */
     public void updateRating(int ratingId, double newRating) {
+        long start = System.nanoTime();
         try {
             logger.debug("Updating rating ID: {} with new rating: {}", ratingId, newRating);
             validateRating(newRating);
@@ -158,6 +219,7 @@ public class RatingService {
             
             rating.setRating(newRating);
             logger.info("Successfully updated rating ID: {} with new rating: {}", ratingId, newRating);
+            changeEvents.publish(UserRating.class, ratingId, ChangeType.UPDATED, rating);
             
         } catch (IllegalArgumentException | NoSuchElementException e) {
             // Re-throw validation/not found exceptions
@@ -166,6 +228,8 @@ public class RatingService {
             String errorMsg = String.format("Failed to update rating ID %d: %s", ratingId, e.getMessage());
             logger.error(errorMsg, e);
             throw new RuntimeException(errorMsg, e);
+        } finally {
+            writeLatency.recordSince(start);
         }
     }
     
@@ -217,23 +281,25 @@ public class RatingService {
      * @throws RuntimeException if there's an error deleting the rating
      */
     public boolean deleteRating(int ratingId) {
+        long start = System.nanoTime();
         try {
             logger.debug("Deleting rating ID: {}", ratingId);
             UserRating rating = ratings.remove(ratingId);
             if (rating != null) {
                 // Remove from user index
-                List<Integer> userRatingsList = userRatings.get(rating.getUserId());
+                Set<Integer> userRatingsList = userRatings.get(rating.getUserId());
                 if (userRatingsList != null) {
-                    userRatingsList.remove(Integer.valueOf(ratingId));
+                    userRatingsList.remove(ratingId);
                 }
                 
                 // Remove from content index
-                List<Integer> contentRatingsList = contentRatings.get(rating.getContentId());
+                Set<Integer> contentRatingsList = contentRatings.get(rating.getContentId());
                 if (contentRatingsList != null) {
-                    contentRatingsList.remove(Integer.valueOf(ratingId));
+                    contentRatingsList.remove(ratingId);
                 }
                 
                 logger.info("Successfully deleted rating ID: {}", ratingId);
+                changeEvents.publish(UserRating.class, ratingId, ChangeType.DELETED, null);
                 return true;
             }
             logger.warn("Rating ID {} not found for deletion", ratingId);
@@ -244,6 +310,8 @@ public class RatingService {
                 ratingId, e.getMessage());
             logger.error(errorMsg, e);
             throw new RuntimeException(errorMsg, e);
+        } finally {
+            writeLatency.recordSince(start);
         }
     }
     
@@ -293,7 +361,7 @@ public class RatingService {
             }
             
             logger.debug("Retrieving rating for user: {} and content: {}", userId, contentId);
-            List<Integer> userRatingIds = userRatings.getOrDefault(userId, Collections.emptyList());
+            Set<Integer> userRatingIds = userRatings.getOrDefault(userId, Collections.emptySet());
             
             for (int ratingId : userRatingIds) {
                 UserRating rating = ratings.get(ratingId);
@@ -317,7 +385,16 @@ public class RatingService {
             throw new RuntimeException(errorMsg, e);
         }
     }
-    
+
+    /**
+     * Gets all ratings, e.g. to export them. The view is live and iterating it does not copy the ratings;
+     * ratings added or removed while iterating may or may not be seen.
+     * @return An unmodifiable view of all ratings, in no particular order
+     */
+    public Collection<UserRating> getAllRatings() {
+        return Collections.unmodifiableCollection(ratings.values());
+    }
+
     /**
      * Gets all ratings by a specific user.
      * @param userId The ID of the user
@@ -332,7 +409,7 @@ public class RatingService {
             }
             
             logger.debug("Retrieving all ratings for user: {}", userId);
-            List<UserRating> result = userRatings.getOrDefault(userId, Collections.emptyList())
+            List<UserRating> result = userRatings.getOrDefault(userId, Collections.emptySet())
                     .stream()
                     .map(ratings::get)
                     .filter(Objects::nonNull)
@@ -366,7 +443,7 @@ public class RatingService {
             }
             
             logger.debug("Retrieving all ratings for content: {}", contentId);
-            List<UserRating> result = contentRatings.getOrDefault(contentId, Collections.emptyList())
+            List<UserRating> result = contentRatings.getOrDefault(contentId, Collections.emptySet())
                     .stream()
                     .map(ratings::get)
                     .filter(Objects::nonNull)
@@ -0,0 +1,30 @@
+package com.papel.imdb_clone.service.search;
+
+/**
+ * Counters of the search result cache, used to tune its size.
+ *
+ * @param hits          searches answered from the cache
+ * @param misses        searches that had to scan the catalogue
+ * @param stale         cached results dropped because the content changed since they were computed
+ * @param evictions     results evicted to stay within the size and weight bounds
+ * @param entries       results currently cached
+ * @param weight        current weight of the cached results
+ */
+public record SearchCacheStats(long hits, long misses, long stale, long evictions, int entries, long weight) {
+
+    /**
+     * Gets the share of searches answered from the cache.
+     *
+     * @return the hit rate between 0 and 1, or 0 before the first search
+     */
+    public double hitRate() {
+        long requests = hits + misses;
+        return requests == 0 ? 0 : (double) hits / requests;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("hits=%d, misses=%d (%.1f%% hit rate), stale=%d, evictions=%d, entries=%d, weight=%d",
+                hits, misses, hitRate() * 100, stale, evictions, entries, weight);
+    }
+}
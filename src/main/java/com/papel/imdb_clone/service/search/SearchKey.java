@@ -0,0 +1,76 @@
+package com.papel.imdb_clone.service.search;
+
+import com.papel.imdb_clone.controllers.search.SearchCriteria;
+import com.papel.imdb_clone.enums.ContentType;
+import com.papel.imdb_clone.enums.Genre;
+import com.papel.imdb_clone.enums.SortKey;
+
+import java.util.Locale;
+
+/**
+ * The parts of a {@link SearchCriteria} that decide which content matches and in which order,
+ * normalized so that criteria selecting the same rows in the same order produce equal keys.
+ * Blank text and non-positive bounds do not affect the matching rows and are left out, and the
+ * direction is left out when there is no sort order.
+ *
+ * @param text       the lower-case title text, or an empty string to match any title
+ * @param type       MOVIE, SERIES, or null to search all content
+ * @param genre      the required genre, or null
+ * @param minYear    the earliest year, or null
+ * @param maxYear    the latest year, or null
+ * @param minRating  the lowest rating, or null
+ * @param maxRating  the highest rating, or null
+ * @param sort       the order of the results, or null to keep the catalogue order
+ * @param descending whether the order is reversed
+ */
+record SearchKey(String text, ContentType type, Genre genre, Integer minYear, Integer maxYear,
+                 Double minRating, Double maxRating, SortKey sort, boolean descending) {
+
+    /**
+     * Normalizes search criteria.
+     *
+     * @param criteria the criteria entered by the user
+     * @return the key of the rows the criteria select
+     */
+    static SearchKey of(SearchCriteria criteria) {
+        // The title takes precedence over the free text query
+        String text = "";
+        if (criteria.getTitle() != null && !criteria.getTitle().trim().isEmpty()) {
+            text = criteria.getTitle().trim().toLowerCase();
+        } else if (criteria.getQuery() != null && !criteria.getQuery().trim().isEmpty()) {
+            text = criteria.getQuery().trim().toLowerCase();
+        }
+        ContentType type = criteria.getContentType();
+        if (type != ContentType.MOVIE && type != ContentType.SERIES) {
+            type = null;
+        }
+        Double maxRating = criteria.getMaxRating() != null ? ((Number) criteria.getMaxRating()).doubleValue() : null;
+        SortKey sort = sortKey(criteria.getSortField());
+        return new SearchKey(text, type, criteria.getGenre(),
+                positive(criteria.getMinYear()), positive(criteria.getEndYear()),
+                positive(criteria.getMinRating()), positive(maxRating),
+                sort, sort != null && "desc".equals(criteria.getSortOrder()));
+    }
+
+    //the sort key named by the criteria, or null if there is none or it is not a sortable field
+    private static SortKey sortKey(String name) {
+        if (name == null || name.isBlank()) {
+            return null;
+        }
+        try {
+            return SortKey.valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    //null unless the bound is set and positive
+    private static Integer positive(Integer value) {
+        return value != null && value > 0 ? value : null;
+    }
+
+    //null unless the bound is set and positive
+    private static Double positive(Double value) {
+        return value != null && value > 0 ? value : null;
+    }
+}
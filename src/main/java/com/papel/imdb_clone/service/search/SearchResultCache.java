@@ -0,0 +1,115 @@
+package com.papel.imdb_clone.service.search;
+
+import com.papel.imdb_clone.model.content.Content;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * LRU cache of search results keyed by normalized criteria.
+ * The cache is bounded both by the number of results and by their weight, roughly the number of
+ * row references they hold, so a few searches over the whole catalogue cannot crowd out memory.
+ * Every result is stamped with the content snapshots it was computed from and the content
+ * modification count at the time. The services publish a new snapshot on every write, and rows
+ * edited in place bump the modification count, so a result whose stamp is no longer current is
+ * stale and is dropped on its next lookup.
+ */
+class SearchResultCache {
+
+    /**
+     * The content snapshots a search read, compared by identity, and the content modification
+     * count taken before reading them.
+     *
+     * @param movies        the movie snapshot, or null if movies were not searched
+     * @param series        the series snapshot, or null if series were not searched
+     * @param modifications the value of {@link Content#modificationCount()} before the search
+     */
+    record Version(List<? extends Content> movies, List<? extends Content> series, long modifications) {
+        boolean isSameAs(Version other) {
+            return movies == other.movies && series == other.series && modifications == other.modifications;
+        }
+    }
+
+    //a cached result with the version it was computed from
+    private record Entry(Version version, SearchResultCursor cursor, long weight) {
+    }
+
+    private final int maxEntries;
+    private final long maxWeight;
+    //access-ordered, so iteration starts at the least recently used result; guarded by this
+    private final Map<SearchKey, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long weight;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder stale = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    SearchResultCache(int maxEntries, long maxWeight) {
+        this.maxEntries = maxEntries;
+        this.maxWeight = maxWeight;
+    }
+
+    /**
+     * Gets a cached result.
+     *
+     * @param key     the normalized criteria
+     * @param current the snapshots the search would read now
+     * @return the cached result, or null if it was never cached, evicted or is stale
+     */
+    synchronized SearchResultCursor get(SearchKey key, Version current) {
+        Entry entry = entries.get(key);
+        if (entry != null && !entry.version().isSameAs(current)) {
+            remove(key, entry);
+            stale.increment();
+            entry = null;
+        }
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.cursor();
+    }
+
+    /**
+     * Caches a result, evicting the least recently used ones until the cache is within its bounds.
+     * Results heavier than the whole cache are not cached.
+     *
+     * @param key     the normalized criteria
+     * @param version the snapshots the result was computed from
+     * @param cursor  the result
+     * @param weight  the weight of the result
+     */
+    synchronized void put(SearchKey key, Version version, SearchResultCursor cursor, long weight) {
+        if (maxEntries <= 0 || weight > maxWeight) {
+            return;
+        }
+        Entry previous = entries.put(key, new Entry(version, cursor, weight));
+        this.weight += weight - (previous != null ? previous.weight() : 0);
+        Iterator<Entry> eldest = entries.values().iterator();
+        while ((entries.size() > maxEntries || this.weight > maxWeight) && eldest.hasNext()) {
+            Entry evicted = eldest.next();
+            eldest.remove();
+            this.weight -= evicted.weight();
+            evictions.increment();
+        }
+    }
+
+    synchronized void clear() {
+        entries.clear();
+        weight = 0;
+    }
+
+    synchronized SearchCacheStats stats() {
+        return new SearchCacheStats(hits.sum(), misses.sum(), stale.sum(), evictions.sum(), entries.size(), weight);
+    }
+
+    private void remove(SearchKey key, Entry entry) {
+        entries.remove(key);
+        weight -= entry.weight();
+    }
+}
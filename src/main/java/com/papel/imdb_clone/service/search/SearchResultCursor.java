@@ -0,0 +1,117 @@
+package com.papel.imdb_clone.service.search;
+
+import com.papel.imdb_clone.model.content.Content;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Read-only cursor over the results of a search.
+ * The cursor keeps a snapshot of the searched content together with the positions of the matching rows,
+ * so callers can fetch pages of results on demand instead of copying the whole result set.
+ */
+public class SearchResultCursor {
+    //Empty cursor shared by callers that need a placeholder
+    private static final SearchResultCursor EMPTY = new SearchResultCursor(Collections.emptyList(), new int[0], 0);
+
+    //Snapshot of the content that was searched
+    private final List<? extends Content> source;
+    //Positions in the snapshot of the rows that matched the search
+    private final int[] matches;
+    //Number of series among the matching rows
+    private final int seriesCount;
+
+    /**
+     * Creates a new cursor.
+     *
+     * @param source      the snapshot of content that was searched
+     * @param matches     the positions of the matching rows in the snapshot
+     * @param seriesCount the number of series among the matching rows
+     */
+    SearchResultCursor(List<? extends Content> source, int[] matches, int seriesCount) {
+        this.source = source;
+        this.matches = matches;
+        this.seriesCount = seriesCount;
+    }
+
+    /**
+     * Gets a cursor with no results.
+     *
+     * @return the empty cursor
+     */
+    public static SearchResultCursor empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Gets the number of matching rows.
+     *
+     * @return the total result count
+     */
+    public int size() {
+        return matches.length;
+    }
+
+    /**
+     * Checks if the search returned no rows.
+     *
+     * @return true if there are no results
+     */
+    public boolean isEmpty() {
+        return matches.length == 0;
+    }
+
+    /**
+     * Gets the number of series among the results.
+     *
+     * @return the series count
+     */
+    public int getSeriesCount() {
+        return seriesCount;
+    }
+
+    /**
+     * Gets a single row of the results.
+     *
+     * @param index the position of the row in the results
+     * @return the content at the given position
+     */
+    public Content get(int index) {
+        if (index < 0 || index >= matches.length) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + matches.length);
+        }
+        return source.get(matches[index]);
+    }
+
+    /**
+     * Fetches a page of rows.
+     *
+     * @param offset the position of the first row to fetch
+     * @param limit  the maximum number of rows to fetch
+     * @return the rows in the requested range, possibly fewer than limit at the end of the results
+     */
+    public List<Content> fetch(int offset, int limit) {
+        if (offset < 0 || limit < 0) {
+            throw new IllegalArgumentException("Offset and limit must not be negative");
+        }
+        int end = (int) Math.min((long) offset + limit, matches.length);
+        if (offset >= end) {
+            return Collections.emptyList();
+        }
+        List<Content> page = new ArrayList<>(end - offset);
+        for (int i = offset; i < end; i++) {
+            page.add(source.get(matches[i]));
+        }
+        return page;
+    }
+
+    /**
+     * Copies all rows into a list.
+     *
+     * @return a new list holding every result
+     */
+    public List<Content> toList() {
+        return fetch(0, matches.length);
+    }
+}
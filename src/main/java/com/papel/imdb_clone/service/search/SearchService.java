@@ -1,15 +1,23 @@
 package com.papel.imdb_clone.service.search;
 
+import com.papel.imdb_clone.config.ApplicationConfig;
 import com.papel.imdb_clone.data.DataManager;
 import com.papel.imdb_clone.controllers.search.SearchCriteria;
 import com.papel.imdb_clone.enums.ContentType;
+import com.papel.imdb_clone.exceptions.RateLimitExceededException;
 import com.papel.imdb_clone.model.content.Content;
+import com.papel.imdb_clone.model.content.Series;
+import com.papel.imdb_clone.service.metrics.LatencyHistogram;
+import com.papel.imdb_clone.service.metrics.MetricsRegistry;
+import com.papel.imdb_clone.util.LogSampler;
+import com.papel.imdb_clone.service.validation.RateLimiter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CancellationException;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
 
 /**
  * Service for searching content with filtering capabilities.
@@ -17,8 +25,24 @@ import java.util.stream.Collectors;
 public class SearchService {
     //Logger
     private static final Logger logger = LoggerFactory.getLogger(SearchService.class);
+    //Searches a client may run in a burst, and the time to earn them all back
+    private static final int SEARCH_BURST = 30;
+    private static final Duration SEARCH_WINDOW = Duration.ofSeconds(10);
+    //Sorted searches matching at least 1/16 of the rows walk the pre-sorted views instead of sorting
+    private static final int SORTED_VIEW_MIN_SHARE = 16;
+
     //Data manager
     private final DataManager dataManager;
+    //Limits how often each client can search
+    private final RateLimiter searchLimiter = new RateLimiter("search", SEARCH_BURST, SEARCH_WINDOW, 10_000);
+    //Results of recent searches, reused while the content they read is unchanged
+    private final SearchResultCache resultCache = new SearchResultCache(
+            ApplicationConfig.getInstance().getSearchCacheSize(),
+            ApplicationConfig.getInstance().getSearchCacheWeight());
+    //Time to answer a search, from the cache or by scanning
+    private final LatencyHistogram searchLatency = MetricsRegistry.getInstance().histogram("search");
+    //Rate limit for warnings raised by the filters, which run once per item
+    private final LogSampler itemWarnings = LogSampler.fromConfig("search item warnings");
 
     /**
      * Creates a new SearchService.
@@ -27,16 +51,37 @@ public class SearchService {
      */
     public SearchService(DataManager dataManager) {
         this.dataManager = dataManager;
+        MetricsRegistry metrics = MetricsRegistry.getInstance();
+        metrics.gauge("search.cache.hitRate", () -> resultCache.stats().hitRate());
+        metrics.gauge("search.cache.entries", () -> resultCache.stats().entries());
         logger.info("SearchService initialized");
     }
 
     /**
-     * Performs a search with the given criteria.
+     * Performs a search with the given criteria for the local desktop user, which is not rate limited.
      *
      * @param criteria The search criteria
      * @return List of matching content
      */
     public List<Content> search(SearchCriteria criteria) {
+        return searchUnlimited(criteria);
+    }
+
+    /**
+     * Performs a search with the given criteria on behalf of a client.
+     *
+     * @param criteria  The search criteria
+     * @param clientKey The user, session or address the search is limited by
+     * @return List of matching content
+     * @throws RateLimitExceededException if the client searched too often
+     */
+    public List<Content> search(SearchCriteria criteria, String clientKey) throws RateLimitExceededException {
+        searchLimiter.acquire(clientKey);
+        return searchUnlimited(criteria);
+    }
+
+    //runs a search without taking a token from the rate limiter
+    private List<Content> searchUnlimited(SearchCriteria criteria) {
         // Log the search criteria for debugging
         logger.debug("Starting search with criteria: {}", criteria);
 
@@ -55,125 +100,253 @@ public class SearchService {
                 criteria.getGenre());
 
         // Perform search
-        List<Content> results = performSearch(criteria);
+        List<Content> results = performSearch(criteria).toList();
         logger.debug("Search returned {} results", results.size());
         return results;
     }
 
     /**
-     * Performs the actual search operation.
+     * Performs a search with the given criteria for the local desktop user and returns a cursor over
+     * the results instead of copying them, so large result sets can be paged on demand.
+     * The local user is not rate limited.
+     *
+     * @param criteria The search criteria
+     * @return Cursor over the matching content
+     */
+    public SearchResultCursor openCursor(SearchCriteria criteria) {
+        return openCursorUnlimited(criteria);
+    }
+
+    /**
+     * Performs a search on behalf of a client and returns a cursor over the results.
+     *
+     * @param criteria  The search criteria
+     * @param clientKey The user, session or address the search is limited by
+     * @return Cursor over the matching content
+     * @throws RateLimitExceededException if the client searched too often
+     */
+    public SearchResultCursor openCursor(SearchCriteria criteria, String clientKey) throws RateLimitExceededException {
+        searchLimiter.acquire(clientKey);
+        return openCursorUnlimited(criteria);
+    }
+
+    //opens a cursor without taking a token from the rate limiter
+    private SearchResultCursor openCursorUnlimited(SearchCriteria criteria) {
+        if (criteria == null) {
+            logger.debug("Null criteria, returning empty cursor");
+            return SearchResultCursor.empty();
+        }
+        SearchResultCursor cursor = performSearch(criteria);
+        logger.debug("Search cursor opened over {} results", cursor.size());
+        return cursor;
+    }
+
+    /**
+     * Performs the search and records how long it took.
+     */
+    private SearchResultCursor performSearch(SearchCriteria criteria) {
+        long start = System.nanoTime();
+        try {
+            return searchOrReuse(SearchKey.of(criteria));
+        } finally {
+            searchLatency.recordSince(start);
+        }
+    }
+
+    //answers the search from the cache when the content it read is unchanged, otherwise scans and caches
+    private SearchResultCursor searchOrReuse(SearchKey key) {
+        ContentType type = key.type();
+        // Read before the snapshots, so an edit made during the scan leaves the result stale
+        long modifications = Content.modificationCount();
+        SearchResultCache.Version version = new SearchResultCache.Version(
+                type != ContentType.SERIES ? dataManager.getAllMovies() : null,
+                type != ContentType.MOVIE ? dataManager.getAllSeries() : null,
+                modifications);
+
+        SearchResultCursor cached = resultCache.get(key, version);
+        if (cached != null) {
+            logger.debug("Search answered from cache with {} results", cached.size());
+            return cached;
+        }
+        SearchResultCursor cursor = performSearch(key, version);
+        // A search over all content owns the merged list it scanned, so that counts towards its weight
+        long weight = cursor.size() + (type == null ? version.movies().size() + version.series().size() : 0);
+        resultCache.put(key, version, cursor, weight);
+        return cursor;
+    }
+
+    /**
+     * Performs the actual search operation over the given content snapshots.
      */
-    private List<Content> performSearch(SearchCriteria criteria) {
-
-        // Get search criteria
-        String query = criteria.getQuery() != null ? criteria.getQuery().toLowerCase() : "";
-        // Get title
-        String title = criteria.getTitle() != null ? criteria.getTitle().toLowerCase() : "";
-        // Get content type
-        ContentType type = criteria.getContentType();
-        // Get min year
-        Integer minYear = criteria.getMinYear();
-        // Get max year
-        Integer maxYear = criteria.getMaxYear();
-        // Get min rating
-        Double minRating = criteria.getMinRating();
-        // Get max rating
-        Double maxRating = (Double) criteria.getMaxRating();
-        // Get genre
-        String genre = String.valueOf(criteria.getGenre());
-        // Get sort order
-        String sortOrder = criteria.getSortOrder();
+    private SearchResultCursor performSearch(SearchKey key, SearchResultCache.Version version) {
+        ContentType type = key.type();
 
         logger.debug("Performing search with type: {}", type);
 
-        // Get content based on type
-        List<Content> contentList;
+        // Get content based on type; single-type searches read the service snapshot without copying it
+        List<? extends Content> contentList;
         if (type == ContentType.MOVIE) {
-            contentList = new ArrayList<>(dataManager.getAllMovies());
+            contentList = version.movies();
             logger.debug("Found {} movies to search through", contentList.size());
         } else if (type == ContentType.SERIES) {
-            contentList = new ArrayList<>(dataManager.getAllSeries());
+            contentList = version.series();
             logger.debug("Found {} series to search through", contentList.size());
         } else {
 
             // Search all content types
             Set<Integer> contentIds = new HashSet<>();
-            contentList = new ArrayList<>();
+            List<Content> merged = new ArrayList<>();
             
             // Add movies
-            List<Content> movies = new ArrayList<>(dataManager.getAllMovies());
+            List<? extends Content> movies = version.movies();
             for (Content movie : movies) {
                 if (movie != null && contentIds.add(movie.getId())) {
-                    contentList.add(movie);
+                    merged.add(movie);
                 }
             }
             
             // Add series, skipping any with duplicate IDs
-            List<Content> series = new ArrayList<>(dataManager.getAllSeries());
+            List<? extends Content> series = version.series();
             for (Content serie : series) {
                 if (serie != null && contentIds.add(serie.getId())) {
-                    contentList.add(serie);
+                    merged.add(serie);
                 }
             }
+            contentList = Collections.unmodifiableList(merged);
             
             logger.debug("Found {} total unique items to search through ({} movies, {} series)",
                     contentList.size(), movies.size(), series.size());
         }
 
         // Apply search filters with predicate which is a boolean function
-        List<Predicate<Content>> filters = createSearchFilters(criteria);
+        List<Predicate<Content>> filters = createSearchFilters(key);
         logger.debug("Created {} filters to apply", filters.size());
 
-        // Apply all filters and collect results
-        List<Content> results = contentList.stream()
-                .filter(content -> {
-                    boolean matches = filters.stream().allMatch(filter -> {
-                        boolean result = filter.test(content);
-                        if (!result) {
-                            logger.trace("Content '{}' filtered out by a filter",
-                                    content != null ? content.getTitle() : "null");
-                        }
-                        return result;
-                    });
-                    //log the content that passed all filters
-                    if (matches) {
-                        logger.trace("Content '{}' passed all filters",
-                                content != null ? content.getTitle() : "null");
-                    }
-                    return matches;
-                })
-                //collect the results from the stream that passed all filters
-                .collect(Collectors.toList());
+        // Apply all filters and remember the positions of the matching rows
+        int[] matchPositions = new int[contentList.size()];
+        int matchCount = 0;
+        int seriesCount = 0;
+        for (int i = 0; i < contentList.size(); i++) {
+            // Stop early if the search was superseded and its thread interrupted
+            if ((i & 1023) == 0 && Thread.currentThread().isInterrupted()) {
+                throw new CancellationException("Search cancelled");
+            }
+            Content content = contentList.get(i);
+            boolean matches = true;
+            for (Predicate<Content> filter : filters) {
+                if (!filter.test(content)) {
+                    logger.trace("Content '{}' filtered out by a filter",
+                            content != null ? content.getTitle() : "null");
+                    matches = false;
+                    break;
+                }
+            }
+            //log the content that passed all filters
+            if (matches) {
+                logger.trace("Content '{}' passed all filters",
+                        content != null ? content.getTitle() : "null");
+                matchPositions[matchCount++] = i;
+                if (content instanceof Series) {
+                    seriesCount++;
+                }
+            }
+        }
 
-        logger.debug("After applying filters, found {} matching items", results.size());
-        return results;
+        logger.debug("After applying filters, found {} matching items", matchCount);
+        int[] matches = Arrays.copyOf(matchPositions, matchCount);
+        if (key.sort() != null) {
+            matches = sortPositions(contentList, matches, key);
+        }
+        return new SearchResultCursor(contentList, matches, seriesCount);
+    }
+
+    /**
+     * Orders the positions of the matching rows by the sort key of the search.
+     * When the matches are a large share of the rows, the services' pre-sorted views are walked and
+     * the matching rows picked out in order, which needs no comparison sort. The picked rows are
+     * checked against the comparator as they are taken, so a view that is out of date, for example
+     * because a row was edited in place, falls back to sorting the matches directly.
+     */
+    private int[] sortPositions(List<? extends Content> contentList, int[] positions, SearchKey key) {
+        Comparator<Content> order = key.descending() ? key.sort().comparator().reversed() : key.sort().comparator();
+        if (positions.length * SORTED_VIEW_MIN_SHARE >= contentList.size()) {
+            Map<Content, Integer> positionOf = new IdentityHashMap<>(positions.length * 2);
+            for (int position : positions) {
+                positionOf.put(contentList.get(position), position);
+            }
+            int[] movies = key.type() != ContentType.SERIES
+                    ? pickInOrder(dataManager.getMoviesService().getSorted(key.sort(), key.descending()), positionOf, order)
+                    : new int[0];
+            int[] series = key.type() != ContentType.MOVIE
+                    ? pickInOrder(dataManager.getSeriesService().getSorted(key.sort(), key.descending()), positionOf, order)
+                    : new int[0];
+            if (movies != null && series != null && movies.length + series.length == positions.length) {
+                return merge(contentList, movies, series, order);
+            }
+            logger.debug("Sorted views did not match the searched rows, sorting {} matches directly", positions.length);
+        }
+        Comparator<Content> nullsLast = Comparator.nullsLast(order);
+        return Arrays.stream(positions)
+                .boxed()
+                .sorted((a, b) -> nullsLast.compare(contentList.get(a), contentList.get(b)))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    //positions of the matching rows in the order of a sorted view, or null if the view is out of order
+    private static int[] pickInOrder(List<? extends Content> view, Map<Content, Integer> positionOf,
+                                     Comparator<Content> order) {
+        int[] picked = new int[Math.min(view.size(), positionOf.size())];
+        int count = 0;
+        Content previous = null;
+        for (Content content : view) {
+            Integer position = positionOf.get(content);
+            if (position == null) {
+                continue;
+            }
+            if (previous != null && order.compare(previous, content) > 0) {
+                return null;
+            }
+            previous = content;
+            picked[count++] = position;
+        }
+        return Arrays.copyOf(picked, count);
     }
 
+    //merges the ordered movie and series positions into one ordered array
+    private static int[] merge(List<? extends Content> contentList, int[] movies, int[] series, Comparator<Content> order) {
+        if (series.length == 0) {
+            return movies;
+        }
+        if (movies.length == 0) {
+            return series;
+        }
+        int[] merged = new int[movies.length + series.length];
+        int m = 0;
+        int s = 0;
+        for (int i = 0; i < merged.length; i++) {
+            boolean takeMovie = s == series.length || m < movies.length
+                    && order.compare(contentList.get(movies[m]), contentList.get(series[s])) <= 0;
+            merged[i] = takeMovie ? movies[m++] : series[s++];
+        }
+        return merged;
+    }
 
     /**
-     * Creates a list of filters based on the search criteria.
-     * @param criteria being title,genre,year values etc.
+     * Creates a list of filters based on the normalized search criteria.
+     * @param key being title,genre,year values etc.
      * @return List of filters to apply to the content list
      * Predicate<Content> is a function that takes a Content object as input and returns a boolean value
      */
-    private List<Predicate<Content>> createSearchFilters(SearchCriteria criteria) {
+    private List<Predicate<Content>> createSearchFilters(SearchKey key) {
         List<Predicate<Content>> filters = new ArrayList<>();
-        if (criteria == null) {
-            logger.debug("Null criteria in createSearchFilters, returning empty filters");
-            return filters;
-        }
 
         // Log all criteria for debugging
-        logger.debug("Creating filters with criteria - Title: '{}', Query: '{}', MinYear: {},Max, MinRating: {},MaxRating: {}",
-                criteria.getTitle(), criteria.getQuery(), criteria.getMinYear(), criteria.getMinRating(),criteria.getMaxRating() );
-
-        // Text search filter - check both query and title
-        String searchText = "";
-        if (criteria.getTitle() != null && !criteria.getTitle().trim().isEmpty()) {
-            searchText = criteria.getTitle().trim().toLowerCase();
-        } else if (criteria.getQuery() != null && !criteria.getQuery().trim().isEmpty()) {
-            searchText = criteria.getQuery().trim().toLowerCase();
-        }
+        logger.debug("Creating filters with criteria - Text: '{}', MinYear: {}, MaxYear: {}, MinRating: {}, MaxRating: {}",
+                key.text(), key.minYear(), key.maxYear(), key.minRating(), key.maxRating());
+
+        // Text search filter - the key already holds the trimmed, lower-case title or query
+        String searchText = key.text();
 
         /*
          * Text search filter - check both query and title
@@ -197,19 +370,18 @@ public class SearchService {
 
 
         // Genre filter
-        if (criteria.getGenre() != null) {
+        if (key.genre() != null) {
             filters.add(content -> {
                 if (content == null || content.getGenres() == null) return false;
-                return content.getGenres().contains(criteria.getGenre());
+                return content.getGenres().contains(key.genre());
             });
         }
 
         // Year range filter - handle both min and max years
-        if ((criteria.getMinYear() != null && criteria.getMinYear() > 0) || 
-            (criteria.getEndYear() != null && criteria.getEndYear() > 0)) {
+        if (key.minYear() != null || key.maxYear() != null) {
             
-            Integer minYear = criteria.getMinYear() != null ? criteria.getMinYear() : 0;
-            Integer maxYear = criteria.getEndYear() != null ? criteria.getEndYear() : Integer.MAX_VALUE;
+            Integer minYear = key.minYear() != null ? key.minYear() : 0;
+            Integer maxYear = key.maxYear() != null ? key.maxYear() : Integer.MAX_VALUE;
             
             logger.debug("Adding year range filter: {} to {}", minYear, maxYear);
             
@@ -230,11 +402,11 @@ public class SearchService {
                     }
                     
                     boolean matches = contentYear >= minYear && contentYear <= maxYear;
-                    logger.debug("Year Range Check - Title: '{}', Content Year: {}, Range: {} to {}, Match: {}",
+                    logger.trace("Year Range Check - Title: '{}', Content Year: {}, Range: {} to {}, Match: {}",
                             content.getTitle(), contentYear, minYear, maxYear, matches);
                     return matches;
                 } catch (Exception e) {
-                    logger.warn("Error processing year for content: {}", content.getTitle(), e);
+                    itemWarnings.warn(logger, "Error processing year for content: {}", content.getTitle(), e);
                     return false;
                 }
             });
@@ -242,8 +414,8 @@ public class SearchService {
 
 
         // Rating filter
-        if (criteria.getMinRating() != null && criteria.getMinRating() > 0) {
-            double minRating = criteria.getMinRating();
+        if (key.minRating() != null) {
+            double minRating = key.minRating();
             logger.debug("Adding rating filter for min rating: {}", minRating);
             filters.add(content -> {
                 if (content == null) {
@@ -259,8 +431,8 @@ public class SearchService {
         }
 
         //Max rating filter
-        if (criteria.getMaxRating() != null && ((Number)criteria.getMaxRating()).doubleValue() > 0) {
-            double maxRating = ((Number)criteria.getMaxRating()).doubleValue();
+        if (key.maxRating() != null) {
+            double maxRating = key.maxRating();
             logger.debug("Adding max rating filter: {}", maxRating);
             filters.add(content -> {
                 if (content == null) {
@@ -279,6 +451,22 @@ public class SearchService {
         return filters;
     }
 
+    /**
+     * Gets the hit, miss and eviction counts of the search result cache.
+     *
+     * @return the current cache statistics
+     */
+    public SearchCacheStats getCacheStats() {
+        return resultCache.stats();
+    }
+
+    /**
+     * Drops all cached search results.
+     */
+    public void clearCache() {
+        resultCache.clear();
+    }
+
     //search content
     public List<Content> searchContent(SearchCriteria criteria) {
         return search(criteria);
@@ -2,17 +2,8 @@ package com.papel.imdb_clone.service.search;
 
 import com.papel.imdb_clone.controllers.coordinator.UICoordinator;
 import com.papel.imdb_clone.data.DataManager;
-import com.papel.imdb_clone.model.people.Actor;
-import com.papel.imdb_clone.model.people.Director;
-import com.papel.imdb_clone.repository.impl.InMemoryMovieRepository;
-import com.papel.imdb_clone.repository.impl.InMemorySeriesRepository;
-import com.papel.imdb_clone.repository.impl.InMemoryUserRepository;
-import com.papel.imdb_clone.repository.impl.InMemoryCelebritiesRepository;
-import com.papel.imdb_clone.service.content.MoviesService;
-import com.papel.imdb_clone.service.content.SeriesService;
 import com.papel.imdb_clone.service.data.base.FileDataLoaderService;
 import com.papel.imdb_clone.service.data.loader.DataLoaderFactory;
-import com.papel.imdb_clone.service.people.CelebrityService;
 import com.papel.imdb_clone.service.people.UserService;
 import javafx.stage.Stage;
 import org.slf4j.Logger;
@@ -20,11 +11,14 @@ import org.slf4j.LoggerFactory;
 
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 /**
  * Service Locator pattern implementation for managing application services.
  * Provides centralized access to services and ensures singleton behavior.
- * Updated to use the refactored service-oriented architecture.
+ * Services other than the DataManager are registered as providers and created on first use,
+ * so startup only pays for what the login screen needs.
  */
 public class ServiceLocator {
 
@@ -34,6 +28,8 @@ public class ServiceLocator {
     //volatile means that the value of this variable will be read from the main memory and not from the cache
     private static volatile ServiceLocator instance;
     private static final ConcurrentMap<Object, Object> services = new ConcurrentHashMap<>();
+    // Services created on first use, keyed by service class
+    private static final ConcurrentMap<Class<?>, LazyService<?>> providers = new ConcurrentHashMap<>();
     private static volatile DataManager dataManager;
     // Using Object type to avoid direct dependency on UICoordinator in this class
     private static volatile Object uiCoordinatorInstance;
@@ -94,7 +90,7 @@ public class ServiceLocator {
         return primaryStage;
     }
 
-    //initialize services
+    //registers the data manager and lazy providers for everything else; nothing heavy runs under the lock
     private void initializeServices() {
         if (servicesInitialized) {
             return;
@@ -108,91 +104,41 @@ public class ServiceLocator {
             try {
                 logger.info("Initializing application services...");
 
-                // Initialize core services first
+                // DataManager owns the repositories and the content, celebrity and loader services,
+                // and registers them itself, so they are not built a second time here
                 dataManager = DataManager.getInstance();
                 registerService(DataManager.class, dataManager);
-                logger.info("DataManager initialized successfully");
 
-                // Initialize repositories with concrete types
-                InMemoryUserRepository userRepository = dataManager.getUserRepository();
-                InMemoryMovieRepository movieRepository = dataManager.getMovieRepository();
-                InMemorySeriesRepository seriesRepository = dataManager.getSeriesRepository();
-
-                UserService userService = UserService.getInstance(dataManager);
-                registerService(UserService.class, userService);
-
-                // Initialize content services with proper types
-                MoviesService moviesService = MoviesService.getInstance();
-                SeriesService seriesService = SeriesService.getInstance();
-                
-                // Get the CelebritiesRepository from DataManager
-                InMemoryCelebritiesRepository celebritiesRepository = dataManager.getCelebritiesRepository();
-                
-                // Initialize CelebrityService with the repository
-                CelebrityService<Actor> actorService = new CelebrityService<>(Actor.class, celebritiesRepository);
-                CelebrityService<Director> directorService = new CelebrityService<>(Director.class, celebritiesRepository);
-
-                // Register services with type-safe qualifiers
-                registerService(MoviesService.class, moviesService);
-                registerService(SeriesService.class, seriesService);
-                registerService(CelebrityService.class, actorService, "actor");
-                registerService(CelebrityService.class, directorService, "director");
-
-                // Register for backward compatibility
-                registerService(MoviesService.class, moviesService);
-
-                // Initialize data loader factory with concrete repository types
-                DataLoaderFactory dataLoaderFactory = new DataLoaderFactory(
-                        userRepository,
-                        movieRepository,
-                        seriesRepository,
-                        moviesService,
-                        seriesService,
-                        actorService,
-                        directorService
-                );
-                registerService(DataLoaderFactory.class, dataLoaderFactory);
-
-                // Initialize file data loader service with concrete repository types
-                FileDataLoaderService fileDataLoaderService = new FileDataLoaderService(
-                        userRepository,
-                        movieRepository,
-                        seriesRepository,
-                        seriesService,
-                        actorService,
-                        directorService,
-                        moviesService
-                );
-                registerService(FileDataLoaderService.class, fileDataLoaderService);
-
-                // Initialize and register SearchService early in the process
-                // to ensure it's available when other services need it
-                SearchService searchService = new SearchService(dataManager);
-                registerService(SearchService.class, searchService);
-                logger.info("SearchService initialized successfully");
-
-                // Initialize UI Coordinator
-                try {
-                    // Get the singleton instance of UICoordinator
-                    uiCoordinatorInstance = UICoordinator.getInstance();
-
-                    // If primary stage is available, set it
+                registerProvider(UserService.class, () -> UserService.getInstance(dataManager));
+                registerProvider(FileDataLoaderService.class, () -> {
+                    if (dataManager.getDataLoaderService() instanceof FileDataLoaderService fileDataLoaderService) {
+                        return fileDataLoaderService;
+                    }
+                    throw new IllegalStateException("DataManager does not use a FileDataLoaderService");
+                });
+                registerProvider(DataLoaderFactory.class, () -> new DataLoaderFactory(
+                        dataManager.getUserRepository(),
+                        dataManager.getMovieRepository(),
+                        dataManager.getSeriesRepository(),
+                        dataManager.getMoviesService(),
+                        dataManager.getSeriesService(),
+                        dataManager.getActorService(),
+                        dataManager.getDirectorService()));
+                registerProvider(SearchService.class, () -> new SearchService(dataManager));
+                registerProvider(UICoordinator.class, () -> {
+                    UICoordinator uiCoordinator = UICoordinator.getInstance();
                     if (primaryStage != null) {
-                        UICoordinator uiCoordinator = (UICoordinator) uiCoordinatorInstance;
                         uiCoordinator.setPrimaryStage(primaryStage);
-                        logger.info("UICoordinator initialized successfully with primary stage");
                     } else {
                         logger.warn("Primary stage not set, will need to be set later");
                     }
-
-                    registerService(UICoordinator.class, (UICoordinator) uiCoordinatorInstance);
-                } catch (Exception e) {
-                    throw new IllegalStateException("Failed to initialize UICoordinator", e);
-                }
+                    uiCoordinatorInstance = uiCoordinator;
+                    return uiCoordinator;
+                });
 
                 // Set services as initialized after all services are registered
                 servicesInitialized = true;
-                logger.info("All services initialized successfully");
+                logger.info("All services registered; remaining services are created on first use");
 
             } catch (Exception e) {
                 logger.error("Failed to initialize services: {}", e.getMessage(), e);
@@ -202,21 +148,18 @@ public class ServiceLocator {
     }
 
     /**
-     * Get the SearchService instance.
+     * Get the SearchService instance, creating it on first use.
      *
      * @return The SearchService instance
      * @throws IllegalStateException if the SearchService is not found in the registry
      */
     public SearchService getSearchService() {
-        SearchService service = (SearchService) services.get(SearchService.class);
-        if (service == null) {
-            throw new IllegalStateException("SearchService not found in the service registry");
-        }
-        return service;
+        return getService(SearchService.class);
     }
 
     /**
      * Get a service instance by its class.
+     * A service registered through a provider is created on the first call and reused afterwards.
      *
      * @param <T> The type of the service to retrieve
      * @param serviceClass The class of the service to retrieve
@@ -227,11 +170,32 @@ public class ServiceLocator {
     public <T> T getService(Class<T> serviceClass) {
         T service = (T) services.get(serviceClass);
         if (service == null) {
-            throw new IllegalStateException("Service not found in the registry: " + serviceClass.getName());
+            LazyService<?> provider = providers.get(serviceClass);
+            if (provider == null) {
+                throw new IllegalStateException("Service not found in the registry: " + serviceClass.getName());
+            }
+            service = serviceClass.cast(provider.get());
+            services.putIfAbsent(serviceClass, service);
+            services.putIfAbsent(serviceClass.getName(), service);
         }
         return service;
     }
 
+    /**
+     * Register a provider that creates a service the first time it is requested.
+     * The provider runs at most once; an instance registered directly takes precedence over it.
+     *
+     * @param serviceClass The class of the service
+     * @param provider     Creates the service instance
+     */
+    public <T> void registerProvider(Class<T> serviceClass, Supplier<? extends T> provider) {
+        if (serviceClass == null || provider == null) {
+            throw new IllegalArgumentException("Service class and provider cannot be null");
+        }
+        providers.put(serviceClass, new LazyService<>(serviceClass, provider));
+        logger.debug("Registered provider for service: {}", serviceClass.getSimpleName());
+    }
+
     // Get the DataManager instance
     public DataManager getDataManager() {
         if (dataManager == null) {
@@ -261,11 +225,7 @@ public class ServiceLocator {
                         throw new IllegalStateException("Cannot get UICoordinator: Primary stage is not set");
                     }
                     try {
-                        ServiceLocator instance = getInstance();
-                        UICoordinator coordinator = new UICoordinator(instance.getDataManager());
-                        coordinator.setPrimaryStage(primaryStage);
-                        uiCoordinatorInstance = coordinator;
-                        instance.registerService(UICoordinator.class, coordinator);
+                        getInstance().getService(UICoordinator.class);
                         logger.info("UICoordinator initialized successfully");
                     } catch (Exception e) {
                         logger.error("Failed to initialize UICoordinator", e);
@@ -315,7 +275,8 @@ public class ServiceLocator {
      * Check if a service is registered
      */
     public boolean hasService(Class<?> serviceClass) {
-        return services.containsKey(serviceClass) || services.containsKey(serviceClass.getName());
+        return services.containsKey(serviceClass) || services.containsKey(serviceClass.getName())
+                || providers.containsKey(serviceClass);
     }
 
     /**
@@ -335,8 +296,39 @@ public class ServiceLocator {
 
         // Clear all services
         services.clear();
+        providers.clear();
         logger.info("Service shutdown complete");
     }
 
+    //memoizes a provider; each service has its own lock, so creating one never blocks lookups of others
+    private static final class LazyService<T> {
+        private final Class<T> serviceClass;
+        private final Supplier<? extends T> provider;
+        private volatile T instance;
 
+        private LazyService(Class<T> serviceClass, Supplier<? extends T> provider) {
+            this.serviceClass = serviceClass;
+            this.provider = provider;
+        }
+
+        private T get() {
+            T result = instance;
+            if (result == null) {
+                synchronized (this) {
+                    result = instance;
+                    if (result == null) {
+                        long start = System.nanoTime();
+                        result = provider.get();
+                        if (result == null) {
+                            throw new IllegalStateException("Provider returned null for " + serviceClass.getName());
+                        }
+                        instance = result;
+                        logger.debug("Created service {} on first use in {} ms", serviceClass.getSimpleName(),
+                                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                    }
+                }
+            }
+            return result;
+        }
+    }
 }
@@ -0,0 +1,265 @@
+package com.papel.imdb_clone.service.task;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Application-wide scheduler for background work.
+ * CPU-bound work runs on a bounded pool with a bounded queue, blocking I/O runs on virtual threads
+ * with a cap on in-flight tasks, and timers share a single scheduler thread.
+ * Work submitted under a key supersedes the previous work with the same key, which is cancelled,
+ * so rapid user input does not pile up threads.
+ */
+public class TaskScheduler {
+    private static final Logger logger = LoggerFactory.getLogger(TaskScheduler.class);
+
+    //Maximum number of CPU tasks waiting for a worker
+    private static final int CPU_QUEUE_CAPACITY = 256;
+    //Maximum number of I/O tasks running or waiting at the same time
+    private static final int MAX_IO_TASKS = 256;
+
+    private static volatile TaskScheduler instance;
+
+    private final ThreadPoolExecutor cpuExecutor;
+    private final ExecutorService ioExecutor;
+    private final Semaphore ioPermits = new Semaphore(MAX_IO_TASKS);
+    private final ScheduledExecutorService timer;
+
+    //Latest task submitted under each key, used to cancel superseded work
+    private final Map<String, Future<?>> latestByKey = new ConcurrentHashMap<>();
+    //Pending debounced actions by key
+    private final Map<String, ScheduledFuture<?>> debounced = new ConcurrentHashMap<>();
+
+    private TaskScheduler() {
+        int workers = Math.max(2, Runtime.getRuntime().availableProcessors());
+        this.cpuExecutor = new ThreadPoolExecutor(workers, workers, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(CPU_QUEUE_CAPACITY), daemonFactory("imdb-cpu"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.cpuExecutor.allowCoreThreadTimeOut(true);
+        this.ioExecutor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("imdb-io-", 0).factory());
+        ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, daemonFactory("imdb-timer"));
+        scheduler.setRemoveOnCancelPolicy(true);
+        this.timer = scheduler;
+        logger.info("TaskScheduler initialized with {} CPU workers", workers);
+    }
+
+    /**
+     * Gets the singleton instance of TaskScheduler.
+     *
+     * @return the TaskScheduler instance
+     */
+    public static TaskScheduler getInstance() {
+        if (instance == null) {
+            synchronized (TaskScheduler.class) {
+                if (instance == null) {
+                    instance = new TaskScheduler();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Runs CPU-bound work on the bounded pool.
+     *
+     * @param task the work to run
+     * @return a future for the task
+     * @throws RejectedExecutionException if the CPU queue is full
+     */
+    public <T> Future<T> submitCpu(Callable<T> task) {
+        return cpuExecutor.submit(task);
+    }
+
+    /**
+     * Runs CPU-bound work on the bounded pool.
+     *
+     * @param task the work to run, for example a JavaFX Task
+     * @return a future for the task
+     * @throws RejectedExecutionException if the CPU queue is full
+     */
+    public Future<?> runCpu(Runnable task) {
+        return cpuExecutor.submit(task);
+    }
+
+    /**
+     * Runs blocking I/O work on a virtual thread.
+     *
+     * @param task the work to run
+     * @return a future completed with the result of the task
+     * @throws RejectedExecutionException if too many I/O tasks are in flight
+     */
+    public <T> CompletableFuture<T> submitIo(Callable<T> task) {
+        if (!ioPermits.tryAcquire()) {
+            throw new RejectedExecutionException("Too many I/O tasks in flight");
+        }
+        CompletableFuture<T> result = new CompletableFuture<>();
+        try {
+            ioExecutor.execute(() -> {
+                try {
+                    result.complete(task.call());
+                } catch (Throwable t) {
+                    result.completeExceptionally(t);
+                } finally {
+                    ioPermits.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            ioPermits.release();
+            throw e;
+        }
+        return result;
+    }
+
+    /**
+     * Runs blocking I/O work on a virtual thread.
+     *
+     * @param task the work to run
+     * @return a future completed when the task finishes
+     * @throws RejectedExecutionException if too many I/O tasks are in flight
+     */
+    public CompletableFuture<Void> runIo(Runnable task) {
+        return submitIo(() -> {
+            task.run();
+            return null;
+        });
+    }
+
+    /**
+     * Runs CPU-bound work, cancelling any unfinished work submitted earlier under the same key.
+     * Cancellation interrupts the superseded task, which should check for it cooperatively.
+     *
+     * @param key  identifies the kind of request, for example "advanced-search"
+     * @param task the work to run, for example a JavaFX Task
+     */
+    public void submitLatest(String key, FutureTask<?> task) {
+        Future<?> previous = latestByKey.put(key, task);
+        if (previous != null && !previous.isDone()) {
+            logger.debug("Cancelling superseded task '{}'", key);
+            previous.cancel(true);
+        }
+        try {
+            cpuExecutor.execute(() -> {
+                try {
+                    task.run();
+                } finally {
+                    latestByKey.remove(key, task);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            latestByKey.remove(key, task);
+            task.cancel(false);
+            throw e;
+        }
+    }
+
+    /**
+     * Runs an action on the CPU pool once no new call with the same key has been made for the given delay.
+     * Each call replaces the pending action for the key.
+     *
+     * @param key    identifies the input being debounced
+     * @param delay  the quiet period to wait for
+     * @param unit   the unit of the delay
+     * @param action the action to run
+     */
+    public void debounce(String key, long delay, TimeUnit unit, Runnable action) {
+        // Only the action's own entry may be removed; a later call may already have replaced it
+        AtomicReference<ScheduledFuture<?>> self = new AtomicReference<>();
+        ScheduledFuture<?> next = timer.schedule(() -> {
+            ScheduledFuture<?> own = self.get();
+            if (own != null) {
+                debounced.remove(key, own);
+            }
+            try {
+                runCpu(action);
+            } catch (RejectedExecutionException e) {
+                logger.warn("Debounced action '{}' rejected: {}", key, e.getMessage());
+            }
+        }, delay, unit);
+        self.set(next);
+        ScheduledFuture<?> previous = debounced.put(key, next);
+        if (previous != null) {
+            previous.cancel(false);
+        }
+    }
+
+    /**
+     * Runs a short action once after a delay on the shared timer thread.
+     * Longer work should be handed off to the CPU or I/O executors from the action.
+     *
+     * @param action the action to run
+     * @param delay  the delay before running
+     * @param unit   the unit of the delay
+     * @return a future that can be used to cancel the action
+     */
+    public ScheduledFuture<?> schedule(Runnable action, long delay, TimeUnit unit) {
+        return timer.schedule(guarded(action), delay, unit);
+    }
+
+    /**
+     * Runs a short action periodically on the shared timer thread.
+     *
+     * @param action       the action to run
+     * @param initialDelay the delay before the first run
+     * @param period       the period between runs
+     * @param unit         the unit of the delays
+     * @return a future that can be used to cancel the action
+     */
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable action, long initialDelay, long period, TimeUnit unit) {
+        return timer.scheduleAtFixedRate(guarded(action), initialDelay, period, unit);
+    }
+
+    /**
+     * Cancels pending work and stops all executors.
+     */
+    public void shutdown() {
+        logger.info("Shutting down TaskScheduler...");
+        debounced.values().forEach(future -> future.cancel(false));
+        debounced.clear();
+        latestByKey.values().forEach(future -> future.cancel(true));
+        latestByKey.clear();
+        timer.shutdownNow();
+        cpuExecutor.shutdownNow();
+        ioExecutor.shutdownNow();
+    }
+
+    //keeps a failing periodic action from silently cancelling its schedule
+    private static Runnable guarded(Runnable action) {
+        return () -> {
+            try {
+                action.run();
+            } catch (RuntimeException e) {
+                logger.error("Scheduled task failed: {}", e.getMessage(), e);
+            }
+        };
+    }
+
+    //creates named daemon threads so background work never keeps the JVM alive
+    private static ThreadFactory daemonFactory(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
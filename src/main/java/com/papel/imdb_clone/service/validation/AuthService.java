@@ -1,10 +1,16 @@
 package com.papel.imdb_clone.service.validation;
 
+import com.papel.imdb_clone.data.DataManager;
 import com.papel.imdb_clone.exceptions.AuthException;
 import com.papel.imdb_clone.exceptions.InvalidInputException;
 import com.papel.imdb_clone.exceptions.RateLimitExceededException;
 import com.papel.imdb_clone.model.people.User;
+import com.papel.imdb_clone.repository.UserRepository;
+import com.papel.imdb_clone.service.metrics.Counter;
+import com.papel.imdb_clone.service.metrics.LatencyHistogram;
+import com.papel.imdb_clone.service.metrics.MetricsRegistry;
 import com.papel.imdb_clone.service.people.UserStorageService;
+import com.papel.imdb_clone.service.task.TaskScheduler;
 import com.papel.imdb_clone.util.PasswordHasher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -13,7 +19,8 @@ import java.io.*;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
 
@@ -31,6 +38,7 @@ public class AuthService {
     private static final String USERS_UPDATED_FILE = "src/main/resources/data/people/users_updated.txt";
     private static final int MAX_LOGIN_ATTEMPTS = 5;
     private static final long LOGIN_ATTEMPT_WINDOW_MINUTES = 15;
+    private static final int MAX_TRACKED_LOGIN_KEYS = 10_000;
     private static final long SESSION_TIMEOUT_MINUTES = 30;
     private static final int MIN_PASSWORD_LENGTH = 8;
     private static final Pattern EMAIL_PATTERN = Pattern.compile(
@@ -41,14 +49,18 @@ public class AuthService {
     // Singleton instance
     private static volatile AuthService instance;
 
-    // User storage
-    private final Map<String, User> usersByUsername = new HashMap<>();
-    private final Map<String, User> usersByEmail = new HashMap<>();
-    private final Map<String, String> userSessions = new ConcurrentHashMap<>();
-    private final Map<String, LoginAttempt> loginAttempts = new ConcurrentHashMap<>();
+    // Shared user repository, the single source of truth for users
+    private final UserRepository userRepository;
+    private final SessionStore userSessions = new SessionStore(Duration.ofMinutes(SESSION_TIMEOUT_MINUTES));
+    private final RateLimiter loginLimiter = new RateLimiter("login", MAX_LOGIN_ATTEMPTS,
+            Duration.ofMinutes(LOGIN_ATTEMPT_WINDOW_MINUTES), MAX_TRACKED_LOGIN_KEYS);
+    // Login latency and outcomes, including rejected and rate-limited attempts
+    private final LatencyHistogram loginLatency = MetricsRegistry.getInstance().histogram("auth.login");
+    private final Counter loginSuccesses = MetricsRegistry.getInstance().counter("auth.login.success");
+    private final Counter loginFailures = MetricsRegistry.getInstance().counter("auth.login.failure");
     private final UserStorageService userStorageService;
+    private final PasswordHashingService hashingService;
 
-    private int nextUserId = 1;
     private String sessionToken;
 
     public String getCurrentSessionToken() {
@@ -61,7 +73,7 @@ public class AuthService {
      */
     public boolean isAuthenticated() {
         boolean isAuthenticated = sessionToken != null && !sessionToken.isEmpty() && 
-               userSessions.containsKey(sessionToken);
+               userSessions.contains(sessionToken);
         
         if (isAuthenticated) {
             String username = userSessions.get(sessionToken);
@@ -87,7 +99,7 @@ public class AuthService {
             return null;
         }
         
-        User user = usersByUsername.get(username.toLowerCase());
+        User user = userRepository.findByUsername(username).orElse(null);
         if (user != null) {
             logger.debug("getUserFromSession: Found user '{}' for session token: {}...", 
                 username, sessionToken.substring(0, Math.min(8, sessionToken.length())));
@@ -99,49 +111,23 @@ public class AuthService {
         return user;
     }
 
-    /**
-     * Tracks login attempts for rate limiting.
-     */
-    private static class LoginAttempt {
-        private final Instant timestamp;
-        private int attempts;
-
-        public LoginAttempt() {
-            this.timestamp = Instant.now();
-            this.attempts = 1;
-        }
-
-        public synchronized void incrementAttempts() {
-            this.attempts++;
-        }
-
-        public synchronized boolean isLocked() {
-            return attempts >= MAX_LOGIN_ATTEMPTS &&
-                    Duration.between(timestamp, Instant.now()).toMinutes() < LOGIN_ATTEMPT_WINDOW_MINUTES;
-        }
-
-        public synchronized long getRemainingLockTime() {
-            if (!isLocked()) return 0;
-            long elapsedMinutes = Duration.between(timestamp, Instant.now()).toMinutes();
-            return LOGIN_ATTEMPT_WINDOW_MINUTES - elapsedMinutes;
-        }
-
-        public synchronized int getAttempts() {
-            return attempts;
-        }
-    }
-
     /**
      * Gets the map of usernames to User objects.
      *
      * @return An unmodifiable map of usernames to User objects
      */
     public Map<String, User> getUsersByUsername() {
-        return Collections.unmodifiableMap(usersByUsername);
+        Map<String, User> byUsername = new LinkedHashMap<>();
+        for (User user : userRepository.findAll()) {
+            byUsername.put(user.getUsername(), user);
+        }
+        return Collections.unmodifiableMap(byUsername);
     }
 
     private AuthService() {
         this.userStorageService = UserStorageService.getInstance();
+        this.userRepository = DataManager.getInstance().getUserRepository();
+        this.hashingService = PasswordHashingService.getInstance();
         logger.info("Initializing AuthService...");
         try {
             loadUsers();
@@ -154,32 +140,18 @@ public class AuthService {
 
     /**
      * Starts a background task to clean up expired sessions.
+     * Eviction only touches expired sessions, so it can run often.
      */
     private void startSessionCleanupTask() {
-        Timer timer = new Timer("SessionCleanupTimer", true);
-        timer.scheduleAtFixedRate(new TimerTask() {
-            @Override
-            public void run() {
-                cleanupExpiredSessions();
-            }
-        }, TimeUnit.MINUTES.toMillis(5), TimeUnit.MINUTES.toMillis(5));
+        TaskScheduler.getInstance().scheduleAtFixedRate(this::cleanupExpiredSessions, 1, 1, TimeUnit.MINUTES);
     }
 
     /**
      * Cleans up expired user sessions.
      */
-    private synchronized void cleanupExpiredSessions() {
+    private void cleanupExpiredSessions() {
         try {
-            int initialSize = userSessions.size();
-            Instant now = Instant.now();
-
-            userSessions.entrySet().removeIf(entry -> {
-                User user = usersByUsername.get(entry.getValue());
-                return user != null && user.getLastActivity() != null &&
-                        Duration.between(user.getLastActivity(), now).toMinutes() > SESSION_TIMEOUT_MINUTES;
-            });
-
-            int removed = initialSize - userSessions.size();
+            int removed = userSessions.evictExpired();
             if (removed > 0) {
                 logger.info("Cleaned up {} expired sessions", removed);
             }
@@ -194,22 +166,20 @@ public class AuthService {
      * Ensures at least the default admin user exists in the system.
      */
     private void loadUsers() {
-        // Clear existing users to prevent duplicates
-        usersByUsername.clear();
-        usersByEmail.clear();
-
         try {
             logger.debug("Starting user loading process");
 
             // First, try to load users from the text file
-            loadUsersFromTextFile();
-            logger.info("Loaded {} users from text file", usersByUsername.size());
+            int loaded = loadUsersFromTextFile();
+            logger.info("Loaded {} users from text file", loaded);
 
             // If no users were loaded from the text file, try loading from storage
-            if (usersByUsername.isEmpty()) {
+            if (loaded == 0) {
                 logger.debug("No users loaded from text file, trying storage");
-                userStorageService.loadUsers(usersByUsername, usersByEmail);
-                logger.info("Loaded {} users from storage", usersByUsername.size());
+                Map<String, User> storedByUsername = new HashMap<>();
+                userStorageService.loadUsers(storedByUsername, new HashMap<>());
+                storedByUsername.values().forEach(userRepository::registerIfAbsent);
+                logger.info("Loaded {} users from storage", storedByUsername.size());
             } else {
                 // Save the loaded users to the serialized storage for next time
                 saveUsers();
@@ -232,7 +202,7 @@ public class AuthService {
 
             throw new RuntimeException(errorMsg, e);
         } finally {
-            logger.info("User loading process completed. Total users: {}", usersByUsername.size());
+            logger.info("User loading process completed. Total users: {}", userRepository.count());
         }
     }
 
@@ -281,14 +251,6 @@ public class AuthService {
         if (!EMAIL_PATTERN.matcher(user.getEmail()).matches()) {
             throw new InvalidInputException("Invalid email format");
         }
-
-        if (usersByUsername.containsKey(user.getUsername())) {
-            throw new InvalidInputException("Username already exists");
-        }
-
-        if (usersByEmail.containsKey(user.getEmail())) {
-            throw new InvalidInputException("Email already registered");
-        }
     }
 
 
@@ -348,13 +310,16 @@ public class AuthService {
             // Validate user data
             validateUserRegistration(user);
 
-            // Set user ID and hash password
-            user.setId(nextUserId++);
-            user.setPassword(PasswordHasher.hashPassword(user.getPassword()));
+            // Hash password; the repository assigns the ID
+            user.setId(0);
+            user.setPassword(hashingService.hash(user.getPassword()));
 
-            // Add to user maps
-            usersByUsername.put(user.getUsername(), user);
-            usersByEmail.put(user.getEmail(), user);
+            // Claim the username and email in one step
+            Optional<User> existing = userRepository.registerIfAbsent(user);
+            if (existing.isPresent()) {
+                throw new InvalidInputException(existing.get().getUsername().equalsIgnoreCase(user.getUsername())
+                        ? "Username already exists" : "Email already registered");
+            }
 
             // Save the updated user list
             saveUsers();
@@ -373,11 +338,14 @@ public class AuthService {
 
     /**
      * Loads users from the users_updated.txt file.
+     *
+     * @return The number of users read from the file
      */
-    private void loadUsersFromTextFile() {
+    private int loadUsersFromTextFile() {
         try (BufferedReader reader = new BufferedReader(new FileReader(USERS_UPDATED_FILE))) {
             String line;
             boolean isFirstLine = true;
+            Map<String, String> passwordsByUsername = new LinkedHashMap<>();
 
             while ((line = reader.readLine()) != null) {
                 // Skip empty lines and comments
@@ -403,19 +371,12 @@ public class AuthService {
                         String firstName = nameParts.length > 0 ? nameParts[0] : "";
                         String lastName = nameParts.length > 1 ? nameParts[1] : "";
 
-                        // Create and add user
+                        // Create and add user, unless the data loader already added it
                         User user = new User(firstName, lastName, username, ' ', email);
                         user.setId(id);
-                        // Hash the password when loading from text file
-                        user.setPassword(PasswordHasher.hashPassword(password));
-
-                        usersByUsername.put(username, user);
-                        usersByEmail.put(email, user);
-
-                        // Update nextUserId if needed
-                        if (id >= nextUserId) {
-                            nextUserId = id + 1;
-                        }
+                        userRepository.registerIfAbsent(user);
+                        // Passwords are hashed together once the whole file has been read
+                        passwordsByUsername.put(username, password);
 
                         logger.info("Loaded user: {} (ID: {})", username, id);
                     } catch (Exception e) {
@@ -424,15 +385,21 @@ public class AuthService {
                 }
             }
 
-            logger.info("Loaded {} users from text file", usersByUsername.size());
+            // Hash the passwords from the text file in parallel
+            Map<String, String> hashes = hashingService.hashAll(passwordsByUsername, hashingService.getIterations());
+            hashes.forEach((username, hash) ->
+                    userRepository.findByUsername(username).ifPresent(user -> user.setPassword(hash)));
+            logger.info("Loaded {} users from text file", hashes.size());
 
             // Save the loaded users to the serialized file for next time
-            if (!usersByUsername.isEmpty()) {
+            if (!hashes.isEmpty()) {
                 saveUsers();
             }
+            return hashes.size();
 
         } catch (IOException e) {
             logger.error("Error loading users from text file", e);
+            return 0;
         }
     }
 
@@ -444,11 +411,16 @@ public class AuthService {
         try {
             // Create a new admin user
             User admin = new User("Admin", "User", "admin", 'M', "admin@imdbclone.com");
-            admin.setPassword(PasswordHasher.hashPassword("admin123"));
-            admin.setId(nextUserId++);
-
-            usersByUsername.put(admin.getUsername(), admin);
-            usersByEmail.put(admin.getEmail(), admin);
+            if (userRepository.existsByUsername(admin.getUsername())) {
+                logger.debug("Default admin user already exists");
+                return;
+            }
+            admin.setId(0);
+            admin.setPassword(hashingService.hash("admin123"));
+            if (userRepository.registerIfAbsent(admin).isPresent()) {
+                logger.debug("Default admin user already exists");
+                return;
+            }
 
             // Save the new admin user
             saveUsers();
@@ -458,14 +430,65 @@ public class AuthService {
         }
     }
 
+    /**
+     * Recomputes the stored hashes of the given users with a new cost, hashing in parallel on the
+     * password hashing pool and saving once at the end. PBKDF2 cannot be re-keyed, so the plaintext
+     * passwords must be supplied, for example from the users text file.
+     *
+     * @param passwordsByUsername The plaintext passwords keyed by username
+     * @param iterations          The PBKDF2 iteration count to migrate to
+     * @return The number of users whose hash was replaced
+     */
+    public int rehashUsers(Map<String, String> passwordsByUsername, int iterations) {
+        // Each user is checked and rehashed in one task so both PBKDF2 runs happen on the pool
+        List<User> users = new ArrayList<>();
+        List<Callable<String>> tasks = new ArrayList<>();
+        passwordsByUsername.forEach((username, password) -> {
+            User user = userRepository.findByUsername(username).orElse(null);
+            if (user == null) {
+                logger.warn("Skipping rehash for unknown user: {}", username);
+            } else if (PasswordHasher.needsRehash(user.getPassword(), iterations)) {
+                String storedHash = user.getPassword();
+                users.add(user);
+                tasks.add(() -> PasswordHasher.verifyPassword(password, storedHash)
+                        ? PasswordHasher.hashPassword(password, iterations) : null);
+            }
+        });
+
+        List<String> hashes = hashingService.runAll(tasks);
+        int rehashed = 0;
+        for (int i = 0; i < users.size(); i++) {
+            String hash = hashes.get(i);
+            if (hash != null) {
+                users.get(i).setPassword(hash);
+                rehashed++;
+            } else {
+                logger.warn("Skipping rehash for user {}: password does not match", users.get(i).getUsername());
+            }
+        }
+        if (rehashed > 0) {
+            saveUsers();
+        }
+        logger.info("Rehashed {} of {} users with {} iterations", rehashed, passwordsByUsername.size(), iterations);
+        return rehashed;
+    }
+
     /**
      * Saves the current user data to storage.
      * This method is public to allow for administrative tasks.
      */
-    public void saveUsers() {
+    public synchronized void saveUsers() {
         try {
-            userStorageService.saveUsers(usersByUsername, usersByEmail);
-            logger.info("Saved {} users to storage", usersByUsername.size());
+            Map<String, User> byUsername = new LinkedHashMap<>();
+            Map<String, User> byEmail = new LinkedHashMap<>();
+            for (User user : userRepository.findAll()) {
+                byUsername.put(user.getUsername(), user);
+                if (user.getEmail() != null) {
+                    byEmail.put(user.getEmail(), user);
+                }
+            }
+            userStorageService.saveUsers(byUsername, byEmail);
+            logger.info("Saved {} users to storage", byUsername.size());
         } catch (Exception e) {
             logger.error("Failed to save users: {}", e.getMessage(), e);
         }
@@ -477,8 +500,23 @@ public class AuthService {
      * @param password The plaintext password
      * @return Session token
      * @throws AuthException if authentication fails
+     * @throws RateLimitExceededException if there were too many login attempts for the username
      */
-    public String login(String username, String password) throws AuthException {
+    public String login(String username, String password) throws AuthException, RateLimitExceededException {
+        long start = System.nanoTime();
+        boolean succeeded = false;
+        try {
+            String token = authenticate(username, password);
+            succeeded = true;
+            return token;
+        } finally {
+            loginLatency.recordSince(start);
+            (succeeded ? loginSuccesses : loginFailures).increment();
+        }
+    }
+
+    //verifies the credentials and opens the session; login records how long this took
+    private String authenticate(String username, String password) throws AuthException, RateLimitExceededException {
         logger.debug("Attempting login for user: {}", username);
 
         // Input validation
@@ -498,7 +536,13 @@ public class AuthService {
             );
         }
 
-        User user = usersByUsername.get(username);
+        // Limit attempts per username before doing any expensive work
+        loginLimiter.acquire(username.trim().toLowerCase());
+
+        // Users can sign in with their username or email
+        User user = userRepository.findByUsername(username)
+                .or(() -> userRepository.findByEmail(username))
+                .orElse(null);
         if (user == null) {
             logger.warn("Login failed: User not found - {}", username);
             throw new AuthException(
@@ -512,7 +556,7 @@ public class AuthService {
         // Verify password using secure hashing
         try {
             String storedPassword = user.getPassword();
-            boolean passwordMatches = com.papel.imdb_clone.util.PasswordHasher.verifyPassword(password, storedPassword);
+            boolean passwordMatches = PasswordHasher.verifyPassword(password, storedPassword);
 
             if (!passwordMatches) {
                 logger.warn("Login failed: Incorrect password for user - {}", username);
@@ -523,6 +567,11 @@ public class AuthService {
             }
             // Log the successful password verification
             logger.debug("Password verified successfully for user: {}", username);
+
+            // Migrate the stored hash to the configured cost while the plaintext is at hand
+            if (PasswordHasher.needsRehash(storedPassword, hashingService.getIterations())) {
+                rehashInBackground(user, storedPassword, password);
+            }
         } catch (Exception e) {
             logger.error("Error during password verification for user {}: {}", username, e.getMessage(), e);
             throw new AuthException(
@@ -538,6 +587,7 @@ public class AuthService {
             
             // Set the session token in the AuthService instance
             this.sessionToken = sessionToken;
+            loginLimiter.reset(username.trim().toLowerCase());
             logger.info("User logged in successfully: {} with session token: {}", username, sessionToken);
             return sessionToken;
         } catch (Exception e) {
@@ -551,6 +601,35 @@ public class AuthService {
         }
     }
 
+    //hashes the password with the configured cost and saves the users off the login path; if the pool
+    //is busy or the password changed in the meantime the migration is left for the next login
+    private void rehashInBackground(User user, String storedPassword, String password) {
+        hashingService.hashAsync(password).thenAccept(hash -> {
+            if (!storedPassword.equals(user.getPassword())) {
+                return;
+            }
+            user.setPassword(hash);
+            TaskScheduler.getInstance().runIo(this::saveUsers);
+            logger.info("Rehashed password for user {} with {} iterations",
+                    user.getUsername(), hashingService.getIterations());
+        }).exceptionally(e -> {
+            logger.warn("Could not rehash password for user {}: {}", user.getUsername(), e.getMessage());
+            return null;
+        });
+    }
+
+    /**
+     * Authenticates a user on the password hashing pool so the caller is never blocked by PBKDF2.
+     *
+     * @param username The username of the user
+     * @param password The plaintext password
+     * @return A future completed with the session token, or exceptionally with an AuthException
+     *         or RateLimitExceededException
+     */
+    public CompletableFuture<String> loginAsync(String username, String password) {
+        return hashingService.submit(() -> login(username, password));
+    }
+
     /**
      * Gets the currently logged-in user for a session token.
      *
@@ -571,7 +650,7 @@ public class AuthService {
             return null;
         }
 
-        User user = usersByUsername.get(username.toLowerCase());
+        User user = userRepository.findByUsername(username).orElse(null);
         if (user != null) {
             logger.debug("getCurrentUser: Found user '{}' with ID {} for session token: {}...", 
                 username, user.getId(), sessionToken.substring(0, Math.min(8, sessionToken.length())));
@@ -634,32 +713,6 @@ public class AuthService {
         // Validate user data
         validateUserRegistration(user);
 
-        // Check for existing user
-        String usernameLower = user.getUsername().toLowerCase();
-        String emailLower = user.getEmail().toLowerCase();
-
-        if (usersByUsername.containsKey(usernameLower)) {
-            String errorMsg = String.format("Username '%s' is already taken", user.getUsername());
-            logger.warn("{}: {}", methodName, errorMsg);
-            throw new AuthException(
-                    com.papel.imdb_clone.exceptions.AuthErrorType.ACCOUNT_ALREADY_EXISTS,
-                    errorMsg,
-                    Map.of("username", Collections.singletonList("This username is already taken")),
-                    null
-            );
-        }
-
-        if (usersByEmail.containsKey(emailLower)) {
-            String errorMsg = String.format("Email '%s' is already registered", user.getEmail());
-            logger.warn("{}: {}", methodName, errorMsg);
-            throw new AuthException(
-                    com.papel.imdb_clone.exceptions.AuthErrorType.ACCOUNT_ALREADY_EXISTS,
-                    errorMsg,
-                    Map.of("email", Collections.singletonList("This email is already registered")),
-                    null
-            );
-        }
-
         // Validate password strength
         if (password.length() < MIN_PASSWORD_LENGTH) {
             String errorMsg = String.format("Password must be at least %d characters long", MIN_PASSWORD_LENGTH);
@@ -667,19 +720,33 @@ public class AuthService {
             throw new InvalidInputException(errorMsg);
         }
 
-        // Set user properties
-        user.setId(nextUserId);
-        user.setPassword(PasswordHasher.hashPassword(password));
+        // Set user properties; the repository assigns the ID
+        user.setId(0);
+        user.setPassword(hashingService.hash(password));
         user.setActive(true);
         user.setLocked(false);
         user.setCreatedAt(Instant.now());
         user.setUpdatedAt(Instant.now());
 
-        try {
-            // Add to in-memory collections
-            usersByUsername.put(usernameLower, user);
-            usersByEmail.put(emailLower, user);
+        // Claim the username and email in one step so concurrent registrations cannot both succeed
+        Optional<User> existing = userRepository.registerIfAbsent(user);
+        if (existing.isPresent()) {
+            boolean usernameTaken = existing.get().getUsername().equalsIgnoreCase(user.getUsername());
+            String errorMsg = usernameTaken
+                    ? String.format("Username '%s' is already taken", user.getUsername())
+                    : String.format("Email '%s' is already registered", user.getEmail());
+            logger.warn("{}: {}", methodName, errorMsg);
+            throw new AuthException(
+                    com.papel.imdb_clone.exceptions.AuthErrorType.ACCOUNT_ALREADY_EXISTS,
+                    errorMsg,
+                    usernameTaken
+                            ? Map.of("username", Collections.singletonList("This username is already taken"))
+                            : Map.of("email", Collections.singletonList("This email is already registered")),
+                    null
+            );
+        }
 
+        try {
             // Persist the new user
             saveUsers();
             logger.info("{}: Successfully registered user: {} (ID: {})", methodName, username, user.getId());
@@ -687,8 +754,7 @@ public class AuthService {
 
         } catch (Exception e) {
             // Rollback in-memory changes if persistence fails
-            usersByUsername.remove(usernameLower);
-            usersByEmail.remove(emailLower);
+            userRepository.deleteById(user.getId());
 
             if (e instanceof AuthException) {
                 logger.debug("{}: Registration failed for user {}: {}", methodName, username, e.getMessage());
@@ -706,5 +772,17 @@ public class AuthService {
             logger.debug("{}: Completed registration attempt for user: {}", methodName, username);
         }
     }
-}
 
+    /**
+     * Registers a new user on the password hashing pool so the caller is never blocked by PBKDF2.
+     *
+     * @param user            The user to register
+     * @param password        The plaintext password
+     * @param confirmPassword The password confirmation
+     * @return A future completed with the registered user, or exceptionally with an AuthException
+     *         or InvalidInputException
+     */
+    public CompletableFuture<User> registerAsync(User user, String password, String confirmPassword) {
+        return hashingService.submit(() -> register(user, password, confirmPassword));
+    }
+}
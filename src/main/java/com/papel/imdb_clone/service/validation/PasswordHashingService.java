@@ -0,0 +1,210 @@
+package com.papel.imdb_clone.service.validation;
+
+import com.papel.imdb_clone.config.ApplicationConfig;
+import com.papel.imdb_clone.util.PasswordHasher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs password hashing and verification on a dedicated pool sized to the number of cores.
+ * PBKDF2 is deliberately slow, so it is kept off the JavaFX Application Thread and off the shared
+ * CPU pool, where a burst of logins or a bulk import would starve searches and filters.
+ * <p>
+ * The pool's queue is bounded. Once it is full, further single operations are shed: their future
+ * fails with a {@link RejectedExecutionException} instead of waiting behind work nobody may still
+ * be waiting for. Bulk operations such as {@link #hashAll} never shed; they keep a limited number
+ * of tasks queued and run a task on the calling thread when the queue is full.
+ */
+public class PasswordHashingService {
+    private static final Logger logger = LoggerFactory.getLogger(PasswordHashingService.class);
+
+    //Queued hashing tasks allowed per worker before new ones are rejected
+    private static final int QUEUE_PER_WORKER = 64;
+
+    private static volatile PasswordHashingService instance;
+
+    private final ThreadPoolExecutor executor;
+    private final int queueCapacity;
+    private final int iterations;
+
+    private PasswordHashingService() {
+        int workers = Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        this.queueCapacity = workers * QUEUE_PER_WORKER;
+        // The default abort policy rejects work once the queue is full
+        this.executor = new ThreadPoolExecutor(workers, workers, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "imdb-hash-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.executor.allowCoreThreadTimeOut(true);
+        this.iterations = ApplicationConfig.getInstance().getPasswordHashIterations();
+        logger.info("PasswordHashingService initialized with {} workers, {} queued tasks and {} iterations",
+                workers, queueCapacity, iterations);
+    }
+
+    /**
+     * Gets the singleton instance of PasswordHashingService.
+     *
+     * @return the PasswordHashingService instance
+     */
+    public static PasswordHashingService getInstance() {
+        if (instance == null) {
+            synchronized (PasswordHashingService.class) {
+                if (instance == null) {
+                    instance = new PasswordHashingService();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Gets the iteration count used for new hashes.
+     *
+     * @return the configured PBKDF2 iteration count
+     */
+    public int getIterations() {
+        return iterations;
+    }
+
+    /**
+     * Gets the number of tasks that can wait for a worker before new ones are rejected.
+     * Callers submitting many operations should keep fewer than this in flight.
+     *
+     * @return the capacity of the pool's queue
+     */
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    /**
+     * Hashes a password on the calling thread with the configured cost.
+     *
+     * @param password the password to hash
+     * @return the encoded hash
+     */
+    public String hash(String password) {
+        return PasswordHasher.hashPassword(password, iterations);
+    }
+
+    /**
+     * Hashes a password on the hashing pool with the configured cost.
+     *
+     * @param password the password to hash
+     * @return a future completed with the encoded hash, or failed if the pool is saturated
+     */
+    public CompletableFuture<String> hashAsync(String password) {
+        return submit(() -> hash(password));
+    }
+
+    /**
+     * Verifies a password against a stored hash on the hashing pool.
+     *
+     * @param password   the password to verify
+     * @param storedHash the stored hash
+     * @return a future completed with true if the password matches, or failed if the pool is saturated
+     */
+    public CompletableFuture<Boolean> verifyAsync(String password, String storedHash) {
+        return submit(() -> PasswordHasher.verifyPassword(password, storedHash));
+    }
+
+    /**
+     * Runs work that is dominated by hashing, such as a whole login, on the hashing pool.
+     * Checked exceptions thrown by the work complete the future exceptionally.
+     *
+     * @param task the work to run
+     * @return a future completed with the result of the task, or failed with a
+     * {@link RejectedExecutionException} if the pool's queue is full
+     */
+    public <T> CompletableFuture<T> submit(Callable<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(() -> call(task), executor);
+        } catch (RejectedExecutionException e) {
+            logger.warn("Password hashing pool is saturated, rejecting a task");
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Runs many tasks on the hashing pool and waits for all of them. At most half the queue is
+     * filled at a time, leaving room for logins, and a task that still finds the queue full runs on
+     * the calling thread, so no task is ever rejected.
+     *
+     * @param tasks the work to run
+     * @return the results in the order of the tasks
+     * @throws CompletionException if a task fails
+     */
+    public <T> List<T> runAll(List<? extends Callable<T>> tasks) {
+        int window = Math.max(1, queueCapacity / 2);
+        List<T> results = new ArrayList<>(tasks.size());
+        for (int from = 0; from < tasks.size(); from += window) {
+            List<CompletableFuture<T>> futures = new ArrayList<>(window);
+            for (Callable<T> task : tasks.subList(from, Math.min(tasks.size(), from + window))) {
+                try {
+                    futures.add(CompletableFuture.supplyAsync(() -> call(task), executor));
+                } catch (RejectedExecutionException e) {
+                    futures.add(CompletableFuture.completedFuture(call(task)));
+                }
+            }
+            for (CompletableFuture<T> future : futures) {
+                results.add(future.join());
+            }
+        }
+        return results;
+    }
+
+    //runs a task, wrapping checked exceptions so they complete the future exceptionally
+    private static <T> T call(Callable<T> task) {
+        try {
+            return task.call();
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new CompletionException(e);
+        }
+    }
+
+    /**
+     * Hashes many passwords in parallel with the given cost, using every worker of the pool.
+     *
+     * @param passwordsByKey the plaintext passwords, keyed by an identifier such as the username
+     * @param cost           the PBKDF2 iteration count to use
+     * @return the encoded hashes under the same keys
+     */
+    public <K> Map<K, String> hashAll(Map<K, String> passwordsByKey, int cost) {
+        List<K> keys = new ArrayList<>(passwordsByKey.keySet());
+        List<Callable<String>> tasks = new ArrayList<>(keys.size());
+        for (K key : keys) {
+            String password = passwordsByKey.get(key);
+            tasks.add(() -> PasswordHasher.hashPassword(password, cost));
+        }
+        List<String> results = runAll(tasks);
+        Map<K, String> hashes = new HashMap<>(keys.size() * 2);
+        for (int i = 0; i < keys.size(); i++) {
+            hashes.put(keys.get(i), results.get(i));
+        }
+        return hashes;
+    }
+
+    /**
+     * Stops the hashing pool. Pending work is discarded.
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,186 @@
+package com.papel.imdb_clone.service.validation;
+
+import com.papel.imdb_clone.config.ApplicationConfig;
+import com.papel.imdb_clone.exceptions.RateLimitExceededException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token-bucket rate limiter keyed by user, session or action.
+ * Each key holds a bucket of up to capacity tokens that refills evenly over the window; every
+ * request takes one token and is rejected when the bucket is empty.
+ * A bucket is stored as a single theoretical arrival time updated with compare-and-set, so
+ * acquiring never blocks. Keys are also queued in the order they were first seen. When the number
+ * of keys reaches the limit, a new key looks at a few of the oldest ones: buckets that have refilled
+ * completely are indistinguishable from new ones and are dropped, and refilling ones go back to the
+ * end of the queue. If none of them has refilled, the one closest to full is dropped, so a new
+ * client is always admitted and an evicted client loses at most the little credit it had left to
+ * earn back. Making room therefore costs a bounded number of steps however many keys are tracked.
+ * When rate limiting is disabled in the configuration every request is allowed and no keys are tracked.
+ */
+public class RateLimiter {
+    private static final Logger logger = LoggerFactory.getLogger(RateLimiter.class);
+
+    //Oldest keys looked at when making room for a new one
+    private static final int EVICTION_CANDIDATES = 8;
+
+    private final String name;
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final int maxKeys;
+    private final boolean enabled;
+    //Time at which each bucket will be full again, in System.nanoTime units
+    private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    //Buckets in the order their keys were first seen, cycled through when making room
+    private final Queue<Tracked> order = new ConcurrentLinkedQueue<>();
+
+    private record Tracked(String key, AtomicLong bucket) {
+    }
+
+    /**
+     * Creates a new rate limiter.
+     *
+     * @param name     name of the limited action, used in messages
+     * @param capacity the number of requests allowed in a burst
+     * @param window   the time an empty bucket takes to refill completely
+     * @param maxKeys  the number of keys tracked before old buckets are evicted to make room
+     */
+    public RateLimiter(String name, int capacity, Duration window, int maxKeys) {
+        if (capacity < 1 || window.isNegative() || window.isZero() || maxKeys < 1) {
+            throw new IllegalArgumentException("Capacity, window and maxKeys must be positive");
+        }
+        this.name = name;
+        this.intervalNanos = Math.max(1, window.toNanos() / capacity);
+        this.burstNanos = intervalNanos * capacity;
+        this.maxKeys = maxKeys;
+        this.enabled = ApplicationConfig.getInstance().isRateLimitEnabled();
+    }
+
+    /**
+     * Takes a token for the key.
+     *
+     * @param key the user, session or action being limited
+     * @throws RateLimitExceededException if the bucket is empty; the remaining time is in milliseconds
+     */
+    public void acquire(String key) throws RateLimitExceededException {
+        long waitNanos = tryAcquire(key);
+        if (waitNanos > 0) {
+            long waitMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(waitNanos));
+            logger.warn("Rate limit '{}' exceeded for key {}, retry in {} ms", name, key, waitMillis);
+            throw new RateLimitExceededException(
+                    String.format("Too many %s requests, please try again in %d seconds",
+                            name, Math.max(1, TimeUnit.MILLISECONDS.toSeconds(waitMillis + 999))),
+                    waitMillis);
+        }
+    }
+
+    /**
+     * Takes a token for the key if one is available.
+     *
+     * @param key the user, session or action being limited
+     * @return 0 if a token was taken, otherwise the nanoseconds until the next token is available
+     */
+    public long tryAcquire(String key) {
+        if (!enabled) {
+            return 0;
+        }
+        AtomicLong bucket = bucketFor(key);
+        while (true) {
+            long now = System.nanoTime();
+            long full = bucket.get();
+            long next = Math.max(full - now, 0) + now + intervalNanos;
+            long wait = next - now - burstNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (bucket.compareAndSet(full, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Gives the key a full bucket again, for example after a successful login.
+     *
+     * @param key the key to reset
+     */
+    public void reset(String key) {
+        // The bucket stays tracked, so the queue of keys never refers to a removed one
+        AtomicLong bucket = buckets.get(key);
+        if (bucket != null) {
+            bucket.set(System.nanoTime());
+        }
+    }
+
+    /**
+     * Gets the number of keys currently tracked.
+     *
+     * @return the number of buckets
+     */
+    public int size() {
+        return buckets.size();
+    }
+
+    //gets or creates the bucket of a key, making room first when the key limit is reached
+    private AtomicLong bucketFor(String key) {
+        AtomicLong bucket = buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= maxKeys) {
+            makeRoom();
+        }
+        AtomicLong fresh = new AtomicLong(System.nanoTime());
+        bucket = buckets.putIfAbsent(key, fresh);
+        if (bucket != null) {
+            return bucket;
+        }
+        order.add(new Tracked(key, fresh));
+        return fresh;
+    }
+
+    //looks at the oldest few keys, dropping those that have refilled and requeueing the others;
+    //if none has refilled, the bucket closest to full is dropped instead
+    private void makeRoom() {
+        long now = System.nanoTime();
+        Tracked closest = null;
+        List<Tracked> refilling = new ArrayList<>(EVICTION_CANDIDATES);
+        for (int i = 0; i < EVICTION_CANDIDATES; i++) {
+            Tracked candidate = order.poll();
+            if (candidate == null) {
+                break;
+            }
+            if (candidate.bucket().get() - now <= 0) {
+                buckets.remove(candidate.key(), candidate.bucket());
+                order.addAll(refilling);
+                if (closest != null) {
+                    order.add(closest);
+                }
+                return;
+            }
+            if (closest == null || candidate.bucket().get() - closest.bucket().get() < 0) {
+                if (closest != null) {
+                    refilling.add(closest);
+                }
+                closest = candidate;
+            } else {
+                refilling.add(candidate);
+            }
+        }
+        order.addAll(refilling);
+        if (closest != null) {
+            buckets.remove(closest.key(), closest.bucket());
+            logger.debug("Rate limit '{}' tracks {} refilling keys, evicting {}", name, maxKeys, closest.key());
+        }
+    }
+}
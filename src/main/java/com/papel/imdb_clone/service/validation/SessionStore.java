@@ -0,0 +1,187 @@
+package com.papel.imdb_clone.service.validation;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Session token store with sliding expiration.
+ * Every session keeps its own deadline, which is pushed back whenever the session is used.
+ * Because all sessions share the same time-to-live, deadlines are queued in (nearly) increasing order,
+ * so eviction only looks at the head of the queue and costs O(expired) instead of a full scan.
+ * Expired sessions are never returned, and are evicted at most a sixteenth of the time-to-live late.
+ * No operation takes a global lock.
+ */
+class SessionStore {
+    //A session is only re-queued when its deadline moved by at least this fraction of the time-to-live,
+    //which bounds the queue to a few nodes per live session however often it is used
+    private static final int REQUEUE_GRANULARITY = 16;
+
+    private final long ttlNanos;
+    private final long requeueNanos;
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+    //Deadlines in increasing order; a session may appear several times, only its last node is current
+    private final Queue<Deadline> deadlines = new ConcurrentLinkedQueue<>();
+    //Keeps eviction single-threaded so the head of the queue is only polled by one caller
+    private final AtomicBoolean evicting = new AtomicBoolean();
+
+    /**
+     * Creates a new session store.
+     *
+     * @param timeToLive how long a session stays valid after it was last used
+     */
+    SessionStore(Duration timeToLive) {
+        this.ttlNanos = timeToLive.toNanos();
+        this.requeueNanos = Math.max(1, ttlNanos / REQUEUE_GRANULARITY);
+    }
+
+    /**
+     * Starts a session for a user.
+     *
+     * @param token    the session token
+     * @param username the user the session belongs to
+     */
+    void put(String token, String username) {
+        Session session = new Session(token, username, System.nanoTime() + ttlNanos);
+        Session previous = sessions.put(token, session);
+        if (previous != null) {
+            previous.expiresAt = Long.MIN_VALUE;
+        }
+        deadlines.add(new Deadline(session, session.expiresAt));
+    }
+
+    /**
+     * Gets the user of a live session and extends the session.
+     *
+     * @param token the session token
+     * @return the username, or null if the session does not exist or has expired
+     */
+    String get(String token) {
+        if (token == null) {
+            return null;
+        }
+        Session session = sessions.get(token);
+        if (session == null) {
+            return null;
+        }
+        long now = System.nanoTime();
+        if (session.expiresAt - now <= 0) {
+            sessions.remove(token, session);
+            return null;
+        }
+        touch(session, now);
+        return session.username;
+    }
+
+    /**
+     * Checks if a session is live without extending it.
+     *
+     * @param token the session token
+     * @return true if the session exists and has not expired
+     */
+    boolean contains(String token) {
+        Session session = token != null ? sessions.get(token) : null;
+        return session != null && session.expiresAt - System.nanoTime() > 0;
+    }
+
+    /**
+     * Ends a session.
+     *
+     * @param token the session token
+     * @return the username of the session, or null if it did not exist or had expired
+     */
+    String remove(String token) {
+        Session session = token != null ? sessions.remove(token) : null;
+        if (session == null) {
+            return null;
+        }
+        boolean live = session.expiresAt - System.nanoTime() > 0;
+        session.expiresAt = Long.MIN_VALUE;
+        return live ? session.username : null;
+    }
+
+    /**
+     * Removes the sessions whose deadline has passed.
+     *
+     * @return the number of sessions removed
+     */
+    int evictExpired() {
+        if (!evicting.compareAndSet(false, true)) {
+            return 0;
+        }
+        try {
+            long now = System.nanoTime();
+            int removed = 0;
+            Deadline head;
+            while ((head = deadlines.peek()) != null && head.at - now <= 0) {
+                deadlines.poll();
+                Session session = head.session;
+                if (head.at != session.queuedAt.get()) {
+                    // Superseded by a later node for the same session
+                    continue;
+                }
+                long expiresAt = session.expiresAt;
+                if (expiresAt - now <= 0) {
+                    if (sessions.remove(session.token, session)) {
+                        removed++;
+                    }
+                } else if (session.queuedAt.compareAndSet(head.at, expiresAt)) {
+                    // Used since it was queued but not far enough to be re-queued then
+                    deadlines.add(new Deadline(session, expiresAt));
+                }
+            }
+            return removed;
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    /**
+     * Gets the number of stored sessions, including expired ones not evicted yet.
+     *
+     * @return the session count
+     */
+    int size() {
+        return sessions.size();
+    }
+
+    //slides the deadline and re-queues the session once it moved far enough
+    private void touch(Session session, long now) {
+        long next = now + ttlNanos;
+        session.expiresAt = next;
+        long queued = session.queuedAt.get();
+        if (next - queued >= requeueNanos && session.queuedAt.compareAndSet(queued, next)) {
+            deadlines.add(new Deadline(session, next));
+        }
+    }
+
+    //a live session; expiresAt is the real deadline, queuedAt the deadline of its latest queue node
+    private static final class Session {
+        private final String token;
+        private final String username;
+        private final AtomicLong queuedAt;
+        private volatile long expiresAt;
+
+        private Session(String token, String username, long expiresAt) {
+            this.token = token;
+            this.username = username;
+            this.expiresAt = expiresAt;
+            this.queuedAt = new AtomicLong(expiresAt);
+        }
+    }
+
+    //queue node holding the deadline a session had when it was queued
+    private static final class Deadline {
+        private final Session session;
+        private final long at;
+
+        private Deadline(Session session, long at) {
+            this.session = session;
+            this.at = at;
+        }
+    }
+}
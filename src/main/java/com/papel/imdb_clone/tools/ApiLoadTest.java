@@ -0,0 +1,228 @@
+package com.papel.imdb_clone.tools;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.papel.imdb_clone.data.DataManager;
+import com.papel.imdb_clone.service.api.CatalogueApiServer;
+import com.papel.imdb_clone.service.metrics.LatencyHistogram;
+import com.papel.imdb_clone.service.metrics.MetricsRegistry;
+import com.papel.imdb_clone.service.rating.RatingService;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Load test for the catalogue API: a fixed number of clients, each on its own virtual thread,
+ * send a mix of searches, lookups, rating reads and writes and leaderboard requests for a fixed
+ * time, then the throughput, the responses by status and the latency percentiles per endpoint are printed.
+ * <p>
+ * Clients rotate through many X-Client-Id values so the per-client search limit does not dominate;
+ * rating writes use random users, so some of them are refused as duplicates (409) or rate limited (429)
+ * by design. Without --url the catalogue is loaded and served in this process on a free port, which
+ * makes the numbers include the client's own CPU use.
+ * <p>
+ * Usage: {@code ApiLoadTest [--url=http://127.0.0.1:8085] [--concurrency=N] [--duration=SECONDS] [--seed=N]}
+ */
+public class ApiLoadTest {
+    private static final String[] ENDPOINTS = {"search", "movie", "series", "ratings", "leaderboard", "rate"};
+    //cumulative share of requests per endpoint, in percent
+    private static final int[] MIX = {40, 60, 70, 85, 95, 100};
+    private static final String[] QUERIES = {"the", "a", "dark", "love", "war", "man", "night", "star"};
+    private static final int CLIENT_IDS = 10_000;
+    private static final int USERS = 100_000;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final String baseUrl;
+    private final long seed;
+    private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+    private final LongAdder failures = new LongAdder();
+    private final LatencyHistogram[] latencies = new LatencyHistogram[ENDPOINTS.length];
+    private final List<Integer> movieIds = new ArrayList<>();
+    private final List<Integer> seriesIds = new ArrayList<>();
+
+    /**
+     * Creates a load test against a running API.
+     *
+     * @param baseUrl the server address, e.g. http://127.0.0.1:8085
+     * @param seed    the seed of the request mix
+     */
+    public ApiLoadTest(String baseUrl, long seed) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.seed = seed;
+        for (int i = 0; i < ENDPOINTS.length; i++) {
+            latencies[i] = MetricsRegistry.getInstance().histogram("loadtest." + ENDPOINTS[i]);
+            latencies[i].reset();
+        }
+    }
+
+    /**
+     * Runs the load test and prints the results to standard output.
+     *
+     * @param concurrency the number of concurrent clients
+     * @param duration    how long to send requests
+     * @throws IOException          if the server cannot be reached
+     * @throws InterruptedException if interrupted while waiting for the clients
+     */
+    public void run(int concurrency, Duration duration) throws IOException, InterruptedException {
+        collectIds();
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                SplittableRandom random = new SplittableRandom(seed * 31 + i);
+                clients.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        sendOne(random);
+                    }
+                });
+            }
+        }
+        report(concurrency, (System.nanoTime() - start) / 1e9);
+    }
+
+    //pages through a search to learn which movie and series IDs exist
+    private void collectIds() throws IOException, InterruptedException {
+        for (int offset = 0; offset < 500; offset += 100) {
+            HttpResponse<String> response = client.send(get("/api/search?offset=" + offset + "&limit=100", "loadtest-setup"),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IOException("Search failed with " + response.statusCode() + ": " + response.body());
+            }
+            JsonNode items = mapper.readTree(response.body()).get("items");
+            for (JsonNode item : items) {
+                (item.get("type").asText().equals("series") ? seriesIds : movieIds).add(item.get("id").asInt());
+            }
+            if (items.size() < 100) {
+                break;
+            }
+        }
+        if (movieIds.isEmpty() && seriesIds.isEmpty()) {
+            throw new IOException("The catalogue at " + baseUrl + " is empty");
+        }
+    }
+
+    private void sendOne(SplittableRandom random) {
+        int roll = random.nextInt(100);
+        int endpoint = 0;
+        while (roll >= MIX[endpoint]) {
+            endpoint++;
+        }
+        String clientId = "loadtest-" + random.nextInt(CLIENT_IDS);
+        HttpRequest request = switch (ENDPOINTS[endpoint]) {
+            case "search" -> get("/api/search?query=" + QUERIES[random.nextInt(QUERIES.length)] + "&limit=20", clientId);
+            case "movie" -> get("/api/movies/" + pick(movieIds, random), clientId);
+            case "series" -> get("/api/series/" + pick(seriesIds, random), clientId);
+            case "ratings" -> get("/api/ratings/content/" + pick(movieIds, random), clientId);
+            case "leaderboard" -> get(switch (random.nextInt(3)) {
+                case 0 -> "/api/leaderboards/top-rated?limit=10";
+                case 1 -> "/api/leaderboards/most-awarded?limit=10";
+                default -> "/api/leaderboards/box-office?group-by=genre";
+            }, clientId);
+            default -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/ratings"))
+                    .header("Content-Type", "application/json")
+                    .header("X-Client-Id", clientId)
+                    .POST(HttpRequest.BodyPublishers.ofString(String.format(
+                            "{\"userId\":%d,\"contentId\":%d,\"rating\":%d}",
+                            1 + random.nextInt(USERS), pick(movieIds, random), 1 + random.nextInt(10))))
+                    .build();
+        };
+        long start = System.nanoTime();
+        try {
+            int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            latencies[endpoint].recordSince(start);
+            statuses.computeIfAbsent(status, key -> new LongAdder()).increment();
+        } catch (IOException e) {
+            failures.increment();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private HttpRequest get(String path, String clientId) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("X-Client-Id", clientId)
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+    }
+
+    private static int pick(List<Integer> ids, SplittableRandom random) {
+        return ids.isEmpty() ? 1 : ids.get(random.nextInt(ids.size()));
+    }
+
+    private void report(int concurrency, double seconds) {
+        long total = statuses.values().stream().mapToLong(LongAdder::sum).sum();
+        System.out.printf("%d clients for %.1f s: %,d responses, %,.0f requests/s, %,d connection failures%n",
+                concurrency, seconds, total, total / seconds, failures.sum());
+        Map<Integer, Long> byStatus = new TreeMap<>();
+        statuses.forEach((status, count) -> byStatus.put(status, count.sum()));
+        System.out.println("Responses by status: " + byStatus);
+        System.out.printf("%-12s %10s %10s %10s %10s %10s%n", "endpoint", "count", "p50 ms", "p90 ms", "p99 ms", "max ms");
+        for (int i = 0; i < ENDPOINTS.length; i++) {
+            LatencyHistogram.Snapshot snapshot = latencies[i].snapshot();
+            System.out.printf("%-12s %10d %10.2f %10.2f %10.2f %10.2f%n", ENDPOINTS[i], snapshot.count(),
+                    snapshot.p50(), snapshot.p90(), snapshot.p99(), snapshot.max());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        String url = null;
+        int concurrency = 64;
+        int seconds = 10;
+        long seed = CatalogueGenerator.DEFAULT_SEED;
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) {
+                throw new IllegalArgumentException("Expected --name=value: " + arg);
+            }
+            String value = arg.substring(eq + 1);
+            switch (arg.substring(2, eq)) {
+                case "url" -> url = value;
+                case "concurrency" -> concurrency = Integer.parseInt(value);
+                case "duration" -> seconds = Integer.parseInt(value);
+                case "seed" -> seed = Long.parseLong(value);
+                default -> throw new IllegalArgumentException("Unknown option: " + arg);
+            }
+        }
+
+        CatalogueApiServer server = null;
+        if (url == null) {
+            // Per-request INFO lines would dominate an in-process run
+            for (String level : new String[]{"log.level", "log.level.data", "log.level.search", "log.level.content"}) {
+                System.getProperties().putIfAbsent(level, "WARN");
+            }
+            DataManager dataManager = DataManager.getInstance();
+            dataManager.loadAllData();
+            server = new CatalogueApiServer(dataManager, RatingService.getInstance(),
+                    0, Math.max(concurrency, 1), Duration.ofSeconds(5));
+            server.start();
+            url = "http://127.0.0.1:" + server.getPort();
+        }
+        try {
+            new ApiLoadTest(url, seed).run(concurrency, Duration.ofSeconds(seconds));
+        } finally {
+            if (server != null) {
+                server.stop();
+            }
+        }
+        // The catalogue's background services must not keep the process alive
+        System.exit(0);
+    }
+}
@@ -0,0 +1,589 @@
+package com.papel.imdb_clone.tools;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates a synthetic catalogue in the format of the bundled data files, for load and scale
+ * testing. The same seed and sizes always produce the same files. Popularity is skewed the way
+ * real catalogues are: a few actors and directors appear in many titles, most titles are recent,
+ * a few users write most of the ratings and those go mostly to a few popular titles.
+ * <p>
+ * Every row is derived from the seed and its row number alone, so files are generated in chunks
+ * on all cores and streamed to disk in order; memory use does not grow with the catalogue.
+ * Awards and ratings rows repeat the title, year and rating of the title they refer to by
+ * recomputing them from the title's row number.
+ * <p>
+ * The files are laid out like src/main/resources/data, so the application loads them when
+ * started with {@code -Ddata.dir=<output directory>}. Ratings go to ratings/ratings_updated.txt.
+ * <p>
+ * Usage: {@code CatalogueGenerator <output directory> <titles> [seed] [--movies=N] [--series=N]
+ * [--actors=N] [--directors=N] [--awards=N] [--users=N] [--ratings=N] [--threads=N]}
+ */
+public class CatalogueGenerator {
+    public static final long DEFAULT_SEED = 42L;
+
+    //rows generated by one task; large enough to amortize the hand-off, small enough to stream
+    private static final int CHUNK_ROWS = 16_384;
+
+    private static final String[] FIRST_NAMES = {
+            "James", "Mary", "Robert", "Patricia", "John", "Jennifer", "Michael", "Linda", "David", "Elizabeth",
+            "William", "Barbara", "Richard", "Susan", "Joseph", "Jessica", "Thomas", "Sarah", "Charles", "Karen",
+            "Daniel", "Nancy", "Matthew", "Lisa", "Anthony", "Betty", "Mark", "Margaret", "Paul", "Sandra",
+            "Steven", "Ashley", "Andrew", "Emily", "Kenneth", "Donna", "Joshua", "Michelle", "Kevin", "Carol"
+    };
+    private static final String[] SYLLABLES = {
+            "har", "mon", "vel", "dra", "ken", "lor", "sa", "bri", "tal", "wen",
+            "cor", "is", "mar", "ron", "del", "fi", "gan", "ho", "lu", "nes",
+            "per", "qui", "ros", "sten", "tor", "ul", "vin", "wald", "yar", "zel"
+    };
+    private static final String[] ADJECTIVES = {
+            "Silent", "Broken", "Golden", "Last", "Hidden", "Crimson", "Endless", "Lost", "Frozen", "Burning",
+            "Distant", "Fallen", "Wild", "Dark", "Bright", "Secret", "Hollow", "Iron", "Midnight", "Electric"
+    };
+    private static final String[] NOUNS = {
+            "Harbor", "Kingdom", "River", "Signal", "Empire", "Garden", "Horizon", "Protocol", "Frontier", "Witness",
+            "Orchard", "Station", "Covenant", "Mirror", "Voyage", "Circuit", "Tide", "Citadel", "Echo", "Divide",
+            "Lantern", "Canyon", "Verdict", "Summit", "Archive"
+    };
+    //Genres weighted by how common they are
+    private static final String[] GENRES = {
+            "DRAMA", "DRAMA", "DRAMA", "COMEDY", "COMEDY", "ACTION", "ACTION", "THRILLER", "CRIME", "ROMANCE",
+            "SCI_FI", "HORROR", "ADVENTURE", "FANTASY", "MYSTERY", "ANIMATION", "DOCUMENTARY", "BIOGRAPHY",
+            "FAMILY", "WAR", "HISTORY", "WESTERN", "MUSICAL", "SPORT"
+    };
+    private static final String[] NATIONALITIES = {
+            "AMERICAN", "AMERICAN", "AMERICAN", "BRITISH", "BRITISH", "CANADIAN", "AUSTRALIAN", "FRENCH", "GERMAN",
+            "ITALIAN", "SPANISH", "JAPANESE", "KOREAN", "CHINESE", "MEXICAN", "IRISH", "SWEDISH", "NEW_ZEALAND"
+    };
+    private static final String[] AWARD_BODIES = {"Oscar", "Golden Globe", "BAFTA", "Emmy", "SAG Award", "Critics Choice Award"};
+    private static final int CURRENT_YEAR = 2025;
+
+    //streams of the catalogue, each drawn from its own seed
+    private static final long ACTORS = 1, DIRECTORS = 2, MOVIES = 3, SERIES = 4, AWARDS = 5, USERS = 6, RATINGS = 7;
+
+    private final long seed;
+    private final int threads;
+
+    /**
+     * Creates a generator that uses all available processors.
+     *
+     * @param seed the seed all generated values derive from
+     */
+    public CatalogueGenerator(long seed) {
+        this(seed, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a generator. The output does not depend on the number of threads.
+     *
+     * @param seed    the seed all generated values derive from
+     * @param threads the number of threads generating rows
+     */
+    public CatalogueGenerator(long seed, int threads) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Number of threads must be positive: " + threads);
+        }
+        this.seed = seed;
+        this.threads = threads;
+    }
+
+    /**
+     * Sizes of a generated catalogue.
+     *
+     * @param movies    number of movies
+     * @param series    number of series
+     * @param actors    number of actors
+     * @param directors number of directors
+     * @param awards    number of movies with box office and awards rows
+     * @param users     number of users
+     * @param ratings   number of user ratings
+     */
+    public record Sizes(int movies, int series, int actors, int directors, int awards, int users, long ratings) {
+        public Sizes {
+            if (movies < 0 || series < 0 || actors <= 0 || directors <= 0 || awards < 0 || users < 0 || ratings < 0) {
+                throw new IllegalArgumentException("Sizes must not be negative and need actors and directors");
+            }
+            if (movies + (long) series == 0 || movies + (long) series > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Number of titles out of range: " + (movies + (long) series));
+            }
+            if (awards > movies) {
+                throw new IllegalArgumentException("More awards rows than movies: " + awards);
+            }
+            // Every user rates a title at most once
+            if (ratings > (long) users * (movies + series)) {
+                throw new IllegalArgumentException("Too many ratings for " + users + " users: " + ratings);
+            }
+        }
+
+        /**
+         * Derives the sizes of a catalogue with the given number of titles.
+         *
+         * @param titles the number of movies and series together
+         * @return the sizes
+         */
+        public static Sizes forTitles(int titles) {
+            if (titles <= 0) {
+                throw new IllegalArgumentException("Number of titles must be positive: " + titles);
+            }
+            int movies = titles * 4 / 5;
+            int users = Math.min(1000, Math.max(10, titles / 100));
+            return new Sizes(movies, titles - movies, Math.max(50, titles / 5), Math.max(20, titles / 20),
+                    titles / 20, users, Math.min(titles * 5L, (long) users * titles));
+        }
+
+        /**
+         * Gets the number of movies and series together.
+         *
+         * @return the number of titles
+         */
+        public int titles() {
+            return movies + series;
+        }
+    }
+
+    /**
+     * Writes a catalogue of the given number of titles.
+     *
+     * @param directory the directory to write the data files to, created if needed
+     * @param titles    the number of movies and series together
+     * @return the sizes of the written catalogue
+     * @throws IOException if a file cannot be written
+     */
+    public Sizes generate(Path directory, int titles) throws IOException {
+        Sizes sizes = Sizes.forTitles(titles);
+        generate(directory, sizes);
+        return sizes;
+    }
+
+    /**
+     * Writes a catalogue of the given sizes.
+     *
+     * @param directory the directory to write the data files to, created if needed
+     * @param sizes     the sizes of the catalogue
+     * @return the number of bytes written
+     * @throws IOException if a file cannot be written
+     */
+    public long generate(Path directory, Sizes sizes) throws IOException {
+        ExecutorService executor = Executors.newFixedThreadPool(threads, daemonFactory());
+        try {
+            long bytes = 0;
+            bytes += write(executor, directory.resolve("people/actors_updated.txt"),
+                    "# Format: FirstName,LastName,BirthDate,Gender,Nationality,NotableWorks",
+                    sizes.actors(), CHUNK_ROWS, (out, i) -> celebrityRow(out, ACTORS, i, sizes));
+            // Director names continue after the actor names so the two never collide
+            bytes += write(executor, directory.resolve("people/directors_updated.txt"),
+                    "# Format: FirstName,LastName,BirthDate,Gender,Nationality,NotableWorks",
+                    sizes.directors(), CHUNK_ROWS, (out, i) -> celebrityRow(out, DIRECTORS, sizes.actors() + i, sizes));
+            bytes += write(executor, directory.resolve("content/movies_updated.txt"),
+                    "# Format: Title,Year,Genre,Duration,Director,Rating,Actors",
+                    sizes.movies(), CHUNK_ROWS, (out, i) -> movieRow(out, i, sizes));
+            bytes += write(executor, directory.resolve("content/series_updated.txt"),
+                    "# Format: Title,GENRE,Seasons,StartYear,EndYear,Rating,Director,Actor1;Actor2;...",
+                    sizes.series(), CHUNK_ROWS, (out, i) -> seriesRow(out, i, sizes));
+            bytes += write(executor, directory.resolve("nominations/awards_boxoffice_updated.txt"),
+                    "# Format: ContentType,Title,Year,BoxOffice,Awards,Rating,Genre",
+                    sizes.awards(), CHUNK_ROWS, (out, i) -> awardsRow(out, i, sizes));
+            bytes += write(executor, directory.resolve("people/users_updated.txt"),
+                    "# id,username,email,password,fullName,role",
+                    sizes.users(), CHUNK_ROWS, this::userRow);
+            int[] ratingsPerUser = ratingsPerUser(sizes);
+            // Chunks hold whole users; sized so an average chunk has about CHUNK_ROWS ratings
+            int usersPerChunk = (int) Math.max(1, Math.min(CHUNK_ROWS, (long) CHUNK_ROWS * sizes.users()
+                    / Math.max(1, sizes.ratings())));
+            bytes += write(executor, directory.resolve("ratings/ratings_updated.txt"),
+                    "# Format: UserId,ContentType,Title,Year,Rating,RatedAt",
+                    sizes.users(), usersPerChunk, (out, i) -> userRatings(out, i, ratingsPerUser[i], sizes));
+            return bytes;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    //one unit (usually a row) of a file
+    private interface RowWriter {
+        void write(StringBuilder out, int index);
+    }
+
+    //generates the rows in chunks on the executor and writes the chunks in order
+    private long write(ExecutorService executor, Path file, String header, int units, int unitsPerChunk,
+                       RowWriter rows) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        long bytes = 0;
+        // Bounded so generation never runs far ahead of the disk
+        ArrayDeque<Future<byte[]>> pending = new ArrayDeque<>();
+        try (OutputStream out = Files.newOutputStream(file)) {
+            byte[] headerLine = (header + "\n").getBytes(StandardCharsets.UTF_8);
+            out.write(headerLine);
+            bytes += headerLine.length;
+            for (int start = 0; start < units || !pending.isEmpty(); ) {
+                if (start < units && pending.size() < threads * 2) {
+                    int from = start;
+                    int to = (int) Math.min(units, (long) start + unitsPerChunk);
+                    pending.add(executor.submit(() -> chunk(rows, from, to)));
+                    start = to;
+                } else {
+                    byte[] chunk = await(pending.poll(), file);
+                    out.write(chunk);
+                    bytes += chunk.length;
+                }
+            }
+        } finally {
+            pending.forEach(future -> future.cancel(true));
+        }
+        return bytes;
+    }
+
+    private static byte[] chunk(RowWriter rows, int from, int to) {
+        StringBuilder out = new StringBuilder((to - from) * 96);
+        for (int i = from; i < to; i++) {
+            rows.write(out, i);
+        }
+        return out.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] await(Future<byte[]> future, Path file) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while generating " + file, e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Could not generate " + file, e.getCause());
+        }
+    }
+
+    private void celebrityRow(StringBuilder out, long stream, int id, Sizes sizes) {
+        SplittableRandom random = rowRandom(stream, id);
+        out.append(firstName(id)).append(',').append(lastName(id)).append(',');
+        appendDate(out, 1930 + random.nextInt(75), 1 + random.nextInt(12), 1 + random.nextInt(28));
+        out.append(',').append(id % 2 == 0 ? "M" : "F").append(',').append(pick(random, NATIONALITIES))
+                .append(",\"").append(title(random.nextInt(sizes.titles()))).append(", ")
+                .append(title(random.nextInt(sizes.titles()))).append("\"\n");
+    }
+
+    private void movieRow(StringBuilder out, int index, Sizes sizes) {
+        SplittableRandom random = rowRandom(MOVIES, index);
+        int year = year(random);
+        int rating = rating(random);
+        String genre = pick(random, GENRES);
+        out.append(title(index)).append(',').append(year).append(',').append(genre).append(',')
+                .append(80 + random.nextInt(100)).append(',');
+        appendDirector(out, random, sizes);
+        out.append(',');
+        appendTenths(out, rating);
+        out.append(',');
+        appendCast(out, random, sizes);
+        out.append('\n');
+    }
+
+    private void seriesRow(StringBuilder out, int index, Sizes sizes) {
+        SplittableRandom random = rowRandom(SERIES, index);
+        int startYear = year(random);
+        int rating = rating(random);
+        String genre = pick(random, GENRES);
+        int seasons = 1 + skewed(random, Math.min(10, CURRENT_YEAR - startYear + 1));
+        out.append(title(sizes.movies() + index)).append(',').append(genre).append(',').append(seasons).append(',')
+                .append(startYear).append(',');
+        // About a third of the series are still running
+        if (random.nextInt(3) != 0) {
+            out.append(startYear + seasons - 1);
+        }
+        out.append(',');
+        appendTenths(out, rating);
+        out.append(',');
+        appendDirector(out, random, sizes);
+        out.append(',');
+        appendCast(out, random, sizes);
+        out.append('\n');
+    }
+
+    //box office and awards of every n-th movie, so they spread over the whole catalogue
+    private void awardsRow(StringBuilder out, int index, Sizes sizes) {
+        int movie = (int) ((long) index * sizes.movies() / sizes.awards());
+        SplittableRandom movieRandom = rowRandom(MOVIES, movie);
+        int year = year(movieRandom);
+        int rating = rating(movieRandom);
+        String genre = pick(movieRandom, GENRES);
+
+        SplittableRandom random = rowRandom(AWARDS, index);
+        double u = random.nextDouble();
+        out.append("movie,").append(title(movie)).append(',').append(year).append(",\"");
+        appendDollars(out, 100_000L + (long) (u * u * u * 2_000_000_000L));
+        out.append("\",\"");
+        appendAwards(out, random);
+        out.append("\",");
+        appendTenths(out, rating);
+        out.append(',').append(genre).append('\n');
+    }
+
+    private void userRow(StringBuilder out, int index) {
+        int id = index + 1;
+        String first = firstName(id);
+        String last = lastName(id);
+        String username = (first + last).toLowerCase(Locale.ROOT) + id;
+        out.append(id).append(',').append(username).append(',').append(username).append("@example.com,Password123,")
+                .append(first).append(' ').append(last).append(',').append(id == 1 ? "ADMIN" : "USER").append('\n');
+    }
+
+    //the ratings of one user: distinct titles, popular ones more often, scores near the title's rating
+    private void userRatings(StringBuilder out, int user, int count, Sizes sizes) {
+        if (count == 0) {
+            return;
+        }
+        SplittableRandom random = rowRandom(RATINGS, user);
+        int titles = sizes.titles();
+        for (int title : ratedTitles(random, count, titles)) {
+            boolean movie = title < sizes.movies();
+            SplittableRandom titleRandom = movie ? rowRandom(MOVIES, title) : rowRandom(SERIES, title - sizes.movies());
+            int year = year(titleRandom);
+            int titleRating = rating(titleRandom);
+            double noise = (random.nextDouble() + random.nextDouble() + random.nextDouble() - 1.5) * 2.5;
+            int score = (int) Math.max(1, Math.min(10, Math.round(titleRating / 10.0 + noise)));
+            int ratedYear = Math.max(year, 2005) + random.nextInt(CURRENT_YEAR - Math.max(year, 2005) + 1);
+            out.append(user + 1).append(',').append(movie ? "movie" : "series").append(',').append(title(title))
+                    .append(',').append(year).append(',').append(score).append(',');
+            appendDate(out, ratedYear, 1 + random.nextInt(12), 1 + random.nextInt(28));
+            out.append('\n');
+        }
+    }
+
+    //count distinct title indexes; a user rating most of the catalogue gets a contiguous run instead
+    private static Set<Integer> ratedTitles(SplittableRandom random, int count, int titles) {
+        Set<Integer> rated = new LinkedHashSet<>();
+        if ((long) count * 4 > titles) {
+            int start = random.nextInt(titles);
+            for (int i = 0; i < count; i++) {
+                rated.add((start + i) % titles);
+            }
+            return rated;
+        }
+        // Skewed draws keep hitting the same popular titles, so fall back to uniform ones eventually
+        for (long attempts = 0; rated.size() < count; attempts++) {
+            rated.add(attempts < 3L * count ? skewed(random, titles) : random.nextInt(titles));
+        }
+        return rated;
+    }
+
+    //a heavy-tailed share of the ratings per user, capped at one rating per title
+    private int[] ratingsPerUser(Sizes sizes) {
+        int users = sizes.users();
+        int[] counts = new int[users];
+        if (users == 0 || sizes.ratings() == 0) {
+            return counts;
+        }
+        double[] weights = new double[users];
+        double total = 0;
+        for (int u = 0; u < users; u++) {
+            // Pareto with shape 1.25: most users rate a little, a few rate a lot
+            weights[u] = Math.pow(1.0 - rowRandom(USERS, u).nextDouble(), -0.8);
+            total += weights[u];
+        }
+        int titles = sizes.titles();
+        long assigned = 0;
+        for (int u = 0; u < users; u++) {
+            counts[u] = (int) Math.min(titles, (long) (sizes.ratings() * (weights[u] / total)));
+            assigned += counts[u];
+        }
+        // Rounding and the cap leave a remainder, handed out one rating at a time
+        for (int u = 0; assigned < sizes.ratings(); u = (u + 1) % users) {
+            if (counts[u] < titles) {
+                counts[u]++;
+                assigned++;
+            }
+        }
+        return counts;
+    }
+
+    //"3 Oscars, 1 BAFTA, 2 Golden Globe nominations"
+    private static void appendAwards(StringBuilder out, SplittableRandom random) {
+        int kinds = 1 + random.nextInt(3);
+        for (int k = 0; k < kinds; k++) {
+            if (k > 0) {
+                out.append(", ");
+            }
+            int count = 1 + skewed(random, 12);
+            out.append(count).append(' ').append(pick(random, AWARD_BODIES));
+            if (random.nextInt(3) == 0) {
+                out.append(count == 1 ? " nomination" : " nominations");
+            } else if (count > 1) {
+                out.append('s');
+            }
+        }
+    }
+
+    //unique for every index: "Silent Harbor", ..., "Silent Harbor 2"
+    static String title(int index) {
+        int combinations = ADJECTIVES.length * NOUNS.length;
+        String title = ADJECTIVES[index % ADJECTIVES.length] + " " + NOUNS[(index / ADJECTIVES.length) % NOUNS.length];
+        return index < combinations ? title : title + " " + (index / combinations + 1);
+    }
+
+    private static String firstName(int id) {
+        return FIRST_NAMES[id % FIRST_NAMES.length];
+    }
+
+    //unique per first name: the id is spelled in syllables
+    private static String lastName(int id) {
+        int n = id / FIRST_NAMES.length;
+        StringBuilder name = new StringBuilder();
+        do {
+            name.append(SYLLABLES[n % SYLLABLES.length]);
+            n /= SYLLABLES.length;
+        } while (n > 0);
+        if (name.length() < 4) {
+            name.append("son");
+        }
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+
+    private static void appendDirector(StringBuilder out, SplittableRandom random, Sizes sizes) {
+        int id = sizes.actors() + skewed(random, sizes.directors());
+        out.append(firstName(id)).append(' ').append(lastName(id));
+    }
+
+    //three to five actors, popular ones more often
+    private static void appendCast(StringBuilder out, SplittableRandom random, Sizes sizes) {
+        int size = 3 + random.nextInt(3);
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                out.append(';');
+            }
+            int id = skewed(random, sizes.actors());
+            out.append(firstName(id)).append(' ').append(lastName(id));
+        }
+    }
+
+    //most titles are recent
+    private static int year(SplittableRandom random) {
+        double u = random.nextDouble();
+        return CURRENT_YEAR - (int) (u * u * 95);
+    }
+
+    //in tenths, roughly normal around 6.5
+    private static int rating(SplittableRandom random) {
+        double sum = 0;
+        for (int i = 0; i < 4; i++) {
+            sum += random.nextDouble();
+        }
+        return (int) Math.round(Math.max(1.0, Math.min(10.0, 6.5 + (sum - 2.0) * 3.0)) * 10);
+    }
+
+    //"6.5"; String.format is too slow for hundreds of millions of rows
+    private static void appendTenths(StringBuilder out, int tenths) {
+        out.append(tenths / 10).append('.').append(tenths % 10);
+    }
+
+    private static void appendDate(StringBuilder out, int year, int month, int day) {
+        out.append(year).append(month < 10 ? "-0" : "-").append(month).append(day < 10 ? "-0" : "-").append(day);
+    }
+
+    //"$1,234,567"
+    private static void appendDollars(StringBuilder out, long amount) {
+        String digits = Long.toString(amount);
+        out.append('$');
+        for (int i = 0; i < digits.length(); i++) {
+            if (i > 0 && (digits.length() - i) % 3 == 0) {
+                out.append(',');
+            }
+            out.append(digits.charAt(i));
+        }
+    }
+
+    //an index below bound, where low indexes are much more likely (power law)
+    private static int skewed(SplittableRandom random, int bound) {
+        double u = random.nextDouble();
+        return Math.min(bound - 1, (int) (u * u * u * bound));
+    }
+
+    private static String pick(SplittableRandom random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    //the random values of one row depend only on the seed, the stream and the row
+    private SplittableRandom rowRandom(long stream, long row) {
+        return new SplittableRandom(mix(mix(seed + stream * 0x9E3779B97F4A7C15L) + row));
+    }
+
+    //MurmurHash3 finalizer, so neighbouring rows get unrelated seeds
+    private static long mix(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return z ^ (z >>> 33);
+    }
+
+    //daemon threads so a failed run never hangs the JVM
+    private static ThreadFactory daemonFactory() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "catalogue-generator-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Generates a catalogue from the command line.
+     *
+     * @param args the output directory, the number of titles, optionally the seed, and options
+     *             overriding single sizes or the number of threads
+     * @throws IOException if a file cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: CatalogueGenerator <output directory> <titles> [seed] [--movies=N] [--series=N]"
+                    + " [--actors=N] [--directors=N] [--awards=N] [--users=N] [--ratings=N] [--threads=N]");
+            System.exit(2);
+        }
+        Path directory = Path.of(args[0]);
+        Sizes sizes = Sizes.forTitles(Integer.parseInt(args[1]));
+        long seed = DEFAULT_SEED;
+        int threads = Runtime.getRuntime().availableProcessors();
+        int movies = sizes.movies(), series = sizes.series(), actors = sizes.actors(), directors = sizes.directors();
+        int awards = sizes.awards(), users = sizes.users();
+        long ratings = sizes.ratings();
+        for (int i = 2; i < args.length; i++) {
+            String arg = args[i];
+            if (!arg.startsWith("--")) {
+                seed = Long.parseLong(arg);
+                continue;
+            }
+            int eq = arg.indexOf('=');
+            if (eq < 0) {
+                throw new IllegalArgumentException("Expected --name=value: " + arg);
+            }
+            long value = Long.parseLong(arg.substring(eq + 1).replace("_", ""));
+            switch (arg.substring(2, eq)) {
+                case "movies" -> movies = Math.toIntExact(value);
+                case "series" -> series = Math.toIntExact(value);
+                case "actors" -> actors = Math.toIntExact(value);
+                case "directors" -> directors = Math.toIntExact(value);
+                case "awards" -> awards = Math.toIntExact(value);
+                case "users" -> users = Math.toIntExact(value);
+                case "ratings" -> ratings = value;
+                case "threads" -> threads = Math.toIntExact(value);
+                default -> throw new IllegalArgumentException("Unknown option: " + arg);
+            }
+        }
+        sizes = new Sizes(movies, series, actors, directors, Math.min(awards, movies), users, ratings);
+        long start = System.nanoTime();
+        long bytes = new CatalogueGenerator(seed, threads).generate(directory, sizes);
+        long millis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+        System.out.printf("Generated %s in %s (seed %d, %d threads): %,d MB in %,d ms, %,d MB/s%n", sizes,
+                directory.toAbsolutePath(), seed, threads, bytes >> 20, millis, (bytes >> 20) * 1000 / millis);
+    }
+}
@@ -3,32 +3,58 @@ package com.papel.imdb_clone.tools;
 import com.papel.imdb_clone.exceptions.UserAlreadyExistsException;
 import com.papel.imdb_clone.model.people.User;
 import com.papel.imdb_clone.service.validation.AuthService;
+import com.papel.imdb_clone.service.validation.PasswordHashingService;
 import com.papel.imdb_clone.util.UIUtils;
 
 import java.io.BufferedReader;
 import java.io.FileReader;
 import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 public class UserDataRegenerator {
     private static final Logger logger = Logger.getLogger(UserDataRegenerator.class.getName());
 
+    /**
+     * Private constructor to prevent instantiation of this command line tool.
+     */
+    private UserDataRegenerator() {
+        throw new UnsupportedOperationException("This is a command line tool and cannot be instantiated");
+    }
+
     /**
      * Regenerates user data by reading from a file and registering users.
      * This method reads user information from a text file, creates User objects,
      * and registers them using the AuthService. It handles exceptions for existing users
      * and other registration errors.
      *
-     * @param args Command line arguments (not used in this implementation)
+     * Registrations are submitted together and hashed in parallel on the password hashing pool.
+     * Run with {@code --rehash [iterations]} to instead migrate the stored hashes of the users in the
+     * file to a new PBKDF2 cost, defaulting to the configured security.password.iterations.
+     *
+     * @param args Command line arguments, optionally --rehash followed by an iteration count
      */
     public static void main(String[] args) {
-        UIUtils.showInfo("User Data Regenerator", "Starting user data regeneration process");
         // Get the base path from classpath resources
         String usersFile = Objects.requireNonNull(UserDataRegenerator.class.getClassLoader()
                 .getResource("data/people/users_updated.txt")).getFile();
 
+        if (args.length > 0 && "--rehash".equals(args[0])) {
+            int iterations = args.length > 1 ? Integer.parseInt(args[1])
+                    : PasswordHashingService.getInstance().getIterations();
+            rehashUsers(usersFile, iterations);
+            return;
+        }
+
+        UIUtils.showInfo("User Data Regenerator", "Starting user data regeneration process");
+
         // Get the default password from the AuthService
         String defaultPassword = "Password123";
         AuthService authService = AuthService.getInstance();
@@ -41,7 +67,11 @@ public class UserDataRegenerator {
         // Try to read the file
         try (BufferedReader br = new BufferedReader(new FileReader(usersFile))) {
             String line;
-            
+            Map<User, CompletableFuture<User>> registrations = new LinkedHashMap<>();
+            // Registrations still queued or running; kept below the hashing pool's queue so none is rejected
+            Deque<CompletableFuture<User>> inFlight = new ArrayDeque<>();
+            int maxInFlight = Math.max(1, PasswordHashingService.getInstance().getQueueCapacity() / 2);
+
             while ((line = br.readLine()) != null) {
                 // Skip comment lines and empty lines
                 line = line.trim();
@@ -81,26 +111,15 @@ public class UserDataRegenerator {
                     User user = new User(firstName, lastName, username, 'U', email);
                     user.setId(id);  // Set the ID from the file
                     user.setPassword(password);  // This will hash the password
-                    
-                    try {
-                        // Register the user through AuthService
-                        authService.register(user, password, password);
-                        count++;
-                        
-                        String successMsg = String.format("Successfully registered user - ID: %d, Username: %s", 
-                                id, username);
-                        System.out.println(successMsg);
-                        logger.info(successMsg);
-                    } catch (UserAlreadyExistsException e) {
-                        String msg = String.format("User already exists - ID: %d, Username: %s", id, username);
-                        System.out.println(msg);
-                        logger.warning(msg);
-                    } catch (Exception e) {
-                        String msg = String.format("Failed to register user - ID: %d, Username: %s, Error: %s", 
-                                id, username, e.getMessage());
-                        System.out.println(msg);
-                        logger.log(Level.SEVERE, msg, e);
+
+                    // Register the user through AuthService, hashing in parallel with the other users
+                    if (inFlight.size() >= maxInFlight) {
+                        // Failures are reported below, in file order
+                        inFlight.poll().exceptionally(e -> null).join();
                     }
+                    CompletableFuture<User> registration = authService.registerAsync(user, password, password);
+                    registrations.put(user, registration);
+                    inFlight.add(registration);
                 } catch (NumberFormatException e) {
                     String msg = String.format("Invalid ID format in line: %s, Error: %s", line, e.getMessage());
                     System.out.println(msg);
@@ -108,6 +127,33 @@ public class UserDataRegenerator {
                 }
             }
 
+            // Wait for the registrations in file order
+            for (Map.Entry<User, CompletableFuture<User>> registration : registrations.entrySet()) {
+                User user = registration.getKey();
+                try {
+                    registration.getValue().join();
+                    count++;
+
+                    String successMsg = String.format("Successfully registered user - ID: %d, Username: %s",
+                            user.getId(), user.getUsername());
+                    System.out.println(successMsg);
+                    logger.info(successMsg);
+                } catch (CompletionException e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    if (cause instanceof UserAlreadyExistsException) {
+                        String msg = String.format("User already exists - ID: %d, Username: %s",
+                                user.getId(), user.getUsername());
+                        System.out.println(msg);
+                        logger.warning(msg);
+                    } else {
+                        String msg = String.format("Failed to register user - ID: %d, Username: %s, Error: %s",
+                                user.getId(), user.getUsername(), cause.getMessage());
+                        System.out.println(msg);
+                        logger.log(Level.SEVERE, msg, cause);
+                    }
+                }
+            }
+
             // Log the completion message which means the number of users that were successfully registered
             String completionMsg = String.format("[INFO] User registration complete. Successfully registered %d users.", count);
             System.out.println(completionMsg);
@@ -124,4 +170,39 @@ public class UserDataRegenerator {
         System.out.println(completionMsg);
         logger.info(completionMsg);
     }
+
+    /**
+     * Migrates the stored password hashes of the users listed in the users file to a new cost.
+     *
+     * @param usersFile  the users file holding the plaintext passwords
+     * @param iterations the PBKDF2 iteration count to migrate to
+     */
+    private static void rehashUsers(String usersFile, int iterations) {
+        Map<String, String> passwordsByUsername = new LinkedHashMap<>();
+        try (BufferedReader br = new BufferedReader(new FileReader(usersFile))) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                line = line.trim();
+                if (line.startsWith("#") || line.isEmpty() || line.startsWith("id,username")) {
+                    continue;
+                }
+                String[] parts = line.split(",");
+                if (parts.length >= 5) {
+                    passwordsByUsername.put(parts[1].trim(), parts[3].trim());
+                }
+            }
+        } catch (IOException e) {
+            String errorMsg = "[ERROR] Failed to read users_updated.txt: " + e.getMessage();
+            logger.log(Level.SEVERE, errorMsg, e);
+            throw new RuntimeException(errorMsg, e);
+        }
+
+        System.out.println("Rehashing " + passwordsByUsername.size() + " users with " + iterations + " iterations");
+        long start = System.nanoTime();
+        int rehashed = AuthService.getInstance().rehashUsers(passwordsByUsername, iterations);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        String completionMsg = String.format("[INFO] Rehash complete. Migrated %d users in %d ms.", rehashed, elapsedMillis);
+        System.out.println(completionMsg);
+        logger.info(completionMsg);
+    }
 }
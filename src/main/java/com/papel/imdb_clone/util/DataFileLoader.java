@@ -1,5 +1,7 @@
 package com.papel.imdb_clone.util;
 
+import com.papel.imdb_clone.config.ApplicationConfig;
+
 import java.io.*;
 import java.net.URL;
 import java.nio.file.*;
@@ -61,7 +63,18 @@ public class DataFileLoader {
         // Determine the file type based on the filename
         String fileType = determineFileType(filename);
         String[] searchPaths = FILE_TYPE_PATHS.getOrDefault(fileType, FILE_TYPE_PATHS.get("default"));
-        
+
+        // A configured data directory, e.g. a generated catalogue, takes precedence over the bundled files
+        Path dataDirectory = ApplicationConfig.getInstance().getDataDirectory();
+        if (dataDirectory != null) {
+            for (Path candidate : List.of(dataDirectory.resolve(fileType).resolve(filename), dataDirectory.resolve(filename))) {
+                if (Files.isRegularFile(candidate)) {
+                    logger.debug("Loaded {} from data directory: {}", filename, candidate);
+                    return Files.newInputStream(candidate);
+                }
+            }
+        }
+
         // First try classpath resources
         for (String path : getClasspathPaths(fileType)) {
             String resourcePath = path + filename;
@@ -100,6 +113,36 @@ public class DataFileLoader {
         throw new FileNotFoundException("Could not find data file: " + filename + " in any of the searched locations");
     }
 
+    /**
+     * Finds the file on disk a data file is maintained in, so that it can be watched for edits:
+     * the configured data directory first, then the source and build resource directories and the
+     * data directory of the working directory. Resources packed in a jar are not found.
+     *
+     * @param filename the name of the data file
+     * @return the file, or null if the data file is not on disk
+     */
+    public static Path findDataFile(String filename) {
+        Objects.requireNonNull(filename, "Filename cannot be null");
+        String fileType = determineFileType(filename);
+        List<Path> candidates = new ArrayList<>();
+        Path dataDirectory = ApplicationConfig.getInstance().getDataDirectory();
+        if (dataDirectory != null) {
+            candidates.add(dataDirectory.resolve(fileType).resolve(filename));
+            candidates.add(dataDirectory.resolve(filename));
+        }
+        for (String type : List.of(fileType, "default")) {
+            for (String path : FILE_TYPE_PATHS.getOrDefault(type, FILE_TYPE_PATHS.get("default"))) {
+                candidates.add(Path.of(path, filename));
+            }
+        }
+        for (Path candidate : candidates) {
+            if (Files.isRegularFile(candidate)) {
+                return candidate.toAbsolutePath().normalize();
+            }
+        }
+        return null;
+    }
+
     // Determine the file type based on the filename
     private static String determineFileType(String filename) {
         if (filename.contains("user") || filename.contains("actor") || filename.contains("director")) {
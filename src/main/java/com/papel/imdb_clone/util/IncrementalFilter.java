@@ -0,0 +1,287 @@
+package com.papel.imdb_clone.util;
+
+import com.papel.imdb_clone.service.task.TaskScheduler;
+import javafx.application.Platform;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiPredicate;
+import java.util.function.Consumer;
+
+/**
+ * Debounced, incremental as-you-type filter for the list controllers.
+ * Queries are filtered off the FX thread after the user stops typing, and a query that extends the
+ * previously applied one only scans the previous matches. The worker also compares the result with
+ * the rows the target shows, so the FX thread applies it as a single change: one removed or inserted
+ * range when the rows differ in one place, otherwise one setAll. Results of superseded queries are
+ * dropped, and clearing the query shows the whole source at once without waiting for the quiet period.
+ * Small changes of a bound list are applied to the target row by row; the source is only copied
+ * again when a query has to scan it.
+ * All public methods must be called from the JavaFX Application Thread.
+ *
+ * @param <T> the type of items being filtered
+ */
+public class IncrementalFilter<T> {
+    //Quiet period after the last key press before filtering
+    private static final long DEBOUNCE_MILLIS = 150;
+    //How often the filter loop checks whether it has been superseded
+    private static final int CANCEL_CHECK_INTERVAL = 4096;
+    //Above this many changed source rows the query is re-run instead of patching the target
+    private static final int MAX_PATCHED_ROWS = 256;
+    //Makes the debounce keys of filters sharing a name distinct
+    private static final AtomicInteger INSTANCES = new AtomicInteger();
+
+    private final String debounceKey;
+    private final ObservableList<T> target;
+    private final BiPredicate<T, String> matcher;
+    //Bumped on every new query so that stale results are dropped
+    private final AtomicLong generation = new AtomicLong();
+
+    //Snapshot of the items being filtered, and the bound list it is re-taken from when stale
+    private volatile List<T> source = Collections.emptyList();
+    private List<T> bound;
+    private boolean sourceStale;
+    //State of the last applied result, only touched on the FX thread
+    private String appliedQuery;
+    private List<T> appliedResult;
+    //Query the target currently shows, null until a result has been applied
+    private String shownQuery;
+    //Rows of the target as last applied or copied, null once anything else has changed the target
+    private List<T> shown;
+    private boolean computing;
+    private String currentQuery = "";
+    private Consumer<String> onApplied = query -> { };
+
+    /**
+     * Creates a new incremental filter.
+     *
+     * @param name    name of the filter, used to debounce its queries
+     * @param target  the list that receives the matching items
+     * @param matcher tests an item against the trimmed, lower-case query
+     */
+    public IncrementalFilter(String name, ObservableList<T> target, BiPredicate<T, String> matcher) {
+        this.debounceKey = name + "#" + INSTANCES.incrementAndGet();
+        this.target = target;
+        this.matcher = matcher;
+        target.addListener(this::onTargetChanged);
+    }
+
+    /**
+     * Filters the given list and keeps the target in step whenever the list changes.
+     *
+     * @param list the list to filter
+     */
+    public void bind(ObservableList<T> list) {
+        setSource(list);
+        bound = list;
+        list.addListener(this::onSourceChanged);
+    }
+
+    /**
+     * Replaces the items being filtered. The next query scans the whole new list.
+     *
+     * @param items the items to filter
+     */
+    public void setSource(List<T> items) {
+        source = Collections.unmodifiableList(new ArrayList<>(items));
+        bound = null;
+        sourceStale = false;
+        appliedQuery = null;
+        appliedResult = null;
+        generation.incrementAndGet();
+        computing = false;
+    }
+
+    /**
+     * Sets the callback run on the FX thread after a result has been applied to the target list.
+     *
+     * @param onApplied receives the query the result belongs to
+     */
+    public void setOnApplied(Consumer<String> onApplied) {
+        this.onApplied = onApplied != null ? onApplied : query -> { };
+    }
+
+    /**
+     * Schedules filtering for the given query. An empty query is applied straight away.
+     *
+     * @param query the text typed by the user
+     */
+    public void filter(String query) {
+        String normalized = query == null ? "" : query.trim().toLowerCase();
+        currentQuery = normalized;
+        long gen = generation.incrementAndGet();
+        if (sourceStale) {
+            source = Collections.unmodifiableList(new ArrayList<>(bound));
+            sourceStale = false;
+        }
+        if (normalized.isEmpty()) {
+            computing = false;
+            apply(normalized, source, null, null, gen);
+            return;
+        }
+
+        // Narrowing the previous query only needs to look at its matches
+        List<T> base = appliedQuery != null && normalized.startsWith(appliedQuery) ? appliedResult : source;
+        List<T> before = shownRows();
+        computing = true;
+        TaskScheduler.getInstance().debounce(debounceKey, DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS,
+                () -> compute(normalized, base, before, gen));
+    }
+
+    /**
+     * Re-runs the current query against the whole source.
+     */
+    public void refresh() {
+        appliedQuery = null;
+        filter(currentQuery);
+    }
+
+    //runs on the FX thread when the target changes, including through this filter
+    private void onTargetChanged(ListChangeListener.Change<? extends T> change) {
+        shown = null;
+    }
+
+    //rows the target shows, copied only when something other than apply has changed it
+    private List<T> shownRows() {
+        if (shown == null) {
+            shown = Collections.unmodifiableList(new ArrayList<>(target));
+        }
+        return shown;
+    }
+
+    //runs on the FX thread when the bound list changes
+    private void onSourceChanged(ListChangeListener.Change<? extends T> change) {
+        sourceStale = true;
+        // The previous matches no longer cover the source, so the next query scans all of it
+        appliedQuery = null;
+        appliedResult = null;
+        int changed = 0;
+        while (change.next()) {
+            changed += change.getRemovedSize() + change.getAddedSize();
+        }
+        if (shownQuery == null || computing || changed > MAX_PATCHED_ROWS) {
+            refresh();
+            return;
+        }
+        Map<T, Integer> positions = new IdentityHashMap<>(target.size() * 2);
+        for (int i = 0; i < target.size(); i++) {
+            positions.put(target.get(i), i);
+        }
+        List<Integer> dropped = new ArrayList<>();
+        change.reset();
+        while (change.next()) {
+            if (!change.wasPermutated()) {
+                patch(change.getRemoved(), change.getAddedSubList(), positions, dropped);
+            }
+        }
+        // Removing from the back keeps the recorded positions of the rows in front valid
+        dropped.sort(Collections.reverseOrder());
+        for (int index : dropped) {
+            target.remove(index);
+        }
+        onApplied.accept(shownQuery);
+    }
+
+    //replaces or appends the target rows of one source change and collects the positions to remove
+    private void patch(List<? extends T> removed, List<? extends T> added, Map<T, Integer> positions,
+                       List<Integer> dropped) {
+        for (int i = 0; i < Math.max(removed.size(), added.size()); i++) {
+            Integer index = i < removed.size() ? positions.remove(removed.get(i)) : null;
+            T fresh = i < added.size() ? added.get(i) : null;
+            boolean keep = fresh != null && (shownQuery.isEmpty() || matcher.test(fresh, shownQuery));
+            if (index != null && keep) {
+                target.set(index, fresh);
+                positions.put(fresh, index);
+            } else {
+                if (index != null) {
+                    dropped.add(index);
+                }
+                // A controller may already have put the new row into the target itself
+                if (keep && !positions.containsKey(fresh)) {
+                    positions.put(fresh, target.size());
+                    target.add(fresh);
+                }
+            }
+        }
+    }
+
+    //runs on the CPU pool
+    private void compute(String query, List<T> base, List<T> before, long gen) {
+        List<T> matches = new ArrayList<>();
+        for (int i = 0; i < base.size(); i++) {
+            if (i % CANCEL_CHECK_INTERVAL == 0 && generation.get() != gen) {
+                return;
+            }
+            T item = base.get(i);
+            if (item != null && matcher.test(item, query)) {
+                matches.add(item);
+            }
+        }
+        List<T> result = Collections.unmodifiableList(matches);
+        Change change = diff(before, result);
+        Platform.runLater(() -> apply(query, result, before, change, gen));
+    }
+
+    //runs on the FX thread; the change is only used if the target still shows the rows it was computed from
+    private void apply(String query, List<T> result, List<T> before, Change change, long gen) {
+        if (generation.get() != gen) {
+            return;
+        }
+        computing = false;
+        appliedQuery = query;
+        appliedResult = result;
+        shownQuery = query;
+        show(result, before, change);
+        shown = result;
+        onApplied.accept(query);
+    }
+
+    //brings the target to the result with a single list change, or none if it already shows it
+    private void show(List<T> result, List<T> before, Change change) {
+        if (shown == result) {
+            return;
+        }
+        boolean replaced = change != null && change.removedTo() > change.from() && change.addedTo() > change.from();
+        if (change == null || shown != before || replaced) {
+            target.setAll(result);
+        } else if (change.removedTo() > change.from()) {
+            target.remove(change.from(), change.removedTo());
+        } else if (change.addedTo() > change.from()) {
+            target.addAll(change.from(), result.subList(change.from(), change.addedTo()));
+        }
+    }
+
+    /**
+     * Finds the single range in which the result differs from the rows shown, by trimming the
+     * rows both start and end with. An empty range on one side means the other side's rows were
+     * only removed or only inserted there; empty ranges on both sides mean the rows are the same.
+     *
+     * @return the range
+     */
+    private static <T> Change diff(List<T> before, List<T> result) {
+        int shorter = Math.min(before.size(), result.size());
+        int from = 0;
+        while (from < shorter && before.get(from) == result.get(from)) {
+            from++;
+        }
+        int removedTo = before.size();
+        int addedTo = result.size();
+        while (removedTo > from && addedTo > from && before.get(removedTo - 1) == result.get(addedTo - 1)) {
+            removedTo--;
+            addedTo--;
+        }
+        return new Change(from, removedTo, addedTo);
+    }
+
+    //rows [from, removedTo) of the shown rows are replaced by rows [from, addedTo) of the result
+    private record Change(int from, int removedTo, int addedTo) {
+    }
+}
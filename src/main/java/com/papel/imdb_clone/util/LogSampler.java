@@ -0,0 +1,113 @@
+package com.papel.imdb_clone.util;
+
+import com.papel.imdb_clone.config.ApplicationConfig;
+import org.slf4j.Logger;
+import org.slf4j.event.Level;
+
+import java.time.Duration;
+
+/**
+ * Rate limit for a message that can repeat once per item, such as a warning about one row of a
+ * data file. At most a fixed number of messages are logged per interval; the rest are counted
+ * and reported as one "suppressed" line when the next message gets through or on {@link #flush}.
+ * Messages below the logger's level cost a level check only.
+ */
+public final class LogSampler {
+    private final String name;
+    private final int limit;
+    private final long intervalNanos;
+
+    //guarded by this
+    private long windowStart;
+    private int loggedInWindow;
+    private long suppressed;
+
+    /**
+     * Creates a sampler.
+     *
+     * @param name     what the messages are, used in the suppressed line, e.g. "row warnings"
+     * @param limit    the number of messages logged per interval, 0 to log all of them
+     * @param interval the interval the limit applies to
+     */
+    public LogSampler(String name, int limit, Duration interval) {
+        if (limit < 0 || interval.isNegative() || interval.isZero()) {
+            throw new IllegalArgumentException("Invalid log sampling: " + limit + " per " + interval);
+        }
+        this.name = name;
+        this.limit = limit;
+        this.intervalNanos = interval.toNanos();
+        this.windowStart = System.nanoTime();
+    }
+
+    /**
+     * Creates a sampler with the configured limit and interval.
+     *
+     * @param name what the messages are, used in the suppressed line
+     * @return the sampler
+     */
+    public static LogSampler fromConfig(String name) {
+        ApplicationConfig config = ApplicationConfig.getInstance();
+        return new LogSampler(name, config.getLogSampleLimit(), config.getLogSampleInterval());
+    }
+
+    //log a warning unless the limit for this interval is reached
+    public void warn(Logger logger, String format, Object... arguments) {
+        log(logger, Level.WARN, format, arguments);
+    }
+
+    //log a debug message unless the limit for this interval is reached
+    public void debug(Logger logger, String format, Object... arguments) {
+        log(logger, Level.DEBUG, format, arguments);
+    }
+
+    /**
+     * Logs a message unless the limit for the current interval is reached, in which case it is only counted.
+     *
+     * @param logger    the logger to log to
+     * @param level     the level of the message
+     * @param format    the message, with {} placeholders
+     * @param arguments the placeholder values
+     */
+    public void log(Logger logger, Level level, String format, Object... arguments) {
+        if (!logger.isEnabledForLevel(level)) {
+            return;
+        }
+        long dropped;
+        synchronized (this) {
+            long now = System.nanoTime();
+            if (now - windowStart >= intervalNanos) {
+                windowStart = now;
+                loggedInWindow = 0;
+            }
+            if (limit > 0 && loggedInWindow >= limit) {
+                suppressed++;
+                return;
+            }
+            loggedInWindow++;
+            dropped = suppressed;
+            suppressed = 0;
+        }
+        if (dropped > 0) {
+            logger.atLevel(level).log("Suppressed {} {}", dropped, name);
+        }
+        logger.atLevel(level).log(format, arguments);
+    }
+
+    /**
+     * Reports messages suppressed since the last one that was logged, e.g. at the end of a load.
+     *
+     * @param logger the logger to report to
+     * @return the number of suppressed messages
+     */
+    public long flush(Logger logger) {
+        long dropped;
+        synchronized (this) {
+            dropped = suppressed;
+            suppressed = 0;
+        }
+        if (dropped > 0) {
+            logger.info("Suppressed {} {}", dropped, name);
+        }
+        return dropped;
+    }
+}
@@ -21,7 +21,7 @@ public class PasswordHasher {
     }
     
     // Constants for the hash function
-    private static final int ITERATIONS = 10000; // means the number of times to hash the password to make it more secure
+    public static final int ITERATIONS = 10000; // means the number of times to hash the password to make it more secure
     private static final int KEY_LENGTH = 256; // means the length of the key in bits
 
     /*
@@ -36,43 +36,55 @@ public class PasswordHasher {
     private static final SecureRandom RANDOM = new SecureRandom();
 
     /**
-     * Hashes a password with a random salt.
+     * Hashes a password with a random salt using the default iteration count.
      *
      * @param password the password to hash
      * @return a string containing the algorithm, iterations, salt, and hash
      */
     public static String hashPassword(String password) {
+        return hashPassword(password, ITERATIONS);
+    }
+
+    /**
+     * Hashes a password with a random salt using the given iteration count.
+     *
+     * @param password   the password to hash
+     * @param iterations the number of PBKDF2 iterations
+     * @return a string of the form pbkdf2:iterations:salt:hash
+     */
+    public static String hashPassword(String password, int iterations) {
+        if (iterations < 1) {
+            throw new IllegalArgumentException("Iterations must be positive");
+        }
         byte[] salt = new byte[16];
         RANDOM.nextBytes(salt); // means the salt to use.
         // Generate the hash
-        byte[] hash = pbkdf2(password.toCharArray(), salt, KEY_LENGTH);
-        return String.format("pbkdf2:%s:%s",
+        byte[] hash = pbkdf2(password.toCharArray(), salt, iterations, KEY_LENGTH);
+        return String.format("pbkdf2:%d:%s:%s", iterations,
                 Base64.getEncoder().encodeToString(salt),
                 Base64.getEncoder().encodeToString(hash));
     }
 
     /**
      * Verifies a password against a stored hash.
+     * Both the current pbkdf2:iterations:salt:hash form and the older pbkdf2:salt:hash form,
+     * which always used the default iteration count, are accepted.
      *
      * @param password the password to verify
      * @param storedHash the stored hash to verify against
      * @return true if the password matches the hash, false otherwise
      */
     public static boolean verifyPassword(String password, String storedHash) {
-        if (storedHash == null || !storedHash.startsWith("pbkdf2:")) {
-            return false;
-        }
-
-        // Split the stored hash into algorithm, iterations, salt, and hash
-        String[] parts = storedHash.split(":");
-        if (parts.length != 3) {
+        int iterations = getIterations(storedHash);
+        if (iterations < 1) {
             return false;
         }
 
         // Extract the salt and hash from the stored hash which helps to verify the password
-        byte[] salt = Base64.getDecoder().decode(parts[1]);
-        byte[] hash = Base64.getDecoder().decode(parts[2]);
-        byte[] testHash = pbkdf2(password.toCharArray(), salt, hash.length * 8);
+        String[] parts = storedHash.split(":");
+        byte[] salt = Base64.getDecoder().decode(parts[parts.length - 2]);
+        byte[] hash = Base64.getDecoder().decode(parts[parts.length - 1]);
+        byte[] testHash = pbkdf2(password.toCharArray(), salt, iterations, hash.length * 8);
         
         // Constant time comparison to prevent timing attacks
         int diff = hash.length ^ testHash.length;
@@ -83,18 +95,54 @@ public class PasswordHasher {
         return diff == 0;
     }
 
+    /**
+     * Gets the iteration count a stored hash was created with.
+     *
+     * @param storedHash the stored hash
+     * @return the iteration count, or -1 if the value is not a PBKDF2 hash
+     */
+    public static int getIterations(String storedHash) {
+        if (storedHash == null || !storedHash.startsWith("pbkdf2:")) {
+            return -1;
+        }
+        String[] parts = storedHash.split(":");
+        if (parts.length == 3) {
+            return ITERATIONS;
+        }
+        if (parts.length != 4) {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(parts[1]);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Checks if a stored hash should be recomputed to reach the given iteration count.
+     *
+     * @param storedHash the stored hash
+     * @param iterations the target iteration count
+     * @return true if the hash uses a different iteration count or is not a PBKDF2 hash
+     */
+    public static boolean needsRehash(String storedHash, int iterations) {
+        return getIterations(storedHash) != iterations;
+    }
+
     /**
      * Helper method to perform PBKDF2 hashing.
      *
      * @param password  the password to hash
      * @param salt      the salt to use which means random bytes
+     * @param iterations the number of iterations to apply
      * @param keyLength the key length to use which means the length of the key in bits
      * @return the hash of the password
      */
-    private static byte[] pbkdf2(char[] password, byte[] salt, int keyLength) {
+    private static byte[] pbkdf2(char[] password, byte[] salt, int iterations, int keyLength) {
         try {
             // PBEKeySpec is a key specification for a password-based key
-            PBEKeySpec spec = new PBEKeySpec(password, salt, PasswordHasher.ITERATIONS, keyLength);
+            PBEKeySpec spec = new PBEKeySpec(password, salt, iterations, keyLength);
             SecretKeyFactory factory = SecretKeyFactory.getInstance(ALGORITHM);
             return factory.generateSecret(spec).getEncoded();
         } catch (NoSuchAlgorithmException | InvalidKeySpecException e) {
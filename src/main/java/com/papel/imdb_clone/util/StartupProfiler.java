@@ -0,0 +1,154 @@
+package com.papel.imdb_clone.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the wall time and heap allocation of the phases of application startup.
+ * Allocation is measured on the thread that runs the phase when the JVM supports it. Phases that end
+ * on another thread, such as a background load, or that run on virtual threads, where per-thread
+ * counters are unavailable, fall back to the allocation of the whole process and are marked as
+ * approximate in the summary.
+ */
+public class StartupProfiler {
+    private static final Logger logger = LoggerFactory.getLogger(StartupProfiler.class);
+
+    private final long startedAt = System.nanoTime();
+    private final List<Phase> phases = new CopyOnWriteArrayList<>();
+    private final com.sun.management.ThreadMXBean threads;
+
+    /**
+     * Creates a new profiler; the total time is measured from this point.
+     */
+    public StartupProfiler() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        com.sun.management.ThreadMXBean allocationBean = null;
+        if (bean instanceof com.sun.management.ThreadMXBean sunBean && sunBean.isThreadAllocatedMemorySupported()) {
+            sunBean.setThreadAllocatedMemoryEnabled(true);
+            allocationBean = sunBean;
+        }
+        this.threads = allocationBean;
+    }
+
+    /**
+     * Starts a phase. The phase may be closed on another thread, for example when a background task completes.
+     *
+     * @param name the name of the phase
+     * @return the running phase, to be closed when the phase ends
+     */
+    public Phase begin(String name) {
+        return new Phase(name);
+    }
+
+    /**
+     * Runs an action as a named phase.
+     *
+     * @param name   the name of the phase
+     * @param action the work of the phase
+     */
+    public void time(String name, Runnable action) {
+        Phase phase = begin(name);
+        try {
+            action.run();
+        } finally {
+            phase.close();
+        }
+    }
+
+    /**
+     * Gets the phases that have finished, in the order they finished.
+     *
+     * @return the finished phases
+     */
+    public List<Phase> getPhases() {
+        return List.copyOf(phases);
+    }
+
+    /**
+     * Logs the time and allocation of every finished phase and the time since the profiler was created.
+     */
+    public void logSummary() {
+        StringBuilder summary = new StringBuilder("Startup profile:");
+        for (Phase phase : phases) {
+            summary.append(String.format("%n  %-24s %8d ms %s%10.1f MB  [%s]",
+                    phase.name, phase.getMillis(), phase.approximate ? "~" : " ",
+                    phase.allocatedBytes / (1024.0 * 1024.0), phase.thread));
+        }
+        summary.append(String.format("%n  %-24s %8d ms",
+                "total", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt)));
+        logger.info(summary.toString());
+    }
+
+    //allocation of the current thread, or -1 when it cannot be measured (e.g. on a virtual thread)
+    private long threadAllocatedBytes() {
+        return threads != null ? threads.getCurrentThreadAllocatedBytes() : -1;
+    }
+
+    //allocation of all threads of the process, or -1 when it cannot be measured
+    private long totalAllocatedBytes() {
+        return threads != null ? threads.getTotalThreadAllocatedBytes() : -1;
+    }
+
+    /**
+     * A running or finished startup phase.
+     */
+    public final class Phase implements AutoCloseable {
+        private final String name;
+        private final String thread;
+        private final long threadId;
+        private final long startNanos;
+        private final long startThreadBytes;
+        private final long startTotalBytes;
+        private long elapsedNanos = -1;
+        private long allocatedBytes;
+        private boolean approximate;
+
+        private Phase(String name) {
+            this.name = name;
+            this.thread = Thread.currentThread().getName();
+            this.threadId = Thread.currentThread().threadId();
+            this.startThreadBytes = threadAllocatedBytes();
+            this.startTotalBytes = totalAllocatedBytes();
+            this.startNanos = System.nanoTime();
+        }
+
+        /**
+         * Ends the phase and records it. Closing a phase twice has no effect.
+         */
+        @Override
+        public synchronized void close() {
+            if (elapsedNanos >= 0) {
+                return;
+            }
+            elapsedNanos = System.nanoTime() - startNanos;
+            if (startThreadBytes >= 0 && Thread.currentThread().threadId() == threadId) {
+                allocatedBytes = Math.max(0, threadAllocatedBytes() - startThreadBytes);
+            } else if (startTotalBytes >= 0) {
+                allocatedBytes = Math.max(0, totalAllocatedBytes() - startTotalBytes);
+                approximate = true;
+            }
+            phases.add(this);
+            logger.debug("Startup phase '{}' took {} ms", name, getMillis());
+        }
+
+        //get phase name
+        public String getName() {
+            return name;
+        }
+
+        //get wall time in milliseconds
+        public long getMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(Math.max(elapsedNanos, 0));
+        }
+
+        //get bytes allocated during the phase
+        public long getAllocatedBytes() {
+            return allocatedBytes;
+        }
+    }
+}
@@ -6,8 +6,12 @@ module com.papel.imdb_clone {
     requires transitive javafx.web;
     requires transitive org.controlsfx.controls;
     requires transitive org.slf4j;
+    // LogPropertyDefiner in the exported config package extends a logback type
+    requires transitive ch.qos.logback.core;
     requires java.logging;
+    requires jdk.management;
     requires java.net.http;
+    requires jdk.httpserver;
     requires java.desktop;
     requires java.sql;
     requires transitive com.fasterxml.jackson.databind;
@@ -40,6 +44,10 @@ module com.papel.imdb_clone {
     opens com.papel.imdb_clone.service.data.loader to javafx.base, com.fasterxml.jackson.databind;
     opens com.papel.imdb_clone.service.data.loader.content to javafx.base, com.fasterxml.jackson.databind;
     opens com.papel.imdb_clone.service.data.loader.people to javafx.base, com.fasterxml.jackson.databind;
+    opens com.papel.imdb_clone.service.task to javafx.base, com.fasterxml.jackson.databind;
+    opens com.papel.imdb_clone.service.event to javafx.base, com.fasterxml.jackson.databind;
+    opens com.papel.imdb_clone.service.metrics to javafx.base, com.fasterxml.jackson.databind;
+    opens com.papel.imdb_clone.service.api to com.fasterxml.jackson.databind;
     
     // Util and other packages
     opens com.papel.imdb_clone.util to javafx.base;
@@ -70,7 +78,16 @@ module com.papel.imdb_clone {
     exports com.papel.imdb_clone.service.data.loader;
     exports com.papel.imdb_clone.service.data.loader.content;
     exports com.papel.imdb_clone.service.data.loader.people;
+    exports com.papel.imdb_clone.service.task;
+    exports com.papel.imdb_clone.service.event;
+    exports com.papel.imdb_clone.service.metrics;
+    exports com.papel.imdb_clone.service.rating;
+    exports com.papel.imdb_clone.service.batch;
+    exports com.papel.imdb_clone.service.api;
     exports com.papel.imdb_clone.util;
+    exports com.papel.imdb_clone.tools;
+    // Logback instantiates the property definer named in logback.xml
+    exports com.papel.imdb_clone.config;
     exports com.papel.imdb_clone.data;
     exports com.papel.imdb_clone.enums;
     exports com.papel.imdb_clone.exceptions;